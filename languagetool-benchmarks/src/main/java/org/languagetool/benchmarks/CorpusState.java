@@ -0,0 +1,83 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.benchmarks;
+
+import org.languagetool.AnalyzedSentence;
+import org.languagetool.JLanguageTool;
+import org.languagetool.Language;
+import org.languagetool.tools.StringTools;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A bundled text and its intermediate analysis results, so that each stage of the
+ * checking pipeline can be benchmarked in isolation. Every benchmark processes the
+ * whole text per operation, so the throughput is in texts per second. To also measure
+ * the allocation rate, run the benchmarks with {@code -prof gc}.
+ * @since 2.5
+ */
+@State(Scope.Benchmark)
+public class CorpusState {
+
+  private static final String CORPUS_DIR = "/org/languagetool/benchmarks/corpus/";
+
+  @Param({"en-US", "de-DE", "fr", "pl-PL"})
+  public String languageCode;
+
+  Language language;
+  JLanguageTool languageTool;
+  String text;
+  List<String> sentences;
+  List<List<String>> sentenceTokens;
+  List<AnalyzedSentence> analyzedSentences;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    language = Language.getLanguageForShortName(languageCode);
+    languageTool = new JLanguageTool(language);
+    languageTool.activateDefaultPatternRules();
+    text = loadCorpus(language);
+    sentences = languageTool.sentenceTokenize(text);
+    sentenceTokens = new ArrayList<>();
+    analyzedSentences = new ArrayList<>();
+    for (String sentence : sentences) {
+      sentenceTokens.add(language.getWordTokenizer().tokenize(sentence));
+      analyzedSentences.add(languageTool.getAnalyzedSentence(sentence));
+    }
+  }
+
+  private static String loadCorpus(Language language) throws IOException {
+    final String path = CORPUS_DIR + language.getShortName() + ".txt";
+    try (InputStream stream = CorpusState.class.getResourceAsStream(path)) {
+      if (stream == null) {
+        throw new IOException("No benchmark text found for " + language + " at " + path);
+      }
+      return StringTools.readStream(stream, "utf-8");
+    }
+  }
+
+}
@@ -0,0 +1,80 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.benchmarks;
+
+import org.languagetool.AnalyzedSentence;
+import org.languagetool.tagging.disambiguation.rules.XmlRuleDisambiguator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Disambiguation with the rules from the language's {@code disambiguation.xml}.
+ * @since 2.5
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class DisambiguatorBenchmark {
+
+  @Benchmark
+  public int disambiguate(RawSentences rawSentences) throws IOException {
+    int count = 0;
+    for (AnalyzedSentence sentence : rawSentences.sentences) {
+      count += rawSentences.disambiguator.disambiguate(sentence).getTokens().length;
+    }
+    return count;
+  }
+
+  /**
+   * Disambiguation may modify the readings of the tokens, so the sentences get analyzed
+   * again for each invocation. That's fine here, as one invocation takes milliseconds.
+   */
+  @State(Scope.Thread)
+  public static class RawSentences {
+
+    XmlRuleDisambiguator disambiguator;
+    List<AnalyzedSentence> sentences;
+
+    @Setup(Level.Trial)
+    public void setUpDisambiguator(CorpusState state) throws IOException {
+      disambiguator = new XmlRuleDisambiguator(state.language);
+      // loads the rules:
+      disambiguator.disambiguate(state.languageTool.getRawAnalyzedSentence(state.sentences.get(0)));
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpSentences(CorpusState state) throws IOException {
+      sentences = new ArrayList<>();
+      for (String sentence : state.sentences) {
+        sentences.add(state.languageTool.getRawAnalyzedSentence(sentence));
+      }
+    }
+  }
+
+}
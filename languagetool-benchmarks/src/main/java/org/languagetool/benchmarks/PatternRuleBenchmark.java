@@ -0,0 +1,74 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.benchmarks;
+
+import org.languagetool.AnalyzedSentence;
+import org.languagetool.rules.Rule;
+import org.languagetool.rules.patterns.PatternRule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Matching all active pattern rules against each analyzed sentence, one rule
+ * at a time, without the optimizations of {@link org.languagetool.JLanguageTool#check(String)}
+ * that skip rules that cannot match.
+ * @since 2.5
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class PatternRuleBenchmark {
+
+  @Benchmark
+  public int match(PatternRules rules, CorpusState state) throws IOException {
+    int count = 0;
+    for (AnalyzedSentence sentence : state.analyzedSentences) {
+      for (PatternRule rule : rules.rules) {
+        count += rule.match(sentence).length;
+      }
+    }
+    return count;
+  }
+
+  @State(Scope.Benchmark)
+  public static class PatternRules {
+
+    final List<PatternRule> rules = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp(CorpusState state) {
+      for (Rule rule : state.languageTool.getAllActiveRules()) {
+        if (rule instanceof PatternRule) {
+          rules.add((PatternRule) rule);
+        }
+      }
+    }
+  }
+
+}
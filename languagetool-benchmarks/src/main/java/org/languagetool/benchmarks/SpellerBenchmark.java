@@ -0,0 +1,78 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.benchmarks;
+
+import org.languagetool.AnalyzedSentence;
+import org.languagetool.rules.Rule;
+import org.languagetool.rules.spelling.SpellingCheckRule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Spell checking with the language's active spelling rules, e.g. a
+ * {@link org.languagetool.rules.spelling.morfologik.MorfologikSpellerRule} for English
+ * and a {@link org.languagetool.rules.spelling.hunspell.HunspellRule} for German. This includes
+ * creating the suggestions for the misspelled words of the text.
+ * @since 2.5
+ */
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class SpellerBenchmark {
+
+  @Benchmark
+  public int spellCheck(SpellingRules rules, CorpusState state) throws IOException {
+    int count = 0;
+    for (AnalyzedSentence sentence : state.analyzedSentences) {
+      for (SpellingCheckRule rule : rules.rules) {
+        count += rule.match(sentence).length;
+      }
+    }
+    return count;
+  }
+
+  @State(Scope.Benchmark)
+  public static class SpellingRules {
+
+    final List<SpellingCheckRule> rules = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp(CorpusState state) throws IOException {
+      for (Rule rule : state.languageTool.getAllActiveRules()) {
+        if (rule instanceof SpellingCheckRule) {
+          rules.add((SpellingCheckRule) rule);
+        }
+      }
+      if (rules.isEmpty()) {
+        throw new IllegalStateException("No spelling rule active for " + state.language);
+      }
+    }
+  }
+
+}
@@ -20,6 +20,7 @@ package org.languagetool.commandline;
 
 import org.languagetool.AnalyzedSentence;
 import org.languagetool.JLanguageTool;
+import org.languagetool.RuleMatchListener;
 import org.languagetool.bitext.BitextReader;
 import org.languagetool.bitext.StringPair;
 import org.languagetool.rules.Rule;
@@ -32,8 +33,10 @@ import org.languagetool.tools.Tools;
 
 import java.io.IOException;
 import java.io.PrintStream;
+import java.io.Reader;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 
@@ -114,6 +117,78 @@ public final class CommandLineTools {
     return ruleMatches.size();
   }
 
+  /**
+   * Check the text from the given reader step by step and print results to System.out, without
+   * loading the complete text into memory. With {@code apiFormat}, the {@code offset} of each match
+   * refers to the part of the text it was printed with, like in the line-by-line mode.
+   *
+   * @param reader the text to check, it is not closed
+   * @param lt Initialized LanguageTool
+   * @param apiFormat whether to print the result in XML format
+   * @param contextSize error text context size: -1 for default
+   * @return Number of rule matches to the input text.
+   * @since 2.5
+   */
+  public static int checkText(final Reader reader, final JLanguageTool lt,
+                              final boolean apiFormat, int contextSize) throws IOException {
+    if (contextSize == -1) {
+      contextSize = DEFAULT_CONTEXT_SIZE;
+    }
+    final long startTime = System.currentTimeMillis();
+    final PrintStream out = new PrintStream(System.out, true, "UTF-8");
+    if (apiFormat) {
+      out.print(StringTools.ruleMatchesToXML(Collections.<RuleMatch>emptyList(), "", contextSize, StringTools.XmlPrintMode.START_XML));
+    }
+    final MatchPrinter printer = new MatchPrinter(out, apiFormat, contextSize);
+    lt.check(reader, JLanguageTool.ParagraphHandling.NORMAL, printer);
+    if (apiFormat) {
+      out.print(StringTools.ruleMatchesToXML(Collections.<RuleMatch>emptyList(), "", contextSize, StringTools.XmlPrintMode.END_XML));
+    }
+    displayTimeStats(startTime, lt.getSentenceCount(), apiFormat);
+    return printer.matchCount;
+  }
+
+  private static class MatchPrinter implements RuleMatchListener {
+
+    private final PrintStream out;
+    private final boolean apiFormat;
+    private final int contextSize;
+
+    private int matchCount;
+
+    MatchPrinter(PrintStream out, boolean apiFormat, int contextSize) {
+      this.out = out;
+      this.apiFormat = apiFormat;
+      this.contextSize = contextSize;
+    }
+
+    @Override
+    public void matchesFound(List<RuleMatch> ruleMatches, String text, int textPos) {
+      // the context can only be taken from the given text, so positions need to be relative to it:
+      final List<RuleMatch> relativeMatches = new ArrayList<>(ruleMatches.size());
+      for (RuleMatch match : ruleMatches) {
+        final RuleMatch relativeMatch = new RuleMatch(match.getRule(), match.getFromPos() - textPos,
+                match.getToPos() - textPos, match.getMessage(), match.getShortMessage());
+        relativeMatch.copySuggestedReplacements(match);
+        relativeMatch.setLine(match.getLine());
+        relativeMatch.setEndLine(match.getEndLine());
+        relativeMatch.setColumn(match.getColumn());
+        relativeMatch.setEndColumn(match.getEndColumn());
+        relativeMatch.setOffset(match.getOffset() - textPos);
+        relativeMatches.add(relativeMatch);
+      }
+      if (apiFormat) {
+        out.print(StringTools.ruleMatchesToXML(relativeMatches, text, contextSize, StringTools.XmlPrintMode.CONTINUE_XML));
+      } else {
+        if (matchCount > 0) {
+          System.out.println();
+        }
+        printMatches(relativeMatches, matchCount, text, contextSize);
+      }
+      matchCount += relativeMatches.size();
+    }
+  }
+
   private static void displayTimeStats(final long startTime,
                                        final long sentCount, final boolean apiFormat) {
     final long endTime = System.currentTimeMillis();
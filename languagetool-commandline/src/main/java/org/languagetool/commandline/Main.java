@@ -59,10 +59,10 @@ class Main {
   private final String[] disabledRules;
   private final Language motherTongue;
   
-  private JLanguageTool lt;
+  private MultiThreadedJLanguageTool lt;
   private boolean profileRules;
   private boolean bitextMode;
-  private JLanguageTool srcLt;
+  private MultiThreadedJLanguageTool srcLt;
   private List<BitextRule> bRules;
   private Rule currentRule;
 
@@ -100,6 +100,10 @@ class Main {
   }
   
   private void cleanUp() {
+    lt.shutdown();
+    if (srcLt != null) {
+      srcLt.shutdown();
+    }
     JLanguageTool.removeTemporaryFiles();
   }
   
@@ -112,6 +116,7 @@ class Main {
       final String[] disabledRules, final String[] enabledRules) throws IOException, ParserConfigurationException, SAXException {
     bitextMode = true;
     final Language target = lt.getLanguage();
+    lt.shutdown();
     lt = new MultiThreadedJLanguageTool(target, null);
     srcLt = new MultiThreadedJLanguageTool(sourceLang);
     lt.activateDefaultPatternRules();
@@ -162,6 +167,8 @@ class Main {
     }
     if (oneTime) {
       runOnFileInOneGo(filename, encoding, listUnknownWords, xmlFiltering);
+    } else if (canStream(filename, xmlFiltering)) {
+      runOnFileStreaming(filename, encoding, listUnknownWords);
     } else {
       runOnFileLineByLine(filename, encoding, listUnknownWords);
     }
@@ -193,6 +200,31 @@ class Main {
     }
   }
 
+  // the streaming check is only available for the normal check mode, and it
+  // doesn't support the language detection from the first line of STDIN:
+  private boolean canStream(String filename, boolean xmlFiltering) {
+    return !applySuggestions && !profileRules && !taggerOnly && !xmlFiltering && !(autoDetect && isStdIn(filename));
+  }
+
+  private void runOnFileStreaming(String filename, String encoding, boolean listUnknownWords) throws IOException {
+    if (verbose) {
+      lt.setOutput(System.err);
+    }
+    if (!apiFormat) {
+      if (isStdIn(filename)) {
+        System.out.println("Working on STDIN...");
+      } else {
+        System.out.println("Working on " + filename + "...");
+      }
+    }
+    try (Reader reader = new BufferedReader(getInputStreamReader(filename, encoding))) {
+      CommandLineTools.checkText(reader, lt, apiFormat, -1);
+    }
+    if (listUnknownWords) {
+      System.out.println("Unknown words: " + lt.getUnknownWords());
+    }
+  }
+
   private void runOnFileLineByLine(String filename, String encoding, boolean listUnknownWords) throws IOException {
     if (verbose) {
       lt.setOutput(System.err);
@@ -436,6 +468,7 @@ class Main {
   private void changeLanguage(Language language, Language motherTongue,
                               String[] disabledRules, String[] enabledRules) {
     try {
+      lt.shutdown();
       lt = new MultiThreadedJLanguageTool(language, motherTongue);
       lt.activateDefaultPatternRules();
       lt.activateDefaultFalseFriendRules();
@@ -36,6 +36,9 @@ public class AnalyzedSentence {
   private Set<String> lemmaSet;
   private int[] whPositions;
 
+  // the entry of the SentenceCache that the sentence has been put into or taken from, guarded by the cache:
+  SentenceCache.CacheEntry sentenceCacheEntry;
+
   /**
    * Creates an AnalyzedSentence from the given {@link AnalyzedTokenReadings}. Whitespace is also a token.
    */
@@ -21,6 +21,7 @@ package org.languagetool;
 import java.util.Objects;
 
 import org.apache.commons.lang.builder.EqualsBuilder;
+import org.languagetool.tagging.PosTagSymbolTable;
 
 /**
  * A word (or punctuation, or whitespace) and its part-of-speech tag.
@@ -42,6 +43,10 @@ public class AnalyzedToken {
   
   private boolean hasNoPOSTag;
 
+  // the index of the table last asked in getPOSTagId() in the upper 16 bits and the id plus one
+  // in the lower ones, 0 if not looked up yet - one int, so threads can't see a mix of two lookups:
+  private int posTagTableAndId;
+
   public AnalyzedToken(final String token, final String posTag, final String lemma) {
     this.token = Objects.requireNonNull(token, "token cannot be null");
     this.posTag = posTag;
@@ -64,6 +69,22 @@ public class AnalyzedToken {
     return posTag;
   }
 
+  /**
+   * The id of the POS tag in the given table, usually the one of the language whose tagger
+   * created this token. The id is remembered for the table that was asked last.
+   * @return the id or {@link PosTagSymbolTable#NO_ID}
+   * @since 2.5
+   */
+  public final int getPOSTagId(final PosTagSymbolTable table) {
+    final int tableAndId = posTagTableAndId;
+    if (tableAndId >>> 16 == table.getIndex()) {
+      return (tableAndId & 0xFFFF) - 1;
+    }
+    final int id = table.getId(posTag);
+    posTagTableAndId = table.getIndex() << 16 | (id + 1);
+    return id;
+  }
+
   /**
    * @return the token's lemma or {@code null}
    */
@@ -21,6 +21,7 @@ package org.languagetool;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -42,42 +43,38 @@ public class AnalyzedTokenReadings implements Iterable<AnalyzedToken> {
 
   private int startPos;
   private String token;
-  private List<ChunkTag> chunkTags = new ArrayList<>();
-
-  private boolean isWhitespace;
-  private boolean isLinebreak;
-  private boolean isSentEnd;
-  private boolean isSentStart;
-  private boolean isParaEnd;
-  private boolean isWhitespaceBefore;
+  private List<ChunkTag> chunkTags = Collections.emptyList();
 
+  // the boolean properties of the token, packed into one int to keep the many tokens of a text small:
+  static final int WHITESPACE = 1;
+  static final int LINEBREAK = 1 << 1;
+  static final int SENT_END = 1 << 2;
+  static final int SENT_START = 1 << 3;
+  static final int PARA_END = 1 << 4;
+  static final int WHITESPACE_BEFORE = 1 << 5;
   /**
-   * If true, then the token is marked up as immune against tests:
+   * If set, then the token is marked up as immune against tests:
    * it should never be matched by any rule. Used to have generalized
    * mechanism for exceptions in rules.
    */
-  private boolean isImmunized;
-
+  static final int IMMUNIZED = 1 << 6;
   /**
-   * If true, then the token is marked up as ignored in all spelling rules:
+   * If set, then the token is marked up as ignored in all spelling rules:
    * other rules can freely match it.
    */
-  private boolean isIgnoredBySpeller;
-
+  static final int IGNORED_BY_SPELLER = 1 << 7;
   /**
-   * Used to hold the string representation of the disambiguator actions on a token.
+   * Set if the token has the same lemma value for all readings.
+   * Can be used internally to optimize matching.
    */
-  private String historicalAnnotations = "";
+  static final int SAME_LEMMAS = 1 << 8;
+
+  private int flags;
 
   /**
-   * True if the token has the same lemma value for all token.
-   * 
-   * Can be used internally to optimize matching.
-   * 
-   * @since 2.5
-   * 
+   * Used to hold the string representation of the disambiguator actions on a token.
    */
-  private boolean hasSameLemmas;
+  private String historicalAnnotations = "";
 
   public AnalyzedTokenReadings(final AnalyzedToken[] token, final int startPos) {
     anTokReadings = token.clone();
@@ -99,21 +96,32 @@ public class AnalyzedTokenReadings implements Iterable<AnalyzedToken> {
   AnalyzedTokenReadings(final AnalyzedToken token) {
     anTokReadings = new AnalyzedToken[1];
     anTokReadings[0] = token;
-    isWhitespaceBefore = token.isWhitespaceBefore();
+    setFlag(WHITESPACE_BEFORE, token.isWhitespaceBefore());
     init();
   }
 
+  // restores a token exactly as it was, used by CompactAnalyzedSentence:
+  AnalyzedTokenReadings(final AnalyzedToken[] readings, final int startPos, final String token, final int flags,
+                        final List<ChunkTag> chunkTags, final String historicalAnnotations) {
+    this.anTokReadings = readings;
+    this.startPos = startPos;
+    this.token = token;
+    this.flags = flags;
+    this.chunkTags = chunkTags;
+    this.historicalAnnotations = historicalAnnotations;
+  }
+
   private void init() {
     token = anTokReadings[0].getToken();
-    isWhitespace = StringTools.isWhitespace(token);
-    isLinebreak = "\n".equals(token) || "\r\n".equals(token)
-        || "\r".equals(token) || "\n\r".equals(token);
-    isSentStart = JLanguageTool.SENTENCE_START_TAGNAME.equals(anTokReadings[0]
-        .getPOSTag());
-    isParaEnd = hasPosTag(JLanguageTool.PARAGRAPH_END_TAGNAME);
-    isSentEnd = hasPosTag(JLanguageTool.SENTENCE_END_TAGNAME);
+    setFlag(WHITESPACE, StringTools.isWhitespace(token));
+    setFlag(LINEBREAK, "\n".equals(token) || "\r\n".equals(token)
+        || "\r".equals(token) || "\n\r".equals(token));
+    setFlag(SENT_START, JLanguageTool.SENTENCE_START_TAGNAME.equals(anTokReadings[0]
+        .getPOSTag()));
+    setFlag(PARA_END, hasPosTag(JLanguageTool.PARAGRAPH_END_TAGNAME));
+    setFlag(SENT_END, hasPosTag(JLanguageTool.SENTENCE_END_TAGNAME));
     setNoRealPOStag();
-    hasSameLemmas = areLemmasSame();
+    setFlag(SAME_LEMMAS, areLemmasSame());
   }
 
   public final List<AnalyzedToken> getReadings() {
@@ -193,17 +201,17 @@ public class AnalyzedTokenReadings implements Iterable<AnalyzedToken> {
     if (anTokReadings[anTokReadings.length - 1].getPOSTag() != null) {
       l.add(anTokReadings[anTokReadings.length - 1]);
     }
-    token.setWhitespaceBefore(isWhitespaceBefore);
+    token.setWhitespaceBefore(isWhitespaceBefore());
     l.add(token);
     anTokReadings = l.toArray(new AnalyzedToken[l.size()]);
     if (token.getToken().length() > this.token.length()) { //in case a longer token is added
       this.token = token.getToken();
     }
-    anTokReadings[anTokReadings.length - 1].setWhitespaceBefore(isWhitespaceBefore);
-    isParaEnd = hasPosTag(JLanguageTool.PARAGRAPH_END_TAGNAME);
-    isSentEnd = hasPosTag(JLanguageTool.SENTENCE_END_TAGNAME);
+    anTokReadings[anTokReadings.length - 1].setWhitespaceBefore(isWhitespaceBefore());
+    setFlag(PARA_END, hasPosTag(JLanguageTool.PARAGRAPH_END_TAGNAME));
+    setFlag(SENT_END, hasPosTag(JLanguageTool.SENTENCE_END_TAGNAME));
     setNoRealPOStag();
-    hasSameLemmas = areLemmasSame();
+    setFlag(SAME_LEMMAS, areLemmasSame());
   }
 
   /**
@@ -215,7 +223,7 @@ public class AnalyzedTokenReadings implements Iterable<AnalyzedToken> {
   public final void removeReading(final AnalyzedToken token) {
     final List<AnalyzedToken> l = new ArrayList<>();
     final AnalyzedToken tmpTok = new AnalyzedToken(token.getToken(), token.getPOSTag(), token.getLemma());
-    tmpTok.setWhitespaceBefore(isWhitespaceBefore);
+    tmpTok.setWhitespaceBefore(isWhitespaceBefore());
     for (AnalyzedToken anTokReading : anTokReadings) {
       if (!anTokReading.matches(tmpTok)) {
         l.add(anTokReading);
@@ -226,7 +234,7 @@ public class AnalyzedTokenReadings implements Iterable<AnalyzedToken> {
     }
     anTokReadings = l.toArray(new AnalyzedToken[l.size()]);
     setNoRealPOStag();
-    hasSameLemmas = areLemmasSame();
+    setFlag(SAME_LEMMAS, areLemmasSame());
   }
 
   /**
@@ -237,7 +245,7 @@ public class AnalyzedTokenReadings implements Iterable<AnalyzedToken> {
   public final void leaveReading(final AnalyzedToken token) {
     final List<AnalyzedToken> l = new ArrayList<>();
     final AnalyzedToken tmpTok = new AnalyzedToken(token.getToken(), token.getPOSTag(), token.getLemma());
-    tmpTok.setWhitespaceBefore(isWhitespaceBefore);
+    tmpTok.setWhitespaceBefore(isWhitespaceBefore());
     for (AnalyzedToken anTokReading : anTokReadings) {
       if (anTokReading.matches(tmpTok)) {
         l.add(anTokReading);
@@ -248,7 +256,7 @@ public class AnalyzedTokenReadings implements Iterable<AnalyzedToken> {
     }
     anTokReadings = l.toArray(new AnalyzedToken[l.size()]);
     setNoRealPOStag();
-    hasSameLemmas = areLemmasSame();
+    setFlag(SAME_LEMMAS, areLemmasSame());
   }
 
   /**
@@ -259,14 +267,14 @@ public class AnalyzedTokenReadings implements Iterable<AnalyzedToken> {
   }
 
   public final boolean isWhitespace() {
-    return isWhitespace;
+    return hasFlag(WHITESPACE);
   }
 
   /**
    * Returns true if the token equals {@code \n}, {@code \r}, {@code \n\r}, or {@code \r\n}.
    */
   public final boolean isLinebreak() {
-    return isLinebreak;
+    return hasFlag(LINEBREAK);
   }
 
   /**
@@ -281,7 +289,7 @@ public class AnalyzedTokenReadings implements Iterable<AnalyzedToken> {
    * @since 2.3
    */
   public final boolean isSentenceStart() {
-    return isSentStart;
+    return hasFlag(SENT_START);
   }
 
   /**
@@ -289,7 +297,7 @@ public class AnalyzedTokenReadings implements Iterable<AnalyzedToken> {
    * @since 2.3
    */
   public final boolean isParagraphEnd() {
-    return isParaEnd;
+    return hasFlag(PARA_END);
   }
 
   /**
@@ -333,7 +341,7 @@ public class AnalyzedTokenReadings implements Iterable<AnalyzedToken> {
    * @since 2.3
    */
   public boolean isSentenceEnd() {
-    return isSentEnd;
+    return hasFlag(SENT_END);
   }
 
   /**
@@ -368,22 +376,22 @@ public class AnalyzedTokenReadings implements Iterable<AnalyzedToken> {
   }
 
   public final void setWhitespaceBefore(final boolean isWhiteSpaceBefore) {
-    isWhitespaceBefore = isWhiteSpaceBefore;
+    setFlag(WHITESPACE_BEFORE, isWhiteSpaceBefore);
     for (final AnalyzedToken aTok : anTokReadings) {
       aTok.setWhitespaceBefore(isWhiteSpaceBefore);
     }
   }
 
   public final boolean isWhitespaceBefore() {
-    return isWhitespaceBefore;
+    return hasFlag(WHITESPACE_BEFORE);
   }
 
   public final void immunize() {
-    isImmunized = true;
+    setFlag(IMMUNIZED, true);
   }
 
   public final boolean isImmunized() {
-    return isImmunized;
+    return hasFlag(IMMUNIZED);
   }
 
   /**
@@ -391,7 +399,7 @@ public class AnalyzedTokenReadings implements Iterable<AnalyzedToken> {
    * @since 2.5
    */
   public final void ignoreSpelling() {
-    isIgnoredBySpeller = true;
+    setFlag(IGNORED_BY_SPELLER, true);
   }
 
   /**
@@ -400,9 +408,24 @@ public class AnalyzedTokenReadings implements Iterable<AnalyzedToken> {
    * @since 2.5
    */
   public final boolean isIgnoredBySpeller() {
-    return isIgnoredBySpeller;
+    return hasFlag(IGNORED_BY_SPELLER);
   }
 
+  int getFlags() {
+    return flags;
+  }
+
+  private boolean hasFlag(int flag) {
+    return (flags & flag) != 0;
+  }
+
+  private void setFlag(int flag, boolean value) {
+    if (value) {
+      flags |= flag;
+    } else {
+      flags &= ~flag;
+    }
+  }
 
   /**
    * Sets the flag on AnalyzedTokens to make matching
@@ -488,8 +511,6 @@ public class AnalyzedTokenReadings implements Iterable<AnalyzedToken> {
     return false;
   }
 
-
-
   /**
    * 
    * @return true if all {@link AnalyzedToken} lemmas are the same.
@@ -523,7 +544,7 @@ public class AnalyzedTokenReadings implements Iterable<AnalyzedToken> {
    * @return true if all {@link AnalyzedToken} lemmas are the same.
    */
   public boolean hasSameLemmas() {
-    return hasSameLemmas;
+    return hasFlag(SAME_LEMMAS);
   }
 
   @Override
@@ -531,12 +552,12 @@ public class AnalyzedTokenReadings implements Iterable<AnalyzedToken> {
     final int prime = 31;
     int result = 1;
     result = prime * result + Arrays.hashCode(anTokReadings);
-    result = prime * result + (isLinebreak ? 1231 : 1237);
-    result = prime * result + (isParaEnd ? 1231 : 1237);
-    result = prime * result + (isSentEnd ? 1231 : 1237);
-    result = prime * result + (isSentStart ? 1231 : 1237);
-    result = prime * result + (isWhitespace ? 1231 : 1237);
-    result = prime * result + (isWhitespaceBefore ? 1231 : 1237);
+    result = prime * result + (hasFlag(LINEBREAK) ? 1231 : 1237);
+    result = prime * result + (hasFlag(PARA_END) ? 1231 : 1237);
+    result = prime * result + (hasFlag(SENT_END) ? 1231 : 1237);
+    result = prime * result + (hasFlag(SENT_START) ? 1231 : 1237);
+    result = prime * result + (hasFlag(WHITESPACE) ? 1231 : 1237);
+    result = prime * result + (hasFlag(WHITESPACE_BEFORE) ? 1231 : 1237);
     result = prime * result + chunkTags.hashCode();
     result = prime * result + startPos;
     result = prime * result + (token == null ? 0 : token.hashCode());
@@ -554,28 +575,14 @@ public class AnalyzedTokenReadings implements Iterable<AnalyzedToken> {
     final AnalyzedTokenReadings other = (AnalyzedTokenReadings) obj;
     if (!Arrays.equals(anTokReadings, other.anTokReadings))
       return false;
-    if (isLinebreak != other.isLinebreak)
-      return false;
-    if (isParaEnd != other.isParaEnd)
-      return false;
-    if (isSentEnd != other.isSentEnd)
-      return false;
-    if (isSentStart != other.isSentStart)
-      return false;
-    if (isWhitespace != other.isWhitespace)
-      return false;
-    if (isWhitespaceBefore != other.isWhitespaceBefore)
-      return false;
-    if (isImmunized != other.isImmunized)
+    // the speller flag is not compared:
+    if ((flags & ~IGNORED_BY_SPELLER) != (other.flags & ~IGNORED_BY_SPELLER))
       return false;
     if (startPos != other.startPos)
       return false;
     if (!chunkTags.equals(other.chunkTags)) {
       return false;
     }
-    if (hasSameLemmas != other.hasSameLemmas) {
-      return false;
-    }
     if (token == null) {
       if (other.token != null)
         return false;
@@ -0,0 +1,54 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool;
+
+import java.io.Reader;
+
+/**
+ * A {@link Reader} for a {@link CharSequence}, so that the text doesn't need
+ * to be copied into a {@link String} first.
+ * @since 2.5
+ */
+class CharSequenceReader extends Reader {
+
+  private final CharSequence text;
+
+  private int pos;
+
+  CharSequenceReader(CharSequence text) {
+    this.text = text;
+  }
+
+  @Override
+  public int read(char[] buffer, int offset, int length) {
+    if (pos >= text.length()) {
+      return -1;
+    }
+    final int count = Math.min(length, text.length() - pos);
+    for (int i = 0; i < count; i++) {
+      buffer[offset + i] = text.charAt(pos++);
+    }
+    return count;
+  }
+
+  @Override
+  public void close() {
+  }
+
+}
@@ -0,0 +1,305 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool;
+
+import org.languagetool.chunking.ChunkTag;
+import org.languagetool.tagging.PosTagSymbolTable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An {@link AnalyzedSentence} in a compact form, for keeping many analyzed sentences
+ * in memory (e.g. for long documents or in a cache). Instead of an object for each token
+ * and reading, the sentence is stored in a few arrays of ints: the tokens are offsets into
+ * the sentence text, the POS tags are ids of the language's {@link PosTagSymbolTable}, the lemmas
+ * are indexes into a table of the distinct strings of the sentence, and the boolean
+ * properties are bits. The sentence is immutable.
+ *
+ * <p>The properties can be read directly, or as {@link AnalyzedTokenReadings} with
+ * {@link #getTokenReadings(int)} and {@link #toAnalyzedSentence()}, which create new objects
+ * that are equal to the original ones each time they're called.
+ * @since 2.5
+ */
+public final class CompactAnalyzedSentence {
+
+  private static final int NO_STRING = -1;
+  private static final int SAME_AS_TOKEN = -2;
+
+  // flags of a reading:
+  private static final byte READING_WHITESPACE_BEFORE = 1;
+  private static final byte READING_NO_POS_TAG = 2;
+
+  private final PosTagSymbolTable posTagSymbolTable;
+  /** The tokens of the sentence, one after the other. */
+  private final String text;
+  /** The end of each token in {@link #text}, the token starts at the end of the previous one. */
+  private final int[] tokenEnds;
+  private final int[] startPositions;
+  private final int[] tokenFlags;
+  /** The index of the first reading of each token in the reading arrays, plus the end of the last one. */
+  private final int[] firstReadings;
+
+  /** The token of a reading, {@link #SAME_AS_TOKEN} or an index into {@link #strings}. */
+  private final int[] readingTokens;
+  /** The POS tag id of a reading, or {@link #NO_STRING}, or, for tags without id, {@code -2 - index into strings}. */
+  private final int[] posTags;
+  /** The lemma of a reading, {@link #NO_STRING}, {@link #SAME_AS_TOKEN} or an index into {@link #strings}. */
+  private final int[] lemmas;
+  private final byte[] readingFlags;
+
+  /** The distinct strings of the sentence that are not POS tags with id. */
+  private final String[] strings;
+  /** The chunk tags per token, {@code null} if no token has chunk tags. */
+  private final List<List<ChunkTag>> chunkTags;
+  /** The historical annotations per token, {@code null} if no token has any. */
+  private final String[] historicalAnnotations;
+
+  /**
+   * @param posTagSymbolTable the table of the language that analyzed the sentence
+   */
+  public CompactAnalyzedSentence(AnalyzedSentence sentence, PosTagSymbolTable posTagSymbolTable) {
+    this.posTagSymbolTable = posTagSymbolTable;
+    final AnalyzedTokenReadings[] tokens = sentence.getTokens();
+    int readingCount = 0;
+    int textLength = 0;
+    boolean hasChunkTags = false;
+    boolean hasHistoricalAnnotations = false;
+    for (AnalyzedTokenReadings token : tokens) {
+      readingCount += token.getReadingsLength();
+      textLength += token.getToken().length();
+      hasChunkTags |= !token.getChunkTags().isEmpty();
+      hasHistoricalAnnotations |= !token.getHistoricalAnnotations().isEmpty();
+    }
+    final StringBuilder sb = new StringBuilder(textLength);
+    final Map<String, Integer> stringIndexes = new HashMap<>();
+    final List<String> stringList = new ArrayList<>();
+    tokenEnds = new int[tokens.length];
+    startPositions = new int[tokens.length];
+    tokenFlags = new int[tokens.length];
+    firstReadings = new int[tokens.length + 1];
+    readingTokens = new int[readingCount];
+    posTags = new int[readingCount];
+    lemmas = new int[readingCount];
+    readingFlags = new byte[readingCount];
+    chunkTags = hasChunkTags ? new ArrayList<List<ChunkTag>>(tokens.length) : null;
+    historicalAnnotations = hasHistoricalAnnotations ? new String[tokens.length] : null;
+    int reading = 0;
+    for (int i = 0; i < tokens.length; i++) {
+      final AnalyzedTokenReadings token = tokens[i];
+      sb.append(token.getToken());
+      tokenEnds[i] = sb.length();
+      startPositions[i] = token.getStartPos();
+      tokenFlags[i] = token.getFlags();
+      firstReadings[i] = reading;
+      for (AnalyzedToken analyzedToken : token) {
+        readingTokens[reading] = analyzedToken.getToken().equals(token.getToken())
+                ? SAME_AS_TOKEN : getIndex(analyzedToken.getToken(), stringIndexes, stringList);
+        final int posTagId = analyzedToken.getPOSTagId(posTagSymbolTable);
+        if (posTagId != PosTagSymbolTable.NO_ID) {
+          posTags[reading] = posTagId;
+        } else if (analyzedToken.getPOSTag() == null) {
+          posTags[reading] = NO_STRING;
+        } else {
+          posTags[reading] = -2 - getIndex(analyzedToken.getPOSTag(), stringIndexes, stringList);
+        }
+        final String lemma = analyzedToken.getLemma();
+        if (lemma == null) {
+          lemmas[reading] = NO_STRING;
+        } else if (lemma.equals(analyzedToken.getToken())) {
+          lemmas[reading] = SAME_AS_TOKEN;
+        } else {
+          lemmas[reading] = getIndex(lemma, stringIndexes, stringList);
+        }
+        byte flags = 0;
+        if (analyzedToken.isWhitespaceBefore()) {
+          flags |= READING_WHITESPACE_BEFORE;
+        }
+        if (analyzedToken.hasNoTag()) {
+          flags |= READING_NO_POS_TAG;
+        }
+        readingFlags[reading] = flags;
+        reading++;
+      }
+      if (chunkTags != null) {
+        chunkTags.add(token.getChunkTags().isEmpty()
+                ? Collections.<ChunkTag>emptyList() : Collections.unmodifiableList(new ArrayList<>(token.getChunkTags())));
+      }
+      if (historicalAnnotations != null) {
+        historicalAnnotations[i] = token.getHistoricalAnnotations();
+      }
+    }
+    firstReadings[tokens.length] = reading;
+    text = sb.toString();
+    strings = stringList.toArray(new String[stringList.size()]);
+  }
+
+  private static int getIndex(String s, Map<String, Integer> stringIndexes, List<String> stringList) {
+    final Integer index = stringIndexes.get(s);
+    if (index != null) {
+      return index;
+    }
+    stringIndexes.put(s, stringList.size());
+    stringList.add(s);
+    return stringList.size() - 1;
+  }
+
+  /**
+   * The number of tokens, including whitespace.
+   */
+  public int getTokenCount() {
+    return tokenEnds.length;
+  }
+
+  /**
+   * @see AnalyzedTokenReadings#getToken()
+   */
+  public String getToken(int tokenIndex) {
+    return text.substring(getTokenStart(tokenIndex), tokenEnds[tokenIndex]);
+  }
+
+  /**
+   * @see AnalyzedTokenReadings#getStartPos()
+   */
+  public int getStartPos(int tokenIndex) {
+    return startPositions[tokenIndex];
+  }
+
+  /**
+   * @see AnalyzedTokenReadings#getReadingsLength()
+   */
+  public int getReadingsLength(int tokenIndex) {
+    return firstReadings[tokenIndex + 1] - firstReadings[tokenIndex];
+  }
+
+  /**
+   * @see AnalyzedToken#getPOSTag()
+   */
+  public String getPOSTag(int tokenIndex, int readingIndex) {
+    final int posTag = posTags[getReading(tokenIndex, readingIndex)];
+    if (posTag >= 0) {
+      return posTagSymbolTable.getTag(posTag);
+    }
+    return posTag == NO_STRING ? null : strings[-2 - posTag];
+  }
+
+  /**
+   * @return the id in the table given to the constructor
+   * @see AnalyzedToken#getPOSTagId(PosTagSymbolTable)
+   */
+  public int getPOSTagId(int tokenIndex, int readingIndex) {
+    final int posTag = posTags[getReading(tokenIndex, readingIndex)];
+    return posTag >= 0 ? posTag : PosTagSymbolTable.NO_ID;
+  }
+
+  /**
+   * @see AnalyzedToken#getLemma()
+   */
+  public String getLemma(int tokenIndex, int readingIndex) {
+    final int reading = getReading(tokenIndex, readingIndex);
+    final int lemma = lemmas[reading];
+    if (lemma == NO_STRING) {
+      return null;
+    }
+    return lemma == SAME_AS_TOKEN ? getReadingToken(reading, getToken(tokenIndex)) : strings[lemma];
+  }
+
+  public boolean isWhitespace(int tokenIndex) {
+    return hasFlag(tokenIndex, AnalyzedTokenReadings.WHITESPACE);
+  }
+
+  public boolean isSentenceStart(int tokenIndex) {
+    return hasFlag(tokenIndex, AnalyzedTokenReadings.SENT_START);
+  }
+
+  public boolean isSentenceEnd(int tokenIndex) {
+    return hasFlag(tokenIndex, AnalyzedTokenReadings.SENT_END);
+  }
+
+  public boolean isParagraphEnd(int tokenIndex) {
+    return hasFlag(tokenIndex, AnalyzedTokenReadings.PARA_END);
+  }
+
+  public boolean isImmunized(int tokenIndex) {
+    return hasFlag(tokenIndex, AnalyzedTokenReadings.IMMUNIZED);
+  }
+
+  /**
+   * Create the token as {@link AnalyzedTokenReadings}. Changes of the result don't affect this sentence.
+   */
+  public AnalyzedTokenReadings getTokenReadings(int tokenIndex) {
+    final String token = getToken(tokenIndex);
+    final int firstReading = firstReadings[tokenIndex];
+    final AnalyzedToken[] readings = new AnalyzedToken[firstReadings[tokenIndex + 1] - firstReading];
+    for (int i = 0; i < readings.length; i++) {
+      final String readingToken = getReadingToken(firstReading + i, token);
+      final int lemma = lemmas[firstReading + i];
+      final AnalyzedToken reading = new AnalyzedToken(readingToken, getPOSTag(tokenIndex, i),
+              lemma == NO_STRING ? null : lemma == SAME_AS_TOKEN ? readingToken : strings[lemma]);
+      reading.setWhitespaceBefore((readingFlags[firstReading + i] & READING_WHITESPACE_BEFORE) != 0);
+      reading.setNoPOSTag((readingFlags[firstReading + i] & READING_NO_POS_TAG) != 0);
+      readings[i] = reading;
+    }
+    final List<ChunkTag> tokenChunkTags = chunkTags != null ? chunkTags.get(tokenIndex) : Collections.<ChunkTag>emptyList();
+    final String annotations = historicalAnnotations != null ? historicalAnnotations[tokenIndex] : "";
+    return new AnalyzedTokenReadings(readings, startPositions[tokenIndex], token, tokenFlags[tokenIndex],
+            tokenChunkTags, annotations);
+  }
+
+  /**
+   * Create the sentence as {@link AnalyzedSentence}. Changes of the result don't affect this sentence.
+   */
+  public AnalyzedSentence toAnalyzedSentence() {
+    final AnalyzedTokenReadings[] tokens = new AnalyzedTokenReadings[tokenEnds.length];
+    for (int i = 0; i < tokens.length; i++) {
+      tokens[i] = getTokenReadings(i);
+    }
+    return new AnalyzedSentence(tokens);
+  }
+
+  private int getTokenStart(int tokenIndex) {
+    return tokenIndex == 0 ? 0 : tokenEnds[tokenIndex - 1];
+  }
+
+  private int getReading(int tokenIndex, int readingIndex) {
+    if (readingIndex < 0 || readingIndex >= getReadingsLength(tokenIndex)) {
+      throw new IndexOutOfBoundsException("Reading " + readingIndex + " of token " + tokenIndex
+              + ", which has " + getReadingsLength(tokenIndex) + " readings");
+    }
+    return firstReadings[tokenIndex] + readingIndex;
+  }
+
+  private String getReadingToken(int reading, String token) {
+    final int readingToken = readingTokens[reading];
+    return readingToken == SAME_AS_TOKEN ? token : strings[readingToken];
+  }
+
+  private boolean hasFlag(int tokenIndex, int flag) {
+    return (tokenFlags[tokenIndex] & flag) != 0;
+  }
+
+  @Override
+  public String toString() {
+    return toAnalyzedSentence().toString();
+  }
+
+}
@@ -22,6 +22,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintStream;
+import java.io.Reader;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.net.JarURLConnection;
@@ -30,8 +31,11 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.ResourceBundle;
 import java.util.Set;
@@ -50,13 +54,18 @@ import org.languagetool.rules.Rule;
 import org.languagetool.rules.RuleMatch;
 import org.languagetool.rules.RuleMatchFilter;
 import org.languagetool.rules.SameRuleGroupFilter;
+import org.languagetool.rules.patterns.CompiledRuleSet;
 import org.languagetool.rules.patterns.FalseFriendRuleLoader;
 import org.languagetool.rules.patterns.PatternRule;
+import org.languagetool.rules.patterns.PatternRuleAutomaton;
+import org.languagetool.rules.patterns.PatternRuleIndex;
 import org.languagetool.rules.patterns.PatternRuleLoader;
 import org.languagetool.rules.spelling.SpellingCheckRule;
 import org.languagetool.rules.spelling.SuggestionExtractor;
 import org.languagetool.tagging.Tagger;
 import org.languagetool.tagging.disambiguation.Disambiguator;
+import org.languagetool.tokenizers.SpanTokenizer;
+import org.languagetool.tokenizers.TokenSpans;
 import org.languagetool.tokenizers.Tokenizer;
 import org.xml.sax.SAXException;
 
@@ -78,7 +87,8 @@ import org.xml.sax.SAXException;
  * 
  * <p><b>Thread-safety:</b> this class is not thread safe. Create one instance per thread,
  * but create the language only once (e.g. {@code new English()}) and use it for all
- * instances of JLanguageTool.</p>
+ * instances of JLanguageTool. The pattern rules activated with {@link #activateDefaultPatternRules()}
+ * are loaded only once and shared by all instances, so creating more instances is cheap.</p>
  * 
  * @see MultiThreadedJLanguageTool
  */
@@ -123,12 +133,21 @@ public class JLanguageTool {
   
   private static ResourceDataBroker dataBroker = new DefaultResourceDataBroker();
 
+  // sentences may be analyzed in parallel (see MultiThreadedJLanguageTool), so each thread gets its own buffer:
+  private static final ThreadLocal<TokenSpans> tokenSpans = new ThreadLocal<TokenSpans>() {
+    @Override
+    protected TokenSpans initialValue() {
+      return new TokenSpans();
+    }
+  };
+
   private final List<Rule> builtinRules = new ArrayList<>();
   private final List<Rule> userRules = new ArrayList<>(); // rules added via addRule() method
   private final Set<String> disabledRules = new HashSet<>();
   private final Set<String> enabledRules = new HashSet<>();
   private final Set<String> disabledCategories = new HashSet<>();
 
+  private volatile PatternRuleIndex<Rule> ruleIndex;
   private Language language;
   private Language motherTongue;
   private Disambiguator disambiguator;
@@ -144,6 +163,13 @@ public class JLanguageTool {
   private boolean listUnknownWords;
   private Set<String> unknownWords;  
 
+  private CompiledRuleSet patternRuleSet;
+  private PatternMatchingMode patternMatchingMode = PatternMatchingMode.CLASSIC;
+  private SentenceCache sentenceCache;
+  private volatile List<Rule> lastRuleConfig;
+  private volatile Profiler profiler;
+  private volatile CheckCancelledCallback checkCancelledCallback;
+
   /**
    * Constants for correct paragraph-rule handling:
    * <ul>
@@ -165,6 +191,27 @@ public class JLanguageTool {
      */
     ONLYNONPARA
   }
+
+  /**
+   * How the pattern rules activated with {@link #activateDefaultPatternRules()} are matched.
+   * @since 2.5
+   */
+  public static enum PatternMatchingMode {
+    /**
+     * Match each rule on its own.
+     */
+    CLASSIC,
+    /**
+     * Match the rules that are supported by {@link PatternRuleAutomaton} with one automaton
+     * shared by all rules, match the other rules on their own.
+     */
+    AUTOMATON,
+    /**
+     * Use both ways of matching and throw an {@link IllegalStateException} if the results
+     * are not the same. This is slow and only useful for testing.
+     */
+    COMPARE
+  }
   
   private static List<File> temporaryFiles = new ArrayList<>();
   
@@ -251,6 +298,63 @@ public class JLanguageTool {
     this.listUnknownWords = listUnknownWords;
   }
 
+  /**
+   * Set how the pattern rules are matched (default: {@link PatternMatchingMode#CLASSIC}).
+   * @since 2.5
+   */
+  public void setPatternMatchingMode(final PatternMatchingMode patternMatchingMode) {
+    this.patternMatchingMode = Objects.requireNonNull(patternMatchingMode);
+  }
+
+  /**
+   * Use a cache for the analysis and the matches of sentences, so that checking a text again
+   * only needs to analyze and check the sentences that have changed. Useful for editors that
+   * check the whole text after each change.
+   * @param sentenceCache the cache, or {@code null} to not use a cache (the default)
+   * @since 2.5
+   */
+  public void setSentenceCache(final SentenceCache sentenceCache) {
+    this.sentenceCache = sentenceCache;
+  }
+
+  /**
+   * Record the time spent in each rule and each stage of the checks.
+   * @param profiler the profiler, or {@code null} to not record anything (the default)
+   * @since 2.5
+   */
+  public void setProfiler(final Profiler profiler) {
+    this.profiler = profiler;
+  }
+
+  /**
+   * @return the profiler set with {@link #setProfiler(Profiler)}, or {@code null}
+   * @since 2.5
+   */
+  public Profiler getProfiler() {
+    return profiler;
+  }
+
+  /**
+   * Allow cancelling checks, e.g. because they take too long. The callback is asked between
+   * sentences, so a check that is cancelled stops after the sentence it's working on.
+   * @param checkCancelledCallback the callback, or {@code null} to never cancel checks (the default)
+   * @since 2.5
+   */
+  public void setCheckCancelledCallback(final CheckCancelledCallback checkCancelledCallback) {
+    this.checkCancelledCallback = checkCancelledCallback;
+  }
+
+  /**
+   * @throws CheckCancelledException if the {@link CheckCancelledCallback} wants the check to stop
+   * @since 2.5
+   */
+  protected void checkCancelled() {
+    final CheckCancelledCallback callback = checkCancelledCallback;
+    if (callback != null && callback.checkCancelled()) {
+      throw new CheckCancelledException("Check cancelled");
+    }
+  }
+
   /**
    * Gets the ResourceBundle (i18n strings) for the default language of the user's system.
    */
@@ -356,37 +460,25 @@ public class JLanguageTool {
 
   /**
    * Loads and activates the pattern rules from
-   * {@code org/languagetool/rules/<languageCode>/grammar.xml}.
+   * {@code org/languagetool/rules/<languageCode>/grammar.xml}. The rules are only loaded
+   * once per language and then shared by all instances, see {@link CompiledRuleSet}.
    */
   public void activateDefaultPatternRules() throws IOException {
-    final List<PatternRule> patternRules = new ArrayList<>();
-    final List<String> enabledRules = language.getDefaultEnabledRulesForVariant();
-    final List<String> disabledRules = language.getDefaultDisabledRulesForVariant();
-    for (String patternRuleFileName : language.getRuleFileNames()) {
-      patternRules.addAll(loadPatternRules(patternRuleFileName));
-    }
-    if (!enabledRules.isEmpty() || !disabledRules.isEmpty()) {
-      for (PatternRule patternRule : patternRules) {
-        if (enabledRules.contains(patternRule.getId())) {
-          patternRule.setDefaultOn();
-        }
-        if (disabledRules.contains(patternRule.getId())) {
-          patternRule.setDefaultOff();
-        }
-      }
-    }
-    userRules.addAll(patternRules);
+    patternRuleSet = CompiledRuleSet.getPatternRules(language);
+    userRules.addAll(patternRuleSet.getRules());
   }
 
   /**
    * Loads and activates the false friend rules from
-   * <code>rules/false-friends.xml</code>.
+   * <code>rules/false-friends.xml</code>. Like the pattern rules, these are shared
+   * by all instances, see {@link CompiledRuleSet}.
    */
   public void activateDefaultFalseFriendRules()
       throws ParserConfigurationException, SAXException, IOException {
     final String falseFriendRulesFilename = JLanguageTool.getDataBroker().getRulesDir() + "/" + FALSE_FRIEND_FILE;
-    final List<PatternRule> patternRules = loadFalseFriendRules(falseFriendRulesFilename);
-    userRules.addAll(patternRules);
+    if (motherTongue != null) {
+      userRules.addAll(CompiledRuleSet.getFalseFriendRules(falseFriendRulesFilename, language, motherTongue).getRules());
+    }
   }
 
   /**
@@ -511,7 +603,14 @@ public class JLanguageTool {
    * Tokenizes the given text into sentences.
    */
   public List<String> sentenceTokenize(final String text) {
-    return sentenceTokenizer.tokenize(text);
+    final Profiler profiler = this.profiler;
+    if (profiler == null) {
+      return sentenceTokenizer.tokenize(text);
+    }
+    final long startTime = System.nanoTime();
+    final List<String> sentences = sentenceTokenizer.tokenize(text);
+    profiler.addStageTime(Profiler.Stage.SENTENCE_TOKENIZE, startTime);
+    return sentences;
   }
 
   /**
@@ -570,36 +669,153 @@ public class JLanguageTool {
     
     final List<RuleMatch> ruleMatches = performCheck(analyzedSentences, sentences, allRules, paraMode, annotatedText);
     
+    removeWithdrawnMatches(ruleMatches, allRules, paraMode);
+
+    Collections.sort(ruleMatches);
+    return ruleMatches;
+  }
+
+  private void removeWithdrawnMatches(final List<RuleMatch> ruleMatches, final List<Rule> allRules, final ParagraphHandling paraMode) {
     if (!ruleMatches.isEmpty() && !paraMode.equals(ParagraphHandling.ONLYNONPARA)) {
       // removing false positives in paragraph-level rules
+      final Set<RuleMatch> withdrawnMatches = Collections.newSetFromMap(new IdentityHashMap<RuleMatch, Boolean>());
       for (final Rule rule : allRules) {
         if (rule.isParagraphBackTrack() && (rule.getMatches() != null)) {
           final List<RuleMatch> rm = rule.getMatches();
           for (final RuleMatch r : rm) {
             if (rule.isInRemoved(r)) {
-              ruleMatches.remove(r);
+              withdrawnMatches.add(r);
             }
           }
         }
       }
+      if (!withdrawnMatches.isEmpty()) {
+        // rebuild the list instead of removing the matches one by one, which is slow for long lists:
+        final List<RuleMatch> remainingMatches = new ArrayList<>(ruleMatches.size());
+        for (final RuleMatch ruleMatch : ruleMatches) {
+          if (!withdrawnMatches.contains(ruleMatch)) {
+            remainingMatches.add(ruleMatch);
+          }
+        }
+        ruleMatches.clear();
+        ruleMatches.addAll(remainingMatches);
+      }
     }
+  }
 
-    Collections.sort(ruleMatches);
-    return ruleMatches;
+  /**
+   * Check a text that is read step by step, so that texts of any size can be checked
+   * without keeping them in memory completely. Sentences are checked as soon as they
+   * have been read, their matches are passed to {@code listener}. Paragraph-level rules
+   * may withdraw a match until the end of its paragraph, so if such a rule has found
+   * an error, all matches are held back until the end of the paragraph.
+   * The result is the same as for {@link #check(String, boolean, ParagraphHandling)}
+   * with the complete text.
+   *
+   * @param reader the text to be checked, it is not closed by this method
+   * @param paraMode Uses paragraph-level rules only if true.
+   * @since 2.5
+   */
+  public void check(final Reader reader, final ParagraphHandling paraMode, final RuleMatchListener listener) throws IOException {
+    final StreamingCheck streamingCheck = new StreamingCheck(reader, paraMode);
+    StreamingCheck.Result result;
+    while ((result = streamingCheck.next()) != null) {
+      listener.matchesFound(result.ruleMatches, result.text, result.textPos);
+    }
+  }
+
+  /**
+   * Like {@link #check(Reader, ParagraphHandling, RuleMatchListener)}, but for text that is
+   * already in memory, e.g. in a {@link StringBuilder} or an editor's document model.
+   * @since 2.5
+   */
+  public void check(final CharSequence text, final ParagraphHandling paraMode, final RuleMatchListener listener) throws IOException {
+    check(new CharSequenceReader(text), paraMode, listener);
+  }
+
+  /**
+   * Like {@link #check(Reader, ParagraphHandling, RuleMatchListener)}, but the matches are
+   * returned by an iterator that reads and checks the text only as far as needed for
+   * the next match. An {@link IOException} while reading is thrown as a {@link RuntimeException}
+   * by the iterator. This object must not be used for other checks while the iterator is in use.
+   * @since 2.5
+   */
+  public Iterator<RuleMatch> getRuleMatchIterator(final Reader reader, final ParagraphHandling paraMode) {
+    final StreamingCheck streamingCheck = new StreamingCheck(reader, paraMode);
+    return new Iterator<RuleMatch>() {
+      private Iterator<RuleMatch> current = Collections.<RuleMatch>emptyList().iterator();
+      @Override
+      public boolean hasNext() {
+        while (!current.hasNext()) {
+          final StreamingCheck.Result result;
+          try {
+            result = streamingCheck.next();
+          } catch (IOException e) {
+            throw new RuntimeException(e);
+          }
+          if (result == null) {
+            return false;
+          }
+          current = result.ruleMatches.iterator();
+        }
+        return true;
+      }
+      @Override
+      public RuleMatch next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return current.next();
+      }
+      @Override
+      public void remove() {
+        throw new UnsupportedOperationException();
+      }
+    };
   }
   
   private List<AnalyzedSentence> analyzeSentences(final List<String> sentences) throws IOException {
+    return analyzeSentences(sentences, true);
+  }
+
+  /**
+   * @param isTextEnd whether the last sentence is the end of the text, and thus also the end of a paragraph
+   */
+  private List<AnalyzedSentence> analyzeSentences(final List<String> sentences, final boolean isTextEnd) throws IOException {
     final List<AnalyzedSentence> analyzedSentences = new ArrayList<>();
+    final SentenceCache cache = sentenceCache;
+    final AnalyzedSentence[] cachedSentences = new AnalyzedSentence[sentences.size()];
+    final List<String> uncachedSentences;
+    if (cache != null) {
+      uncachedSentences = new ArrayList<>();
+      for (int i = 0; i < sentences.size(); i++) {
+        final boolean isLast = isTextEnd && i == sentences.size() - 1;
+        cachedSentences[i] = cache.getAnalyzedSentence(language, sentences.get(i), isLast);
+        if (cachedSentences[i] == null) {
+          uncachedSentences.add(sentences.get(i));
+        }
+      }
+    } else {
+      uncachedSentences = sentences;
+    }
+    final Iterator<AnalyzedSentence> newSentences = getAnalyzedSentences(uncachedSentences).iterator();
     
     int j = 0;
-    for (final String sentence : sentences) {
-      AnalyzedSentence analyzedSentence = getAnalyzedSentence(sentence);
-      rememberUnknownWords(analyzedSentence);
-      if (++j == sentences.size()) {
-        final AnalyzedTokenReadings[] anTokens = analyzedSentence.getTokens();
-        anTokens[anTokens.length - 1].setParagraphEnd();
-        analyzedSentence = new AnalyzedSentence(anTokens);
+    for (String sentence : sentences) {
+      AnalyzedSentence analyzedSentence = cachedSentences[j];
+      final boolean isLast = ++j == sentences.size() && isTextEnd;
+      if (analyzedSentence == null) {
+        analyzedSentence = newSentences.next();
+        if (isLast) {
+          final AnalyzedTokenReadings[] anTokens = analyzedSentence.getTokens();
+          anTokens[anTokens.length - 1].setParagraphEnd();
+          analyzedSentence = new AnalyzedSentence(anTokens);
+        }
+        if (cache != null) {
+          cache.putAnalyzedSentence(language, sentence, isLast, analyzedSentence);
+        }
       }
+      rememberUnknownWords(analyzedSentence);
       analyzedSentences.add(analyzedSentence);
       printIfVerbose(analyzedSentence.toString());
       printIfVerbose(analyzedSentence.getAnnotations());
@@ -607,10 +823,39 @@ public class JLanguageTool {
     
     return analyzedSentences;
   }
+
+  /**
+   * Analyze the given sentences with {@link #getAnalyzedSentence(String)}.
+   * Subclasses may analyze the sentences in parallel.
+   * @return the analyzed sentences, in the same order as the input sentences
+   * @since 2.5
+   */
+  protected List<AnalyzedSentence> getAnalyzedSentences(final List<String> sentences) throws IOException {
+    final List<AnalyzedSentence> analyzedSentences = new ArrayList<>(sentences.size());
+    for (final String sentence : sentences) {
+      checkCancelled();
+      analyzedSentences.add(getAnalyzedSentence(sentence));
+    }
+    return analyzedSentences;
+  }
   
   protected List<RuleMatch> performCheck(final List<AnalyzedSentence> analyzedSentences, final List<String> sentences,
                                          final List<Rule> allRules, ParagraphHandling paraMode, final AnnotatedText annotatedText) throws IOException {
-    final Callable<List<RuleMatch>> matcher = new TextCheckCallable(allRules, sentences, analyzedSentences, paraMode, annotatedText, 0, 0, 1);
+    return performCheck(analyzedSentences, sentences, allRules, paraMode, annotatedText, 0, 0, 1);
+  }
+
+  /**
+   * Like {@link #performCheck(List, List, List, ParagraphHandling, AnnotatedText)}, for sentences that
+   * don't start at the beginning of the text.
+   * @param charCount Count of characters in the text before the first sentence
+   * @param lineCount Line number of the first sentence
+   * @param columnCount Column number of the first sentence
+   * @since 2.5
+   */
+  protected List<RuleMatch> performCheck(final List<AnalyzedSentence> analyzedSentences, final List<String> sentences,
+                                         final List<Rule> allRules, ParagraphHandling paraMode, final AnnotatedText annotatedText,
+                                         int charCount, int lineCount, int columnCount) throws IOException {
+    final Callable<List<RuleMatch>> matcher = new TextCheckCallable(allRules, sentences, analyzedSentences, paraMode, annotatedText, charCount, lineCount, columnCount);
     try {
       return matcher.call();
     } catch (IOException e) {
@@ -633,15 +878,62 @@ public class JLanguageTool {
       final List<Rule> allRules, int charCount, int lineCount,
       int columnCount, final String sentence, final AnalyzedSentence analyzedSentence, final AnnotatedText annotatedText)
         throws IOException {
+    return checkAnalyzedSentence(paraMode, getRuleIndex(allRules), null, charCount, lineCount, columnCount, sentence, analyzedSentence, annotatedText);
+  }
+
+  /**
+   * @param ruleConfig the active sentence-level rules, see {@link #getRuleConfig(List)}, or {@code null} to not use the sentence cache
+   */
+  private List<RuleMatch> checkAnalyzedSentence(final ParagraphHandling paraMode,
+      final PatternRuleIndex<Rule> ruleIndex, final List<Rule> ruleConfig, int charCount, int lineCount,
+      int columnCount, final String sentence, final AnalyzedSentence analyzedSentence, final AnnotatedText annotatedText)
+        throws IOException {
+    final Profiler profiler = this.profiler;
+    final Profiler previousProfiler = Profiler.getCurrent();
+    Profiler.setCurrent(profiler);
+    try {
+      return checkAnalyzedSentence(paraMode, ruleIndex, ruleConfig, charCount, lineCount, columnCount,
+              sentence, analyzedSentence, annotatedText, profiler);
+    } finally {
+      Profiler.setCurrent(previousProfiler);
+    }
+  }
+
+  private List<RuleMatch> checkAnalyzedSentence(final ParagraphHandling paraMode,
+      final PatternRuleIndex<Rule> ruleIndex, final List<Rule> ruleConfig, int charCount, int lineCount,
+      int columnCount, final String sentence, final AnalyzedSentence analyzedSentence, final AnnotatedText annotatedText,
+      final Profiler profiler) throws IOException {
     final List<RuleMatch> sentenceMatches = new ArrayList<>();
-    for (final Rule rule : allRules) {
-      if (disabledRules.contains(rule.getId())
-          || (rule.isDefaultOff() && !enabledRules.contains(rule.getId()))) {
+    final SentenceCache cache = sentenceCache;
+    final Map<Rule, RuleMatch[]> cachedMatches;
+    final Map<Rule, RuleMatch[]> newCachedMatches;
+    if (cache != null && ruleConfig != null && paraMode != ParagraphHandling.ONLYPARA) {
+      cachedMatches = cache.getRuleMatches(analyzedSentence, ruleConfig);
+      newCachedMatches = cachedMatches == null ? new IdentityHashMap<Rule, RuleMatch[]>() : null;
+    } else {
+      cachedMatches = null;
+      newCachedMatches = null;
+    }
+    final PatternRuleAutomaton automaton;
+    if (patternMatchingMode != PatternMatchingMode.CLASSIC && patternRuleSet != null) {
+      automaton = patternRuleSet.getAutomaton();
+    } else {
+      automaton = null;
+    }
+    PatternRuleAutomaton.SentenceMatches automatonMatches = null;
+    // only look at the rules whose required words occur in the sentence:
+    for (final Rule rule : ruleIndex.getCandidateRules(analyzedSentence)) {
+      if (!isActive(rule)) {
         continue;
       }
 
-      final Category category = rule.getCategory();
-      if (category != null && disabledCategories.contains(category.getName())) {
+      if (cachedMatches != null && isSentenceLevelRule(rule)) {
+        final RuleMatch[] thisMatches = cachedMatches.get(rule);
+        if (thisMatches != null) {
+          for (final RuleMatch element1 : thisMatches) {
+            sentenceMatches.add(adjustRuleMatchPos(element1, charCount, columnCount, lineCount, sentence, annotatedText));
+          }
+        }
         continue;
       }
       
@@ -667,7 +959,23 @@ public class JLanguageTool {
         default:
       }
 
-      final RuleMatch[] thisMatches = rule.match(analyzedSentence);
+      final long startTime = profiler != null ? System.nanoTime() : 0;
+      final RuleMatch[] thisMatches;
+      if (automaton != null && automaton.covers(rule)) {
+        if (automatonMatches == null) {
+          // only walk the automaton if at least one of its rules needs to be matched:
+          automatonMatches = automaton.match(analyzedSentence);
+        }
+        thisMatches = match((PatternRule) rule, analyzedSentence, automatonMatches);
+      } else {
+        thisMatches = rule.match(analyzedSentence);
+      }
+      if (profiler != null) {
+        profiler.addRuleTime(rule.getId(), startTime, thisMatches.length);
+      }
+      if (newCachedMatches != null && thisMatches.length > 0 && isSentenceLevelRule(rule)) {
+        newCachedMatches.put(rule, thisMatches);
+      }
       for (final RuleMatch element1 : thisMatches) {
         final RuleMatch thisMatch = adjustRuleMatchPos(element1,
             charCount, columnCount, lineCount, sentence, annotatedText);
@@ -677,10 +985,98 @@ public class JLanguageTool {
         }
       }
     }
+    if (newCachedMatches != null) {
+      cache.putRuleMatches(analyzedSentence, ruleConfig, newCachedMatches);
+    }
     final RuleMatchFilter filter = new SameRuleGroupFilter();
     return filter.filter(sentenceMatches);
   }
 
+  private boolean isActive(final Rule rule) {
+    if (disabledRules.contains(rule.getId())
+        || (rule.isDefaultOff() && !enabledRules.contains(rule.getId()))) {
+      return false;
+    }
+    final Category category = rule.getCategory();
+    return category == null || !disabledCategories.contains(category.getName());
+  }
+
+  /**
+   * Whether the rule looks at one sentence at a time, without keeping state
+   * between sentences, so its matches only depend on the sentence.
+   */
+  static boolean isSentenceLevelRule(final Rule rule) {
+    return rule instanceof PatternRule && !rule.isParagraphBackTrack();
+  }
+
+  // the active sentence-level rules, or null if the sentence cache isn't used - the
+  // result is re-used while the rules don't change, so the cache can compare it quickly:
+  private List<Rule> getRuleConfig(final List<Rule> rules) {
+    if (sentenceCache == null) {
+      return null;
+    }
+    final List<Rule> ruleConfig = new ArrayList<>();
+    for (Rule rule : rules) {
+      if (isSentenceLevelRule(rule) && isActive(rule)) {
+        ruleConfig.add(rule);
+      }
+    }
+    if (ruleConfig.isEmpty()) {
+      return null;
+    }
+    final List<Rule> last = lastRuleConfig;
+    if (ruleConfig.equals(last)) {
+      return last;
+    }
+    lastRuleConfig = ruleConfig;
+    return ruleConfig;
+  }
+
+  private RuleMatch[] match(final PatternRule rule, final AnalyzedSentence analyzedSentence,
+      final PatternRuleAutomaton.SentenceMatches automatonMatches) throws IOException {
+    final RuleMatch[] matches = automatonMatches.getRuleMatches(rule);
+    if (patternMatchingMode == PatternMatchingMode.COMPARE) {
+      final String automatonResult = toComparableString(matches);
+      final String classicResult = toComparableString(rule.match(analyzedSentence));
+      if (!automatonResult.equals(classicResult)) {
+        throw new IllegalStateException("Pattern matching results differ for rule " + rule + " and sentence '"
+            + analyzedSentence + "' - classic: " + classicResult + ", automaton: " + automatonResult);
+      }
+    }
+    return matches;
+  }
+
+  private String toComparableString(final RuleMatch[] matches) {
+    final StringBuilder sb = new StringBuilder();
+    for (RuleMatch match : matches) {
+      sb.append('[').append(match.getFromPos()).append('-').append(match.getToPos()).append(' ')
+        .append(match.getMessage()).append(' ').append(match.getShortMessage()).append(' ')
+        .append(match.getSuggestedReplacements()).append(']');
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Get the index for the given rules, re-using the index as long as the rules don't change. For a
+   * part of the rules of the current index, a restricted view of that index is returned, so
+   * {@link MultiThreadedJLanguageTool} should get the index for all rules before it splits them.
+   */
+  PatternRuleIndex<Rule> getRuleIndex(final List<Rule> rules) {
+    PatternRuleIndex<Rule> index = ruleIndex;
+    if (index != null) {
+      if (index.isFor(rules)) {
+        return index;
+      }
+      final PatternRuleIndex<Rule> restrictedIndex = index.restrictTo(rules);
+      if (restrictedIndex != null) {
+        return restrictedIndex;
+      }
+    }
+    index = new PatternRuleIndex<>(rules);
+    ruleIndex = index;
+    return index;
+  }
+
   /**
    * Change RuleMatch positions so they are relative to the complete text,
    * not just to the sentence. 
@@ -700,7 +1096,7 @@ public class JLanguageTool {
     }
     final RuleMatch thisMatch = new RuleMatch(match.getRule(),
         fromPos, toPos, match.getMessage(), match.getShortMessage());
-    thisMatch.setSuggestedReplacements(match.getSuggestedReplacements());
+    thisMatch.copySuggestedReplacements(match);
     final String sentencePartToError = sentence.substring(0, match.getFromPos());
     final String sentencePartToEndOfError = sentence.substring(0,match.getToPos());
     final int lastLineBreakPos = sentencePartToError.lastIndexOf('\n');
@@ -775,7 +1171,15 @@ public class JLanguageTool {
    * @param sentence sentence to be analyzed
    */
   public AnalyzedSentence getAnalyzedSentence(final String sentence) throws IOException {
-    return disambiguator.disambiguate(getRawAnalyzedSentence(sentence));
+    final AnalyzedSentence rawSentence = getRawAnalyzedSentence(sentence);
+    final Profiler profiler = this.profiler;
+    if (profiler == null) {
+      return disambiguator.disambiguate(rawSentence);
+    }
+    final long startTime = System.nanoTime();
+    final AnalyzedSentence analyzedSentence = disambiguator.disambiguate(rawSentence);
+    profiler.addStageTime(Profiler.Stage.DISAMBIGUATE, startTime);
+    return analyzedSentence;
   }
 
   /**
@@ -787,22 +1191,48 @@ public class JLanguageTool {
    * @since 0.9.8
    */
   public AnalyzedSentence getRawAnalyzedSentence(final String sentence) throws IOException {
-    final List<String> tokens = wordTokenizer.tokenize(sentence);
-    final Map<Integer, String> softHyphenTokens = replaceSoftHyphens(tokens);
+    final Profiler profiler = this.profiler;
+    long startTime = profiler != null ? System.nanoTime() : 0;
+    final List<String> tokens;
+    final Map<Integer, String> softHyphenTokens;
+    if (wordTokenizer instanceof SpanTokenizer) {
+      final TokenSpans spans = tokenSpans.get();
+      spans.clear();
+      ((SpanTokenizer) wordTokenizer).tokenize(sentence, spans);
+      tokens = new ArrayList<>(spans.size());
+      softHyphenTokens = getTokens(sentence, spans, tokens);
+    } else {
+      tokens = wordTokenizer.tokenize(sentence);
+      softHyphenTokens = replaceSoftHyphens(tokens);
+    }
+    if (profiler != null) {
+      profiler.addStageTime(Profiler.Stage.WORD_TOKENIZE, startTime);
+      startTime = System.nanoTime();
+    }
 
     final List<AnalyzedTokenReadings> aTokens = tagger.tag(tokens);
+    if (profiler != null) {
+      profiler.addStageTime(Profiler.Stage.TAG, startTime);
+    }
     if (chunker != null) {
+      if (profiler != null) {
+        startTime = System.nanoTime();
+      }
       chunker.addChunkTags(aTokens);
+      if (profiler != null) {
+        profiler.addStageTime(Profiler.Stage.CHUNK, startTime);
+      }
     }
     final int numTokens = aTokens.size();
-    int posFix = 0; 
-    for (int i = 1; i < numTokens; i++) {
-      aTokens.get(i).setWhitespaceBefore(aTokens.get(i - 1).isWhitespace());
-      aTokens.get(i).setStartPos(aTokens.get(i).getStartPos() + posFix);
+    for (int i = 0; i < numTokens; i++) {
+      if (i > 0) {
+        aTokens.get(i).setWhitespaceBefore(aTokens.get(i - 1).isWhitespace());
+      }
       if (!softHyphenTokens.isEmpty()) {
-        if (softHyphenTokens.get(i) != null) {
-          aTokens.get(i).addReading(tagger.createToken(softHyphenTokens.get(i), null));
-          posFix += softHyphenTokens.get(i).length() - aTokens.get(i).getToken().length();
+        final String softHyphenToken = softHyphenTokens.get(i);
+        if (softHyphenToken != null) {
+          // the longer original token also becomes the token, so start positions are not shifted:
+          aTokens.get(i).addReading(tagger.createToken(softHyphenToken, null));
         }
       }
     }
@@ -838,12 +1268,30 @@ public class JLanguageTool {
     return new AnalyzedSentence(tokenArray);
   }
 
+  // adds the tokens of the spans, with soft hyphens removed, and returns the original tokens that had soft hyphens:
+  private Map<Integer, String> getTokens(String sentence, TokenSpans spans, List<String> tokens) {
+    Map<Integer, String> softHyphenTokens = Collections.emptyMap();
+    for (int i = 0; i < spans.size(); i++) {
+      final String token = spans.getToken(sentence, i);
+      if (spans.hasSoftHyphen(i)) {
+        if (softHyphenTokens.isEmpty()) {
+          softHyphenTokens = new HashMap<>();
+        }
+        softHyphenTokens.put(i, token);
+        tokens.add(token.replace("\u00ad", ""));
+      } else {
+        tokens.add(token);
+      }
+    }
+    return softHyphenTokens;
+  }
+
   private Map<Integer, String> replaceSoftHyphens(List<String> tokens) {
     final Map<Integer, String> softHyphenTokens = new HashMap<>();
     for (int i = 0; i < tokens.size(); i++) {
       if (tokens.get(i).indexOf('\u00ad') != -1) {
         softHyphenTokens.put(i, tokens.get(i));
-        tokens.set(i, tokens.get(i).replaceAll("\u00ad", ""));
+        tokens.set(i, tokens.get(i).replace("\u00ad", ""));
       }
     }
     return softHyphenTokens;
@@ -945,11 +1393,14 @@ public class JLanguageTool {
 
   class TextCheckCallable implements Callable<List<RuleMatch>> {
 
-    private final List<Rule> rules;
+    private final PatternRuleIndex<Rule> ruleIndex;
+    private final List<Rule> ruleConfig;
     private final ParagraphHandling paraMode;
     private final AnnotatedText annotatedText;
     private final List<String> sentences;
     private final List<AnalyzedSentence> analyzedSentences;
+    private final int fromSentence;
+    private final int toSentence;
     
     private int charCount;
     private int lineCount;
@@ -957,12 +1408,29 @@ public class JLanguageTool {
 
     TextCheckCallable(List<Rule> rules, List<String> sentences, List<AnalyzedSentence> analyzedSentences,
                       ParagraphHandling paraMode, AnnotatedText annotatedText, int charCount, int lineCount, int columnCount) {
-      this.rules = rules;
+      this(rules, sentences, analyzedSentences, 0, sentences.size(), paraMode, annotatedText, charCount, lineCount, columnCount);
+    }
+
+    /**
+     * Check only the sentences from index {@code fromSentence} (inclusive) to {@code toSentence} (exclusive),
+     * the sentences before are only used to calculate the position of the matches.
+     * @since 2.5
+     */
+    TextCheckCallable(List<Rule> rules, List<String> sentences, List<AnalyzedSentence> analyzedSentences,
+                      int fromSentence, int toSentence,
+                      ParagraphHandling paraMode, AnnotatedText annotatedText, int charCount, int lineCount, int columnCount) {
+      this.ruleIndex = getRuleIndex(rules);
+      this.ruleConfig = getRuleConfig(rules);
       if (sentences.size() != analyzedSentences.size()) {
         throw new IllegalArgumentException("sentences and analyzedSentences do not have the same length : " + sentences.size() + " != " + analyzedSentences.size());
       }
+      if (fromSentence < 0 || fromSentence > toSentence || toSentence > sentences.size()) {
+        throw new IllegalArgumentException("Invalid sentence range " + fromSentence + " to " + toSentence + " for " + sentences.size() + " sentences");
+      }
       this.sentences = sentences;
       this.analyzedSentences = analyzedSentences;
+      this.fromSentence = fromSentence;
+      this.toSentence = toSentence;
       this.paraMode = paraMode;
       this.annotatedText = annotatedText;
       this.charCount = charCount;
@@ -973,33 +1441,179 @@ public class JLanguageTool {
     @Override
     public List<RuleMatch> call() throws Exception {
       final List<RuleMatch> ruleMatches = new ArrayList<>();
-      int i = 0;
-      for (final AnalyzedSentence analyzedSentence : analyzedSentences) {
-        final String sentence = sentences.get(i++);
-        final List<RuleMatch> sentenceMatches =
-                checkAnalyzedSentence(paraMode, rules, charCount, lineCount,
-                        columnCount, sentence, analyzedSentence, annotatedText);
-
-        ruleMatches.addAll(sentenceMatches);
+      for (int i = 0; i < toSentence; i++) {
+        final String sentence = sentences.get(i);
+        if (i >= fromSentence) {
+          checkCancelled();
+          final List<RuleMatch> sentenceMatches =
+                  checkAnalyzedSentence(paraMode, ruleIndex, ruleConfig, charCount, lineCount,
+                          columnCount, sentence, analyzedSentences.get(i), annotatedText);
+          ruleMatches.addAll(sentenceMatches);
+        }
         charCount += sentence.length();
         lineCount += countLineBreaks(sentence);
+        columnCount = getColumnCountAfter(sentence, columnCount);
+      }
+      return ruleMatches;
+    }
+  }
 
-        // calculate matching column:
-        final int lineBreakPos = sentence.lastIndexOf('\n');
-        if (lineBreakPos == -1) {
-          columnCount += sentence.length();
-        } else {
-          if (lineBreakPos == 0) {
-            columnCount = sentence.length();
-            if (!language.getSentenceTokenizer().singleLineBreaksMarksPara()) {
-              columnCount--;
-            }
-          } else {
-            columnCount = sentence.length() - lineBreakPos;
+  // calculate matching column:
+  private int getColumnCountAfter(final String sentence, final int columnCount) {
+    final int lineBreakPos = sentence.lastIndexOf('\n');
+    if (lineBreakPos == -1) {
+      return columnCount + sentence.length();
+    } else {
+      if (lineBreakPos == 0) {
+        if (!language.getSentenceTokenizer().singleLineBreaksMarksPara()) {
+          return sentence.length() - 1;
+        }
+        return sentence.length();
+      } else {
+        return sentence.length() - lineBreakPos;
+      }
+    }
+  }
+
+  /**
+   * Reads a text step by step and checks it in batches of complete sentences.
+   */
+  private class StreamingCheck {
+
+    private static final int READ_SIZE = 8192;
+    // collect this many characters before the sentences are checked, to have enough work for several threads:
+    private static final int BATCH_SIZE = 32768;
+    // if no sentence end is found, the text is checked anyway after this many characters:
+    private static final int MAX_SENTENCE_LENGTH = 100000;
+
+    private final Reader reader;
+    private final ParagraphHandling paraMode;
+    private final List<Rule> allRules;
+    private final char[] readBuffer = new char[READ_SIZE];
+    private final StringBuilder unchecked = new StringBuilder();
+    private final List<RuleMatch> pendingMatches = new ArrayList<>();
+    private final StringBuilder pendingText = new StringBuilder();
+
+    private boolean endOfInput;
+    private int pendingTextPos;
+    private int charCount;
+    private int lineCount;
+    private int columnCount = 1;
+
+    StreamingCheck(Reader reader, ParagraphHandling paraMode) {
+      this.reader = Objects.requireNonNull(reader);
+      this.paraMode = Objects.requireNonNull(paraMode);
+      this.allRules = getAllRules();
+      printIfVerbose(allRules.size() + " rules activated for language " + language);
+      sentenceCount = 0;
+      unknownWords = new HashSet<>();
+    }
+
+    /**
+     * @return the next part of the text that contains matches, or {@code null} at the end of the text
+     */
+    Result next() throws IOException {
+      List<String> sentences;
+      while (!(sentences = readSentences()).isEmpty()) {
+        final Result result = check(sentences);
+        if (result != null) {
+          return result;
+        }
+      }
+      return null;
+    }
+
+    // read until there are complete sentences, the last sentence may still be incomplete
+    // and is kept for the next call unless the end of the input has been reached:
+    private List<String> readSentences() throws IOException {
+      while (!endOfInput) {
+        final int length = reader.read(readBuffer);
+        if (length == -1) {
+          endOfInput = true;
+          break;
+        }
+        unchecked.append(readBuffer, 0, length);
+        if (unchecked.length() >= BATCH_SIZE) {
+          final List<String> sentences = sentenceTokenize(unchecked.toString());
+          if (sentences.size() > 1) {
+            final String lastSentence = sentences.get(sentences.size() - 1);
+            unchecked.setLength(0);
+            unchecked.append(lastSentence);
+            return sentences.subList(0, sentences.size() - 1);
+          } else if (unchecked.length() >= MAX_SENTENCE_LENGTH) {
+            unchecked.setLength(0);
+            return sentences;
           }
         }
       }
-      return ruleMatches;
+      if (unchecked.length() == 0) {
+        return Collections.emptyList();
+      }
+      final List<String> sentences = sentenceTokenize(unchecked.toString());
+      unchecked.setLength(0);
+      return sentences;
+    }
+
+    private Result check(List<String> sentences) throws IOException {
+      final boolean isTextEnd = endOfInput && unchecked.length() == 0;
+      final List<AnalyzedSentence> analyzedSentences = analyzeSentences(sentences, isTextEnd);
+      sentenceCount += sentences.size();
+      pendingMatches.addAll(performCheck(analyzedSentences, sentences, allRules, paraMode, null, charCount, lineCount, columnCount));
+      if (pendingText.length() == 0) {
+        pendingTextPos = charCount;
+      }
+      for (String sentence : sentences) {
+        pendingText.append(sentence);
+        charCount += sentence.length();
+        lineCount += countLineBreaks(sentence);
+        columnCount = getColumnCountAfter(sentence, columnCount);
+      }
+      final AnalyzedTokenReadings[] lastTokens = analyzedSentences.get(analyzedSentences.size() - 1).getTokens();
+      final boolean isParagraphEnd = isTextEnd || lastTokens[lastTokens.length - 1].isParagraphEnd();
+      if (isParagraphEnd || !hasParagraphLevelMatch()) {
+        return flush(isParagraphEnd);
+      }
+      // a paragraph-level match might still be withdrawn later in the paragraph:
+      return null;
+    }
+
+    private boolean hasParagraphLevelMatch() {
+      for (RuleMatch ruleMatch : pendingMatches) {
+        if (ruleMatch.getRule().isParagraphBackTrack()) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private Result flush(boolean isParagraphEnd) {
+      final List<RuleMatch> ruleMatches = new ArrayList<>(pendingMatches);
+      removeWithdrawnMatches(ruleMatches, allRules, paraMode);
+      if (isParagraphEnd) {
+        // the matches of a paragraph cannot be withdrawn after its end, so they don't need to be kept
+        // until the end of the text:
+        for (Rule rule : allRules) {
+          if (rule.isParagraphBackTrack()) {
+            rule.clearMatches();
+          }
+        }
+      }
+      Collections.sort(ruleMatches);
+      final Result result = new Result(ruleMatches, pendingText.toString(), pendingTextPos);
+      pendingMatches.clear();
+      pendingText.setLength(0);
+      return ruleMatches.isEmpty() ? null : result;
+    }
+
+    private class Result {
+      private final List<RuleMatch> ruleMatches;
+      private final String text;
+      private final int textPos;
+      private Result(List<RuleMatch> ruleMatches, String text, int textPos) {
+        this.ruleMatches = ruleMatches;
+        this.text = text;
+        this.textPos = textPos;
+      }
     }
   }
 
@@ -26,6 +26,7 @@ import org.languagetool.rules.Rule;
 import org.languagetool.rules.patterns.Unifier;
 import org.languagetool.rules.patterns.UnifierConfiguration;
 import org.languagetool.synthesis.Synthesizer;
+import org.languagetool.tagging.PosTagSymbolTable;
 import org.languagetool.tagging.Tagger;
 import org.languagetool.tagging.disambiguation.Disambiguator;
 import org.languagetool.tagging.disambiguation.xx.DemoDisambiguator;
@@ -138,6 +139,7 @@ public abstract class Language {
   
   private UnifierConfiguration unifierConfiguration = new UnifierConfiguration();
   private UnifierConfiguration disambiguationUnifierConfiguration = new UnifierConfiguration();
+  private PosTagSymbolTable posTagSymbolTable;
 
   // -------------------------------------------------------------------------
 
@@ -280,6 +282,21 @@ public abstract class Language {
     return DEMO_TAGGER;
   }
 
+  /**
+   * Get the table of ids for the POS tags of this language's tagger. All variants of
+   * a language share one table.
+   * @since 2.5
+   */
+  public final PosTagSymbolTable getPosTagSymbolTable() {
+    // no need to synchronize, getInstance() always returns the same table:
+    PosTagSymbolTable table = posTagSymbolTable;
+    if (table == null) {
+      table = PosTagSymbolTable.getInstance(getShortName());
+      posTagSymbolTable = table;
+    }
+    return table;
+  }
+
   /**
    * Get this language's sentence tokenizer implementation.
    */
@@ -20,34 +20,63 @@ package org.languagetool;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.languagetool.markup.AnnotatedText;
 import org.languagetool.rules.Rule;
 import org.languagetool.rules.RuleMatch;
 
 /**
- * A variant of {@link JLanguageTool} that uses several threads for rule matching.
+ * A variant of {@link JLanguageTool} that uses several threads for analyzing sentences
+ * and for rule matching.
  * Use this if you want text checking to be fast and do not care about the 
  * high load that this might cause.
+ *
+ * <p>The threads are kept between calls to the check methods. Call {@link #shutdown()}
+ * when the object isn't used anymore, or provide your own {@link ExecutorService}
+ * with {@link #MultiThreadedJLanguageTool(Language, Language, ExecutorService)} to
+ * share the threads with other objects.
  * 
  * <p><b>Thread-safety:</b> See the remarks at {@link JLanguageTool}.
  */
 public class MultiThreadedJLanguageTool extends JLanguageTool {
   
+  private final boolean ownExecutorService;
+
+  // the cancellation flag of the check that the current thread works for:
+  private final ThreadLocal<AtomicBoolean> callableCancelled = new ThreadLocal<>();
+
   private int threadPoolSize = -1;
+  private ExecutorService executorService;
 
   public MultiThreadedJLanguageTool(Language language) throws IOException {
-    super(language);
+    this(language, null);
   }
 
   public MultiThreadedJLanguageTool(Language language, Language motherTongue) throws IOException {
     super(language, motherTongue);
+    this.ownExecutorService = true;
+  }
+
+  /**
+   * @param executorService the executor used for all checks, it is not shut down by this class
+   * @since 2.5
+   */
+  public MultiThreadedJLanguageTool(Language language, Language motherTongue, ExecutorService executorService) throws IOException {
+    super(language, motherTongue);
+    this.ownExecutorService = false;
+    this.executorService = executorService;
   }
 
   /**
@@ -69,64 +98,215 @@ public class MultiThreadedJLanguageTool extends JLanguageTool {
    */
   public void setThreadPoolSize(int threadPoolSize) {
     this.threadPoolSize = threadPoolSize;
+    if (ownExecutorService) {
+      // will be created again with the new size on next use:
+      shutdown();
+    }
   }
 
   /**
-   * @return a fixed size executor with the given number of threads
+   * Stop the threads used for checking, unless the executor has been provided
+   * via the constructor. The threads are started again if the object is used again.
+   * @since 2.5
+   */
+  public void shutdown() {
+    if (ownExecutorService && executorService != null) {
+      executorService.shutdownNow();
+      executorService = null;
+    }
+  }
+
+  /**
+   * @return a work-stealing executor with the given number of threads
    */
   protected ExecutorService getExecutorService(int threads) {
-    return Executors.newFixedThreadPool(threads);
+    return new ForkJoinPool(threads);
   }
-  
+
+  private ExecutorService getExecutorService() {
+    if (executorService == null) {
+      executorService = getExecutorService(getThreadPoolSize());
+    }
+    return executorService;
+  }
+
+  @Override
+  protected List<AnalyzedSentence> getAnalyzedSentences(final List<String> sentences) throws IOException {
+    if (sentences.size() <= 1) {
+      return super.getAnalyzedSentences(sentences);
+    }
+    final List<Callable<AnalyzedSentence>> callables = new ArrayList<>(sentences.size());
+    for (final String sentence : sentences) {
+      callables.add(new Callable<AnalyzedSentence>() {
+        @Override
+        public AnalyzedSentence call() throws Exception {
+          checkCancelled();
+          return getAnalyzedSentence(sentence);
+        }
+      });
+    }
+    return invokeAll(callables);
+  }
+
   @Override
   protected List<RuleMatch> performCheck(final List<AnalyzedSentence> analyzedSentences, final List<String> sentences,
        final List<Rule> allRules, final ParagraphHandling paraMode, 
-       final AnnotatedText annotatedText) throws IOException {
-    int charCount = 0;
-    int lineCount = 0;
-    int columnCount = 1;
-
+       final AnnotatedText annotatedText, int charCount, int lineCount, int columnCount) throws IOException {
+    // the callables only get parts of the rules, they use views of this index:
+    getRuleIndex(allRules);
+    final List<Callable<List<RuleMatch>>> callables = createTextCheckCallables(paraMode, annotatedText,
+            analyzedSentences, sentences, allRules, getThreadPoolSize(), charCount, lineCount, columnCount);
     final List<RuleMatch> ruleMatches = new ArrayList<>();
-    final int threads = getThreadPoolSize();
-    
-    final ExecutorService executorService = getExecutorService(threads);
+    for (List<RuleMatch> matches : invokeAll(callables)) {
+      ruleMatches.addAll(matches);
+    }
+    return ruleMatches;
+  }
+
+  /**
+   * Run the callables and wait for their results. If one of them fails or the waiting thread is
+   * interrupted, the others are cancelled: those that haven't started are not run, those that are
+   * running stop at their next call of {@link #checkCancelled()}.
+   */
+  private <T> List<T> invokeAll(List<Callable<T>> callables) {
+    final AtomicBoolean cancelled = new AtomicBoolean();
+    final CompletionService<T> completionService = new ExecutorCompletionService<>(getExecutorService());
+    final Map<Future<T>, Integer> futures = new IdentityHashMap<>();
     try {
-      final List<Callable<List<RuleMatch>>> callables =
-              createTextCheckCallables(paraMode, annotatedText, analyzedSentences, sentences, allRules, charCount, lineCount, columnCount, threads);
-      final List<Future<List<RuleMatch>>> futures = executorService.invokeAll(callables);
-      for (Future<List<RuleMatch>> future : futures) {
-        ruleMatches.addAll(future.get());
+      for (int i = 0; i < callables.size() && !cancelled.get(); i++) {
+        futures.put(completionService.submit(new CancellableCallable<>(callables.get(i), cancelled)), i);
+      }
+      final List<T> results = new ArrayList<>(Collections.<T>nCopies(callables.size(), null));
+      PartCancelledException partCancelled = null;
+      for (int i = 0; i < futures.size(); i++) {
+        final Future<T> future = completionService.take();
+        try {
+          results.set(futures.get(future), future.get());
+        } catch (ExecutionException e) {
+          if (!(e.getCause() instanceof PartCancelledException)) {
+            throw e;
+          }
+          // keep waiting for the failure that caused the cancellation:
+          partCancelled = (PartCancelledException) e.getCause();
+        }
+      }
+      if (partCancelled != null) {
+        throw partCancelled;
+      }
+      return results;
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof CheckCancelledException) {
+        throw (CheckCancelledException) e.getCause();
       }
-    } catch (InterruptedException | ExecutionException e) {
       throw new RuntimeException(e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CheckCancelledException("Interrupted while waiting for the check");
     } finally {
-      executorService.shutdownNow();
+      // no-op if all callables are done:
+      cancelled.set(true);
+      for (Future<T> future : futures.keySet()) {
+        future.cancel(true);
+      }
     }
-    
-    return ruleMatches;
+  }
+
+  @Override
+  protected void checkCancelled() {
+    final AtomicBoolean cancelled = callableCancelled.get();
+    if (cancelled != null && cancelled.get()) {
+      throw new PartCancelledException();
+    }
+    super.checkCancelled();
   }
 
   private List<Callable<List<RuleMatch>>> createTextCheckCallables(ParagraphHandling paraMode,
        AnnotatedText annotatedText, List<AnalyzedSentence> analyzedSentences, List<String> sentences, 
-       List<Rule> allRules, int charCount, int lineCount, int columnCount, int threads) {
-    final int totalRules = allRules.size();
-    final int chunkSize = totalRules / threads;
-    int firstItem = 0;
+       List<Rule> allRules, int threads, int charCount, int lineCount, int columnCount) {
+    // pattern rules don't keep state between sentences, so they can work on any part
+    // of the text - other rules may need all sentences in the right order:
+    final List<Rule> sentenceRules = new ArrayList<>();
+    final List<Rule> textRules = new ArrayList<>();
+    for (Rule rule : allRules) {
+      if (isSentenceLevelRule(rule)) {
+        sentenceRules.add(rule);
+      } else {
+        textRules.add(rule);
+      }
+    }
     final List<Callable<List<RuleMatch>>> callables = new ArrayList<>();
-    
-    // split the rules - all rules are independent, so it makes more sense to split
-    // the rules than to split the text:
-    for (int i = 0; i < threads; i++) {
+
+    // split the sentences for the pattern rules, use more parts than threads
+    // so threads that are done early can take over work:
+    if (!sentenceRules.isEmpty()) {
+      final int parts = Math.max(1, Math.min(sentences.size(), threads * 2));
+      final int chunkSize = sentences.size() / parts;
+      int firstSentence = 0;
+      for (int i = 0; i < parts; i++) {
+        final int lastSentence = i == parts - 1 ? sentences.size() : firstSentence + chunkSize;
+        callables.add(new TextCheckCallable(sentenceRules, sentences, analyzedSentences, firstSentence, lastSentence,
+                paraMode, annotatedText, charCount, lineCount, columnCount));
+        firstSentence = lastSentence;
+      }
+    }
+
+    // split the other rules, each part gets all sentences in order:
+    final int totalRules = textRules.size();
+    final int parts = Math.max(1, Math.min(totalRules, threads));
+    final int chunkSize = totalRules / parts;
+    int firstItem = 0;
+    for (int i = 0; i < parts && totalRules > 0; i++) {
       final List<Rule> subRules;
-      if (i == threads - 1) {
+      if (i == parts - 1) {
         // make sure the last rules are not lost due to rounding issues:
-        subRules = allRules.subList(firstItem, totalRules);
+        subRules = textRules.subList(firstItem, totalRules);
       } else {
-        subRules = allRules.subList(firstItem, firstItem + chunkSize);
+        subRules = textRules.subList(firstItem, firstItem + chunkSize);
       }
       callables.add(new TextCheckCallable(subRules, sentences, analyzedSentences, paraMode, annotatedText, charCount, lineCount, columnCount));
       firstItem = firstItem + chunkSize;
     }
     return callables;
   }
+
+  /**
+   * Runs a callable with its cancellation flag visible to {@link #checkCancelled()}, and sets
+   * the flag if the callable fails.
+   */
+  private class CancellableCallable<T> implements Callable<T> {
+
+    private final Callable<T> callable;
+    private final AtomicBoolean cancelled;
+
+    CancellableCallable(Callable<T> callable, AtomicBoolean cancelled) {
+      this.callable = callable;
+      this.cancelled = cancelled;
+    }
+
+    @Override
+    public T call() throws Exception {
+      if (cancelled.get()) {
+        throw new PartCancelledException();
+      }
+      callableCancelled.set(cancelled);
+      try {
+        return callable.call();
+      } catch (Exception | Error e) {
+        // stop the other parts at once, not only when the waiting thread gets to this result:
+        cancelled.set(true);
+        throw e;
+      } finally {
+        callableCancelled.remove();
+      }
+    }
+  }
+
+  /**
+   * Thrown by the parts of a check that stop because another part has failed.
+   */
+  private static class PartCancelledException extends CheckCancelledException {
+    PartCancelledException() {
+      super("Another part of the check has failed or has been cancelled");
+    }
+  }
 }
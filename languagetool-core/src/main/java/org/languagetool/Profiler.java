@@ -0,0 +1,199 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records how much time is spent in each rule and in each stage of the checking pipeline,
+ * to find the rules and stages that are slow. Use it with {@link JLanguageTool#setProfiler(Profiler)}.
+ * Rules are recorded by their id, so the sub rules of a rule group are counted together.
+ * The time of {@link Stage#RULE_MATCH} includes the time of {@link Stage#SUGGESTION}.
+ *
+ * <p>A profiler is thread-safe and can be shared by several {@link JLanguageTool} instances,
+ * e.g. to collect statistics for all requests of a server. The overhead is about two
+ * calls to {@link System#nanoTime()} for each rule and sentence.
+ * @since 2.5
+ */
+public final class Profiler {
+
+  /**
+   * The stages of the checking pipeline.
+   */
+  public enum Stage {
+    SENTENCE_TOKENIZE,
+    WORD_TOKENIZE,
+    TAG,
+    CHUNK,
+    DISAMBIGUATE,
+    RULE_MATCH,
+    /** Creating the message and the suggestions of pattern rule matches, including synthesis. */
+    SUGGESTION
+  }
+
+  // the profiler of the check running in the current thread, for code that has no access to JLanguageTool:
+  private static final ThreadLocal<Profiler> current = new ThreadLocal<>();
+
+  private final ConcurrentMap<String, Counter> ruleCounters = new ConcurrentHashMap<>();
+  private final Map<Stage, Counter> stageCounters = new EnumMap<>(Stage.class);
+
+  public Profiler() {
+    for (Stage stage : Stage.values()) {
+      stageCounters.put(stage, new Counter());
+    }
+  }
+
+  /**
+   * The profiler of the check running in the current thread, or {@code null} if there's no such check
+   * or it doesn't use a profiler. For code that doesn't know the {@link JLanguageTool} instance that calls it.
+   */
+  public static Profiler getCurrent() {
+    return current.get();
+  }
+
+  static void setCurrent(Profiler profiler) {
+    if (profiler == null) {
+      current.remove();
+    } else {
+      current.set(profiler);
+    }
+  }
+
+  /**
+   * Add the time from {@code startNanos} (as returned by {@link System#nanoTime()}) until now to the stage.
+   */
+  public void addStageTime(Stage stage, long startNanos) {
+    stageCounters.get(stage).add(System.nanoTime() - startNanos, 0);
+  }
+
+  /**
+   * Add the time from {@code startNanos} (as returned by {@link System#nanoTime()}) until now to the rule
+   * and to {@link Stage#RULE_MATCH}.
+   * @param matchCount the number of matches the rule has found
+   */
+  public void addRuleTime(String ruleId, long startNanos, int matchCount) {
+    final long nanos = System.nanoTime() - startNanos;
+    Counter counter = ruleCounters.get(ruleId);
+    if (counter == null) {
+      final Counter newCounter = new Counter();
+      counter = ruleCounters.putIfAbsent(ruleId, newCounter);
+      if (counter == null) {
+        counter = newCounter;
+      }
+    }
+    counter.add(nanos, matchCount);
+    stageCounters.get(Stage.RULE_MATCH).add(nanos, matchCount);
+  }
+
+  /**
+   * A snapshot of the statistics per rule id.
+   */
+  public Map<String, Statistics> getRuleStatistics() {
+    final Map<String, Statistics> result = new HashMap<>();
+    for (Map.Entry<String, Counter> entry : ruleCounters.entrySet()) {
+      result.put(entry.getKey(), entry.getValue().getStatistics());
+    }
+    return Collections.unmodifiableMap(result);
+  }
+
+  /**
+   * A snapshot of the statistics per stage.
+   */
+  public Map<Stage, Statistics> getStageStatistics() {
+    final Map<Stage, Statistics> result = new EnumMap<>(Stage.class);
+    for (Map.Entry<Stage, Counter> entry : stageCounters.entrySet()) {
+      result.put(entry.getKey(), entry.getValue().getStatistics());
+    }
+    return Collections.unmodifiableMap(result);
+  }
+
+  /**
+   * Set all statistics to zero.
+   */
+  public void reset() {
+    ruleCounters.clear();
+    for (Counter counter : stageCounters.values()) {
+      counter.reset();
+    }
+  }
+
+  /**
+   * The statistics of a rule or stage.
+   */
+  public static final class Statistics {
+
+    private final long count;
+    private final long nanos;
+    private final long matchCount;
+
+    private Statistics(long count, long nanos, long matchCount) {
+      this.count = count;
+      this.nanos = nanos;
+      this.matchCount = matchCount;
+    }
+
+    /** How often the rule or stage has been run, usually once per sentence. */
+    public long getCount() {
+      return count;
+    }
+
+    /** The total time in nanoseconds. */
+    public long getNanos() {
+      return nanos;
+    }
+
+    /** The number of matches found, zero for stages other than {@link Stage#RULE_MATCH}. */
+    public long getMatchCount() {
+      return matchCount;
+    }
+
+    @Override
+    public String toString() {
+      return count + " runs, " + (nanos / 1000000) + "ms, " + matchCount + " matches";
+    }
+  }
+
+  private static class Counter {
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicLong matchCount = new AtomicLong();
+    private void add(long time, int matches) {
+      count.incrementAndGet();
+      nanos.addAndGet(time);
+      if (matches > 0) {
+        matchCount.addAndGet(matches);
+      }
+    }
+    private Statistics getStatistics() {
+      return new Statistics(count.get(), nanos.get(), matchCount.get());
+    }
+    private void reset() {
+      count.set(0);
+      nanos.set(0);
+      matchCount.set(0);
+    }
+  }
+
+}
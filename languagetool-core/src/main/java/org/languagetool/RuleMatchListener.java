@@ -0,0 +1,41 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool;
+
+import org.languagetool.rules.RuleMatch;
+
+import java.io.Reader;
+import java.util.List;
+
+/**
+ * Receives the matches of a check that runs over a text step by step, see
+ * {@link JLanguageTool#check(Reader, JLanguageTool.ParagraphHandling, RuleMatchListener)}.
+ * @since 2.5
+ */
+public interface RuleMatchListener {
+
+  /**
+   * Called for each part of the text that contains matches.
+   * @param ruleMatches the matches, sorted by position, with positions that refer to the complete text
+   * @param text the part of the text that contains the matches, e.g. for showing their context
+   * @param textPos the position of {@code text} in the complete text
+   */
+  void matchesFound(List<RuleMatch> ruleMatches, String text, int textPos);
+
+}
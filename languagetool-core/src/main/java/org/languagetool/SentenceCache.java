@@ -0,0 +1,178 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool;
+
+import org.languagetool.rules.Rule;
+import org.languagetool.rules.RuleMatch;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A cache for the analysis and the matches of sentences, so that checking a text again
+ * after a small change - as it happens all the time in an editor - only needs to analyze
+ * and check the sentences that have changed. Use it with {@link JLanguageTool#setSentenceCache(SentenceCache)}.
+ *
+ * <p>Only the matches of rules that look at one sentence at a time are cached (currently
+ * the pattern rules, except paragraph-level rules). All other rules may keep state across
+ * sentences and are run on all sentences again, but they profit from the cached analysis.
+ *
+ * <p>The analysis is kept as {@link CompactAnalyzedSentence}, so the cache needs much less memory
+ * than the analyzed sentences themselves. Each time a sentence is taken from the cache, a new
+ * {@link AnalyzedSentence} is created, so it's not shared with other checks.
+ *
+ * <p>The cache is thread-safe and can be shared by several {@link JLanguageTool} instances,
+ * also of different languages. If it's full, the least recently used sentences are removed.
+ * @since 2.5
+ */
+public class SentenceCache {
+
+  private final Map<Key, CacheEntry> entries;
+
+  private long hitCount;
+  private long missCount;
+
+  /**
+   * @param maxSize the maximum number of sentences in the cache
+   */
+  public SentenceCache(final int maxSize) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("maxSize must be > 0: " + maxSize);
+    }
+    entries = new LinkedHashMap<Key, CacheEntry>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, CacheEntry> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  /**
+   * @param isTextEnd whether the sentence is the end of the text, which makes a difference for the analysis
+   * @return the analysis of the sentence or {@code null} if it's not in the cache
+   */
+  AnalyzedSentence getAnalyzedSentence(Language language, String sentence, boolean isTextEnd) {
+    final CacheEntry entry;
+    synchronized (this) {
+      entry = entries.get(new Key(language, sentence, isTextEnd));
+      if (entry == null) {
+        missCount++;
+        return null;
+      }
+      hitCount++;
+    }
+    final AnalyzedSentence analyzedSentence = entry.compactSentence.toAnalyzedSentence();
+    synchronized (this) {
+      analyzedSentence.sentenceCacheEntry = entry;
+    }
+    return analyzedSentence;
+  }
+
+  void putAnalyzedSentence(Language language, String sentence, boolean isTextEnd, AnalyzedSentence analyzedSentence) {
+    final CacheEntry entry = new CacheEntry(
+            new CompactAnalyzedSentence(analyzedSentence, language.getPosTagSymbolTable()));
+    synchronized (this) {
+      entries.put(new Key(language, sentence, isTextEnd), entry);
+      analyzedSentence.sentenceCacheEntry = entry;
+    }
+  }
+
+  /**
+   * @param ruleConfig the rules that have been matched against the sentence, the matches are only
+   *                   returned if they have been calculated with equal rules
+   * @return the matches by rule (rules without a match are not included), or {@code null} if
+   *   the matches of the sentence are not in the cache
+   */
+  synchronized Map<Rule, RuleMatch[]> getRuleMatches(AnalyzedSentence analyzedSentence, Object ruleConfig) {
+    final CacheEntry entry = analyzedSentence.sentenceCacheEntry;
+    if (entry == null || entry.ruleMatches == null || !entry.ruleConfig.equals(ruleConfig)) {
+      return null;
+    }
+    return entry.ruleMatches;
+  }
+
+  synchronized void putRuleMatches(AnalyzedSentence analyzedSentence, Object ruleConfig, Map<Rule, RuleMatch[]> ruleMatches) {
+    final CacheEntry entry = analyzedSentence.sentenceCacheEntry;
+    if (entry != null) {
+      entry.ruleConfig = ruleConfig;
+      entry.ruleMatches = ruleMatches;
+    }
+  }
+
+  /**
+   * Remove all sentences from the cache.
+   */
+  public synchronized void clear() {
+    entries.clear();
+  }
+
+  /**
+   * The number of sentences in the cache.
+   */
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * How often the analysis of a sentence has been found in the cache.
+   */
+  public synchronized long getHitCount() {
+    return hitCount;
+  }
+
+  /**
+   * How often the analysis of a sentence has not been found in the cache.
+   */
+  public synchronized long getMissCount() {
+    return missCount;
+  }
+
+  private static class Key {
+    private final String language;
+    private final String sentence;
+    private final boolean isTextEnd;
+    private Key(Language language, String sentence, boolean isTextEnd) {
+      this.language = language.getShortNameWithCountryAndVariant();
+      this.sentence = sentence;
+      this.isTextEnd = isTextEnd;
+    }
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      final Key other = (Key) o;
+      return isTextEnd == other.isTextEnd && language.equals(other.language) && sentence.equals(other.sentence);
+    }
+    @Override
+    public int hashCode() {
+      return Objects.hash(language, sentence, isTextEnd);
+    }
+  }
+
+  static class CacheEntry {
+    private final CompactAnalyzedSentence compactSentence;
+    private Object ruleConfig;
+    private Map<Rule, RuleMatch[]> ruleMatches;
+    private CacheEntry(CompactAnalyzedSentence compactSentence) {
+      this.compactSentence = compactSentence;
+    }
+  }
+
+}
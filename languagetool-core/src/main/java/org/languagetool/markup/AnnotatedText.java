@@ -20,8 +20,8 @@ package org.languagetool.markup;
 
 import org.apache.commons.lang.StringUtils;
 
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -33,11 +33,18 @@ import java.util.Objects;
 public class AnnotatedText {
 
   private final List<TextPart> parts;
-  private final Map<Integer,Integer> mapping;  // plain text position to original text (with markup) position
+  // plain text positions (ascending, without duplicates) and their original text (with markup) positions:
+  private final int[] plainTextPositions;
+  private final int[] originalTextPositions;
 
-  AnnotatedText(List<TextPart> parts, Map<Integer,Integer> mapping) {
+  AnnotatedText(List<TextPart> parts, int[] plainTextPositions, int[] originalTextPositions) {
     this.parts = Objects.requireNonNull(parts);
-    this.mapping = Objects.requireNonNull(mapping);
+    this.plainTextPositions = Objects.requireNonNull(plainTextPositions);
+    this.originalTextPositions = Objects.requireNonNull(originalTextPositions);
+    if (plainTextPositions.length != originalTextPositions.length) {
+      throw new IllegalArgumentException("Position arrays must have the same length: "
+              + plainTextPositions.length + " != " + originalTextPositions.length);
+    }
   }
 
   public String getPlainText() {
@@ -60,29 +67,75 @@ public class AnnotatedText {
     if (plainTextPosition < 0) {
       throw new RuntimeException("plainTextPosition must be >= 0: " + plainTextPosition);
     }
-    final Integer origPosition = mapping.get(plainTextPosition);
-    if (origPosition != null) {
-      return origPosition;
+    int idx = Arrays.binarySearch(plainTextPositions, plainTextPosition);
+    if (idx >= 0) {
+      return originalTextPositions[idx];
+    }
+    // not found, so use the closest lower position:
+    idx = -idx - 2;
+    if (idx < 0) {
+      throw new RuntimeException("Could not map " + plainTextPosition + " to original position");
     }
-    int minDiff = Integer.MAX_VALUE;
-    Integer bestMatch = null;
-    // algorithm: find the closest lower position
-    for (Map.Entry<Integer, Integer> entry : mapping.entrySet()) {
-      int maybeClosePosition = entry.getKey();
-      if (plainTextPosition > maybeClosePosition) {
-        int diff = plainTextPosition - maybeClosePosition;
-        if (diff >= 0 && diff < minDiff) {
-          bestMatch = entry.getValue();
-          minDiff = diff;
-        }
+    return getOriginalTextPosition(idx, plainTextPosition);
+  }
+
+  /**
+   * Like {@link #getOriginalTextPositionFor(int)}, but for many positions at once, e.g.
+   * the start and end positions of all matches of a text. The positions are mapped in
+   * one pass over the mapping, which is faster than mapping them one by one.
+   * @param plainTextPositions positions in the plain text (no markup) that was checked, in any order
+   * @return the adjusted positions, in the same order as {@code plainTextPositions}
+   * @since 2.5
+   */
+  public int[] getOriginalTextPositionsFor(int[] plainTextPositions) {
+    final int[] result = new int[plainTextPositions.length];
+    if (isSorted(plainTextPositions)) {
+      int idx = 0;
+      for (int i = 0; i < plainTextPositions.length; i++) {
+        idx = advance(idx, plainTextPositions[i]);
+        result[i] = getOriginalTextPosition(idx, plainTextPositions[i]);
+      }
+    } else {
+      // sort by position, but remember the original order (position in the upper, index in the lower 32 bits):
+      final long[] sorted = new long[plainTextPositions.length];
+      for (int i = 0; i < plainTextPositions.length; i++) {
+        sorted[i] = ((long) plainTextPositions[i] << 32) | i;
+      }
+      Arrays.sort(sorted);
+      int idx = 0;
+      for (long positionAndIndex : sorted) {
+        final int position = (int) (positionAndIndex >> 32);
+        idx = advance(idx, position);
+        result[(int) positionAndIndex] = getOriginalTextPosition(idx, position);
       }
     }
-    if (bestMatch == null) {
-      throw new RuntimeException("Could not map " + plainTextPosition + " to original position");
+    return result;
+  }
+
+  private boolean isSorted(int[] positions) {
+    for (int i = 1; i < positions.length; i++) {
+      if (positions[i] < positions[i - 1]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // move the index forward to the last mapping entry at or before the position:
+  private int advance(int idx, int plainTextPosition) {
+    if (plainTextPosition < 0) {
+      throw new RuntimeException("plainTextPosition must be >= 0: " + plainTextPosition);
+    }
+    while (idx + 1 < plainTextPositions.length && plainTextPositions[idx + 1] <= plainTextPosition) {
+      idx++;
     }
-    // we assume that when we have found the closest match there's a one-to-one mapping
-    // in this region, thus we can add 'minDiff' to get the exact position:
-    return bestMatch + minDiff;
+    return idx;
+  }
+
+  // we assume that when we have found the closest match there's a one-to-one mapping
+  // in this region, thus we can add the difference to get the exact position:
+  private int getOriginalTextPosition(int idx, int plainTextPosition) {
+    return originalTextPositions[idx] + (plainTextPosition - plainTextPositions[idx]);
   }
 
   @Override
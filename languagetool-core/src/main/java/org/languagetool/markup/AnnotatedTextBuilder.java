@@ -19,9 +19,8 @@
 package org.languagetool.markup;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Use this builder to create input of text with markup for LanguageTool, so that it
@@ -78,8 +77,10 @@ public class AnnotatedTextBuilder {
   public AnnotatedText build() {
     int plainTextPosition = 0;
     int totalPosition = 0;
-    Map<Integer,Integer> mapping = new HashMap<>();
-    mapping.put(0, 0);
+    // the plain text positions never decrease, so the mapping is sorted by them:
+    int[] plainTextPositions = new int[parts.size() + 1];
+    int[] originalTextPositions = new int[parts.size() + 1];
+    int size = 1;  // position 0 maps to position 0
     for (TextPart part : parts) {
       if (part.getType().equals(TextPart.Type.TEXT)) {
         plainTextPosition += part.getPart().length();
@@ -87,9 +88,16 @@ public class AnnotatedTextBuilder {
       } else if (part.getType().equals(TextPart.Type.MARKUP)) {
         totalPosition += part.getPart().length();
       }
-      mapping.put(plainTextPosition, totalPosition);
+      if (plainTextPositions[size - 1] == plainTextPosition) {
+        // markup without text in between, the position after the markup is used:
+        originalTextPositions[size - 1] = totalPosition;
+      } else {
+        plainTextPositions[size] = plainTextPosition;
+        originalTextPositions[size] = totalPosition;
+        size++;
+      }
     }
-    return new AnnotatedText(parts, mapping);
+    return new AnnotatedText(parts, Arrays.copyOf(plainTextPositions, size), Arrays.copyOf(originalTextPositions, size));
   }
   
 }
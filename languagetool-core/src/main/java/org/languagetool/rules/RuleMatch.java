@@ -21,6 +21,7 @@ package org.languagetool.rules;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Callable;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -49,6 +50,7 @@ public class RuleMatch implements Comparable<RuleMatch> {
   private final String shortMessage;   // for OOo/LO context menu
 
   private List<String> suggestedReplacements = new ArrayList<>();
+  private LazySuggestedReplacements lazySuggestedReplacements;
 
   /**
    * Creates a RuleMatch object, taking the rule that triggered
@@ -221,8 +223,40 @@ public class RuleMatch implements Comparable<RuleMatch> {
   /**
    * @see #getSuggestedReplacements()
    */
-  public void setSuggestedReplacements(final List<String> replacements) {
+  public synchronized void setSuggestedReplacements(final List<String> replacements) {
     this.suggestedReplacements = Objects.requireNonNull(replacements, "replacements may be empty but not null");
+    this.lazySuggestedReplacements = null;
+  }
+
+  /**
+   * Set suggestions that are only computed when {@link #getSuggestedReplacements()} gets called
+   * for the first time, useful for suggestions that are expensive to compute (like those of
+   * spell checkers) but not needed by all clients. The computation may happen in a different
+   * thread than the one that created the match.
+   * @param replacements computes the suggestions, may return an empty list but not {@code null}
+   * @since 2.5
+   */
+  public synchronized void setLazySuggestedReplacements(final Callable<List<String>> replacements) {
+    this.lazySuggestedReplacements = new LazySuggestedReplacements(Objects.requireNonNull(replacements));
+    this.suggestedReplacements = null;
+  }
+
+  /**
+   * Use the suggestions of another match. If the suggestions of that match have not been
+   * computed yet, they are not computed now but only when one of the matches needs them.
+   * @since 2.5
+   */
+  public void copySuggestedReplacements(final RuleMatch other) {
+    final List<String> replacements;
+    final LazySuggestedReplacements lazyReplacements;
+    synchronized (other) {
+      replacements = other.suggestedReplacements;
+      lazyReplacements = other.lazySuggestedReplacements;
+    }
+    synchronized (this) {
+      this.suggestedReplacements = replacements;
+      this.lazySuggestedReplacements = lazyReplacements;
+    }
   }
 
   /**
@@ -231,7 +265,11 @@ public class RuleMatch implements Comparable<RuleMatch> {
    * to {@link #getToPos()}.
    * @return List of String objects or an empty List
    */
-  public List<String> getSuggestedReplacements() {
+  public synchronized List<String> getSuggestedReplacements() {
+    if (lazySuggestedReplacements != null) {
+      suggestedReplacements = lazySuggestedReplacements.get();
+      lazySuggestedReplacements = null;
+    }
     return suggestedReplacements;
   }
 
@@ -249,4 +287,31 @@ public class RuleMatch implements Comparable<RuleMatch> {
     return Integer.compare(getFromPos(), other.getFromPos());
   }
 
+  /**
+   * Computes the suggestions only once, even if shared by several matches.
+   */
+  private static class LazySuggestedReplacements {
+
+    private Callable<List<String>> replacements;
+    private List<String> result;
+
+    private LazySuggestedReplacements(Callable<List<String>> replacements) {
+      this.replacements = replacements;
+    }
+
+    private synchronized List<String> get() {
+      if (result == null) {
+        try {
+          result = Objects.requireNonNull(replacements.call(), "replacements may be empty but not null");
+        } catch (RuntimeException e) {
+          throw e;
+        } catch (Exception e) {
+          throw new RuntimeException("Could not compute suggestions", e);
+        }
+        replacements = null;
+      }
+      return result;
+    }
+  }
+
 }
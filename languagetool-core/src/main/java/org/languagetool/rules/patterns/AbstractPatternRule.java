@@ -21,13 +21,16 @@ package org.languagetool.rules.patterns;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 
 import org.languagetool.AnalyzedSentence;
 import org.languagetool.Language;
 import org.languagetool.rules.Rule;
 import org.languagetool.rules.RuleMatch;
+import org.languagetool.tools.StringTools;
 
 /**
  * An Abstract Pattern Rule that describes a pattern of words or part-of-speech tags 
@@ -54,6 +57,10 @@ public abstract class AbstractPatternRule extends Rule {
 
   private boolean groupsOrUnification;
 
+  // Tokens and lemmas used for checking whether a rule can ever match:
+  private final Set<String> simpleRuleTokens;
+  private final Set<String> inflectedRuleTokens;
+
   public AbstractPatternRule(final String id, 
       final String description,
       final Language language,
@@ -64,6 +71,9 @@ public abstract class AbstractPatternRule extends Rule {
     this.patternElements = new ArrayList<>(Objects.requireNonNull(elements, "elements cannot be null")); // copy elements
     this.language = Objects.requireNonNull(language, "language cannot be null");
     this.getUnified = getUnified;
+    for (Element elem : patternElements) {
+      elem.setPosTagSymbolTable(language.getPosTagSymbolTable());
+    }
     testUnification = initUnifier();
     sentStart = patternElements.size() > 0 && patternElements.get(0).isSentenceStart();    
     if (!testUnification) {
@@ -76,6 +86,9 @@ public abstract class AbstractPatternRule extends Rule {
     } else {
       groupsOrUnification = true;
     }
+    //don't instantiate a hash for every sentence, simply store it:
+    simpleRuleTokens = getSimpleTokens();
+    inflectedRuleTokens = getInflectedTokens();
   }
 
   private boolean initUnifier() {
@@ -176,4 +189,50 @@ public abstract class AbstractPatternRule extends Rule {
   public List<Element> getPatternElements() {
     return patternElements;
   }
+  /**
+   * A fast check whether this rule can be ignored for the given sentence
+   * because it can never match. Used internally for performance optimization.
+   * @since 2.4
+   */
+  public boolean canBeIgnoredFor(AnalyzedSentence sentence) {
+    return (!simpleRuleTokens.isEmpty() && !sentence.getTokenSet().containsAll(simpleRuleTokens))
+            || (!inflectedRuleTokens.isEmpty() && !sentence.getLemmaSet().containsAll(inflectedRuleTokens));
+  }
+
+  // tokens that just refer to a word - no regex, no inflection etc.
+  private Set<String> getSimpleTokens() {
+    final Set<String> tokenSet = new HashSet<>();
+    for (Element element : patternElements) {
+      if (isRequiredString(element) && !element.isInflected()) {
+        tokenSet.add(element.getString().toLowerCase());
+      }
+    }
+    return tokenSet;
+  }
+
+  // tokens that just refer to a lemma - no regex etc.
+  private Set<String> getInflectedTokens() {
+    final Set<String> lemmaSet = new HashSet<>();
+    for (Element element : patternElements) {
+      if (isRequiredString(element) && element.isInflected()) {
+        lemmaSet.add(element.getString().toLowerCase());
+      }
+    }
+    return lemmaSet;
+  }
+
+  // an element with an OR group can also match the strings of the other group members:
+  private boolean isRequiredString(Element element) {
+    return !element.getNegation() && !element.isRegularExpression() && !element.isReferenceElement()
+            && !element.hasOrGroup() && element.getMinOccurrence() > 0 && !StringTools.isEmpty(element.getString());
+  }
+
+  Set<String> getSimpleRuleTokens() {
+    return simpleRuleTokens;
+  }
+
+  Set<String> getInflectedRuleTokens() {
+    return inflectedRuleTokens;
+  }
+
 }
@@ -0,0 +1,195 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.patterns;
+
+import org.languagetool.JLanguageTool;
+import org.languagetool.Language;
+import org.xml.sax.SAXException;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * The pattern rules of a language, loaded from XML only once per process and shared
+ * by all {@link JLanguageTool} instances of that language, so that many instances don't
+ * cost more memory for the rules than one instance. The rules must be treated as read-only,
+ * the per-instance configuration (disabled rules etc.) is kept in {@link JLanguageTool}.
+ * Matching a {@link PatternRule} is thread-safe.
+ * @since 2.5
+ */
+public final class CompiledRuleSet {
+
+  private static final ConcurrentMap<String, Future<CompiledRuleSet>> cache = new ConcurrentHashMap<>();
+
+  private final List<PatternRule> rules;
+
+  private volatile PatternRuleAutomaton automaton;
+
+  private CompiledRuleSet(List<PatternRule> rules) {
+    this.rules = Collections.unmodifiableList(new ArrayList<>(rules));
+  }
+
+  /**
+   * Get the rules from the language's pattern rule files (e.g. {@code grammar.xml}), with the
+   * rules enabled and disabled that are specific to the language variant.
+   */
+  public static CompiledRuleSet getPatternRules(final Language language) throws IOException {
+    final String key = "pattern:" + language.getShortNameWithCountryAndVariant() + ":" + language.getRuleFileNames();
+    try {
+      return get(key, new Callable<CompiledRuleSet>() {
+        @Override
+        public CompiledRuleSet call() throws Exception {
+          return new CompiledRuleSet(loadPatternRules(language));
+        }
+      });
+    } catch (IOException | RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new IOException("Could not load pattern rules for " + language, e);
+    }
+  }
+
+  /**
+   * Get the false friend rules for the given text language and mother tongue.
+   * @param filename path to an XML file in the classpath or in the filesystem - the classpath is checked first
+   */
+  public static CompiledRuleSet getFalseFriendRules(final String filename, final Language language, final Language motherTongue)
+          throws ParserConfigurationException, SAXException, IOException {
+    final String key = "falseFriends:" + filename + ":" + language.getShortNameWithCountryAndVariant()
+            + ":" + motherTongue.getShortNameWithCountryAndVariant();
+    try {
+      return get(key, new Callable<CompiledRuleSet>() {
+        @Override
+        public CompiledRuleSet call() throws Exception {
+          return new CompiledRuleSet(loadFalseFriendRules(filename, language, motherTongue));
+        }
+      });
+    } catch (ParserConfigurationException | SAXException | IOException | RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new IOException("Could not load false friend rules from " + filename, e);
+    }
+  }
+
+  /**
+   * Remove all rule sets from the cache, so they will be loaded again on next use. Instances
+   * of {@link JLanguageTool} that already use the rules are not affected.
+   */
+  public static void clearCache() {
+    cache.clear();
+  }
+
+  /**
+   * The rules of this set as an unmodifiable list.
+   */
+  public List<PatternRule> getRules() {
+    return rules;
+  }
+
+  /**
+   * An automaton that can match the supported rules of this set at once, created on first use.
+   * @see org.languagetool.JLanguageTool#setPatternMatchingMode(org.languagetool.JLanguageTool.PatternMatchingMode)
+   */
+  public PatternRuleAutomaton getAutomaton() {
+    PatternRuleAutomaton result = automaton;
+    if (result == null) {
+      synchronized (this) {
+        result = automaton;
+        if (result == null) {
+          result = new PatternRuleAutomaton(rules);
+          automaton = result;
+        }
+      }
+    }
+    return result;
+  }
+
+  private static CompiledRuleSet get(String key, Callable<CompiledRuleSet> loader) throws Exception {
+    Future<CompiledRuleSet> future = cache.get(key);
+    if (future == null) {
+      final FutureTask<CompiledRuleSet> newFuture = new FutureTask<>(loader);
+      future = cache.putIfAbsent(key, newFuture);
+      if (future == null) {
+        future = newFuture;
+        newFuture.run();  // load in this thread, other threads asking for the same key will wait
+      }
+    }
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      cache.remove(key, future);  // don't keep the failure, so the next call will try again
+      if (e.getCause() instanceof Exception) {
+        throw (Exception) e.getCause();
+      }
+      throw e;
+    } catch (InterruptedException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static List<PatternRule> loadPatternRules(Language language) throws IOException {
+    final List<PatternRule> patternRules = new ArrayList<>();
+    final PatternRuleLoader ruleLoader = new PatternRuleLoader();
+    for (String filename : language.getRuleFileNames()) {
+      final InputStream is = JLanguageTool.class.getResourceAsStream(filename);
+      if (is == null) {
+        // happens for external rules plugged in as an XML file:
+        patternRules.addAll(ruleLoader.getRules(new File(filename)));
+      } else {
+        patternRules.addAll(ruleLoader.getRules(is, filename));
+      }
+    }
+    final List<String> enabledRules = language.getDefaultEnabledRulesForVariant();
+    final List<String> disabledRules = language.getDefaultDisabledRulesForVariant();
+    if (!enabledRules.isEmpty() || !disabledRules.isEmpty()) {
+      for (PatternRule patternRule : patternRules) {
+        if (enabledRules.contains(patternRule.getId())) {
+          patternRule.setDefaultOn();
+        }
+        if (disabledRules.contains(patternRule.getId())) {
+          patternRule.setDefaultOff();
+        }
+      }
+    }
+    return patternRules;
+  }
+
+  private static List<PatternRule> loadFalseFriendRules(String filename, Language language, Language motherTongue)
+          throws ParserConfigurationException, SAXException, IOException {
+    final FalseFriendRuleLoader ruleLoader = new FalseFriendRuleLoader();
+    final InputStream is = JLanguageTool.class.getResourceAsStream(filename);
+    if (is == null) {
+      return ruleLoader.getRules(new File(filename), language, motherTongue);
+    } else {
+      return ruleLoader.getRules(is, language, motherTongue);
+    }
+  }
+
+}
@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -30,6 +31,7 @@ import org.languagetool.AnalyzedTokenReadings;
 import org.languagetool.JLanguageTool;
 import org.languagetool.chunking.ChunkTag;
 import org.languagetool.synthesis.Synthesizer;
+import org.languagetool.tagging.PosTagSymbolTable;
 import org.languagetool.tools.StringTools;
 
 /**
@@ -84,6 +86,18 @@ public class Element implements Cloneable {
 
   private Pattern p;
   private Pattern pPos;
+  /** The id of {@link #p} in the {@link TokenRegexTable}. */
+  private int regexId = TokenRegexTable.NO_ID;
+
+  /** The POS tags of the rule's language, {@code null} if not known, then {@link #pPos} is applied every time. */
+  private PosTagSymbolTable posTagSymbolTable;
+  /**
+   * Whether {@link #pPos} matches the POS tags seen so far, two bits per tag id of {@link #posTagSymbolTable}:
+   * the lower one is set if the result is known, the upper one if the tag matches. The words are updated
+   * atomically, and the array is only replaced by a bigger copy when the table has grown, so it can be
+   * read by several threads without locking.
+   */
+  private volatile AtomicLongArray posTagMatches;
 
   /** The reference to another element in the pattern. **/
   private Match tokenReference;
@@ -326,11 +340,36 @@ public class Element implements Cloneable {
     return JLanguageTool.SENTENCE_START_TAGNAME.equals(posToken) && !posNegation;
   }
 
+  /**
+   * Set the table of the POS tags this element and its exceptions and groups are matched against,
+   * done for all elements of an {@link AbstractPatternRule}.
+   * @since 2.5
+   */
+  void setPosTagSymbolTable(final PosTagSymbolTable table) {
+    if (posTagSymbolTable != table) {
+      posTagSymbolTable = table;
+      posTagMatches = null;
+    }
+    setPosTagSymbolTable(exceptionList, table);
+    setPosTagSymbolTable(previousExceptionList, table);
+    setPosTagSymbolTable(andGroupList, table);
+    setPosTagSymbolTable(orGroupList, table);
+  }
+
+  private static void setPosTagSymbolTable(final List<Element> elements, final PosTagSymbolTable table) {
+    if (elements != null) {
+      for (Element element : elements) {
+        element.setPosTagSymbolTable(table);
+      }
+    }
+  }
+
   public final void setPosElement(final String posToken, final boolean regExp,
       final boolean negation) {
     this.posToken = posToken;
     this.posNegation = negation;
     posRegExp = regExp;
+    posTagMatches = null;
     if (posRegExp) {
       pPos = Pattern.compile(posToken);
       final Matcher mPos = pPos.matcher(UNKNOWN_TAG);
@@ -352,6 +391,14 @@ public class Element implements Cloneable {
   }
 
   public final void setStringElement(final String token) {
+    setStringElement(token, true);
+  }
+
+  /**
+   * @param shareRegex whether to take the regular expression from the {@link TokenRegexTable},
+   *                   false for expressions that are created while matching
+   */
+  private void setStringElement(final String token, final boolean shareRegex) {
     stringToken = token;
     testString = !StringTools.isEmpty(stringToken);
     if (testString && stringRegExp) {
@@ -360,7 +407,14 @@ public class Element implements Cloneable {
         regToken = CASE_INSENSITIVE + stringToken;
       }
       if (!"\\0".equals(token)) {
-        p = Pattern.compile(regToken);
+        if (shareRegex) {
+          final TokenRegexTable.Entry entry = TokenRegexTable.get(regToken);
+          p = entry.pattern;
+          regexId = entry.id;
+        } else {
+          p = Pattern.compile(regToken);
+          regexId = TokenRegexTable.NO_ID;
+        }
       }
     }
   }
@@ -392,6 +446,7 @@ public class Element implements Cloneable {
 
 
   private void setException(final Element elem, final boolean scopePrevious) {
+    elem.posTagSymbolTable = posTagSymbolTable;
     exceptionValidPrevious |= scopePrevious;
     if (exceptionList == null && !scopePrevious) {
       exceptionList = new ArrayList<>();
@@ -452,8 +507,7 @@ public class Element implements Cloneable {
     }
     boolean match;
     if (posRegExp) {
-      final Matcher mPos = pPos.matcher(token.getPOSTag());
-      match = mPos.matches();
+      match = isPosTagMatchedByRegex(token);
     } else {
       match = posToken.equals(token.getPOSTag());
     }
@@ -463,6 +517,40 @@ public class Element implements Cloneable {
     return match;
   }
 
+  // tag sets are small, so the regular expression is only applied once per tag:
+  private boolean isPosTagMatchedByRegex(final AnalyzedToken token) {
+    final PosTagSymbolTable table = posTagSymbolTable;
+    final int id = table == null ? PosTagSymbolTable.NO_ID : token.getPOSTagId(table);
+    if (id == PosTagSymbolTable.NO_ID) {
+      return pPos.matcher(token.getPOSTag()).matches();
+    }
+    final int word = id >>> 5;
+    final int bit = (id & 31) << 1;
+    AtomicLongArray matches = posTagMatches;
+    if (matches != null && word < matches.length()) {
+      final long bits = matches.get(word);
+      if ((bits >>> bit & 1) != 0) {
+        return (bits >>> bit & 2) != 0;
+      }
+    }
+    final boolean match = pPos.matcher(token.getPOSTag()).matches();
+    if (matches == null || word >= matches.length()) {
+      // make room for all tags known by now, so this only happens a few times while the table fills up.
+      // Results set in the old array in the meantime may get lost, then the tag is matched again:
+      final AtomicLongArray newMatches = new AtomicLongArray(Math.max(word, table.size() >>> 5) + 1);
+      for (int i = 0; matches != null && i < matches.length(); i++) {
+        newMatches.set(i, matches.get(i));
+      }
+      posTagMatches = newMatches;
+      matches = newMatches;
+    }
+    long bits;
+    do {
+      bits = matches.get(word);
+    } while (!matches.compareAndSet(word, bits, bits | (match ? 3L : 1L) << bit));
+    return match;
+  }
+
   /**
    * Tests whether the string token element matches a given token.
    * @param token {@link AnalyzedToken} to match against.
@@ -471,8 +559,7 @@ public class Element implements Cloneable {
   boolean isStringTokenMatched(final AnalyzedToken token) {
     final String testToken = getTestToken(token);
     if (stringRegExp) {
-      final Matcher m = p.matcher(testToken);
-      return m.matches();
+      return isMatchedByRegex(testToken);
     }
     if (caseSensitive) {
       return stringToken.equals(testToken);
@@ -480,6 +567,21 @@ public class Element implements Cloneable {
     return stringToken.equalsIgnoreCase(testToken);
   }
 
+  // many rules use the same expressions, so the results are shared via the memo:
+  private boolean isMatchedByRegex(final String testToken) {
+    if (regexId == TokenRegexTable.NO_ID) {
+      return p.matcher(testToken).matches();
+    }
+    final TokenRegexMemo memo = TokenRegexMemo.get();
+    final int result = memo.get(regexId, testToken);
+    if (result != TokenRegexMemo.UNKNOWN) {
+      return result == 1;
+    }
+    final boolean match = p.matcher(testToken).matches();
+    memo.put(regexId, testToken, match);
+    return match;
+  }
+
   private String getTestToken(final AnalyzedToken token) {
     // enables using words with lemmas and without lemmas
     // in the same regexp with inflected="yes"
@@ -613,6 +715,7 @@ public class Element implements Cloneable {
 
   void doCompile(final AnalyzedTokenReadings token, final Synthesizer synth) throws IOException {
     p = null;
+    regexId = TokenRegexTable.NO_ID;
     final MatchState matchState = tokenReference.createState(synth, token);
 
     if (StringTools.isEmpty(referenceString)) {
@@ -623,11 +726,11 @@ public class Element implements Cloneable {
       if (posReference != null) {
         setPosElement(posReference, tokenReference.posRegExp(), negation);
       }
-      setStringElement(referenceString.replace("\\" + tokenReference.getTokenRef(), ""));
+      setStringElement(referenceString.replace("\\" + tokenReference.getTokenRef(), ""), false);
       inflected = true;
     } else {
       setStringElement(referenceString.replace("\\" + tokenReference.getTokenRef(),
-          matchState.toTokenString()));
+          matchState.toTokenString()), false);
     }
   }
 
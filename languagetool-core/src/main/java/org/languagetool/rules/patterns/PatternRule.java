@@ -51,21 +51,12 @@ public class PatternRule extends AbstractPatternRule {
   // Formatted suggestion elements outside message.
   private List<Match> suggestionMatchesOutMsg;
 
-  private Set<String> tokenSet;
-
-  private Set<String> lemmaSet;
-
   // This property is used for short-circuiting evaluation of the elementNo list order.
   private boolean useList;
 
   // Marks whether the rule is a member of a disjunctive set (in case of OR operation on phraserefs).
   private boolean isMemberOfDisjunctiveSet;
 
-  // Tokens used for checking whether a rule can ever match.
-  private final Set<String> simpleRuleTokens;
-
-  private final Set<String> inflectedRuleTokens;
-
   /**
    * @param id Id of the Rule. Used in configuration. Should not contain special characters and should
    *        be stable over time, unless the rule changes completely.
@@ -111,9 +102,6 @@ public class PatternRule extends AbstractPatternRule {
         loopCnt++;
       }
     }
-    //don't instantiate a hash for every sentence, simply store it:
-    simpleRuleTokens = getSimpleTokens();
-    inflectedRuleTokens = getInflectedTokens();
   }  
   
   public PatternRule(final String id, final Language language,
@@ -218,50 +206,6 @@ public class PatternRule extends AbstractPatternRule {
     return patternElements;
   }
 
-  /**
-   * A fast check whether this rule can be ignored for the given sentence
-   * because it can never match. Used internally for performance optimization.
-   * @since 2.4
-   */
-  public boolean canBeIgnoredFor(AnalyzedSentence sentence) {
-    return (!simpleRuleTokens.isEmpty() && !sentence.getTokenSet().containsAll(simpleRuleTokens))
-            || (!inflectedRuleTokens.isEmpty() && !sentence.getLemmaSet().containsAll(inflectedRuleTokens));
-  }
-
-  // tokens that just refer to a word - no regex, no inflection etc.
-  private synchronized Set<String> getSimpleTokens() {
-    if (tokenSet == null) {
-      tokenSet = new HashSet<>();
-      for (Element element : patternElements) {
-        if (!element.getNegation() && !element.isRegularExpression() 
-                && !element.isReferenceElement() && !element.isInflected() && element.getMinOccurrence() > 0) {
-          String str = element.getString();
-          if (!StringTools.isEmpty(str)) {
-            tokenSet.add(str.toLowerCase());
-          }
-        }
-      }
-    }
-    return tokenSet;
-  }
-
-  // tokens that just refer to a lemma - no regex etc.
-  private synchronized Set<String> getInflectedTokens() {
-    if (lemmaSet == null) {
-      lemmaSet = new HashSet<>();
-      for (Element element : patternElements) {
-        if (!element.getNegation() && !element.isRegularExpression()
-                && !element.isReferenceElement() && element.isInflected() && element.getMinOccurrence() > 0) {
-          String str = element.getString();
-          if (!StringTools.isEmpty(str)) {
-            lemmaSet.add(str.toLowerCase());
-          }
-        }
-      }
-    }
-    return lemmaSet;
-  }
-
   List<Integer> getElementNo() {
     return elementNo;
   }
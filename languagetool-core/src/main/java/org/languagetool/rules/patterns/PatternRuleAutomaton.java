@@ -0,0 +1,203 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.patterns;
+
+import org.languagetool.AnalyzedSentence;
+import org.languagetool.AnalyzedTokenReadings;
+import org.languagetool.rules.Rule;
+import org.languagetool.rules.RuleMatch;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Matches many pattern rules at once: the token sequences of all supported rules
+ * are compiled into one trie, which is walked once from each token of a sentence
+ * instead of trying every rule at every token. The automaton is immutable and can be
+ * shared between threads.
+ *
+ * <p>Only rules that consist of plain words are supported, i.e. no regular expressions,
+ * POS tags, inflection, exceptions, skipping, optional elements, unification etc.
+ * All other rules need to be matched with {@link PatternRule#match(AnalyzedSentence)},
+ * use {@link #covers(Rule)} to find out which rules are supported.
+ * @since 2.5
+ */
+public final class PatternRuleAutomaton {
+
+  private final Node root = new Node();
+  // the matchers only create the matches at the positions found by the automaton, which doesn't
+  // change their state, so they can be shared between threads:
+  private final Map<Rule, PatternRuleMatcher> matchers = new IdentityHashMap<>();
+
+  public PatternRuleAutomaton(List<PatternRule> rules) {
+    for (PatternRule rule : rules) {
+      if (isSupported(rule)) {
+        add(rule);
+        matchers.put(rule, new PatternRuleMatcher(rule, false));
+      }
+    }
+  }
+
+  /**
+   * Whether the automaton can match the given rule.
+   */
+  public boolean covers(Rule rule) {
+    return matchers.containsKey(rule);
+  }
+
+  /**
+   * Find the matches of all rules covered by this automaton in the sentence.
+   */
+  public SentenceMatches match(AnalyzedSentence sentence) {
+    final AnalyzedTokenReadings[] tokens = sentence.getTokensWithoutWhitespace();
+    final Map<PatternRule, List<Integer>> startPositions = new IdentityHashMap<>();
+    for (int i = 0; i < tokens.length; i++) {
+      Node node = root;
+      for (int j = i; j < tokens.length && node != null; j++) {
+        if (tokens[j].isImmunized()) {
+          break;
+        }
+        node = node.children.get(foldCase(getToken(tokens[j])));
+        if (node != null) {
+          for (PatternRule rule : node.rules) {
+            if (isCaseMatched(rule, tokens, i)) {
+              List<Integer> positions = startPositions.get(rule);
+              if (positions == null) {
+                positions = new ArrayList<>();
+                startPositions.put(rule, positions);
+              }
+              positions.add(i);
+            }
+          }
+        }
+      }
+    }
+    return new SentenceMatches(tokens, startPositions, matchers);
+  }
+
+  static boolean isSupported(PatternRule rule) {
+    if (rule.sentStart || rule.testUnification || rule.isGroupsOrUnification() || rule.patternElements.isEmpty()) {
+      return false;
+    }
+    for (Element element : rule.patternElements) {
+      if (!isPlainWord(element)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isPlainWord(Element element) {
+    final String string = element.getString();
+    return string != null && !string.isEmpty()
+            && !element.isRegularExpression() && !element.getNegation() && !element.isInflected()
+            && element.getPOStag() == null && element.getChunkTag() == null
+            && !element.hasExceptionList() && !element.hasPreviousException()
+            && !element.hasAndGroup() && !element.hasOrGroup()
+            && !element.isReferenceElement() && !element.isPartOfPhrase() && !element.isUnified()
+            && !element.testWhitespace() && element.getSkipNext() == 0
+            && element.getMinOccurrence() == 1 && element.getMaxOccurrence() == 1;
+  }
+
+  private void add(PatternRule rule) {
+    Node node = root;
+    for (Element element : rule.patternElements) {
+      final String key = foldCase(element.getString());
+      Node child = node.children.get(key);
+      if (child == null) {
+        child = new Node();
+        node.children.put(key, child);
+      }
+      node = child;
+    }
+    node.rules.add(rule);
+  }
+
+  // the trie is case-insensitive, so check case-sensitive elements here:
+  private boolean isCaseMatched(PatternRule rule, AnalyzedTokenReadings[] tokens, int start) {
+    for (int k = 0; k < rule.patternElements.size(); k++) {
+      final Element element = rule.patternElements.get(k);
+      if (element.isCaseSensitive() && !element.getString().equals(getToken(tokens[start + k]))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // like PatternRuleMatcher, only look at the first reading for plain words:
+  private static String getToken(AnalyzedTokenReadings token) {
+    return token.getAnalyzedToken(0).getToken();
+  }
+
+  // two strings have the same result here exactly if String.equalsIgnoreCase() is true for them:
+  private static String foldCase(String s) {
+    final char[] chars = s.toCharArray();
+    for (int i = 0; i < chars.length; i++) {
+      chars[i] = Character.toLowerCase(Character.toUpperCase(chars[i]));
+    }
+    return new String(chars);
+  }
+
+  /**
+   * The matches of a sentence, as found by {@link PatternRuleAutomaton#match(AnalyzedSentence)}.
+   */
+  public static final class SentenceMatches {
+
+    private final AnalyzedTokenReadings[] tokens;
+    private final Map<PatternRule, List<Integer>> startPositions;
+    private final Map<Rule, PatternRuleMatcher> matchers;
+
+    private SentenceMatches(AnalyzedTokenReadings[] tokens, Map<PatternRule, List<Integer>> startPositions,
+                            Map<Rule, PatternRuleMatcher> matchers) {
+      this.tokens = tokens;
+      this.startPositions = startPositions;
+      this.matchers = matchers;
+    }
+
+    /**
+     * Get the matches of a rule covered by the automaton, the same matches
+     * that {@link PatternRule#match(AnalyzedSentence)} would return.
+     */
+    public RuleMatch[] getRuleMatches(PatternRule rule) throws IOException {
+      final List<Integer> positions = startPositions.get(rule);
+      if (positions == null) {
+        return new RuleMatch[0];
+      }
+      final PatternRuleMatcher matcher = matchers.get(rule);
+      final List<RuleMatch> ruleMatches = new ArrayList<>(positions.size());
+      for (int position : positions) {
+        final RuleMatch ruleMatch = matcher.createRuleMatchForTokenSequence(tokens, position);
+        if (ruleMatch != null) {
+          ruleMatches.add(ruleMatch);
+        }
+      }
+      return ruleMatches.toArray(new RuleMatch[ruleMatches.size()]);
+    }
+  }
+
+  private static class Node {
+    private final Map<String, Node> children = new HashMap<>();
+    private final List<PatternRule> rules = new ArrayList<>();
+  }
+
+}
@@ -0,0 +1,209 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.patterns;
+
+import org.languagetool.AnalyzedSentence;
+import org.languagetool.rules.Rule;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An index over a list of rules that finds the rules that might match a sentence
+ * without asking every rule. Each {@link AbstractPatternRule} (i.e. pattern rules
+ * and disambiguation rules) that requires a specific word or lemma
+ * (see {@link AbstractPatternRule#canBeIgnoredFor(AnalyzedSentence)}) is indexed by one
+ * of these words, its anchor. All other rules don't have an anchor and are always candidates.
+ * An index for a part of the rules can be taken from the index for all rules
+ * with {@link #restrictTo(List)}, so that it doesn't need to be built again.
+ * Used internally for performance optimization.
+ * @since 2.5
+ */
+public final class PatternRuleIndex<T extends Rule> {
+
+  private final List<T> rules;
+  /** The rules the index has been built for, {@code rules} is a subset of these if this index has been restricted. */
+  private final List<T> indexedRules;
+  /** The positions of the rules of this index in {@code indexedRules}, {@code null} if it has not been restricted. */
+  private final BitSet ruleMask;
+  private final BitSet unanchoredRules;
+  private final Map<String, BitSet> rulesByToken;
+  private final Map<String, BitSet> rulesByLemma;
+  private final Map<Rule, Integer> positions;
+
+  public PatternRuleIndex(List<? extends T> rules) {
+    this.rules = Collections.unmodifiableList(new ArrayList<>(rules));
+    this.indexedRules = this.rules;
+    this.ruleMask = null;
+    this.unanchoredRules = new BitSet();
+    this.rulesByToken = new HashMap<>();
+    this.rulesByLemma = new HashMap<>();
+    this.positions = new IdentityHashMap<>();
+    for (int i = 0; i < this.rules.size(); i++) {
+      final Rule rule = this.rules.get(i);
+      positions.put(rule, i);
+      if (rule instanceof AbstractPatternRule) {
+        final AbstractPatternRule patternRule = (AbstractPatternRule) rule;
+        final String tokenAnchor = getAnchor(patternRule.getSimpleRuleTokens());
+        if (tokenAnchor != null) {
+          add(rulesByToken, tokenAnchor, i);
+          continue;
+        }
+        final String lemmaAnchor = getAnchor(patternRule.getInflectedRuleTokens());
+        if (lemmaAnchor != null) {
+          add(rulesByLemma, lemmaAnchor, i);
+          continue;
+        }
+      }
+      unanchoredRules.set(i);
+    }
+  }
+
+  private PatternRuleIndex(PatternRuleIndex<T> index, List<T> rules, BitSet ruleMask) {
+    this.rules = rules;
+    this.indexedRules = index.indexedRules;
+    this.ruleMask = ruleMask;
+    this.unanchoredRules = (BitSet) index.unanchoredRules.clone();
+    this.unanchoredRules.and(ruleMask);
+    this.rulesByToken = index.rulesByToken;
+    this.rulesByLemma = index.rulesByLemma;
+    this.positions = index.positions;
+  }
+
+  /**
+   * An index for some of the rules of this index, sharing the data of this index.
+   * @param subset rules of this index, in the same order as in this index
+   * @return the index for {@code subset}, or {@code null} if {@code subset} contains other rules
+   *         or is not in the same order as this index
+   */
+  public PatternRuleIndex<T> restrictTo(List<? extends Rule> subset) {
+    final BitSet mask = new BitSet(indexedRules.size());
+    final List<T> subsetRules = new ArrayList<>(subset.size());
+    int previous = -1;
+    for (Rule rule : subset) {
+      final Integer position = positions.get(rule);
+      if (position == null || position <= previous || (ruleMask != null && !ruleMask.get(position))) {
+        return null;
+      }
+      mask.set(position);
+      subsetRules.add(indexedRules.get(position));
+      previous = position;
+    }
+    return new PatternRuleIndex<>(this, Collections.unmodifiableList(subsetRules), mask);
+  }
+
+  /**
+   * Whether this index has been built for exactly the given rules in the given order.
+   */
+  public boolean isFor(List<? extends Rule> otherRules) {
+    if (rules.size() != otherRules.size()) {
+      return false;
+    }
+    for (int i = 0; i < rules.size(); i++) {
+      if (rules.get(i) != otherRules.get(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * The rules of this index as an unmodifiable list, in the order in which they were given to the constructor.
+   */
+  public List<T> getRules() {
+    return rules;
+  }
+
+  /**
+   * The rules the positions returned by {@link #getCandidateIndexes(AnalyzedSentence)} refer to. These are
+   * the rules of the index this one has been {@link #restrictTo(List) restricted} from, otherwise the
+   * same as {@link #getRules()}.
+   */
+  public List<T> getIndexedRules() {
+    return indexedRules;
+  }
+
+  /**
+   * The rules that might match the sentence, in the order in which they were given to the
+   * constructor. The anchored rules in here still need to be checked
+   * with {@link AbstractPatternRule#canBeIgnoredFor(AnalyzedSentence)}, as they may require more
+   * than their anchor.
+   */
+  public List<T> getCandidateRules(AnalyzedSentence sentence) {
+    final BitSet candidates = getCandidateIndexes(sentence);
+    final List<T> result = new ArrayList<>(candidates.cardinality());
+    for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+      result.add(indexedRules.get(i));
+    }
+    return result;
+  }
+
+  /**
+   * Like {@link #getCandidateRules(AnalyzedSentence)}, but returns the positions
+   * of the candidate rules in {@link #getIndexedRules()}.
+   */
+  public BitSet getCandidateIndexes(AnalyzedSentence sentence) {
+    final BitSet candidates = (BitSet) unanchoredRules.clone();
+    addCandidates(candidates, rulesByToken, sentence.getTokenSet());
+    addCandidates(candidates, rulesByLemma, sentence.getLemmaSet());
+    if (ruleMask != null) {
+      candidates.and(ruleMask);
+    }
+    return candidates;
+  }
+
+  private void addCandidates(BitSet candidates, Map<String, BitSet> index, Set<String> sentenceStrings) {
+    if (index.isEmpty()) {
+      return;
+    }
+    for (String s : sentenceStrings) {
+      final BitSet ruleIndexes = index.get(s);
+      if (ruleIndexes != null) {
+        candidates.or(ruleIndexes);
+      }
+    }
+  }
+
+  // any of the required strings will do, use the longest one as it's probably the least common:
+  private String getAnchor(Set<String> requiredStrings) {
+    String anchor = null;
+    for (String s : requiredStrings) {
+      if (anchor == null || s.length() > anchor.length() || (s.length() == anchor.length() && s.compareTo(anchor) < 0)) {
+        anchor = s;
+      }
+    }
+    return anchor;
+  }
+
+  private void add(Map<String, BitSet> index, String anchor, int ruleIndex) {
+    BitSet ruleIndexes = index.get(anchor);
+    if (ruleIndexes == null) {
+      ruleIndexes = new BitSet();
+      index.put(anchor, ruleIndexes);
+    }
+    ruleIndexes.set(ruleIndex);
+  }
+
+}
@@ -21,6 +21,7 @@ package org.languagetool.rules.patterns;
 import org.languagetool.AnalyzedSentence;
 import org.languagetool.AnalyzedTokenReadings;
 import org.languagetool.Language;
+import org.languagetool.Profiler;
 import org.languagetool.rules.RuleMatch;
 import org.languagetool.tools.StringTools;
 
@@ -46,6 +47,7 @@ class PatternRuleMatcher extends AbstractPatternRulePerformer {
   }
 
   final RuleMatch[] match(final AnalyzedSentence text) throws IOException {
+    TokenRegexMemo.get().startSentence(text);
     final List<ElementMatcher> elementMatchers = createElementMatchers();
     final List<RuleMatch> ruleMatches = new ArrayList<>();
     final AnalyzedTokenReadings[] tokens = text.getTokensWithoutWhitespace();
@@ -173,16 +175,43 @@ class PatternRuleMatcher extends AbstractPatternRulePerformer {
     return maxSkip;
   }
 
+  /**
+   * Create the match for a rule whose elements each matched exactly one token,
+   * starting at {@code firstMatchToken}. Used by {@link PatternRuleAutomaton}.
+   */
+  RuleMatch createRuleMatchForTokenSequence(final AnalyzedTokenReadings[] tokens, final int firstMatchToken) throws IOException {
+    final List<Element> elements = rule.getPatternElements();
+    final int[] tokenPositions = new int[tokens.length + 1];
+    int firstMarkerMatchToken = -1;
+    int lastMarkerMatchToken = -1;
+    for (int k = 0; k < elements.size(); k++) {
+      tokenPositions[k] = 1;
+      if (elements.get(k).isInsideMarker()) {
+        if (firstMarkerMatchToken == -1) {
+          firstMarkerMatchToken = firstMatchToken + k;
+        }
+        lastMarkerMatchToken = firstMatchToken + k;
+      }
+    }
+    return createRuleMatch(tokenPositions, tokens, firstMatchToken, firstMatchToken + elements.size() - 1,
+        firstMarkerMatchToken, lastMarkerMatchToken);
+  }
+
   private RuleMatch createRuleMatch(final int[] tokenPositions,
       final AnalyzedTokenReadings[] tokens, final int firstMatchToken,
       final int lastMatchToken, int firstMarkerMatchToken, int lastMarkerMatchToken) throws IOException {
     final PatternRule rule = (PatternRule) this.rule;
+    final Profiler profiler = Profiler.getCurrent();
+    final long startTime = profiler != null ? System.nanoTime() : 0;
     final String errMessage = formatMatches(tokens, tokenPositions,
         firstMatchToken, rule.getMessage(), rule.getSuggestionMatches());
     final String shortErrMessage = formatMatches(tokens, tokenPositions,
         firstMatchToken, rule.getShortMessage(), rule.getSuggestionMatches());
     final String suggestionsOutMsg = formatMatches(tokens, tokenPositions,
         firstMatchToken, rule.getSuggestionsOutMsg(), rule.getSuggestionMatchesOutMsg());
+    if (profiler != null) {
+      profiler.addStageTime(Profiler.Stage.SUGGESTION, startTime);
+    }
     int correctedStPos = 0;
     if (rule.startPositionCorrection > 0) {
       for (int l = 0; l <= rule.startPositionCorrection; l++) {
@@ -278,7 +307,9 @@ class PatternRuleMatcher extends AbstractPatternRulePerformer {
    */
   private String formatMatches(final AnalyzedTokenReadings[] tokenReadings,
       final int[] positions, final int firstMatchTok, final String errorMsg,
-      final List<Match> suggestionMatches) throws IOException {
+      final List<Match> ruleSuggestionMatches) throws IOException {
+    // work on a copy, the rule is shared between threads (see CompiledRuleSet):
+    final List<Match> suggestionMatches = ruleSuggestionMatches != null ? new ArrayList<>(ruleSuggestionMatches) : null;
     String errorMessage = errorMsg;
     int matchCounter = 0;
     final int[] numbersToMatches = new int[errorMsg.length()];
@@ -0,0 +1,145 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.patterns;
+
+import org.languagetool.AnalyzedSentence;
+
+import java.util.Arrays;
+
+/**
+ * Remembers whether an expression of the {@link TokenRegexTable} matches a string, so each
+ * expression is applied at most once to each word of a sentence, no matter how many rules
+ * use it. There's one memo per thread, it's cleared when the thread starts matching
+ * the rules against another sentence (see {@link #startSentence(AnalyzedSentence)}) or
+ * when it gets too big. The results don't depend on the sentence, so using the memo
+ * without calling {@link #startSentence(AnalyzedSentence)} is okay, too.
+ * @since 2.5
+ */
+final class TokenRegexMemo {
+
+  static final int UNKNOWN = -1;
+
+  private static final int INITIAL_CAPACITY = 256;
+  private static final int MAX_SIZE = 1 << 14;
+
+  private static final ThreadLocal<TokenRegexMemo> memos = new ThreadLocal<TokenRegexMemo>() {
+    @Override
+    protected TokenRegexMemo initialValue() {
+      return new TokenRegexMemo();
+    }
+  };
+
+  // open addressing with linear probing, the three arrays have the same length, a power of two:
+  private String[] strings = new String[INITIAL_CAPACITY];
+  private int[] regexIds = new int[INITIAL_CAPACITY];
+  private boolean[] results = new boolean[INITIAL_CAPACITY];
+  private int size;
+  private AnalyzedSentence sentence;
+
+  private TokenRegexMemo() {
+  }
+
+  /**
+   * Get the memo of the current thread.
+   */
+  static TokenRegexMemo get() {
+    return memos.get();
+  }
+
+  /**
+   * Clear the memo if the sentence is not the one the memo has been used for so far.
+   */
+  void startSentence(AnalyzedSentence newSentence) {
+    if (newSentence != sentence) {
+      clear();
+      sentence = newSentence;
+    }
+  }
+
+  /**
+   * @return {@code 1} if the expression matches the string, {@code 0} if it doesn't,
+   *         or {@link #UNKNOWN} if the result is not in the memo
+   */
+  int get(int regexId, String s) {
+    final int mask = strings.length - 1;
+    for (int i = getSlot(regexId, s, mask); strings[i] != null; i = (i + 1) & mask) {
+      if (regexIds[i] == regexId && (strings[i] == s || strings[i].equals(s))) {
+        return results[i] ? 1 : 0;
+      }
+    }
+    return UNKNOWN;
+  }
+
+  /**
+   * Add a result that is not in the memo yet.
+   */
+  void put(int regexId, String s, boolean result) {
+    if (size >= MAX_SIZE) {
+      clear();
+    } else if (2 * (size + 1) > strings.length) {
+      resize();
+    }
+    add(regexId, s, result);
+  }
+
+  int size() {
+    return size;
+  }
+
+  private void add(int regexId, String s, boolean result) {
+    final int mask = strings.length - 1;
+    int i = getSlot(regexId, s, mask);
+    while (strings[i] != null) {
+      i = (i + 1) & mask;
+    }
+    strings[i] = s;
+    regexIds[i] = regexId;
+    results[i] = result;
+    size++;
+  }
+
+  private void resize() {
+    final String[] oldStrings = strings;
+    final int[] oldRegexIds = regexIds;
+    final boolean[] oldResults = results;
+    strings = new String[oldStrings.length * 2];
+    regexIds = new int[oldStrings.length * 2];
+    results = new boolean[oldStrings.length * 2];
+    size = 0;
+    for (int i = 0; i < oldStrings.length; i++) {
+      if (oldStrings[i] != null) {
+        add(oldRegexIds[i], oldStrings[i], oldResults[i]);
+      }
+    }
+  }
+
+  private void clear() {
+    if (size > 0) {
+      Arrays.fill(strings, null);
+      size = 0;
+    }
+  }
+
+  private static int getSlot(int regexId, String s, int mask) {
+    int hash = s.hashCode() * 31 + regexId;
+    hash ^= hash >>> 16;
+    return hash & mask;
+  }
+
+}
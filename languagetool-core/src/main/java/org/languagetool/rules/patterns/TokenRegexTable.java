@@ -0,0 +1,83 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.patterns;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+/**
+ * The regular expressions of the {@link Element}s of all rules, so that an expression used
+ * by many rules (like a common alternation of words) is compiled only once and gets an id,
+ * under which its results are kept in the {@link TokenRegexMemo}. Only meant for the expressions
+ * of the rules as loaded, not for those created while matching (e.g. with a back reference),
+ * as the table is never cleared. The ids are only valid in the current process.
+ * @since 2.5
+ */
+final class TokenRegexTable {
+
+  /** The id of expressions that are not in the table. */
+  static final int NO_ID = -1;
+
+  /** The maximum number of expressions, beyond this new expressions are compiled without being shared. */
+  static final int MAX_SIZE = 1 << 20;
+
+  private static final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+  private TokenRegexTable() {
+  }
+
+  /**
+   * Get the compiled expression from the table, compiling and adding it if needed.
+   */
+  static Entry get(String regex) {
+    final Entry entry = entries.get(regex);
+    if (entry != null) {
+      return entry;
+    }
+    final Pattern pattern = Pattern.compile(regex);
+    synchronized (entries) {
+      final Entry existingEntry = entries.get(regex);
+      if (existingEntry != null) {
+        return existingEntry;
+      }
+      final int size = entries.size();
+      if (size >= MAX_SIZE) {
+        return new Entry(pattern, NO_ID);
+      }
+      final Entry newEntry = new Entry(pattern, size);
+      entries.put(regex, newEntry);
+      return newEntry;
+    }
+  }
+
+  static int size() {
+    return entries.size();
+  }
+
+  static final class Entry {
+    final Pattern pattern;
+    final int id;
+    private Entry(Pattern pattern, int id) {
+      this.pattern = pattern;
+      this.id = id;
+    }
+  }
+
+}
@@ -0,0 +1,141 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.spelling;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A size-bounded cache of spelling suggestions, as computing suggestions is
+ * much more expensive than finding out whether a word is misspelled. There's one
+ * cache per dictionary, shared by all rules and threads that use that dictionary.
+ * When the cache is full, the least recently used words are removed.
+ *
+ * <p>The maximum number of words per dictionary can be set with the system property
+ * {@value #MAX_SIZE_PROPERTY}, a value of {@code 0} disables caching.
+ * @since 2.5
+ */
+public final class SuggestionsCache {
+
+  /** System property with the maximum number of words cached per dictionary. */
+  public static final String MAX_SIZE_PROPERTY = "languagetool.suggestionsCacheSize";
+
+  private static final int DEFAULT_MAX_SIZE = 10000;
+
+  private static final Map<String, SuggestionsCache> caches = new HashMap<>();
+
+  private final Map<String, List<String>> suggestions;
+
+  private long hits;
+  private long misses;
+
+  /**
+   * @param maxSize the maximum number of words in the cache
+   */
+  public SuggestionsCache(final int maxSize) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("maxSize must be > 0: " + maxSize);
+    }
+    suggestions = new LinkedHashMap<String, List<String>>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, List<String>> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  /**
+   * Get the cache of a dictionary, created on first use.
+   * @param dictionaryKey a key that identifies the dictionary and all settings that
+   *                      affect the suggestions, e.g. the dictionary file name
+   * @return the cache, or {@code null} if caching has been disabled with the {@value #MAX_SIZE_PROPERTY} property
+   */
+  public static synchronized SuggestionsCache getInstance(String dictionaryKey) {
+    SuggestionsCache cache = caches.get(dictionaryKey);
+    if (cache == null) {
+      final int maxSize = getConfiguredMaxSize();
+      if (maxSize == 0) {
+        return null;
+      }
+      cache = new SuggestionsCache(maxSize);
+      caches.put(dictionaryKey, cache);
+    }
+    return cache;
+  }
+
+  /**
+   * Remove the caches of all dictionaries.
+   */
+  public static synchronized void clearAll() {
+    caches.clear();
+  }
+
+  private static int getConfiguredMaxSize() {
+    final String maxSize = System.getProperty(MAX_SIZE_PROPERTY);
+    if (maxSize == null || maxSize.trim().isEmpty()) {
+      return DEFAULT_MAX_SIZE;
+    }
+    return Integer.parseInt(maxSize.trim());
+  }
+
+  /**
+   * @return a modifiable copy of the cached suggestions for the word,
+   * or {@code null} if the word is not in the cache
+   */
+  public synchronized List<String> get(String word) {
+    final List<String> result = suggestions.get(word);
+    if (result == null) {
+      misses++;
+      return null;
+    }
+    hits++;
+    return new ArrayList<>(result);
+  }
+
+  /**
+   * Add the suggestions for a word. The list is copied, so it may be modified afterwards.
+   */
+  public synchronized void put(String word, List<String> wordSuggestions) {
+    suggestions.put(word, Collections.unmodifiableList(new ArrayList<>(wordSuggestions)));
+  }
+
+  public synchronized void clear() {
+    suggestions.clear();
+  }
+
+  /**
+   * @return the number of words in the cache
+   */
+  public synchronized int size() {
+    return suggestions.size();
+  }
+
+  public synchronized long getHits() {
+    return hits;
+  }
+
+  public synchronized long getMisses() {
+    return misses;
+  }
+
+}
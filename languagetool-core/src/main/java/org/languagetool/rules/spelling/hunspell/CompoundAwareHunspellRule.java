@@ -113,19 +113,27 @@ public abstract class CompoundAwareHunspellRule extends HunspellRule {
   }
   
   private List<String> getCorrectWords(List<String> wordsOrPhrases) {
-    final List<String> result = new ArrayList<>();
+    // this might be a phrase like "aufgrund dessen", so it needs to be split:
+    final List<String[]> phraseWords = new ArrayList<>();
+    final List<String> allWords = new ArrayList<>();
     for (String wordOrPhrase : wordsOrPhrases) {
-      // this might be a phrase like "aufgrund dessen", so it needs to be split: 
       final String[] words = tokenizeText(wordOrPhrase);
+      phraseWords.add(words);
+      allWords.addAll(Arrays.asList(words));
+    }
+    // check all words at once, that's faster than checking them one by one:
+    final boolean[] misspelled = dictionary.misspelled(allWords);
+    final List<String> result = new ArrayList<>();
+    int wordIndex = 0;
+    for (int i = 0; i < wordsOrPhrases.size(); i++) {
       boolean wordIsOkay = true;
-      for (String word : words) {
-        if (dictionary.misspelled(word)) {
+      for (int j = 0; j < phraseWords.get(i).length; j++) {
+        if (misspelled[wordIndex++]) {
           wordIsOkay = false;
-          break;
         }
       }
       if (wordIsOkay) {
-        result.add(wordOrPhrase);
+        result.add(wordsOrPhrases.get(i));
       }
     }
     return result;
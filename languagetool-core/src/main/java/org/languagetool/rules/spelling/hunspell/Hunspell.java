@@ -6,17 +6,28 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import com.sun.jna.Memory;
 import com.sun.jna.Native;
 import com.sun.jna.Pointer;
 import com.sun.jna.ptr.PointerByReference;
+import org.languagetool.rules.spelling.SuggestionsCache;
 
 /**
  * The simple hunspell library frontend which takes care of creating
@@ -60,7 +71,7 @@ public class Hunspell {
      *
      * @param libDir Optional absolute directory where the native lib can be found. 
      */
-    public static Hunspell getInstance(String libDir) throws UnsatisfiedLinkError, UnsupportedOperationException { 
+    public static synchronized Hunspell getInstance(String libDir) throws UnsatisfiedLinkError, UnsupportedOperationException { 
         if (hunspell != null) {
             return hunspell;
         }
@@ -128,6 +139,30 @@ public class Hunspell {
         }
     }
 
+    /**
+     * Set the maximum number of native handles per dictionary, i.e. how many threads
+     * can use the same dictionary at the same time. More threads will have to wait.
+     * Each handle loads the dictionary files, so it needs as much memory as the
+     * dictionary. A good value is the number of threads that check text.
+     * The default is {@code 1}. This is a setting for the whole JVM, so it should
+     * be set by the application, not by a library. Waiting for a handle fails with
+     * an {@link IllegalStateException} after 60 seconds.
+     * @since 2.5
+     */
+    public static void setMaxHandlesPerDictionary(int maxHandles) {
+        if (maxHandles <= 0) {
+            throw new IllegalArgumentException("maxHandles must be > 0: " + maxHandles);
+        }
+        maxHandlesPerDictionary = maxHandles;
+    }
+
+    /**
+     * @since 2.5
+     */
+    public static int getMaxHandlesPerDictionary() {
+        return maxHandlesPerDictionary;
+    }
+
     public String getLibFile() {
         return libFile;
     }
@@ -195,6 +230,18 @@ public class Hunspell {
         throw new UnsupportedOperationException("Unknown OS/arch: "+os+"/"+arch);
     }    
 
+    /**
+     * The maximum number of native handles per dictionary
+     */
+    private static volatile int maxHandlesPerDictionary = 1;
+
+    /**
+     * How long to wait for a native handle before giving up
+     */
+    private static final long MAX_HANDLE_WAIT_MILLIS = 60_000;
+
+    private static final long RETRY_MILLIS = 100;
+
     /**
      * This is the cache where we keep the already loaded dictionaries around
      */
@@ -216,7 +263,7 @@ public class Hunspell {
      * and /dict/da_DK.aff get loaded
      * @throws IOException 
      */
-    public Dictionary getDictionary(String baseFileName)
+    public synchronized Dictionary getDictionary(String baseFileName)
             throws IOException {
 
         // TODO: Detect if the dictionary files have changed and reload if they have.
@@ -236,40 +283,68 @@ public class Hunspell {
      * @param baseFileName the base name of the dictionary, as passed to
      * getDictionary()
      */
-    public void destroyDictionary(String baseFileName) {
+    public synchronized void destroyDictionary(String baseFileName) {
         if (map.containsKey(baseFileName)) {
             map.remove(baseFileName);
         }
     }
 
     /**
-     * Class representing a single dictionary.
+     * Class representing a single dictionary. Hunspell handles cannot be used by
+     * several threads at the same time, so each call borrows a native handle from
+     * a pool and gives it back afterwards. The pool creates up to
+     * {@link Hunspell#getMaxHandlesPerDictionary()} handles on demand.
      */
     public class Dictionary {
+
+        private final File dic;
+        private final File aff;
+
+        /**
+         * The idle native handles
+         */
+        private final BlockingQueue<Handle> idleHandles = new LinkedBlockingQueue<>();
+
+        /**
+         * The number of native handles, idle or in use
+         */
+        private final AtomicInteger handleCount = new AtomicInteger();
+
         /**
-         * The pointer to the hunspell object as returned by the hunspell
-         * constructor.
+         * Words added at runtime, to be added to all handles
          */
-        private Pointer hunspellDict = null;
+        private final List<String> addedWords = new CopyOnWriteArrayList<>();
+
+        private volatile boolean destroyed;
 
         /**
          * The encoding used by this dictionary
          */
         private String encoding;
 
+        /**
+         * The encoding used by this dictionary, or null if Java doesn't support it
+         */
+        private final Charset charset;
+
         /*
          * the tokenization characters
          */
         private final String wordChars;
 
+        /**
+         * Suggestions are expensive, so they are cached (may be null)
+         */
+        private final SuggestionsCache suggestionsCache;
+
         /**
          * Creates an instance of the dictionary.
          * @param baseFileName the base name of the dictionary, 
          * @throws IOException 
          */
         Dictionary(String baseFileName) throws IOException {
-            File dic = new File(baseFileName + ".dic");
-            File aff = new File(baseFileName + ".aff");
+            dic = new File(baseFileName + ".dic");
+            aff = new File(baseFileName + ".aff");
 
             if (!dic.canRead() || !aff.canRead()) {
                 throw new FileNotFoundException("The dictionary files "+
@@ -277,8 +352,8 @@ public class Hunspell {
                         "(.aff|.dic) could not be read");
             }
 
-            hunspellDict = hsl.Hunspell_create(aff.toString(), dic.toString());
-            encoding = hsl.Hunspell_get_dic_encoding(hunspellDict);
+            final Pointer firstHandle = hsl.Hunspell_create(aff.toString(), dic.toString());
+            encoding = hsl.Hunspell_get_dic_encoding(firstHandle);
 
             //hunspell uses non-standard names of charsets 
             if ("microsoft1251".equals(encoding)) {
@@ -286,17 +361,23 @@ public class Hunspell {
             } else if ("ISCII-DEVANAGARI".equals(encoding)) {
                 encoding = "ISCII91";
             }
+            charset = Charset.isSupported(encoding) ? Charset.forName(encoding) : null;
+            idleHandles.offer(new Handle(firstHandle));
+            handleCount.incrementAndGet();
 
             wordChars = getWordCharsFromFile(aff);
+            suggestionsCache = SuggestionsCache.getInstance("hunspell:" + baseFileName);
         }
 
         /**
-         * Deallocate the dictionary.
+         * Deallocate the dictionary. Handles that are in use are deallocated
+         * when they are given back.
          */
         public void destroy() {
-            if (hsl != null && hunspellDict != null) {
-                hsl.Hunspell_destroy(hunspellDict);
-                hunspellDict = null;
+            destroyed = true;
+            Handle handle;
+            while ((handle = idleHandles.poll()) != null) {
+                handle.destroy();
             }
         }
 
@@ -315,15 +396,37 @@ public class Hunspell {
          * @param word The word to check.
          */
         public boolean misspelled(String word) {
+            final Handle handle = borrowHandle();
             try {
-                final byte[] wordAsBytes = stringToBytes(word);
-                if (wordAsBytes.length == 0 && word.length() > 0) {
-                    return true;
+                return handle.misspelled(word);
+            } finally {
+                giveBackHandle(handle);
+            }
+        }
+
+        /**
+         * Check several words, e.g. all words of a sentence. This is faster than
+         * calling {@link #misspelled(String)} for each word, as the native handle
+         * and the buffer for the encoded words are only acquired once.
+         *
+         * @param words The words to check.
+         * @return for each word, whether it is misspelled
+         * @since 2.5
+         */
+        public boolean[] misspelled(List<String> words) {
+            final boolean[] result = new boolean[words.size()];
+            if (words.isEmpty()) {
+                return result;
+            }
+            final Handle handle = borrowHandle();
+            try {
+                for (int i = 0; i < result.length; i++) {
+                    result[i] = handle.misspelled(words.get(i));
                 }
-                return (hsl.Hunspell_spell(hunspellDict, wordAsBytes) == 0);
-            } catch (UnsupportedEncodingException e) {
-                return true;
+            } finally {
+                giveBackHandle(handle);
             }
+            return result;
         }
 
         /**
@@ -344,39 +447,22 @@ public class Hunspell {
          * @throws CharacterCodingException 
          */
         public List<String> suggest(String word) throws CharacterCodingException {
-            List<String> res = new ArrayList<>();
-            try {		
-                int suggestionsCount = 0;
-                PointerByReference suggestions = new PointerByReference();
-                final byte[] wordAsBytes = stringToBytes(word);
-                if (wordAsBytes.length == 0 && word.length() > 0) {
-                    return res;
-                }
-                suggestionsCount = hsl.Hunspell_suggest(
-                        hunspellDict, suggestions, stringToBytes(word));
-                if (suggestionsCount == 0) {
-                    return res;
+            if (suggestionsCache != null) {
+                final List<String> cached = suggestionsCache.get(word);
+                if (cached != null) {
+                    return cached;
                 }
-
-                // Get each of the suggestions out of the pointer array.
-                Pointer[] pointerArray = suggestions.getValue().
-                        getPointerArray(0, suggestionsCount);
-
-                for (int i=0; i<suggestionsCount; i++) {
-                    long len = pointerArray[i].indexOf(0, (byte)0); 
-                    if (len != -1) {
-                        if (len > Integer.MAX_VALUE) {
-                            throw new RuntimeException(
-                                    "String improperly terminated: " + len);
-                        }
-                        byte[] data = pointerArray[i].getByteArray(0, (int)len);
-
-                        res.add(new String(data, encoding));
-                    }
-                }
-
-            } catch (UnsupportedEncodingException ex) { } // Shouldn't happen...
-
+            }
+            final List<String> res;
+            final Handle handle = borrowHandle();
+            try {
+                res = handle.suggest(word);
+            } finally {
+                giveBackHandle(handle);
+            }
+            if (suggestionsCache != null) {
+                suggestionsCache.put(word, res);
+            }
             return res;
         }
         
@@ -399,9 +485,163 @@ public class Hunspell {
          * @throws UnsupportedEncodingException
          */
         public void addWord(final String word) throws UnsupportedEncodingException {
-            hsl.Hunspell_add(hunspellDict, stringToBytes(word));
+            stringToBytes(word);  // fail early for unsupported encodings
+            final boolean wasMisspelled = misspelled(word);
+            if (!wasMisspelled) {
+                return;
+            }
+            // the word gets added to each handle before its next use:
+            addedWords.add(word);
+            if (suggestionsCache != null) {
+                // the new word may be a suggestion for cached words:
+                suggestionsCache.clear();
+            }
+        }
+
+        private Handle borrowHandle() {
+            if (destroyed) {
+                throw new IllegalStateException("Dictionary has been destroyed: " + dic);
+            }
+            final long deadline = System.currentTimeMillis() + MAX_HANDLE_WAIT_MILLIS;
+            Handle handle = idleHandles.poll();
+            while (handle == null) {
+                if (handleCount.incrementAndGet() <= maxHandlesPerDictionary) {
+                    try {
+                        handle = new Handle(hsl.Hunspell_create(aff.toString(), dic.toString()));
+                    } catch (RuntimeException | Error e) {
+                        handleCount.decrementAndGet();
+                        throw e;
+                    }
+                    break;
+                }
+                handleCount.decrementAndGet();
+                final long now = System.currentTimeMillis();
+                if (now >= deadline) {
+                    throw new IllegalStateException("No handle for Hunspell dictionary " + dic +
+                            " became available within " + MAX_HANDLE_WAIT_MILLIS + "ms, all "
+                            + maxHandlesPerDictionary + " handles are in use");
+                }
+                try {
+                    // wake up now and then, the limit may have been raised in the meantime:
+                    handle = idleHandles.poll(Math.min(deadline - now, RETRY_MILLIS), TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RuntimeException("Interrupted while waiting for Hunspell dictionary " + dic, e);
+                }
+            }
+            handle.addWords(addedWords);
+            return handle;
+        }
+
+        private void giveBackHandle(Handle handle) {
+            if (destroyed) {
+                handle.destroy();
+            } else {
+                idleHandles.offer(handle);
+            }
+        }
+
+        /**
+         * A native hunspell object, as returned by the hunspell constructor,
+         * together with a native buffer for the words passed to hunspell.
+         * Must only be used by one thread at a time.
+         */
+        private class Handle {
+
+            private final CharsetEncoder encoder;
+            private Pointer hunspellDict;
+            private Memory buffer;
+            private int addedWordCount;
+
+            private Handle(Pointer hunspellDict) {
+                this.hunspellDict = hunspellDict;
+                if (charset != null) {
+                    encoder = charset.newEncoder()
+                            .onMalformedInput(CodingErrorAction.REPLACE)
+                            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+                } else {
+                    encoder = null;
+                }
+            }
+
+            private boolean misspelled(String word) {
+                final Pointer wordPointer = toNative(word);
+                if (wordPointer == null) {
+                    return true;
+                }
+                return hsl.Hunspell_spell(hunspellDict, wordPointer) == 0;
+            }
+
+            private List<String> suggest(String word) {
+                final List<String> res = new ArrayList<>();
+                final Pointer wordPointer = toNative(word);
+                if (wordPointer == null) {
+                    return res;
+                }
+                final PointerByReference suggestions = new PointerByReference();
+                final int suggestionsCount = hsl.Hunspell_suggest(hunspellDict, suggestions, wordPointer);
+                if (suggestionsCount == 0) {
+                    return res;
+                }
+
+                // Get each of the suggestions out of the pointer array.
+                final Pointer[] pointerArray = suggestions.getValue().
+                        getPointerArray(0, suggestionsCount);
+
+                for (int i=0; i<suggestionsCount; i++) {
+                    long len = pointerArray[i].indexOf(0, (byte)0); 
+                    if (len != -1) {
+                        if (len > Integer.MAX_VALUE) {
+                            throw new RuntimeException(
+                                    "String improperly terminated: " + len);
+                        }
+                        byte[] data = pointerArray[i].getByteArray(0, (int)len);
+
+                        res.add(new String(data, charset));
+                    }
+                }
+                return res;
+            }
+
+            /**
+             * Encode the word zero terminated into the native buffer, without
+             * intermediate copies. Returns null if the encoding is not supported.
+             */
+            private Pointer toNative(String word) {
+                if (encoder == null) {
+                    return null;
+                }
+                final int maxLength = (int) Math.ceil(word.length() * encoder.maxBytesPerChar()) + 1;
+                if (buffer == null || buffer.size() < maxLength) {
+                    buffer = new Memory(Math.max(maxLength, 64));
+                }
+                final ByteBuffer out = buffer.getByteBuffer(0, buffer.size());
+                encoder.reset();
+                encoder.encode(CharBuffer.wrap(word), out, true);
+                encoder.flush(out);
+                out.put((byte) 0);
+                return buffer;
+            }
+
+            private void addWords(List<String> words) {
+                while (addedWordCount < words.size()) {
+                    final Pointer wordPointer = toNative(words.get(addedWordCount));
+                    if (wordPointer != null) {
+                        hsl.Hunspell_add(hunspellDict, wordPointer);
+                    }
+                    addedWordCount++;
+                }
+            }
+
+            private void destroy() {
+                if (hunspellDict != null) {
+                    hsl.Hunspell_destroy(hunspellDict);
+                    hunspellDict = null;
+                    handleCount.decrementAndGet();
+                }
+            }
         }
-                
+
     }
 
 }
@@ -63,5 +63,23 @@ public interface HunspellLibrary extends Library {
      * @param word The word added to the runtime dictionary.
      */
     public int Hunspell_add(Pointer pHunspell, byte[] word);
+
+    /**
+     * Same as {@link #Hunspell_spell(Pointer, byte[])}, but with the word in native memory
+     * @since 2.5
+     */
+    public int Hunspell_spell(Pointer pHunspell, Pointer word);
+
+    /**
+     * Same as {@link #Hunspell_suggest(Pointer, PointerByReference, byte[])}, but with the word in native memory
+     * @since 2.5
+     */
+    public int Hunspell_suggest(Pointer pHunspell, PointerByReference slst, Pointer word);
+
+    /**
+     * Same as {@link #Hunspell_add(Pointer, byte[])}, but with the word in native memory
+     * @since 2.5
+     */
+    public int Hunspell_add(Pointer pHunspell, Pointer word);
             
 }
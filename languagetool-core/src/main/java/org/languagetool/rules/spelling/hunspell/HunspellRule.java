@@ -29,6 +29,7 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.ResourceBundle;
+import java.util.concurrent.Callable;
 import java.util.regex.Pattern;
 
 import org.languagetool.AnalyzedSentence;
@@ -86,27 +87,44 @@ public class HunspellRule extends SpellingCheckRule {
     }
     final String[] tokens = tokenizeText(getSentenceTextWithoutUrlsAndImmunizedTokens(text));
 
-    // starting with the first token to skip the zero-length START_SENT
-    int len = text.getTokens()[1].getStartPos();
-    for (final String word : tokens) {
+    // check all words of the sentence at once, that's faster than checking them one by one:
+    final boolean[] needsCheck = new boolean[tokens.length];
+    final List<String> wordsToCheck = new ArrayList<>();
+    for (int i = 0; i < tokens.length; i++) {
+      final String word = tokens[i];
       if (ignoreWord(word)) {
-        len += word.length() + 1;
         continue;
       }
       boolean isAlphabetic = true;
       if (word.length() == 1) { // hunspell dictionaries usually do not contain punctuation
         isAlphabetic = StringTools.isAlphabetic(word.charAt(0));
       }
-      if (isAlphabetic && !word.equals("--") && dictionary.misspelled(word)) {
+      if (isAlphabetic && !word.equals("--")) {
+        needsCheck[i] = true;
+        wordsToCheck.add(word);
+      }
+    }
+    final boolean[] misspelled = dictionary.misspelled(wordsToCheck);
+
+    // starting with the first token to skip the zero-length START_SENT
+    int len = text.getTokens()[1].getStartPos();
+    int checkedWordIndex = 0;
+    for (int i = 0; i < tokens.length; i++) {
+      final String word = tokens[i];
+      if (needsCheck[i] && misspelled[checkedWordIndex++]) {
         final RuleMatch ruleMatch = new RuleMatch(this,
             len, len + word.length(),
             messages.getString("spelling"),
             messages.getString("desc_spelling_short"));
-        final List<String> suggestions = getSuggestions(word);
-        suggestions.addAll(getAdditionalSuggestions(suggestions, word));
-        if (!suggestions.isEmpty()) {
-          ruleMatch.setSuggestedReplacements(suggestions);
-        }
+        // suggestions are expensive, so only compute them if they are actually used:
+        ruleMatch.setLazySuggestedReplacements(new Callable<List<String>>() {
+          @Override
+          public List<String> call() throws Exception {
+            final List<String> suggestions = getSuggestions(word);
+            suggestions.addAll(getAdditionalSuggestions(suggestions, word));
+            return suggestions;
+          }
+        });
         ruleMatches.add(ruleMatch);
       }
       len += word.length() + 1;
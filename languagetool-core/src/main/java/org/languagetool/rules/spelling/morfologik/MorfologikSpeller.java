@@ -23,6 +23,7 @@ import morfologik.stemming.Dictionary;
 
 import org.languagetool.JLanguageTool;
 import org.languagetool.rules.spelling.SpellingCheckRule;
+import org.languagetool.rules.spelling.SuggestionsCache;
 import org.languagetool.tools.StringTools;
 
 import java.io.IOException;
@@ -33,13 +34,16 @@ import java.util.List;
 import java.util.Locale;
 
 /**
- * Morfologik-based spell checker.
+ * Morfologik-based spell checker. The suggestions are cached in a {@link SuggestionsCache}
+ * that's shared by all spellers with the same dictionary and settings. The methods of this
+ * class are synchronized, so a speller can be used by several threads.
  */
 public class MorfologikSpeller {
 
   private final Dictionary dictionary;
   private final Speller speller;
   private final Locale conversionLocale;
+  private final SuggestionsCache suggestionsCache;
 
   /**
    * Creates a speller with the given maximum edit distance.
@@ -54,6 +58,7 @@ public class MorfologikSpeller {
     dictionary = Dictionary.read(url);
     speller = new Speller(dictionary, maxEditDistance);
     this.conversionLocale = conversionLocale != null ? conversionLocale : Locale.getDefault();
+    suggestionsCache = SuggestionsCache.getInstance("morfologik:" + filename + ":" + this.conversionLocale + ":" + maxEditDistance);
   }
 
   /**
@@ -73,14 +78,20 @@ public class MorfologikSpeller {
     this(filename, null);
   }
 
-  public boolean isMisspelled(String word) {
+  public synchronized boolean isMisspelled(String word) {
     return word.length() > 0 
             && !SpellingCheckRule.LANGUAGETOOL.equals(word)
             && !SpellingCheckRule.LANGUAGETOOL_FX.equals(word)
             && speller.isMisspelled(word);
   }
 
-  public List<String> getSuggestions(String word) {
+  public synchronized List<String> getSuggestions(String word) {
+    if (suggestionsCache != null) {
+      final List<String> cachedSuggestions = suggestionsCache.get(word);
+      if (cachedSuggestions != null) {
+        return cachedSuggestions;
+      }
+    }
     final List<String> suggestions = new ArrayList<>();
     try {
       suggestions.addAll(speller.findReplacements(word));
@@ -96,6 +107,9 @@ public class MorfologikSpeller {
         suggestions.set(i, StringTools.uppercaseFirstChar(suggestions.get(i)));
       }
     }
+    if (suggestionsCache != null) {
+      suggestionsCache.put(word, suggestions);
+    }
     return suggestions;
   }
 
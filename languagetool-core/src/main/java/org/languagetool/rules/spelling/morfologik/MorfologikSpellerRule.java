@@ -30,6 +30,7 @@ import org.languagetool.rules.spelling.SpellingCheckRule;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.Callable;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -163,16 +164,39 @@ public abstract class MorfologikSpellerRule extends SpellingCheckRule {
         ruleMatches.add(ruleMatch);
         return ruleMatches;
       }
-      List<String> suggestions = speller.getSuggestions(word);
-      suggestions.addAll(getAdditionalSuggestions(suggestions, word));
-      if (!suggestions.isEmpty()) {
-        ruleMatch.setSuggestedReplacements(orderSuggestions(suggestions,word));
-      }
+      setLazySuggestions(ruleMatch, word);
       ruleMatches.add(ruleMatch);
     }
     return ruleMatches;
   }
 
+  /**
+   * Let the match get its suggestions from {@link #getSuggestions(String)} only
+   * when they are needed, as computing them is expensive.
+   * @since 2.5
+   */
+  protected void setLazySuggestions(RuleMatch ruleMatch, final String word) {
+    ruleMatch.setLazySuggestedReplacements(new Callable<List<String>>() {
+      @Override
+      public List<String> call() throws Exception {
+        return getSuggestions(word);
+      }
+    });
+  }
+
+  /**
+   * Get the ordered suggestions for a misspelled word, including the additional suggestions.
+   * @since 2.5
+   */
+  protected List<String> getSuggestions(String word) throws IOException {
+    final List<String> suggestions = speller.getSuggestions(word);
+    suggestions.addAll(getAdditionalSuggestions(suggestions, word));
+    if (suggestions.isEmpty()) {
+      return suggestions;
+    }
+    return orderSuggestions(suggestions, word);
+  }
+
   /**
    * Get the regular expression pattern used to tokenize
    * the words as in the source dictionary. For example,
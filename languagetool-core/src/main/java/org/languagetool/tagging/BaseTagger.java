@@ -45,6 +45,7 @@ public abstract class BaseTagger implements Tagger {
 
   private boolean tagLowercaseWithUppercase = true;
   private Dictionary dictionary;
+  private volatile WordTagCache wordTagCache = WordTagCache.createDefault();
 
   /**
    * Get the filename, e.g., {@code /en/english.dict}.
@@ -67,60 +68,117 @@ public abstract class BaseTagger implements Tagger {
     return dictionary;
   }
 
+  /**
+   * Use a cache for the readings of words, so that frequent words don't need to be looked up
+   * in the dictionary each time. The cache must not be shared with other taggers.
+   * @param wordTagCache the cache or {@code null} to not use a cache
+   * @since 2.5
+   */
+  public void setWordTagCache(WordTagCache wordTagCache) {
+    this.wordTagCache = wordTagCache;
+  }
+
+  /**
+   * @return the cache set with {@link #setWordTagCache(WordTagCache)}, or {@code null}
+   * @since 2.5
+   */
+  public WordTagCache getWordTagCache() {
+    return wordTagCache;
+  }
+
   @Override
   public List<AnalyzedTokenReadings> tag(final List<String> sentenceTokens)
       throws IOException {
-    List<AnalyzedToken> taggerTokens;
-    List<AnalyzedToken> lowerTaggerTokens;
-    List<AnalyzedToken> upperTaggerTokens;
     final List<AnalyzedTokenReadings> tokenReadings = new ArrayList<>();
     int pos = 0;
-    final IStemmer dictLookup = new DictionaryLookup(getDictionary());
+    final WordTagCache cache = wordTagCache;
+    IStemmer dictLookup = null;
 
     for (String word : sentenceTokens) {
-      final List<AnalyzedToken> l = new ArrayList<>();
-      final String lowerWord = word.toLowerCase(conversionLocale);
-      taggerTokens = asAnalyzedTokenList(word, dictLookup.lookup(word));
-      lowerTaggerTokens = asAnalyzedTokenList(word, dictLookup.lookup(lowerWord));
-      final boolean isLowercase = word.equals(lowerWord);
-      final boolean isMixedCase = StringTools.isMixedCase(word);
-
-      //normal case
-      addTokens(taggerTokens, l);
-
-      //tag non-lowercase (alluppercase or startuppercase), but not mixedcase word with lowercase word tags
-      if (!isLowercase && !isMixedCase) {
-        addTokens(lowerTaggerTokens, l);
+      final String[] cachedReadings = cache != null ? cache.get(word) : null;
+      final List<AnalyzedToken> l;
+      if (cachedReadings != null) {
+        l = asAnalyzedTokenList(word, cachedReadings);
+      } else {
+        if (dictLookup == null) {
+          dictLookup = new DictionaryLookup(getDictionary());
+        }
+        l = tagWord(word, dictLookup);
+        if (cache != null) {
+          final String[] readings = asReadings(word, l);
+          if (readings != null) {
+            cache.put(word, readings);
+          }
+        }
       }
+      tokenReadings.add(new AnalyzedTokenReadings(l, pos));
+      pos += word.length();
+    }
+
+    return tokenReadings;
+  }
 
-      //tag lowercase word with startuppercase word tags
-      if (tagLowercaseWithUppercase) {
-        if (lowerTaggerTokens.isEmpty() && taggerTokens.isEmpty()) {
-          if (isLowercase) {
-            upperTaggerTokens = asAnalyzedTokenList(word,
-                dictLookup.lookup(StringTools.uppercaseFirstChar(word)));
-            if (!upperTaggerTokens.isEmpty()) {
-              addTokens(upperTaggerTokens, l);
-            }
+  private List<AnalyzedToken> tagWord(final String word, final IStemmer dictLookup) {
+    final List<AnalyzedToken> l = new ArrayList<>();
+    final String lowerWord = word.toLowerCase(conversionLocale);
+    final List<AnalyzedToken> taggerTokens = asAnalyzedTokenList(word, dictLookup.lookup(word));
+    final List<AnalyzedToken> lowerTaggerTokens = asAnalyzedTokenList(word, dictLookup.lookup(lowerWord));
+    final boolean isLowercase = word.equals(lowerWord);
+    final boolean isMixedCase = StringTools.isMixedCase(word);
+
+    //normal case
+    addTokens(taggerTokens, l);
+
+    //tag non-lowercase (alluppercase or startuppercase), but not mixedcase word with lowercase word tags
+    if (!isLowercase && !isMixedCase) {
+      addTokens(lowerTaggerTokens, l);
+    }
+
+    //tag lowercase word with startuppercase word tags
+    if (tagLowercaseWithUppercase) {
+      if (lowerTaggerTokens.isEmpty() && taggerTokens.isEmpty()) {
+        if (isLowercase) {
+          final List<AnalyzedToken> upperTaggerTokens = asAnalyzedTokenList(word,
+              dictLookup.lookup(StringTools.uppercaseFirstChar(word)));
+          if (!upperTaggerTokens.isEmpty()) {
+            addTokens(upperTaggerTokens, l);
           }
         }
       }
+    }
 
-      // Additional language-dependent-tagging
-      if (l.isEmpty()) {
-        List<AnalyzedToken> additionalTaggedTokens = additionalTags(word);
-        addTokens(additionalTaggedTokens, l);
-      }
+    // Additional language-dependent-tagging
+    if (l.isEmpty()) {
+      List<AnalyzedToken> additionalTaggedTokens = additionalTags(word);
+      addTokens(additionalTaggedTokens, l);
+    }
 
-      if (l.isEmpty()) {
-        l.add(new AnalyzedToken(word, null, null));
-      }
+    if (l.isEmpty()) {
+      l.add(new AnalyzedToken(word, null, null));
+    }
+    return l;
+  }
 
-      tokenReadings.add(new AnalyzedTokenReadings(l, pos));
-      pos += word.length();
+  // tokens are mutable, so the cache only keeps their lemmas and POS tags - returns null
+  // for tokens that cannot be re-created from these (e.g. from additionalTags()):
+  private static String[] asReadings(final String word, final List<AnalyzedToken> tokens) {
+    final String[] readings = new String[tokens.size() * 2];
+    for (int i = 0; i < tokens.size(); i++) {
+      if (tokens.get(i).getClass() != AnalyzedToken.class || !word.equals(tokens.get(i).getToken())) {
+        return null;
+      }
+      readings[2 * i] = tokens.get(i).getLemma();
+      readings[2 * i + 1] = tokens.get(i).getPOSTag();
     }
+    return readings;
+  }
 
-    return tokenReadings;
+  private static List<AnalyzedToken> asAnalyzedTokenList(final String word, final String[] readings) {
+    final List<AnalyzedToken> aTokenList = new ArrayList<>(readings.length / 2);
+    for (int i = 0; i < readings.length; i += 2) {
+      aTokenList.add(new AnalyzedToken(word, readings[i + 1], readings[i]));
+    }
+    return aTokenList;
   }
 
   protected List<AnalyzedToken> asAnalyzedTokenList(final String word, final List<WordData> wdList) {
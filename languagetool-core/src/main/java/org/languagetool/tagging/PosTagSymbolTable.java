@@ -0,0 +1,134 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tagging;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Gives each POS tag of a language a small int id, so that things that only depend on the tag
+ * (like whether a POS regular expression of a pattern rule matches it) can be computed once per
+ * tag and looked up by id. There's one table per language (see {@link #getInstance(String)}), so
+ * the ids are dense within the language's tag set. Ids are assigned when a tag is first seen, as
+ * not all taggers can list their tags up front. The ids are only valid in the current process,
+ * they must not be stored. A table can be used by several threads at once.
+ *
+ * <p>To keep the memory bounded in case a tagger creates tags dynamically, a table has at most
+ * {@link #MAX_SIZE} tags. Further tags get {@link #NO_ID}, code that uses the ids then has to
+ * work with the tag itself, e.g. pattern rules apply their POS regular expression every time.
+ * @since 2.5
+ */
+public final class PosTagSymbolTable {
+
+  /** The id of tags that don't get an id, i.e. {@code null} and tags beyond {@link #MAX_SIZE}. */
+  public static final int NO_ID = -1;
+
+  /** The maximum number of tags per table, ids are less than 2^16 so they can be packed with the table index. */
+  static final int MAX_SIZE = 0xFFFF;
+
+  private static final Map<String, PosTagSymbolTable> tables = new HashMap<>();
+
+  private final int index;
+  private final ConcurrentMap<String, Integer> ids = new ConcurrentHashMap<>();
+
+  // the tags by id, replaced by a bigger copy when full:
+  private volatile String[] tags = new String[64];
+
+  private PosTagSymbolTable(int index) {
+    this.index = index;
+  }
+
+  /**
+   * Get the table for a language, usually used via {@link org.languagetool.Language#getPosTagSymbolTable()}.
+   * @param languageCode the language's short name, e.g. {@code en} - variants of a language share their tag set
+   */
+  public static PosTagSymbolTable getInstance(String languageCode) {
+    synchronized (tables) {
+      PosTagSymbolTable table = tables.get(languageCode);
+      if (table == null) {
+        // the index must fit in 16 bits, see getIndex() - that's far more than the number of languages:
+        if (tables.size() >= 0xFFFF) {
+          throw new IllegalStateException("Too many POS tag tables, cannot add " + languageCode);
+        }
+        table = new PosTagSymbolTable(tables.size() + 1);
+        tables.put(languageCode, table);
+      }
+      return table;
+    }
+  }
+
+  /**
+   * Get the id of the POS tag, assigning a new one if the tag is new.
+   * @return the id, from 0 to {@link #size()} - 1, or {@link #NO_ID}
+   */
+  public int getId(String posTag) {
+    if (posTag == null) {
+      return NO_ID;
+    }
+    final Integer id = ids.get(posTag);
+    if (id != null) {
+      return id;
+    }
+    synchronized (ids) {
+      final Integer existingId = ids.get(posTag);
+      if (existingId != null) {
+        return existingId;
+      }
+      final int size = ids.size();
+      if (size >= MAX_SIZE) {
+        return NO_ID;
+      }
+      if (size == tags.length) {
+        tags = Arrays.copyOf(tags, size * 2);
+      }
+      tags[size] = posTag;
+      ids.put(posTag, size);
+      return size;
+    }
+  }
+
+  /**
+   * Get the tag for an id returned by {@link #getId(String)}.
+   */
+  public String getTag(int id) {
+    if (id < 0 || id >= ids.size()) {
+      throw new IllegalArgumentException("Unknown POS tag id: " + id);
+    }
+    return tags[id];
+  }
+
+  /**
+   * The number of tags that have an id.
+   */
+  public int size() {
+    return ids.size();
+  }
+
+  /**
+   * A number from 1 to 2^16 - 1 that identifies the table in this process, so that an id can be
+   * stored together with its table in one int (like {@link org.languagetool.AnalyzedToken} does).
+   */
+  public int getIndex() {
+    return index;
+  }
+
+}
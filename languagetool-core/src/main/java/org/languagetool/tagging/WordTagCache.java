@@ -0,0 +1,213 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tagging;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A size-bounded cache of the readings of words, for taggers that look up the same
+ * frequent words again and again. The cache can be used by several threads at once.
+ * It is split into segments, each with its own lock and with the least recently used
+ * words being removed when the segment gets too large.
+ *
+ * <p>The readings are stored like {@link ManualTagger#lookup(String)} returns them: the
+ * lemma at position 0, 2, ... and the POS tag at position 1, 3, ..., each of which may be
+ * {@code null}. The arrays must not be modified after they have been added.
+ *
+ * <p>Each tagger needs its own cache, as different taggers return different readings for
+ * the same word. Taggers extending {@link BaseTagger} use a cache if the system property
+ * {@value #MAX_SIZE_PROPERTY} is set or a cache has been set with {@link BaseTagger#setWordTagCache(WordTagCache)}.
+ * @since 2.5
+ */
+public final class WordTagCache {
+
+  /** System property with the maximum memory in megabytes that the cache of each tagger may use. */
+  public static final String MAX_SIZE_PROPERTY = "languagetool.wordTagCacheSize";
+
+  private static final int SEGMENT_COUNT = 16;
+
+  private final Segment[] segments = new Segment[SEGMENT_COUNT];
+  private final long maxBytes;
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  /**
+   * @param maxBytes the approximate maximum memory used by the cache, in bytes
+   */
+  public WordTagCache(long maxBytes) {
+    if (maxBytes <= 0) {
+      throw new IllegalArgumentException("maxBytes must be > 0: " + maxBytes);
+    }
+    this.maxBytes = maxBytes;
+    for (int i = 0; i < segments.length; i++) {
+      segments[i] = new Segment(Math.max(1, maxBytes / SEGMENT_COUNT));
+    }
+  }
+
+  /**
+   * Create a cache with the size configured by the {@value #MAX_SIZE_PROPERTY} system property,
+   * or return {@code null} if the property isn't set.
+   */
+  public static WordTagCache createDefault() {
+    final String megabytes = System.getProperty(MAX_SIZE_PROPERTY);
+    if (megabytes == null || megabytes.trim().isEmpty()) {
+      return null;
+    }
+    return new WordTagCache(Long.parseLong(megabytes.trim()) * 1024 * 1024);
+  }
+
+  /**
+   * @return the readings of the word, or {@code null} if the word is not in the cache
+   */
+  public String[] get(String word) {
+    final Segment segment = getSegment(word);
+    final String[] readings;
+    synchronized (segment) {
+      readings = segment.get(word);
+    }
+    if (readings == null) {
+      misses.incrementAndGet();
+    } else {
+      hits.incrementAndGet();
+    }
+    return readings;
+  }
+
+  /**
+   * @param readings the lemmas and POS tags, see the class documentation
+   */
+  public void put(String word, String[] readings) {
+    if (readings.length % 2 != 0) {
+      throw new IllegalArgumentException("Readings must be pairs of lemma and POS tag: " + readings.length);
+    }
+    final Segment segment = getSegment(word);
+    synchronized (segment) {
+      segment.add(word, readings);
+    }
+  }
+
+  public void clear() {
+    for (Segment segment : segments) {
+      synchronized (segment) {
+        segment.clear();
+        segment.bytes = 0;
+      }
+    }
+  }
+
+  /**
+   * The number of words in the cache.
+   */
+  public int size() {
+    int size = 0;
+    for (Segment segment : segments) {
+      synchronized (segment) {
+        size += segment.size();
+      }
+    }
+    return size;
+  }
+
+  /**
+   * The approximate memory used by the cache, in bytes.
+   */
+  public long getMemoryUsage() {
+    long bytes = 0;
+    for (Segment segment : segments) {
+      synchronized (segment) {
+        bytes += segment.bytes;
+      }
+    }
+    return bytes;
+  }
+
+  public long getMaxMemoryUsage() {
+    return maxBytes;
+  }
+
+  public long getHitCount() {
+    return hits.get();
+  }
+
+  public long getMissCount() {
+    return misses.get();
+  }
+
+  /**
+   * The share of lookups that found the word in the cache, from 0 to 1.
+   */
+  public double getHitRate() {
+    final long hitCount = hits.get();
+    final long total = hitCount + misses.get();
+    return total == 0 ? 0 : (double) hitCount / total;
+  }
+
+  @Override
+  public String toString() {
+    return size() + " words, " + getMemoryUsage() / 1024 + "KB, hit rate " + Math.round(getHitRate() * 100) + "%";
+  }
+
+  private Segment getSegment(String word) {
+    int hash = word.hashCode();
+    hash ^= hash >>> 16;
+    return segments[(hash & 0x7fffffff) % SEGMENT_COUNT];
+  }
+
+  // a rough estimate of the memory used by an entry, including the map entry:
+  private static long getSize(String word, String[] readings) {
+    long size = 48 + getSize(word) + 16 + 4L * readings.length;
+    for (String reading : readings) {
+      size += getSize(reading);
+    }
+    return size;
+  }
+
+  private static long getSize(String s) {
+    return s == null ? 0 : 40 + 2L * s.length();
+  }
+
+  private static class Segment extends LinkedHashMap<String, String[]> {
+
+    private final long maxBytes;
+    private long bytes;
+
+    private Segment(long maxBytes) {
+      super(16, 0.75f, true);
+      this.maxBytes = maxBytes;
+    }
+
+    private void add(String word, String[] readings) {
+      final String[] oldReadings = put(word, readings);
+      if (oldReadings != null) {
+        bytes -= getSize(word, oldReadings);
+      }
+      bytes += getSize(word, readings);
+      final Iterator<Map.Entry<String, String[]>> iterator = entrySet().iterator();
+      while (bytes > maxBytes && iterator.hasNext()) {
+        final Map.Entry<String, String[]> eldest = iterator.next();
+        bytes -= getSize(eldest.getKey(), eldest.getValue());
+        iterator.remove();
+      }
+    }
+  }
+
+}
@@ -39,9 +39,8 @@ public class MultiWordChunker implements Disambiguator {
 
   private final String filename;
 
-  private Map<String, Integer> mStartSpace;
-  private Map<String, Integer> mStartNoSpace;
-  private Map<String, String> mFull;
+  // all three maps are published at once, so threads never see a partially loaded chunker:
+  private volatile MultiWords multiWords;
 
   public MultiWordChunker(final String filename) {
     super();
@@ -51,12 +50,21 @@ public class MultiWordChunker implements Disambiguator {
   /*
    * Lazy init, thanks to Artur Trzewik
    */
-  private void lazyInit() {
-
-    if (mStartSpace != null) {
-      return;
+  private MultiWords lazyInit() {
+    MultiWords result = multiWords;
+    if (result == null) {
+      synchronized (this) {
+        result = multiWords;
+        if (result == null) {
+          result = loadMultiWords();
+          multiWords = result;
+        }
+      }
     }
+    return result;
+  }
 
+  private MultiWords loadMultiWords() {
     Map<String, Integer> mStartSpace = new HashMap<>();
     Map<String, Integer> mStartNoSpace = new HashMap<>();
     Map<String, String> mFull = new HashMap<>();
@@ -94,10 +102,7 @@ public class MultiWordChunker implements Disambiguator {
       }
       mFull.put(tokenAndTag[0], tokenAndTag[1]);
     }
-    
-    this.mStartSpace = mStartSpace;
-    this.mStartNoSpace = mStartNoSpace;
-    this.mFull = mFull;
+    return new MultiWords(mStartSpace, mStartNoSpace, mFull);
   }
 
   /**
@@ -110,7 +115,10 @@ public class MultiWordChunker implements Disambiguator {
   @Override
   public final AnalyzedSentence disambiguate(final AnalyzedSentence input) {
 
-    lazyInit();
+    final MultiWords multiWords = lazyInit();
+    final Map<String, Integer> mStartSpace = multiWords.startSpace;
+    final Map<String, Integer> mStartNoSpace = multiWords.startNoSpace;
+    final Map<String, String> mFull = multiWords.full;
 
     final AnalyzedTokenReadings[] anTokens = input.getTokens();
     final AnalyzedTokenReadings[] output = anTokens;
@@ -129,8 +137,8 @@ public class MultiWordChunker implements Disambiguator {
             tokens.append(anTokens[j].getToken());
             final String toks = tokens.toString();
             if (mFull.containsKey(toks)) {
-              output[i] = prepareNewReading(toks, tok, output[i], false);
-              output[finalLen] = prepareNewReading(toks, anTokens[finalLen].getToken(),
+              output[i] = prepareNewReading(mFull, toks, tok, output[i], false);
+              output[finalLen] = prepareNewReading(mFull, toks, anTokens[finalLen].getToken(),
                       output[finalLen], true);
             }
             lenCounter++;
@@ -151,8 +159,8 @@ public class MultiWordChunker implements Disambiguator {
             tokens.append(anTokens[j].getToken());
             final String toks = tokens.toString();
             if (mFull.containsKey(toks)) {
-              output[i] = prepareNewReading(toks, tok, output[i], false);
-              output[i + len - 1] = prepareNewReading(toks, anTokens
+              output[i] = prepareNewReading(mFull, toks, tok, output[i], false);
+              output[i + len - 1] = prepareNewReading(mFull, toks, anTokens
                       [i + len - 1].getToken(), output[i + len -1], true);
 
             }
@@ -164,7 +172,7 @@ public class MultiWordChunker implements Disambiguator {
   }
 
 
-  private AnalyzedTokenReadings prepareNewReading(final String tokens, final String tok, final AnalyzedTokenReadings token, final boolean isLast) {
+  private AnalyzedTokenReadings prepareNewReading(final Map<String, String> mFull, final String tokens, final String tok, final AnalyzedTokenReadings token, final boolean isLast) {
     final StringBuilder sb = new StringBuilder();
     sb.append('<');
     if (isLast) {
@@ -218,4 +226,16 @@ public class MultiWordChunker implements Disambiguator {
     return lines;
   }
 
+  private static class MultiWords {
+    private final Map<String, Integer> startSpace;
+    private final Map<String, Integer> startNoSpace;
+    private final Map<String, String> full;
+
+    MultiWords(Map<String, Integer> startSpace, Map<String, Integer> startNoSpace, Map<String, String> full) {
+      this.startSpace = Collections.unmodifiableMap(startSpace);
+      this.startNoSpace = Collections.unmodifiableMap(startNoSpace);
+      this.full = Collections.unmodifiableMap(full);
+    }
+  }
+
 }
\ No newline at end of file
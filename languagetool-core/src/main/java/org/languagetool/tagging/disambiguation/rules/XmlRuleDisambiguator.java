@@ -20,6 +20,7 @@
 package org.languagetool.tagging.disambiguation.rules;
 
 import java.io.IOException;
+import java.util.BitSet;
 import java.util.List;
 import java.util.Objects;
 
@@ -28,6 +29,7 @@ import javax.xml.parsers.ParserConfigurationException;
 import org.languagetool.AnalyzedSentence;
 import org.languagetool.JLanguageTool;
 import org.languagetool.Language;
+import org.languagetool.rules.patterns.PatternRuleIndex;
 import org.languagetool.tagging.disambiguation.Disambiguator;
 import org.languagetool.tools.Tools;
 import org.xml.sax.SAXException;
@@ -42,7 +44,7 @@ public class XmlRuleDisambiguator implements Disambiguator {
 
   private static final String DISAMBIGUATION_FILE = "disambiguation.xml";
   
-  private List<DisambiguationPatternRule> disambiguationRules;
+  private volatile PatternRuleIndex<DisambiguationPatternRule> disambiguationRules;
   private final Language language;
 
   public XmlRuleDisambiguator(final Language language) {
@@ -56,13 +58,26 @@ public class XmlRuleDisambiguator implements Disambiguator {
       final String disambiguationFile =
         JLanguageTool.getDataBroker().getResourceDir() + "/" + language.getShortName() + "/" + DISAMBIGUATION_FILE;
       try {
-        disambiguationRules = loadPatternRules(disambiguationFile);
+        disambiguationRules = new PatternRuleIndex<>(loadPatternRules(disambiguationFile));
       } catch (final Exception e) {
         throw new RuntimeException("Problems with loading disambiguation file: " + disambiguationFile, e);
       }
     }
-    for (final DisambiguationPatternRule patternRule : disambiguationRules) {
-      sentence = patternRule.replace(sentence);
+    // only apply the rules that can match, but in the same order as without the index:
+    final PatternRuleIndex<DisambiguationPatternRule> index = disambiguationRules;
+    final List<DisambiguationPatternRule> rules = index.getIndexedRules();
+    BitSet candidates = index.getCandidateIndexes(sentence);
+    for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+      final DisambiguationPatternRule patternRule = rules.get(i);
+      if (patternRule.canBeIgnoredFor(sentence)) {
+        continue;
+      }
+      final AnalyzedSentence newSentence = patternRule.replace(sentence);
+      if (newSentence != sentence) {
+        // the readings have changed, so other rules may match now:
+        sentence = newSentence;
+        candidates = index.getCandidateIndexes(sentence);
+      }
     }
     return sentence;
   }
@@ -0,0 +1,128 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tokenizers;
+
+import java.util.Arrays;
+
+/**
+ * Splits a growing text into sentences without scanning the text again that
+ * has already been split. The text can be any {@link CharSequence} that is appended to,
+ * e.g. a {@link StringBuilder} that is filled from a {@link java.io.Reader} chunk by chunk,
+ * or a view on an editor document. After the text has grown, call {@link #update()};
+ * when it's complete, call {@link #finish()}.
+ *
+ * <p>As the text that follows a sentence end can decide whether it's really the end
+ * of a sentence, sentences are only reported once the text extends at least
+ * {@value #MARGIN} characters beyond their end (or once the text is finished).
+ * The result is then the same as splitting the complete text with
+ * {@link SRXSentenceTokenizer#getSentenceEnds(CharSequence)}, except for rules
+ * anchored with {@code ^}: as matching continues at the end of the last sentence
+ * found, they may also match there (just like when the segment library reads from
+ * a {@link java.io.Reader}). Not thread-safe.
+ * @see SRXSentenceTokenizer#createIncrementalSegmenter(CharSequence)
+ * @since 2.5
+ */
+public final class IncrementalSentenceSegmenter {
+
+  /** Number of characters that must follow a sentence end before it is reported by {@link #update()}. */
+  public static final int MARGIN = 128;
+
+  private final SrxSegmenter segmenter;
+  private final CharSequence text;
+
+  private int[] ends = new int[16];
+  private int sentenceCount;
+
+  IncrementalSentenceSegmenter(SrxRules rules, CharSequence text) {
+    this.segmenter = new SrxSegmenter(rules);
+    this.text = text;
+  }
+
+  /**
+   * Find the sentences in the text that has been added since the last call.
+   * @return the number of sentences that have been found
+   */
+  public int update() {
+    return segment(false);
+  }
+
+  /**
+   * Find the remaining sentences, assuming the text is now complete.
+   * @return the number of sentences that have been found
+   */
+  public int finish() {
+    return segment(true);
+  }
+
+  /**
+   * Forget the sentences whose end might depend on the text at {@code offset} and after it,
+   * e.g. because the text has been edited there. The next call to {@link #update()} will
+   * split the text again from the end of the last remaining sentence.
+   */
+  public void invalidate(int offset) {
+    while (sentenceCount > 0 && ends[sentenceCount - 1] > offset - MARGIN) {
+      sentenceCount--;
+    }
+  }
+
+  public int getSentenceCount() {
+    return sentenceCount;
+  }
+
+  public int getSentenceStart(int i) {
+    return i == 0 ? 0 : getSentenceEnd(i - 1);
+  }
+
+  /**
+   * The end offset (exclusive) of sentence {@code i}.
+   */
+  public int getSentenceEnd(int i) {
+    if (i >= sentenceCount) {
+      throw new IndexOutOfBoundsException("Sentence " + i + ", count: " + sentenceCount);
+    }
+    return ends[i];
+  }
+
+  /**
+   * The length of the text that has been split into sentences so far.
+   */
+  public int getSegmentedLength() {
+    return sentenceCount == 0 ? 0 : ends[sentenceCount - 1];
+  }
+
+  private int segment(boolean endOfText) {
+    final int oldCount = sentenceCount;
+    final int length = text.length();
+    int start = getSegmentedLength();
+    if (start < length) {
+      segmenter.reset(text, start);
+      int end;
+      while (start < length && (end = segmenter.next(start, endOfText, MARGIN)) != -1) {
+        if (sentenceCount == ends.length) {
+          ends = Arrays.copyOf(ends, 2 * ends.length);
+        }
+        ends[sentenceCount++] = end;
+        start = end;
+      }
+      segmenter.clear();
+    }
+    return sentenceCount - oldCount;
+  }
+
+}
@@ -22,21 +22,23 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
-import net.sourceforge.segment.TextIterator;
 import net.sourceforge.segment.srx.SrxDocument;
 import net.sourceforge.segment.srx.SrxParser;
-import net.sourceforge.segment.srx.SrxTextIterator;
 import net.sourceforge.segment.srx.io.Srx2SaxParser;
 
 import org.languagetool.JLanguageTool;
 import org.languagetool.Language;
 
 /**
- * Class to tokenize sentences using an SRX file.
+ * Class to tokenize sentences using an SRX file. The rules for each language
+ * are compiled once and shared by all instances.
  * 
  * @author Marcin Miłkowski
  * @author Jarek Lipski
@@ -45,6 +47,7 @@ public class SRXSentenceTokenizer implements SentenceTokenizer {
 
   private static final String RULES = "/segment.srx";
   private static final SrxDocument DOCUMENT = createSrxDocument();
+  private static final ConcurrentMap<String, SrxRules> compiledRules = new ConcurrentHashMap<>();
 
   private final String languageCode;
 
@@ -82,16 +85,67 @@ public class SRXSentenceTokenizer implements SentenceTokenizer {
     setSingleLineBreaksMarksParagraph(false);
   }
 
+  private static SrxRules getRules(String languageCode) {
+    SrxRules rules = compiledRules.get(languageCode);
+    if (rules == null) {
+      final SrxRules newRules = new SrxRules(DOCUMENT, languageCode);
+      rules = compiledRules.putIfAbsent(languageCode, newRules);
+      if (rules == null) {
+        rules = newRules;
+      }
+    }
+    return rules;
+  }
+
   @Override
   public final List<String> tokenize(final String text) {
-    final List<String> segments = new ArrayList<>();
-    final TextIterator textIterator = new SrxTextIterator(DOCUMENT, languageCode + parCode, text);
-    while (textIterator.hasNext()) {
-      segments.add(textIterator.next());
+    final int[] ends = getSentenceEnds(text);
+    final List<String> segments = new ArrayList<>(ends.length);
+    int start = 0;
+    for (int end : ends) {
+      segments.add(text.substring(start, end));
+      start = end;
     }
     return segments;
   }
 
+  /**
+   * Split the text into sentences like {@link #tokenize(String)}, but without creating
+   * strings: returns the end offset (exclusive) of each sentence. Each sentence
+   * starts where the previous one ends, the last one ends at the end of the text.
+   * @since 2.5
+   */
+  public final int[] getSentenceEnds(final CharSequence text) {
+    final SrxSegmenter segmenter = getRules(languageCode + parCode).getThreadSegmenter();
+    int[] ends = new int[16];
+    int count = 0;
+    segmenter.reset(text, 0);
+    try {
+      int start = 0;
+      while (start < text.length()) {
+        final int end = segmenter.next(start, true, 0);
+        if (count == ends.length) {
+          ends = Arrays.copyOf(ends, 2 * ends.length);
+        }
+        ends[count++] = end;
+        start = end;
+      }
+    } finally {
+      segmenter.clear();
+    }
+    return Arrays.copyOf(ends, count);
+  }
+
+  /**
+   * Create a segmenter that splits a growing text into sentences, with the
+   * same rules as this tokenizer uses.
+   * @param text the text, which may still grow while the segmenter is used
+   * @since 2.5
+   */
+  public final IncrementalSentenceSegmenter createIncrementalSegmenter(final CharSequence text) {
+    return new IncrementalSentenceSegmenter(getRules(languageCode + parCode), text);
+  }
+
   @Override
   public final boolean singleLineBreaksMarksPara() {
     return "_one".equals(parCode);
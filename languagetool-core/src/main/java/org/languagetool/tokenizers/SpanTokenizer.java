@@ -0,0 +1,34 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tokenizers;
+
+/**
+ * A word tokenizer that describes its tokens as spans over the text instead
+ * of creating a string for each token. The spans must be added in text order
+ * and give the same tokens as {@link Tokenizer#tokenize(String)}.
+ * @since 2.5
+ */
+public interface SpanTokenizer extends Tokenizer {
+
+  /**
+   * Tokenize the text and add the spans of its tokens to {@code spans}.
+   */
+  void tokenize(CharSequence text, TokenSpans spans);
+
+}
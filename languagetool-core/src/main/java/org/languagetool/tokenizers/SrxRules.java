@@ -0,0 +1,99 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tokenizers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import net.sourceforge.segment.srx.LanguageRule;
+import net.sourceforge.segment.srx.Rule;
+import net.sourceforge.segment.srx.SrxDocument;
+import net.sourceforge.segment.util.Util;
+
+/**
+ * The SRX rules for one language code, compiled once so they can be shared by all threads.
+ * The patterns are the same as those that the segment library's {@code SrxTextIterator}
+ * uses: for each break rule, the non-break rules that come before it in the rule
+ * list are combined into one exception pattern.
+ * @since 2.5
+ */
+final class SrxRules {
+
+  // same as the segment library's default:
+  private static final int MAX_LOOKBEHIND_CONSTRUCT_LENGTH = 100;
+
+  final Pattern[] beforeBreak;
+  final Pattern[] afterBreak;
+  final Pattern[] exceptions;  // null if a break rule has no exceptions
+
+  private final ThreadLocal<SrxSegmenter> segmenters = new ThreadLocal<SrxSegmenter>() {
+    @Override
+    protected SrxSegmenter initialValue() {
+      return new SrxSegmenter(SrxRules.this);
+    }
+  };
+
+  SrxRules(SrxDocument document, String languageCode) {
+    final List<Rule> breakRules = new ArrayList<>();
+    final List<Pattern> exceptionPatterns = new ArrayList<>();
+    final StringBuilder exceptionPattern = new StringBuilder();
+    for (LanguageRule languageRule : document.getLanguageRuleList(languageCode)) {
+      for (Rule rule : languageRule.getRuleList()) {
+        if (rule.isBreak()) {
+          breakRules.add(rule);
+          exceptionPatterns.add(exceptionPattern.length() > 0 ? Util.compile(document, exceptionPattern.toString()) : null);
+        } else {
+          if (exceptionPattern.length() > 0) {
+            exceptionPattern.append('|');
+          }
+          exceptionPattern.append(getExceptionPattern(rule));
+        }
+      }
+    }
+    beforeBreak = new Pattern[breakRules.size()];
+    afterBreak = new Pattern[breakRules.size()];
+    for (int i = 0; i < breakRules.size(); i++) {
+      beforeBreak[i] = Util.compile(document, breakRules.get(i).getBeforePattern());
+      afterBreak[i] = Util.compile(document, breakRules.get(i).getAfterPattern());
+    }
+    exceptions = exceptionPatterns.toArray(new Pattern[exceptionPatterns.size()]);
+  }
+
+  /**
+   * A segmenter of the current thread, to be used only until the thread segments the next text.
+   */
+  SrxSegmenter getThreadSegmenter() {
+    return segmenters.get();
+  }
+
+  private static String getExceptionPattern(Rule rule) {
+    final String before = Util.finitize(rule.getBeforePattern(), MAX_LOOKBEHIND_CONSTRUCT_LENGTH);
+    final String after = rule.getAfterPattern();
+    final StringBuilder sb = new StringBuilder("(?:");
+    if (before.length() > 0) {
+      sb.append("(?<=").append(before).append(')');
+    }
+    if (after.length() > 0) {
+      sb.append("(?=").append(after).append(')');
+    }
+    return sb.append(')').toString();
+  }
+
+}
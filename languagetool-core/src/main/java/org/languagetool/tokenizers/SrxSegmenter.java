@@ -0,0 +1,183 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tokenizers;
+
+import java.util.regex.Matcher;
+
+/**
+ * Finds sentence ends with {@link SrxRules}, working on offsets so that no strings are
+ * created. The breaks are the same as those of the segment library's {@code SrxTextIterator}:
+ * the rule matchers move through the text together, the break rule with the smallest
+ * break position wins, and the break is taken unless the exception pattern of that rule
+ * matches. The matchers are re-used for the next text, so a segmenter is not thread-safe.
+ * @since 2.5
+ */
+final class SrxSegmenter {
+
+  private final SrxRules rules;
+  private final Matcher[] beforeMatchers;
+  private final Matcher[] afterMatchers;
+  private final Matcher[] exceptionMatchers;
+  private final boolean[] active;
+
+  private CharSequence text;
+  private int length;
+
+  SrxSegmenter(SrxRules rules) {
+    this.rules = rules;
+    final int ruleCount = rules.beforeBreak.length;
+    beforeMatchers = new Matcher[ruleCount];
+    afterMatchers = new Matcher[ruleCount];
+    exceptionMatchers = new Matcher[ruleCount];
+    active = new boolean[ruleCount];
+  }
+
+  /**
+   * Start segmenting {@code text} at position {@code from}, which must be 0 or the end of a sentence.
+   */
+  void reset(CharSequence text, int from) {
+    this.text = text;
+    this.length = text.length();
+    for (int i = 0; i < beforeMatchers.length; i++) {
+      if (beforeMatchers[i] == null) {
+        beforeMatchers[i] = rules.beforeBreak[i].matcher(text);
+        afterMatchers[i] = rules.afterBreak[i].matcher(text);
+        if (rules.exceptions[i] != null) {
+          exceptionMatchers[i] = rules.exceptions[i].matcher(text).useTransparentBounds(true);
+        }
+      } else {
+        beforeMatchers[i].reset(text);
+        afterMatchers[i].reset(text);
+        if (exceptionMatchers[i] != null) {
+          exceptionMatchers[i].reset(text);
+        }
+      }
+      active[i] = from == 0 ? find(i) : find(i, from);
+    }
+  }
+
+  /**
+   * Release the text so it can be garbage collected.
+   */
+  void clear() {
+    text = null;
+    for (int i = 0; i < beforeMatchers.length; i++) {
+      if (beforeMatchers[i] != null) {
+        beforeMatchers[i].reset("");
+        afterMatchers[i].reset("");
+        if (exceptionMatchers[i] != null) {
+          exceptionMatchers[i].reset("");
+        }
+      }
+    }
+  }
+
+  /**
+   * Get the end of the sentence that starts at {@code start}.
+   * @param endOfText whether the text is complete - if not, a sentence end is only returned
+   *   if it's at least {@code margin} characters before the end of the text, as the text that
+   *   follows might still change it
+   * @return the end offset (exclusive), or {@code -1} if more text is needed to decide
+   */
+  int next(int start, boolean endOfText, int margin) {
+    int end;
+    boolean found = false;
+    do {
+      final int minRule = getMinRule();
+      if (!endOfText && (minRule == -1 || getBreakPosition(minRule) > length - margin)) {
+        return -1;
+      }
+      if (minRule == -1) {
+        end = length;
+        found = true;
+      } else {
+        end = getBreakPosition(minRule);
+        if (end > start) {
+          found = isBreak(minRule, end);
+          if (found) {
+            cutMatchers(end);
+          }
+        }
+      }
+      moveMatchers(end);
+    } while (!found);
+    return end;
+  }
+
+  private int getBreakPosition(int rule) {
+    return afterMatchers[rule].start();
+  }
+
+  private int getMinRule() {
+    int minPosition = Integer.MAX_VALUE;
+    int minRule = -1;
+    for (int i = 0; i < active.length; i++) {
+      if (active[i] && getBreakPosition(i) < minPosition) {
+        minPosition = getBreakPosition(i);
+        minRule = i;
+      }
+    }
+    return minRule;
+  }
+
+  private boolean isBreak(int rule, int position) {
+    final Matcher exceptionMatcher = exceptionMatchers[rule];
+    if (exceptionMatcher == null) {
+      return true;
+    }
+    exceptionMatcher.region(position, length);
+    return !exceptionMatcher.lookingAt();
+  }
+
+  // move all matchers behind the given position:
+  private void moveMatchers(int position) {
+    for (int i = 0; i < active.length; i++) {
+      while (active[i] && getBreakPosition(i) <= position) {
+        active[i] = find(i);
+      }
+    }
+  }
+
+  // matches must not start before a sentence end, so search again from there:
+  private void cutMatchers(int position) {
+    for (int i = 0; i < active.length; i++) {
+      if (active[i] && beforeMatchers[i].start() < position) {
+        active[i] = find(i, position);
+      }
+    }
+  }
+
+  private boolean find(int rule, int from) {
+    beforeMatchers[rule].region(from, length);
+    return find(rule);
+  }
+
+  private boolean find(int rule) {
+    final Matcher beforeMatcher = beforeMatchers[rule];
+    final Matcher afterMatcher = afterMatchers[rule];
+    while (beforeMatcher.find()) {
+      afterMatcher.region(beforeMatcher.end(), length);
+      if (afterMatcher.lookingAt()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+}
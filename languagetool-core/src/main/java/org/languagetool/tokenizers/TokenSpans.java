@@ -0,0 +1,150 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tokenizers;
+
+import java.util.Arrays;
+
+/**
+ * A reusable buffer of token spans, as filled by a {@link SpanTokenizer}. Each span
+ * is stored as its start offset, end offset (exclusive) and type in one {@code int} array,
+ * so tokenizing a sentence doesn't create objects. Strings are only created by
+ * {@link #getToken(CharSequence, int)}, tokens of a single Latin-1 character share
+ * constant strings. Not thread-safe.
+ * @since 2.5
+ */
+public final class TokenSpans {
+
+  public static final int WORD = 0;
+  public static final int WHITESPACE = 1;
+  public static final int PUNCTUATION = 2;
+  public static final int URL = 3;
+
+  /** Flag that can be combined with the type: the token contains a soft hyphen ({@code U+00AD}). */
+  public static final int SOFT_HYPHEN = 0x100;
+
+  private static final int TYPE_MASK = 0xff;
+  private static final String[] SINGLE_CHAR_TOKENS = new String[256];
+
+  static {
+    for (char c = 0; c < SINGLE_CHAR_TOKENS.length; c++) {
+      SINGLE_CHAR_TOKENS[c] = String.valueOf(c).intern();
+    }
+  }
+
+  private int[] spans = new int[3 * 64];
+  private String[] tokens;  // only for tokens that are not a substring of the text
+  private int size;
+
+  /**
+   * Remove all spans, keeping the buffer for re-use.
+   */
+  public void clear() {
+    truncate(0);
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Add a span.
+   * @param type one of the types like {@link #WORD}, optionally combined with {@link #SOFT_HYPHEN}
+   */
+  public void add(int start, int end, int type) {
+    if (3 * size == spans.length) {
+      spans = Arrays.copyOf(spans, 2 * spans.length);
+    }
+    final int offset = 3 * size;
+    spans[offset] = start;
+    spans[offset + 1] = end;
+    spans[offset + 2] = type;
+    size++;
+  }
+
+  /**
+   * Add a span whose token is not just the text between {@code start} and {@code end}, e.g.
+   * because the tokenizer has removed or replaced characters.
+   */
+  public void add(int start, int end, int type, String token) {
+    add(start, end, type);
+    if (tokens == null || tokens.length < size) {
+      tokens = Arrays.copyOf(tokens == null ? new String[0] : tokens, spans.length / 3);
+    }
+    tokens[size - 1] = token;
+  }
+
+  /**
+   * Replace the span at {@code i}, which must be smaller than {@link #size()}.
+   */
+  void set(int i, int start, int end, int type) {
+    final int offset = 3 * i;
+    spans[offset] = start;
+    spans[offset + 1] = end;
+    spans[offset + 2] = type;
+  }
+
+  /**
+   * Remove all spans from position {@code newSize} on.
+   */
+  void truncate(int newSize) {
+    if (tokens != null) {
+      Arrays.fill(tokens, Math.min(newSize, tokens.length), Math.min(size, tokens.length), null);
+    }
+    size = newSize;
+  }
+
+  public int getStart(int i) {
+    return spans[3 * i];
+  }
+
+  public int getEnd(int i) {
+    return spans[3 * i + 1];
+  }
+
+  /**
+   * The type of the span, one of {@link #WORD}, {@link #WHITESPACE}, {@link #PUNCTUATION}, and {@link #URL}.
+   */
+  public int getType(int i) {
+    return spans[3 * i + 2] & TYPE_MASK;
+  }
+
+  public boolean hasSoftHyphen(int i) {
+    return (spans[3 * i + 2] & SOFT_HYPHEN) != 0;
+  }
+
+  /**
+   * The token of the span at {@code i} as a string.
+   * @param text the text that has been tokenized
+   */
+  public String getToken(CharSequence text, int i) {
+    if (tokens != null && tokens[i] != null) {
+      return tokens[i];
+    }
+    final int start = getStart(i);
+    final int end = getEnd(i);
+    if (end - start == 1) {
+      final char c = text.charAt(start);
+      if (c < SINGLE_CHAR_TOKENS.length) {
+        return SINGLE_CHAR_TOKENS[c];
+      }
+    }
+    return text.subSequence(start, end).toString();
+  }
+
+}
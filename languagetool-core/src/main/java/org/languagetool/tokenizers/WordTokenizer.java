@@ -20,9 +20,9 @@ package org.languagetool.tokenizers;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
-import java.util.StringTokenizer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -33,10 +33,13 @@ import org.languagetool.tools.StringTools;
  * The tokenizer is a quite simple character-based one, though it knows
  * about urls and will put them in one token, if fully specified including
  * a protocol (like {@code http://foobar.org}).
+ *
+ * <p>Subclasses that override {@link #tokenize(String)} are also used by
+ * {@link #tokenize(CharSequence, TokenSpans)}, but their tokens are taken over as strings.
  * 
  * @author Daniel Naber
  */
-public class WordTokenizer implements Tokenizer {
+public class WordTokenizer implements SpanTokenizer {
 
   private static final List<String> PROTOCOLS = Collections.unmodifiableList(Arrays.asList("http", "https", "ftp"));
   private static final Pattern URL_CHARS = Pattern.compile("[a-zA-Z0-9/%$-_.+!*'(),\\?]+");
@@ -50,6 +53,16 @@ public class WordTokenizer implements Tokenizer {
       + "\u206E\u206F\u3000\u3164\ufeff\uffa0\ufff9\ufffa\ufffb"
       + ",.;()[]{}=*#∗×·+÷<>!?:/|\\\"'«»„”“`´‘’‛′…¿¡→\t\n\r";
 
+  private static final BitSet TOKENIZING_CHARS = new BitSet();
+
+  static {
+    for (int i = 0; i < TOKENIZING_CHARACTERS.length(); i++) {
+      TOKENIZING_CHARS.set(TOKENIZING_CHARACTERS.charAt(i));
+    }
+  }
+
+  private final boolean tokenizeOverridden;
+
   /**
    * Get the protocols that the tokenizer knows about.
    * @return currently {@code http}, {@code https}, and {@code ftp}
@@ -60,16 +73,60 @@ public class WordTokenizer implements Tokenizer {
   }
 
   public WordTokenizer() {
+    tokenizeOverridden = overridesTokenize(getClass());
   }
 
   @Override
   public List<String> tokenize(final String text) {
-    final List<String> l = new ArrayList<>();
-    final StringTokenizer st = new StringTokenizer(text, TOKENIZING_CHARACTERS, true);
-    while (st.hasMoreElements()) {
-      l.add(st.nextToken());
+    final TokenSpans spans = new TokenSpans();
+    tokenizeIntoSpans(text, spans);
+    final List<String> l = new ArrayList<>(spans.size());
+    for (int i = 0; i < spans.size(); i++) {
+      l.add(spans.getToken(text, i));
+    }
+    return l;
+  }
+
+  /**
+   * Tokenize the text in a single pass over its characters, including the joining of urls.
+   * @since 2.5
+   */
+  @Override
+  public void tokenize(final CharSequence text, final TokenSpans spans) {
+    if (tokenizeOverridden) {
+      int pos = 0;
+      for (String token : tokenize(text.toString())) {
+        final int softHyphen = token.indexOf('\u00ad') != -1 ? TokenSpans.SOFT_HYPHEN : 0;
+        spans.add(pos, pos + token.length(), getType(token, 0, token.length()) | softHyphen, token);
+        pos += token.length();
+      }
+    } else {
+      tokenizeIntoSpans(text, spans);
+    }
+  }
+
+  private void tokenizeIntoSpans(CharSequence text, TokenSpans spans) {
+    final int first = spans.size();
+    final int length = text.length();
+    int start = 0;
+    int softHyphen = 0;
+    for (int i = 0; i < length; i++) {
+      final char c = text.charAt(i);
+      if (TOKENIZING_CHARS.get(c)) {
+        if (start < i) {
+          spans.add(start, i, getType(text, start, i) | softHyphen);
+        }
+        spans.add(i, i + 1, getType(text, i, i + 1));
+        start = i + 1;
+        softHyphen = 0;
+      } else if (c == '\u00ad') {
+        softHyphen = TokenSpans.SOFT_HYPHEN;
+      }
     }
-    return joinUrls(l);
+    if (start < length) {
+      spans.add(start, length, getType(text, start, length) | softHyphen);
+    }
+    joinUrls(text, spans, first);
   }
 
   /**
@@ -107,6 +164,137 @@ public class WordTokenizer implements Tokenizer {
     return newList;
   }
 
+  // the same as joinUrls(List), but done in place on the spans starting at 'first':
+  private void joinUrls(CharSequence text, TokenSpans spans, int first) {
+    final int size = spans.size();
+    int newSize = first;
+    boolean inUrl = false;
+    int urlStart = -1;
+    int urlEnd = 0;
+    int urlSoftHyphen = 0;
+    for (int i = first; i < size; i++) {
+      final int softHyphen = spans.hasSoftHyphen(i) ? TokenSpans.SOFT_HYPHEN : 0;
+      if (urlStartsAt(i, text, spans)) {
+        inUrl = true;
+        if (urlStart == -1) {
+          urlStart = spans.getStart(i);
+        }
+        urlEnd = spans.getEnd(i);
+        urlSoftHyphen |= softHyphen;
+      } else if (inUrl && urlEndsAt(i, text, spans)) {
+        inUrl = false;
+        final int start = spans.getStart(i);
+        final int end = spans.getEnd(i);
+        final int type = spans.getType(i) | softHyphen;
+        spans.set(newSize++, urlStart, urlEnd, TokenSpans.URL | urlSoftHyphen);
+        spans.set(newSize++, start, end, type);
+        urlStart = -1;
+        urlSoftHyphen = 0;
+      } else if (inUrl) {
+        urlEnd = spans.getEnd(i);
+        urlSoftHyphen |= softHyphen;
+      } else {
+        spans.set(newSize++, spans.getStart(i), spans.getEnd(i), spans.getType(i) | softHyphen);
+      }
+    }
+    if (urlStart != -1) {
+      spans.set(newSize++, urlStart, urlEnd, TokenSpans.URL | urlSoftHyphen);
+    }
+    spans.truncate(newSize);
+  }
+
+  private boolean urlStartsAt(int i, CharSequence text, TokenSpans spans) {
+    return isProtocol(text, spans.getStart(i), spans.getEnd(i)) && spans.size() > i + 3
+            && isChar(i + 1, ':', text, spans) && isChar(i + 2, '/', text, spans) && isChar(i + 3, '/', text, spans);
+  }
+
+  private boolean isProtocol(CharSequence text, int start, int end) {
+    for (String protocol : PROTOCOLS) {
+      if (regionEquals(text, start, end, protocol)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean urlEndsAt(int i, CharSequence text, TokenSpans spans) {
+    if (spans.getType(i) == TokenSpans.WHITESPACE) {
+      return true;
+    } else if (isChar(i, ')', text, spans)) {
+      return true;
+    } else if (spans.size() > i + 1) {
+      if (spans.getType(i + 1) == TokenSpans.WHITESPACE && spans.getEnd(i) - spans.getStart(i) == 1
+            && ".,;:!?".indexOf(text.charAt(spans.getStart(i))) != -1) {
+        return true;
+      }
+    } else {
+      final Matcher matcher = URL_CHARS.matcher(text.subSequence(spans.getStart(i), spans.getEnd(i)));
+      if (!matcher.matches()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isChar(int i, char c, CharSequence text, TokenSpans spans) {
+    final int start = spans.getStart(i);
+    return spans.getEnd(i) - start == 1 && text.charAt(start) == c;
+  }
+
+  private static boolean regionEquals(CharSequence text, int start, int end, String s) {
+    if (end - start != s.length()) {
+      return false;
+    }
+    for (int i = 0; i < s.length(); i++) {
+      if (text.charAt(start + i) != s.charAt(i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int getType(CharSequence text, int start, int end) {
+    if (isWhitespace(text, start, end)) {
+      return TokenSpans.WHITESPACE;
+    } else if (end - start == 1 && TOKENIZING_CHARS.get(text.charAt(start))) {
+      return TokenSpans.PUNCTUATION;
+    }
+    return TokenSpans.WORD;
+  }
+
+  // the same as StringTools.isWhitespace(), but without creating a string:
+  private static boolean isWhitespace(CharSequence text, int start, int end) {
+    if (end - start == 1 && (text.charAt(start) == '\u0002' || text.charAt(start) == '\u0001')) {
+      return false;
+    }
+    int trimStart = start;
+    int trimEnd = end;
+    while (trimStart < trimEnd && text.charAt(trimStart) <= ' ') {
+      trimStart++;
+    }
+    while (trimEnd > trimStart && text.charAt(trimEnd - 1) <= ' ') {
+      trimEnd--;
+    }
+    if (trimStart == trimEnd) {
+      return true;
+    }
+    if (trimEnd - trimStart == 1) {
+      if (end - start == 1 && text.charAt(start) == '\u200B') {
+        return true;
+      }
+      return Character.isWhitespace(text.charAt(trimStart));
+    }
+    return false;
+  }
+
+  private static boolean overridesTokenize(Class<?> clazz) {
+    try {
+      return clazz.getMethod("tokenize", String.class).getDeclaringClass() != WordTokenizer.class;
+    } catch (NoSuchMethodException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   private boolean urlStartsAt(int i, List<String> l) {
     final String token = l.get(i);
     if (isProtocol(token) && l.size() > i + 3) {
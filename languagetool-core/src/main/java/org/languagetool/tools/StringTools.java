@@ -314,15 +314,38 @@ public final class StringTools {
   public static String ruleMatchesToXML(final List<RuleMatch> ruleMatches,
       final String text, final int contextSize, final XmlPrintMode xmlMode,
       final Language lang, final Language motherTongue) {
+    final StringWriter xml = new StringWriter(200);
+    try {
+      writeRuleMatchesAsXML(xml, ruleMatches, text, contextSize, xmlMode, lang, motherTongue);
+    } catch (IOException e) {
+      throw new RuntimeException(e);  // cannot happen with a StringWriter
+    }
+    return xml.toString();
+  }
+
+  /**
+   * Like {@link #ruleMatchesToXML(List, String, int, XmlPrintMode, Language, Language)}, but writes
+   * the XML to {@code out} match by match instead of building it as a string, so the
+   * output for big texts doesn't need to be kept in memory completely.
+   *
+   * @param out where to write the XML to, will not be closed
+   * @param text the original text that was checked, used to get the context of the matches
+   * @param contextSize the desired context size in characters
+   * @param xmlMode how to print the XML
+   * @param lang the language of the text (might be null)
+   * @param motherTongue the mother tongue of the user (might be null)
+   * @since 2.5
+   */
+  public static void writeRuleMatchesAsXML(final Writer out, final List<RuleMatch> ruleMatches,
+      final String text, final int contextSize, final XmlPrintMode xmlMode,
+      final Language lang, final Language motherTongue) throws IOException {
     //
     // IMPORTANT: people rely on this format, don't change it!
     //
-    final StringBuilder xml = new StringBuilder(200);
-
     if (xmlMode == XmlPrintMode.NORMAL_XML || xmlMode == XmlPrintMode.START_XML) {
-      xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
-      xml.append("<matches software=\"LanguageTool\" version=\"" + JLanguageTool.VERSION + "\"" + " buildDate=\"")
-         .append(JLanguageTool.BUILD_DATE).append("\">\n");
+      out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+      out.write("<matches software=\"LanguageTool\" version=\"" + JLanguageTool.VERSION + "\"" + " buildDate=\"");
+      out.write(JLanguageTool.BUILD_DATE + "\">\n");
     }
     
     if (lang != null || motherTongue != null) {
@@ -335,7 +358,7 @@ public final class StringTools {
         languageXml += " mothertongueshortname=\"" + motherTongue.getShortName() + "\" mothertonguename=\"" + motherTongue.getName() + "\"";
       }
       languageXml += "/>\n";
-      xml.append(languageXml);
+      out.write(languageXml);
     }
 
     final ContextTools contextTools = new ContextTools();
@@ -345,50 +368,66 @@ public final class StringTools {
     contextTools.setErrorMarkerStart(START_MARKER);
     contextTools.setErrorMarkerEnd("");
 
+    // one buffer per match, so the output gets written in reasonably sized pieces:
+    final StringBuilder xml = new StringBuilder(200);
     for (final RuleMatch match : ruleMatches) {
-      String subId = "";
-      if (match.getRule() instanceof PatternRule) {
-        final PatternRule pRule = (PatternRule) match.getRule();
-        if (pRule.getSubId() != null) {
-          subId = " subId=\"" + escapeXMLForAPIOutput(pRule.getSubId()) + "\" ";
-        }
-      }
+      xml.setLength(0);
       xml.append("<error fromy=\"").append(match.getLine()).append('"')
          .append(" fromx=\"").append(match.getColumn() - 1).append('"')
          .append(" toy=\"").append(match.getEndLine()).append('"')
          .append(" tox=\"").append(match.getEndColumn() - 1).append('"')
          .append(" ruleId=\"").append(match.getRule().getId()).append('"');
-      final String msg = match.getMessage().replaceAll("</?suggestion>", "'");
-      xml.append(subId);
-      xml.append(" msg=\"").append(escapeXMLForAPIOutput(msg)).append('"');
-      String context = contextTools.getContext(match.getFromPos(), match.getToPos(), text);
-      xml.append(" replacements=\"").append(escapeXMLForAPIOutput(listToString(
-              match.getSuggestedReplacements(), "#"))).append('"');
+      if (match.getRule() instanceof PatternRule) {
+        final PatternRule pRule = (PatternRule) match.getRule();
+        if (pRule.getSubId() != null) {
+          xml.append(" subId=\"");
+          appendXMLForAPIOutput(xml, pRule.getSubId());
+          xml.append("\" ");
+        }
+      }
+      xml.append(" msg=\"");
+      appendXMLForAPIOutput(xml, removeSuggestionMarkup(match.getMessage()));
+      xml.append('"');
+      xml.append(" replacements=\"");
+      appendXMLForAPIOutput(xml, listToString(match.getSuggestedReplacements(), "#"));
+      xml.append('"');
       // get position of error in context and remove artificial marker again:
+      final String context = contextTools.getContext(match.getFromPos(), match.getToPos(), text);
       final int contextOffset = context.indexOf(START_MARKER);
-      context = context.replaceFirst(START_MARKER, "");
-      context = context.replaceAll("[\n\r]", " ");
-      xml.append(" context=\"").append(StringTools.escapeXML(context)).append('"')
+      xml.append(" context=\"");
+      if (contextOffset == -1) {
+        appendXMLForAPIOutput(xml, context);
+      } else {
+        appendXMLForAPIOutput(xml, context.substring(0, contextOffset));
+        appendXMLForAPIOutput(xml, context.substring(contextOffset + START_MARKER.length()));
+      }
+      xml.append('"')
          .append(" contextoffset=\"").append(contextOffset).append('"')
          .append(" offset=\"").append(match.getFromPos()).append('"')
          .append(" errorlength=\"").append(match.getToPos() - match.getFromPos()).append('"');
       if (match.getRule().getUrl() != null) {
-          xml.append(" url=\"").append(escapeXMLForAPIOutput(match.getRule().getUrl().toString())).append('"');
+        xml.append(" url=\"");
+        appendXMLForAPIOutput(xml, match.getRule().getUrl().toString());
+        xml.append('"');
       }
       final Category category = match.getRule().getCategory();
       if (category != null) {
-        xml.append(" category=\"").append(escapeXMLForAPIOutput(category.getName())).append('"');
+        xml.append(" category=\"");
+        appendXMLForAPIOutput(xml, category.getName());
+        xml.append('"');
       }
       final ITSIssueType type = match.getRule().getLocQualityIssueType();
       if (type != null) {
-        xml.append(" locqualityissuetype=\"").append(escapeXMLForAPIOutput(type.toString())).append('"');
+        xml.append(" locqualityissuetype=\"");
+        appendXMLForAPIOutput(xml, type.toString());
+        xml.append('"');
       }
       xml.append("/>\n");
+      out.append(xml);
     }
     if (xmlMode == XmlPrintMode.END_XML || xmlMode == XmlPrintMode.NORMAL_XML) {
-      xml.append("</matches>\n");
+      out.write("</matches>\n");
     }
-    return xml.toString();
   }
 
   /**
@@ -403,9 +442,44 @@ public final class StringTools {
     return ruleMatchesToXML(ruleMatches, text, contextSize, xmlMode, null, null);
   }
 
-  private static String escapeXMLForAPIOutput(final String s) {
-    // this is simplified XML, i.e. put the "<error>" in one line:
-    return escapeXML(s).replaceAll("[\n\r]", " ");
+  /**
+   * Replace the {@code <suggestion>} markup of a rule message by single quotes.
+   * @since 2.5
+   */
+  public static String removeSuggestionMarkup(final String message) {
+    if (message.indexOf("suggestion>") == -1) {
+      return message;
+    }
+    return message.replace("<suggestion>", "'").replace("</suggestion>", "'");
+  }
+
+  // this is simplified XML, i.e. put the "<error>" in one line - faster than escapeXML() plus replaceAll():
+  private static void appendXMLForAPIOutput(final StringBuilder sb, final String s) {
+    final int n = s.length();
+    for (int i = 0; i < n; i++) {
+      final char c = s.charAt(i);
+      switch (c) {
+        case '<':
+          sb.append("&lt;");
+          break;
+        case '>':
+          sb.append("&gt;");
+          break;
+        case '&':
+          sb.append("&amp;");
+          break;
+        case '"':
+          sb.append("&quot;");
+          break;
+        case '\n':
+        case '\r':
+          sb.append(' ');
+          break;
+        default:
+          sb.append(c);
+          break;
+      }
+    }
   }
 
   public static String listToString(final Collection<String> l, final String delimiter) {
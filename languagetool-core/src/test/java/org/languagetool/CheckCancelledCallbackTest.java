@@ -0,0 +1,67 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool;
+
+import org.junit.Test;
+import org.languagetool.language.Demo;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class CheckCancelledCallbackTest {
+
+  private static final String TEXT = "This is a test. This is another test. And one more test. A last one.";
+
+  @Test
+  public void testCancel() throws Exception {
+    assertCancelled(new JLanguageTool(new Demo()));
+  }
+
+  @Test
+  public void testCancelMultiThreaded() throws Exception {
+    final MultiThreadedJLanguageTool lt = new MultiThreadedJLanguageTool(new Demo());
+    try {
+      assertCancelled(lt);
+    } finally {
+      lt.shutdown();
+    }
+  }
+
+  private void assertCancelled(JLanguageTool lt) throws Exception {
+    final AtomicInteger calls = new AtomicInteger();
+    lt.setCheckCancelledCallback(new CheckCancelledCallback() {
+      @Override
+      public boolean checkCancelled() {
+        return calls.incrementAndGet() > 2;
+      }
+    });
+    try {
+      lt.check(TEXT);
+      fail();
+    } catch (CheckCancelledException expected) {
+      // expected
+    }
+    lt.setCheckCancelledCallback(null);
+    assertThat(lt.check(TEXT).size(), is(new JLanguageTool(new Demo()).check(TEXT).size()));
+  }
+
+}
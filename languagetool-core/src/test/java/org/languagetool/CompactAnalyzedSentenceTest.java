@@ -0,0 +1,87 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool;
+
+import org.junit.Test;
+import org.languagetool.chunking.ChunkTag;
+import org.languagetool.language.Demo;
+import org.languagetool.tagging.PosTagSymbolTable;
+
+import java.util.Arrays;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class CompactAnalyzedSentenceTest {
+
+  @Test
+  public void testRoundTrip() throws Exception {
+    final JLanguageTool lt = new JLanguageTool(new Demo());
+    final AnalyzedSentence sentence = lt.getAnalyzedSentence("This is a test, isn't it?");
+    final CompactAnalyzedSentence compactSentence = new CompactAnalyzedSentence(sentence, lt.getLanguage().getPosTagSymbolTable());
+    final AnalyzedTokenReadings[] tokens = sentence.getTokens();
+    assertThat(compactSentence.getTokenCount(), is(tokens.length));
+    for (int i = 0; i < tokens.length; i++) {
+      assertThat(compactSentence.getTokenReadings(i), is(tokens[i]));
+      assertThat(compactSentence.getToken(i), is(tokens[i].getToken()));
+      assertThat(compactSentence.getStartPos(i), is(tokens[i].getStartPos()));
+      assertThat(compactSentence.isWhitespace(i), is(tokens[i].isWhitespace()));
+      assertThat(compactSentence.isSentenceStart(i), is(tokens[i].isSentenceStart()));
+      assertThat(compactSentence.isSentenceEnd(i), is(tokens[i].isSentenceEnd()));
+    }
+    assertThat(compactSentence.toAnalyzedSentence().toString(), is(sentence.toString()));
+  }
+
+  @Test
+  public void testReadings() {
+    final AnalyzedTokenReadings token = new AnalyzedTokenReadings(new AnalyzedToken[] {
+            new AnalyzedToken("Houses", "NNS", "house"),
+            new AnalyzedToken("Houses", "VBZ", "Houses"),
+            new AnalyzedToken("Houses", null, null)}, 3);
+    token.setChunkTags(Arrays.asList(new ChunkTag("B-NP")));
+    token.setHistoricalAnnotations("RULE_ID: Houses[house/NNS]");
+    token.immunize();
+    final AnalyzedTokenReadings sentStart = new AnalyzedTokenReadings(
+            new AnalyzedToken("", JLanguageTool.SENTENCE_START_TAGNAME, null), 0);
+    final PosTagSymbolTable table = PosTagSymbolTable.getInstance("CompactAnalyzedSentenceTest");
+    final CompactAnalyzedSentence sentence = new CompactAnalyzedSentence(new AnalyzedSentence(new AnalyzedTokenReadings[] {sentStart, token}), table);
+    assertThat(sentence.getReadingsLength(1), is(3));
+    assertThat(sentence.getPOSTag(1, 0), is("NNS"));
+    assertThat(sentence.getLemma(1, 0), is("house"));
+    assertThat(sentence.getLemma(1, 1), is("Houses"));
+    assertThat(sentence.getPOSTag(1, 2), nullValue());
+    assertThat(sentence.getLemma(1, 2), nullValue());
+    assertThat(sentence.getPOSTagId(1, 1), is(table.getId("VBZ")));
+    assertThat(sentence.isImmunized(1), is(true));
+    assertThat(sentence.isSentenceStart(0), is(true));
+    final AnalyzedTokenReadings restoredToken = sentence.getTokenReadings(1);
+    assertThat(restoredToken, is(token));
+    assertThat(restoredToken.getChunkTags(), is(token.getChunkTags()));
+    assertThat(restoredToken.getHistoricalAnnotations(), is(token.getHistoricalAnnotations()));
+    assertThat(restoredToken.isImmunized(), is(true));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testInvalidReading() {
+    final AnalyzedTokenReadings token = new AnalyzedTokenReadings(new AnalyzedToken("foo", null, null), 0);
+    new CompactAnalyzedSentence(new AnalyzedSentence(new AnalyzedTokenReadings[] {token}), Language.DEMO.getPosTagSymbolTable()).getLemma(0, 1);
+  }
+
+}
@@ -26,6 +26,9 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -71,6 +74,74 @@ public class MultiThreadedJLanguageToolTest {
     Assert.assertEquals(Runtime.getRuntime().availableProcessors(), tool.getThreadPoolSize());
   }
 
+  @Test
+  public void testProvidedExecutorService() throws IOException {
+    final ExecutorService executorService = Executors.newFixedThreadPool(3);
+    try {
+      final MultiThreadedJLanguageTool tool = new MultiThreadedJLanguageTool(new Demo(), null, executorService);
+      final List<String> ruleMatchIds1 = getRuleMatchIds(tool);
+      final List<String> ruleMatchIds2 = getRuleMatchIds(new JLanguageTool(new Demo()));
+      assertThat(ruleMatchIds1, is(ruleMatchIds2));
+      // the executor is not shut down after a check, so the tool can be used again:
+      tool.check("A small toast.");
+      tool.shutdown();
+      Assert.assertFalse(executorService.isShutdown());
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testManySentences() throws IOException {
+    final StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 50; i++) {
+      sb.append("A small toast. No error here.\nFoo go bar. First goes last there, please!\n\n");
+    }
+    final MultiThreadedJLanguageTool multiThreadedTool = new MultiThreadedJLanguageTool(new Demo());
+    multiThreadedTool.activateDefaultPatternRules();
+    final JLanguageTool tool = new JLanguageTool(new Demo());
+    tool.activateDefaultPatternRules();
+    try {
+      final List<RuleMatch> matches1 = multiThreadedTool.check(sb.toString());
+      final List<RuleMatch> matches2 = tool.check(sb.toString());
+      Assert.assertEquals(matches2.size(), matches1.size());
+      for (int i = 0; i < matches1.size(); i++) {
+        Assert.assertEquals(matches2.get(i).toString(), matches1.get(i).toString());
+        Assert.assertEquals(matches2.get(i).getLine(), matches1.get(i).getLine());
+        Assert.assertEquals(matches2.get(i).getColumn(), matches1.get(i).getColumn());
+      }
+    } finally {
+      multiThreadedTool.shutdown();
+    }
+  }
+
+  @Test
+  public void testCancelledPartStopsOtherParts() throws IOException {
+    final StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 200; i++) {
+      sb.append("A small toast. No error here.\n");
+    }
+    final MultiThreadedJLanguageTool tool = new MultiThreadedJLanguageTool(new Demo());
+    tool.setThreadPoolSize(2);
+    final AtomicInteger calls = new AtomicInteger();
+    tool.setCheckCancelledCallback(new CheckCancelledCallback() {
+      @Override
+      public boolean checkCancelled() {
+        // only the first part of the check is cancelled:
+        return calls.incrementAndGet() == 1;
+      }
+    });
+    try {
+      tool.check(sb.toString());
+      Assert.fail();
+    } catch (CheckCancelledException expected) {
+      // the other parts don't ask the callback for all of the 400 sentences:
+      assertTrue("callback called " + calls.get() + " times", calls.get() < 100);
+    } finally {
+      tool.shutdown();
+    }
+  }
+
   private List<String> getRuleMatchIds(JLanguageTool langTool) throws IOException {
     langTool.activateDefaultPatternRules();
     final String input = "A small toast. No error here. Foo go bar. First goes last there, please!";
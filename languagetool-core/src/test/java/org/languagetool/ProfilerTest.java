@@ -0,0 +1,95 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool;
+
+import org.junit.Test;
+import org.languagetool.language.Demo;
+import org.languagetool.rules.RuleMatch;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class ProfilerTest {
+
+  private static final String TEXT = "A small toast. Foo go bar. First goes last there, please!";
+
+  @Test
+  public void testStatistics() throws IOException {
+    final Profiler profiler = new Profiler();
+    final JLanguageTool tool = new JLanguageTool(new Demo());
+    tool.activateDefaultPatternRules();
+    tool.setProfiler(profiler);
+    final List<RuleMatch> matches = tool.check(TEXT);
+    assertTrue(matches.size() > 0);
+
+    final Map<Profiler.Stage, Profiler.Statistics> stages = profiler.getStageStatistics();
+    assertThat(stages.get(Profiler.Stage.SENTENCE_TOKENIZE).getCount(), is(1L));
+    assertThat(stages.get(Profiler.Stage.WORD_TOKENIZE).getCount(), is(3L));
+    assertThat(stages.get(Profiler.Stage.TAG).getCount(), is(3L));
+    assertThat(stages.get(Profiler.Stage.DISAMBIGUATE).getCount(), is(3L));
+    // the matches are counted before overlapping matches of a rule group are filtered:
+    final long rawMatchCount = stages.get(Profiler.Stage.RULE_MATCH).getMatchCount();
+    assertTrue(rawMatchCount >= matches.size());
+    assertThat(stages.get(Profiler.Stage.SUGGESTION).getCount(), is(rawMatchCount));
+
+    final Map<String, Profiler.Statistics> rules = profiler.getRuleStatistics();
+    long ruleMatchCount = 0;
+    for (Profiler.Statistics statistics : rules.values()) {
+      ruleMatchCount += statistics.getMatchCount();
+    }
+    assertThat(ruleMatchCount, is(rawMatchCount));
+    final Profiler.Statistics ruleStatistics = rules.get(matches.get(0).getRule().getId());
+    assertThat(ruleStatistics, notNullValue());
+    assertTrue(ruleStatistics.getMatchCount() >= 1);
+
+    profiler.reset();
+    assertThat(profiler.getRuleStatistics().size(), is(0));
+    assertThat(profiler.getStageStatistics().get(Profiler.Stage.RULE_MATCH).getCount(), is(0L));
+    assertThat(profiler.getStageStatistics().get(Profiler.Stage.RULE_MATCH).getNanos(), is(0L));
+  }
+
+  @Test
+  public void testSharedByThreads() throws IOException {
+    final Profiler profiler = new Profiler();
+    final MultiThreadedJLanguageTool tool = new MultiThreadedJLanguageTool(new Demo());
+    try {
+      tool.activateDefaultPatternRules();
+      tool.setProfiler(profiler);
+      tool.check(TEXT);
+      final long matchCount = profiler.getStageStatistics().get(Profiler.Stage.RULE_MATCH).getMatchCount();
+      final JLanguageTool otherTool = new JLanguageTool(new Demo());
+      otherTool.activateDefaultPatternRules();
+      otherTool.setProfiler(profiler);
+      otherTool.check(TEXT);
+      final Profiler.Statistics statistics = profiler.getStageStatistics().get(Profiler.Stage.RULE_MATCH);
+      assertThat(statistics.getMatchCount(), is(2 * matchCount));
+      assertThat(Profiler.getCurrent(), nullValue());
+    } finally {
+      tool.shutdown();
+    }
+  }
+
+}
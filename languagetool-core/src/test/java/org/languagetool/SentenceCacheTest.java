@@ -0,0 +1,129 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool;
+
+import org.junit.Test;
+import org.languagetool.language.Demo;
+import org.languagetool.rules.GenericUnpairedBracketsRule;
+import org.languagetool.rules.RuleMatch;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+
+public class SentenceCacheTest {
+
+  private static final String TEXT = "A small toast (here. No error here) at all.\nFoo go bar. First goes last there, please!\n\n" +
+          "This is (unpaired. And this, too.";
+
+  @Test
+  public void testRecheck() throws IOException {
+    final SentenceCache cache = new SentenceCache(100);
+    final JLanguageTool tool = createTool(new JLanguageTool(new Demo()));
+    tool.setSentenceCache(cache);
+    final JLanguageTool uncachedTool = createTool(new JLanguageTool(new Demo()));
+
+    final long sentences = tool.sentenceTokenize(TEXT).size();
+    assertSameResult(tool, uncachedTool, TEXT);
+    assertThat(cache.getHitCount(), is(0L));
+    assertThat(cache.getMissCount(), is(sentences));
+
+    assertSameResult(tool, uncachedTool, TEXT);
+    assertThat(cache.getHitCount(), is(sentences));
+    assertThat(cache.getMissCount(), is(sentences));
+
+    // only the changed sentence needs to be analyzed:
+    final String changedText = TEXT.replace("Foo go bar.", "Foo goes bar.");
+    assertSameResult(tool, uncachedTool, changedText);
+    assertThat(cache.getHitCount(), is(2 * sentences - 1));
+    assertThat(cache.getMissCount(), is(sentences + 1));
+  }
+
+  @Test
+  public void testChangedRules() throws IOException {
+    final SentenceCache cache = new SentenceCache(100);
+    final JLanguageTool tool = createTool(new JLanguageTool(new Demo()));
+    tool.setSentenceCache(cache);
+    final JLanguageTool uncachedTool = createTool(new JLanguageTool(new Demo()));
+    assertSameResult(tool, uncachedTool, TEXT);
+    tool.disableRule("TEST_GO");
+    uncachedTool.disableRule("TEST_GO");
+    assertSameResult(tool, uncachedTool, TEXT);
+    tool.enableRule("TEST_GO");
+    uncachedTool.enableRule("TEST_GO");
+    assertSameResult(tool, uncachedTool, TEXT);
+  }
+
+  @Test
+  public void testMultiThreaded() throws IOException {
+    final MultiThreadedJLanguageTool tool = new MultiThreadedJLanguageTool(new Demo());
+    try {
+      createTool(tool);
+      tool.setSentenceCache(new SentenceCache(100));
+      final JLanguageTool uncachedTool = createTool(new JLanguageTool(new Demo()));
+      assertSameResult(tool, uncachedTool, TEXT);
+      assertSameResult(tool, uncachedTool, TEXT);
+    } finally {
+      tool.shutdown();
+    }
+  }
+
+  @Test
+  public void testCompactStorage() throws IOException {
+    final SentenceCache cache = new SentenceCache(10);
+    final JLanguageTool tool = new JLanguageTool(new Demo());
+    final AnalyzedSentence sentence = tool.getAnalyzedSentence("A small toast here.");
+    cache.putAnalyzedSentence(tool.getLanguage(), "A small toast here.", false, sentence);
+    final AnalyzedSentence cached1 = cache.getAnalyzedSentence(tool.getLanguage(), "A small toast here.", false);
+    final AnalyzedSentence cached2 = cache.getAnalyzedSentence(tool.getLanguage(), "A small toast here.", false);
+    assertThat(cached1, is(sentence));
+    // each check gets its own copy:
+    assertThat(cached1 != sentence && cached1 != cached2, is(true));
+    assertNull(cache.getAnalyzedSentence(tool.getLanguage(), "A small toast here.", true));
+  }
+
+  @Test
+  public void testMaxSize() throws IOException {
+    final SentenceCache cache = new SentenceCache(2);
+    final JLanguageTool tool = createTool(new JLanguageTool(new Demo()));
+    tool.setSentenceCache(cache);
+    tool.check(TEXT);
+    assertThat(cache.size(), is(2));
+  }
+
+  private JLanguageTool createTool(JLanguageTool tool) throws IOException {
+    tool.activateDefaultPatternRules();
+    tool.addRule(new GenericUnpairedBracketsRule(JLanguageTool.getMessageBundle(), tool.getLanguage()));
+    return tool;
+  }
+
+  private void assertSameResult(JLanguageTool tool, JLanguageTool uncachedTool, String text) throws IOException {
+    final List<RuleMatch> expected = uncachedTool.check(text);
+    final List<RuleMatch> actual = tool.check(text);
+    assertThat(actual.toString(), is(expected.toString()));
+    for (int i = 0; i < expected.size(); i++) {
+      assertThat(actual.get(i).getLine(), is(expected.get(i).getLine()));
+      assertThat(actual.get(i).getColumn(), is(expected.get(i).getColumn()));
+    }
+  }
+
+}
@@ -0,0 +1,122 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool;
+
+import org.junit.Test;
+import org.languagetool.language.Demo;
+import org.languagetool.rules.GenericUnpairedBracketsRule;
+import org.languagetool.rules.RuleMatch;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class StreamingCheckTest {
+
+  @Test
+  public void testSameResultAsCheck() throws IOException {
+    final String text = getText();
+    assertSameResult(createTool(new JLanguageTool(new Demo())), text);
+    final MultiThreadedJLanguageTool multiThreadedTool = new MultiThreadedJLanguageTool(new Demo());
+    try {
+      assertSameResult(createTool(multiThreadedTool), text);
+    } finally {
+      multiThreadedTool.shutdown();
+    }
+  }
+
+  @Test
+  public void testListenerGetsContext() throws IOException {
+    final JLanguageTool tool = createTool(new JLanguageTool(new Demo()));
+    final String text = getText();
+    final List<RuleMatch> matches = new ArrayList<>();
+    tool.check(text, JLanguageTool.ParagraphHandling.NORMAL, new RuleMatchListener() {
+      @Override
+      public void matchesFound(List<RuleMatch> ruleMatches, String checkedText, int textPos) {
+        assertThat(checkedText, is(text.substring(textPos, textPos + checkedText.length())));
+        for (RuleMatch match : ruleMatches) {
+          assertTrue(match.getFromPos() >= textPos && match.getToPos() <= textPos + checkedText.length());
+        }
+        matches.addAll(ruleMatches);
+      }
+    });
+    assertTrue(matches.size() > 1000);
+  }
+
+  @Test
+  public void testParagraphMatchesAreNotKept() throws IOException {
+    final JLanguageTool tool = new JLanguageTool(new Demo());
+    final GenericUnpairedBracketsRule rule = new GenericUnpairedBracketsRule(JLanguageTool.getMessageBundle(), tool.getLanguage());
+    tool.addRule(rule);
+    final Iterator<RuleMatch> iterator = tool.getRuleMatchIterator(new StringReader(getText()), JLanguageTool.ParagraphHandling.NORMAL);
+    int matchCount = 0;
+    while (iterator.hasNext()) {
+      iterator.next();
+      matchCount++;
+    }
+    assertThat(matchCount, is(1000));
+    // only the matches of the current paragraph need to be kept, not those of the whole text:
+    assertTrue(rule.getMatches().size() < 10);
+  }
+
+  @Test
+  public void testEmptyText() throws IOException {
+    final JLanguageTool tool = createTool(new JLanguageTool(new Demo()));
+    assertThat(tool.getRuleMatchIterator(new StringReader(""), JLanguageTool.ParagraphHandling.NORMAL).hasNext(), is(false));
+  }
+
+  private JLanguageTool createTool(JLanguageTool tool) throws IOException {
+    tool.activateDefaultPatternRules();
+    tool.addRule(new GenericUnpairedBracketsRule(JLanguageTool.getMessageBundle(), tool.getLanguage()));
+    return tool;
+  }
+
+  // long enough to be checked in several parts, with brackets that are closed in a later sentence:
+  private String getText() {
+    final StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      sb.append("A small toast (here. No error here) at all.\nFoo go bar. First goes last there, please!\n\n");
+      sb.append("This is (unpaired. And this, too.\n\n");
+    }
+    return sb.toString();
+  }
+
+  private void assertSameResult(JLanguageTool tool, String text) throws IOException {
+    final List<RuleMatch> expected = tool.check(text);
+    final List<RuleMatch> actual = new ArrayList<>();
+    final Iterator<RuleMatch> iterator = tool.getRuleMatchIterator(new StringReader(text), JLanguageTool.ParagraphHandling.NORMAL);
+    while (iterator.hasNext()) {
+      actual.add(iterator.next());
+    }
+    assertThat(actual.size(), is(expected.size()));
+    for (int i = 0; i < expected.size(); i++) {
+      assertThat(actual.get(i).toString(), is(expected.get(i).toString()));
+      assertThat(actual.get(i).getLine(), is(expected.get(i).getLine()));
+      assertThat(actual.get(i).getColumn(), is(expected.get(i).getColumn()));
+      assertThat(actual.get(i).getEndColumn(), is(expected.get(i).getEndColumn()));
+    }
+  }
+
+}
@@ -0,0 +1,77 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.markup;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class AnnotatedTextTest {
+
+  @Test
+  public void testGetOriginalTextPositionFor() {
+    final AnnotatedText text = new AnnotatedTextBuilder()
+            .addMarkup("<p>").addText("Hello ").addMarkup("<b>").addMarkup("<i>")
+            .addText("world").addMarkup("</i></b>").addText("!").addMarkup("</p>").build();
+    assertThat(text.getPlainText(), is("Hello world!"));
+    assertThat(text.getOriginalTextPositionFor(0), is(3));
+    assertThat(text.getOriginalTextPositionFor(4), is(7));
+    assertThat(text.getOriginalTextPositionFor(6), is(15));
+    assertThat(text.getOriginalTextPositionFor(10), is(19));
+    assertThat(text.getOriginalTextPositionFor(11), is(28));
+  }
+
+  @Test
+  public void testGetOriginalTextPositionsFor() {
+    final AnnotatedTextBuilder builder = new AnnotatedTextBuilder();
+    final Random random = new Random(42);
+    int plainTextLength = 0;
+    for (int i = 0; i < 200; i++) {
+      if (random.nextBoolean()) {
+        builder.addMarkup("<x>");
+      } else {
+        final String text = random.nextBoolean() ? "a" : "some text";
+        builder.addText(text);
+        plainTextLength += text.length();
+      }
+    }
+    final AnnotatedText text = builder.build();
+    final int[] sorted = new int[plainTextLength];
+    final int[] unsorted = new int[plainTextLength];
+    for (int i = 0; i < plainTextLength; i++) {
+      sorted[i] = i;
+      unsorted[i] = random.nextInt(plainTextLength);
+    }
+    final int[] sortedResult = text.getOriginalTextPositionsFor(sorted);
+    final int[] unsortedResult = text.getOriginalTextPositionsFor(unsorted);
+    for (int i = 0; i < plainTextLength; i++) {
+      assertThat(sortedResult[i], is(text.getOriginalTextPositionFor(sorted[i])));
+      assertThat(unsortedResult[i], is(text.getOriginalTextPositionFor(unsorted[i])));
+    }
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void testNegativePosition() {
+    new AnnotatedTextBuilder().addText("foo").build().getOriginalTextPositionsFor(new int[] {1, -1});
+  }
+
+}
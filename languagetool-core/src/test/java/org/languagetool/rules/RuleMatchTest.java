@@ -0,0 +1,72 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules;
+
+import org.junit.Test;
+import org.languagetool.Language;
+import org.languagetool.rules.patterns.Element;
+import org.languagetool.rules.patterns.PatternRule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class RuleMatchTest {
+
+  private final Rule rule = new PatternRule("id1", Language.DEMO, new ArrayList<Element>(), "desc", "msg", "shortMsg");
+
+  @Test
+  public void testLazySuggestedReplacements() {
+    final AtomicInteger calls = new AtomicInteger();
+    final RuleMatch match = new RuleMatch(rule, 0, 5, "msg");
+    match.setLazySuggestedReplacements(getSuggestions(calls));
+    final RuleMatch copy = new RuleMatch(rule, 10, 15, "msg");
+    copy.copySuggestedReplacements(match);
+    assertThat(calls.get(), is(0));
+    assertThat(copy.getSuggestedReplacements(), is(Arrays.asList("foo", "bar")));
+    assertThat(match.getSuggestedReplacements(), is(Arrays.asList("foo", "bar")));
+    assertThat(calls.get(), is(1));
+  }
+
+  @Test
+  public void testSetSuggestedReplacementsReplacesLazySuggestions() {
+    final AtomicInteger calls = new AtomicInteger();
+    final RuleMatch match = new RuleMatch(rule, 0, 5, "msg");
+    match.setLazySuggestedReplacements(getSuggestions(calls));
+    match.setSuggestedReplacement("baz");
+    assertThat(match.getSuggestedReplacements(), is(Arrays.asList("baz")));
+    assertThat(calls.get(), is(0));
+  }
+
+  private Callable<List<String>> getSuggestions(final AtomicInteger calls) {
+    return new Callable<List<String>>() {
+      @Override
+      public List<String> call() {
+        calls.incrementAndGet();
+        return Arrays.asList("foo", "bar");
+      }
+    };
+  }
+
+}
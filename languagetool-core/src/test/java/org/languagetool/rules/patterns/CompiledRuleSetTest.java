@@ -0,0 +1,87 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.patterns;
+
+import org.junit.Test;
+import org.languagetool.JLanguageTool;
+import org.languagetool.Language;
+import org.languagetool.language.Demo;
+import org.languagetool.rules.Rule;
+import org.languagetool.rules.RuleMatch;
+
+import java.util.List;
+
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class CompiledRuleSetTest {
+
+  @Test
+  public void testRulesAreShared() throws Exception {
+    final Language demo = new Demo();
+    final CompiledRuleSet ruleSet = CompiledRuleSet.getPatternRules(demo);
+    assertThat(CompiledRuleSet.getPatternRules(new Demo()), sameInstance(ruleSet));
+    assertTrue(ruleSet.getRules().size() >= 30);
+
+    final JLanguageTool lt1 = new JLanguageTool(demo);
+    lt1.activateDefaultPatternRules();
+    final JLanguageTool lt2 = new JLanguageTool(demo);
+    lt2.activateDefaultPatternRules();
+    assertThat(getRuleById("DEMO_RULE", lt1), sameInstance(getRuleById("DEMO_RULE", lt2)));
+  }
+
+  @Test
+  public void testConfigurationIsPerInstance() throws Exception {
+    final JLanguageTool lt1 = new JLanguageTool(new Demo());
+    lt1.activateDefaultPatternRules();
+    final JLanguageTool lt2 = new JLanguageTool(new Demo());
+    lt2.activateDefaultPatternRules();
+    lt1.disableRule("DEMO_RULE");
+    assertEquals(0, countMatches("DEMO_RULE", lt1.check("This is foo bar.")));
+    assertEquals(1, countMatches("DEMO_RULE", lt2.check("This is foo bar.")));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void testRulesAreUnmodifiable() throws Exception {
+    CompiledRuleSet.getPatternRules(new Demo()).getRules().clear();
+  }
+
+  private Rule getRuleById(String id, JLanguageTool lt) {
+    final List<Rule> rules = lt.getAllRules();
+    for (Rule rule : rules) {
+      if (rule.getId().equals(id)) {
+        return rule;
+      }
+    }
+    throw new RuntimeException("No rule found for id " + id);
+  }
+
+  private int countMatches(String ruleId, List<RuleMatch> matches) {
+    int count = 0;
+    for (RuleMatch match : matches) {
+      if (match.getRule().getId().equals(ruleId)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+}
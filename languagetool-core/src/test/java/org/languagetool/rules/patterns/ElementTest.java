@@ -22,6 +22,7 @@ package org.languagetool.rules.patterns;
 import junit.framework.TestCase;
 import org.languagetool.AnalyzedToken;
 import org.languagetool.JLanguageTool;
+import org.languagetool.tagging.PosTagSymbolTable;
 
 public class ElementTest extends TestCase {
 
@@ -43,6 +44,27 @@ public class ElementTest extends TestCase {
     assertFalse(element2.isSentenceStart());
   }
   
+  public void testPosRegexIsMatchedOncePerTag() {
+    final Element element = new Element("", false, false, false);
+    element.setPosElement("NN.*", true, false);
+    element.setPosTagSymbolTable(PosTagSymbolTable.getInstance("ElementTest"));
+    for (int i = 0; i < 2; i++) {
+      assertTrue(element.isMatched(new AnalyzedToken("house", "NN", null)));
+      assertTrue(element.isMatched(new AnalyzedToken("houses", "NNS", null)));
+      assertFalse(element.isMatched(new AnalyzedToken("is", "VBZ", null)));
+    }
+    element.setPosElement("VB.*", true, false);
+    assertFalse(element.isMatched(new AnalyzedToken("house", "NN", null)));
+    assertTrue(element.isMatched(new AnalyzedToken("is", "VBZ", null)));
+    element.setPosElement("VB.*", true, true);
+    assertTrue(element.isMatched(new AnalyzedToken("house", "NN", null)));
+    assertFalse(element.isMatched(new AnalyzedToken("is", "VBZ", null)));
+    // without a table, the expression is applied every time:
+    element.setPosTagSymbolTable(null);
+    assertTrue(element.isMatched(new AnalyzedToken("house", "NN", null)));
+    assertFalse(element.isMatched(new AnalyzedToken("is", "VBZ", null)));
+  }
+
   public void testUnknownTag() {
     final Element element = new Element("", false, false, false);
     element.setPosElement(Element.UNKNOWN_TAG, false, false);
@@ -0,0 +1,87 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.patterns;
+
+import org.junit.Test;
+import org.languagetool.AnalyzedSentence;
+import org.languagetool.JLanguageTool;
+import org.languagetool.language.Demo;
+import org.languagetool.rules.IncorrectExample;
+import org.languagetool.rules.RuleMatch;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PatternRuleAutomatonTest {
+
+  @Test
+  public void testMatch() throws IOException {
+    final PatternRule fooBar = makeRule("FOO_BAR", new Element("foo", false, false, false), new Element("bar", false, false, false));
+    final PatternRule caseSensitive = makeRule("CASE", new Element("Foo", true, false, false));
+    final PatternRule regex = makeRule("REGEX", new Element("fo+", false, true, false));
+    final PatternRuleAutomaton automaton = new PatternRuleAutomaton(Arrays.asList(fooBar, caseSensitive, regex));
+    assertTrue(automaton.covers(fooBar));
+    assertTrue(automaton.covers(caseSensitive));
+    assertFalse(automaton.covers(regex));
+
+    final AnalyzedSentence sentence = new JLanguageTool(new Demo()).getAnalyzedSentence("Foo bar and foo BAR.");
+    final PatternRuleAutomaton.SentenceMatches matches = automaton.match(sentence);
+    final RuleMatch[] fooBarMatches = matches.getRuleMatches(fooBar);
+    assertEquals(2, fooBarMatches.length);
+    assertEquals(0, fooBarMatches[0].getFromPos());
+    assertEquals(7, fooBarMatches[0].getToPos());
+    assertEquals(12, fooBarMatches[1].getFromPos());
+    assertEquals(19, fooBarMatches[1].getToPos());
+    assertEquals(1, matches.getRuleMatches(caseSensitive).length);
+    assertEquals(fooBarMatches.length, fooBar.match(sentence).length);
+  }
+
+  @Test
+  public void testSameResultsAsClassicMatching() throws IOException {
+    final JLanguageTool lt = new JLanguageTool(new Demo());
+    lt.activateDefaultPatternRules();
+    lt.setPatternMatchingMode(JLanguageTool.PatternMatchingMode.COMPARE);
+    final CompiledRuleSet ruleSet = CompiledRuleSet.getPatternRules(new Demo());
+    int coveredRules = 0;
+    for (PatternRule rule : ruleSet.getRules()) {
+      if (ruleSet.getAutomaton().covers(rule)) {
+        coveredRules++;
+      }
+      // throws an exception if the results differ:
+      for (IncorrectExample example : rule.getIncorrectExamples()) {
+        lt.check(example.getExample().replaceAll("</?marker>", ""));
+      }
+      for (String example : rule.getCorrectExamples()) {
+        lt.check(example.replaceAll("</?marker>", ""));
+      }
+    }
+    assertTrue(coveredRules > 0);
+  }
+
+  private PatternRule makeRule(String id, Element... elements) {
+    final List<Element> elementList = Arrays.asList(elements);
+    return new PatternRule(id, new Demo(), elementList, "descr", "message", "short");
+  }
+
+}
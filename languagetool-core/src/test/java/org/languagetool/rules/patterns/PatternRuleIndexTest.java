@@ -0,0 +1,109 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.patterns;
+
+import org.junit.Test;
+import org.languagetool.JLanguageTool;
+import org.languagetool.language.Demo;
+import org.languagetool.rules.Rule;
+import org.languagetool.rules.WordRepeatRule;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PatternRuleIndexTest {
+
+  @Test
+  public void testGetCandidateRules() throws IOException {
+    final Rule javaRule = new WordRepeatRule(JLanguageTool.getMessageBundle(), new Demo());
+    final PatternRule fooBarRule = makeRule("FOO_BAR", new Element("foo", false, false, false), new Element("bar", false, false, false));
+    final PatternRule regexRule = makeRule("REGEX", new Element("fo+", false, true, false));
+    final PatternRule lemmaRule = makeRule("LEMMA", new Element("walk", false, false, true));
+    final List<Rule> rules = Arrays.asList(fooBarRule, javaRule, regexRule, lemmaRule);
+    final PatternRuleIndex<Rule> index = new PatternRuleIndex<>(rules);
+
+    assertEquals(Arrays.asList(javaRule, regexRule), getCandidates(index, "Nothing to see here."));
+    assertEquals(Arrays.asList(fooBarRule, javaRule, regexRule), getCandidates(index, "This is bar foo."));
+    // the anchor is one of the required words, checking the others is left to PatternRule.canBeIgnoredFor():
+    assertEquals(Arrays.asList(fooBarRule, javaRule, regexRule), getCandidates(index, "This is BAR."));
+  }
+
+  @Test
+  public void testOrGroupIsNotAnAnchor() throws IOException {
+    final Element fooOrBaz = new Element("foo", false, false, false);
+    fooOrBaz.setOrGroupElement(new Element("baz", false, false, false));
+    final PatternRule orRule = makeRule("OR", fooOrBaz);
+    final PatternRule fooRule = makeRule("FOO", new Element("foo", false, false, false));
+    final List<Rule> rules = Arrays.<Rule>asList(fooRule, orRule);
+    final PatternRuleIndex<Rule> index = new PatternRuleIndex<>(rules);
+    final JLanguageTool lt = new JLanguageTool(new Demo());
+    assertEquals(Arrays.<Rule>asList(orRule), getCandidates(index, "This is baz."));
+    assertFalse(orRule.canBeIgnoredFor(lt.getAnalyzedSentence("This is baz.")));
+    assertEquals("{1}", index.getCandidateIndexes(lt.getAnalyzedSentence("This is baz.")).toString());
+    assertEquals("{0, 1}", index.getCandidateIndexes(lt.getAnalyzedSentence("This is foo.")).toString());
+  }
+
+  @Test
+  public void testIsFor() {
+    final PatternRule rule1 = makeRule("R1", new Element("foo", false, false, false));
+    final PatternRule rule2 = makeRule("R2", new Element("bar", false, false, false));
+    final List<Rule> rules = new ArrayList<>();
+    rules.add(rule1);
+    rules.add(rule2);
+    final PatternRuleIndex<Rule> index = new PatternRuleIndex<>(rules);
+    assertTrue(index.isFor(new ArrayList<>(rules)));
+    assertFalse(index.isFor(Arrays.<Rule>asList(rule2, rule1)));
+    assertFalse(index.isFor(Arrays.<Rule>asList(rule1)));
+  }
+
+  @Test
+  public void testRestrictTo() throws IOException {
+    final Rule javaRule = new WordRepeatRule(JLanguageTool.getMessageBundle(), new Demo());
+    final PatternRule fooRule = makeRule("FOO", new Element("foo", false, false, false));
+    final PatternRule barRule = makeRule("BAR", new Element("bar", false, false, false));
+    final PatternRuleIndex<Rule> index = new PatternRuleIndex<>(Arrays.asList(fooRule, javaRule, barRule));
+    final PatternRuleIndex<Rule> restricted = index.restrictTo(Arrays.<Rule>asList(javaRule, barRule));
+    assertEquals(Arrays.asList(javaRule, barRule), restricted.getRules());
+    assertTrue(restricted.isFor(Arrays.<Rule>asList(javaRule, barRule)));
+    assertEquals(Arrays.<Rule>asList(javaRule, barRule), getCandidates(restricted, "This is foo bar."));
+    assertEquals(Arrays.<Rule>asList(javaRule), getCandidates(restricted, "This is foo."));
+    assertEquals(Arrays.<Rule>asList(barRule), getCandidates(restricted.restrictTo(Arrays.<Rule>asList(barRule)), "This is foo bar."));
+    // other rules or another order need a new index:
+    assertNull(index.restrictTo(Arrays.<Rule>asList(barRule, fooRule)));
+    assertNull(index.restrictTo(Arrays.<Rule>asList(fooRule, makeRule("OTHER", new Element("foo", false, false, false)))));
+    assertNull(restricted.restrictTo(Arrays.<Rule>asList(fooRule)));
+  }
+
+  private List<Rule> getCandidates(PatternRuleIndex<Rule> index, String sentence) throws IOException {
+    final JLanguageTool lt = new JLanguageTool(new Demo());
+    return index.getCandidateRules(lt.getAnalyzedSentence(sentence));
+  }
+
+  private PatternRule makeRule(String id, Element... elements) {
+    return new PatternRule(id, new Demo(), Arrays.asList(elements), "descr", "message", "short");
+  }
+
+}
@@ -0,0 +1,83 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.patterns;
+
+import org.junit.Test;
+import org.languagetool.AnalyzedSentence;
+import org.languagetool.AnalyzedToken;
+import org.languagetool.AnalyzedTokenReadings;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class TokenRegexMemoTest {
+
+  @Test
+  public void testSharedRegex() {
+    final TokenRegexTable.Entry entry1 = TokenRegexTable.get("TokenRegexMemoTest|foo");
+    final TokenRegexTable.Entry entry2 = TokenRegexTable.get(new String("TokenRegexMemoTest|foo"));
+    assertThat(entry1, sameInstance(entry2));
+    assertThat(TokenRegexTable.get("TokenRegexMemoTest|bar").id, not(entry1.id));
+  }
+
+  @Test
+  public void testMemo() {
+    final TokenRegexMemo memo = TokenRegexMemo.get();
+    memo.startSentence(createSentence());
+    assertThat(memo.get(1, "foo"), is(TokenRegexMemo.UNKNOWN));
+    memo.put(1, "foo", true);
+    memo.put(2, "foo", false);
+    assertThat(memo.get(1, "foo"), is(1));
+    assertThat(memo.get(1, new String("foo")), is(1));
+    assertThat(memo.get(2, "foo"), is(0));
+    assertThat(memo.get(1, "bar"), is(TokenRegexMemo.UNKNOWN));
+    for (int i = 0; i < 1000; i++) {
+      memo.put(3, "word" + i, i % 2 == 0);
+    }
+    assertThat(memo.get(3, "word998"), is(1));
+    assertThat(memo.get(3, "word999"), is(0));
+    assertThat(memo.get(1, "foo"), is(1));
+    memo.startSentence(createSentence());
+    assertThat(memo.size(), is(0));
+    assertThat(memo.get(1, "foo"), is(TokenRegexMemo.UNKNOWN));
+  }
+
+  @Test
+  public void testElementsShareResults() {
+    final Element element1 = new Element("TokenRegexMemoTest|house", false, true, false);
+    final Element element2 = new Element("TokenRegexMemoTest|house", false, true, false);
+    final Element caseSensitiveElement = new Element("TokenRegexMemoTest|house", true, true, false);
+    final TokenRegexMemo memo = TokenRegexMemo.get();
+    memo.startSentence(createSentence());
+    final AnalyzedToken token = new AnalyzedToken("House", null, null);
+    assertThat(element1.isMatched(token), is(true));
+    assertThat(memo.size(), is(1));
+    assertThat(element2.isMatched(token), is(true));
+    assertThat(memo.size(), is(1));
+    assertThat(caseSensitiveElement.isMatched(token), is(false));
+    assertThat(memo.size(), is(2));
+  }
+
+  private AnalyzedSentence createSentence() {
+    return new AnalyzedSentence(new AnalyzedTokenReadings[0]);
+  }
+
+}
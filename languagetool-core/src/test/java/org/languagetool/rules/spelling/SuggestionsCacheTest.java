@@ -0,0 +1,66 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.rules.spelling;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assert.assertThat;
+
+public class SuggestionsCacheTest {
+
+  @Test
+  public void testGetAndPut() {
+    final SuggestionsCache cache = new SuggestionsCache(10);
+    assertThat(cache.get("Hausx"), is(nullValue()));
+    cache.put("Hausx", Arrays.asList("Haus", "Hause"));
+    final List<String> suggestions = cache.get("Hausx");
+    assertThat(suggestions, is(Arrays.asList("Haus", "Hause")));
+    // callers may modify the result without affecting the cache:
+    suggestions.add("Hans");
+    assertThat(cache.get("Hausx"), is(Arrays.asList("Haus", "Hause")));
+    assertThat(cache.getHits(), is(2L));
+    assertThat(cache.getMisses(), is(1L));
+  }
+
+  @Test
+  public void testLeastRecentlyUsedWordsAreRemoved() {
+    final SuggestionsCache cache = new SuggestionsCache(2);
+    cache.put("a", Arrays.asList("A"));
+    cache.put("b", Arrays.asList("B"));
+    cache.get("a");
+    cache.put("c", Arrays.asList("C"));
+    assertThat(cache.size(), is(2));
+    assertThat(cache.get("b"), is(nullValue()));
+    assertThat(cache.get("a"), is(Arrays.asList("A")));
+    assertThat(cache.get("c"), is(Arrays.asList("C")));
+  }
+
+  @Test
+  public void testGetInstance() {
+    final SuggestionsCache cache = SuggestionsCache.getInstance("test:dict1");
+    assertThat(SuggestionsCache.getInstance("test:dict1") == cache, is(true));
+    assertThat(SuggestionsCache.getInstance("test:dict2") == cache, is(false));
+  }
+
+}
@@ -0,0 +1,74 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tagging;
+
+import org.junit.Test;
+import org.languagetool.AnalyzedToken;
+import org.languagetool.Language;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class PosTagSymbolTableTest {
+
+  @Test
+  public void testGetId() {
+    final PosTagSymbolTable table = PosTagSymbolTable.getInstance("PosTagSymbolTableTest-1");
+    assertThat(table.getId("NN"), is(0));
+    assertThat(table.getId("VB"), is(1));
+    assertThat(table.getId(new String("NN")), is(0));
+    assertThat(table.getTag(1), is("VB"));
+    assertThat(table.size(), is(2));
+    assertThat(table.getId(null), is(PosTagSymbolTable.NO_ID));
+  }
+
+  @Test
+  public void testTablePerLanguage() {
+    final PosTagSymbolTable table = PosTagSymbolTable.getInstance("PosTagSymbolTableTest-2");
+    assertThat(PosTagSymbolTable.getInstance("PosTagSymbolTableTest-2"), sameInstance(table));
+    assertThat(PosTagSymbolTable.getInstance("PosTagSymbolTableTest-3").getIndex(), not(table.getIndex()));
+    assertThat(Language.DEMO.getPosTagSymbolTable(), sameInstance(PosTagSymbolTable.getInstance(Language.DEMO.getShortName())));
+  }
+
+  @Test
+  public void testMaxSize() {
+    final PosTagSymbolTable table = PosTagSymbolTable.getInstance("PosTagSymbolTableTest-4");
+    for (int i = 0; i < PosTagSymbolTable.MAX_SIZE; i++) {
+      assertThat(table.getId("TAG" + i), is(i));
+    }
+    assertThat(table.getId("TAG" + PosTagSymbolTable.MAX_SIZE), is(PosTagSymbolTable.NO_ID));
+    assertThat(table.getId("TAG0"), is(0));
+    assertThat(table.getId("TAG" + (PosTagSymbolTable.MAX_SIZE - 1)), is(PosTagSymbolTable.MAX_SIZE - 1));
+  }
+
+  @Test
+  public void testAnalyzedToken() {
+    final PosTagSymbolTable table1 = PosTagSymbolTable.getInstance("PosTagSymbolTableTest-5");
+    final PosTagSymbolTable table2 = PosTagSymbolTable.getInstance("PosTagSymbolTableTest-6");
+    table2.getId("VB");
+    final AnalyzedToken token = new AnalyzedToken("house", "NN", "house");
+    assertThat(token.getPOSTagId(table1), is(0));
+    assertThat(token.getPOSTagId(table2), is(1));
+    assertThat(token.getPOSTagId(table1), is(0));
+    assertThat(new AnalyzedToken("house", null, "house").getPOSTagId(table1), is(PosTagSymbolTable.NO_ID));
+  }
+
+}
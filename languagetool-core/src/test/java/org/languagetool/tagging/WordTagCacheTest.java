@@ -0,0 +1,101 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.tagging;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+public class WordTagCacheTest {
+
+  @Test
+  public void testGetAndPut() {
+    final WordTagCache cache = new WordTagCache(100000);
+    assertThat(cache.get("Haus"), nullValue());
+    cache.put("Haus", new String[] {"Haus", "SUB:NOM:SIN:NEU", "Haus", "SUB:AKK:SIN:NEU"});
+    cache.put("xyz", new String[] {null, null});
+    assertThat(cache.get("Haus")[1], is("SUB:NOM:SIN:NEU"));
+    assertThat(cache.get("xyz").length, is(2));
+    assertThat(cache.size(), is(2));
+    assertThat(cache.getHitCount(), is(2L));
+    assertThat(cache.getMissCount(), is(1L));
+    assertThat(cache.getHitRate(), is(2.0 / 3));
+    assertTrue(cache.getMemoryUsage() > 0);
+    cache.clear();
+    assertThat(cache.size(), is(0));
+    assertThat(cache.getMemoryUsage(), is(0L));
+  }
+
+  @Test
+  public void testMemoryLimit() {
+    final WordTagCache cache = new WordTagCache(16 * 1024);
+    for (int i = 0; i < 10000; i++) {
+      cache.put("word" + i, new String[] {"lemma" + i, "TAG"});
+    }
+    assertTrue(cache.size() < 10000);
+    assertTrue(cache.getMemoryUsage() <= cache.getMaxMemoryUsage());
+    // the most recently added words are kept:
+    assertThat(cache.get("word9999")[0], is("lemma9999"));
+  }
+
+  @Test
+  public void testConcurrentUse() throws InterruptedException {
+    final WordTagCache cache = new WordTagCache(64 * 1024);
+    final List<Thread> threads = new ArrayList<>();
+    final AtomicInteger errors = new AtomicInteger();
+    for (int t = 0; t < 4; t++) {
+      threads.add(new Thread() {
+        @Override
+        public void run() {
+          for (int i = 0; i < 5000; i++) {
+            final String word = "word" + (i % 500);
+            final String[] readings = cache.get(word);
+            if (readings == null) {
+              cache.put(word, new String[] {word, "TAG"});
+            } else if (!readings[0].equals(word)) {
+              errors.incrementAndGet();
+            }
+          }
+        }
+      });
+    }
+    for (Thread thread : threads) {
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    assertThat(errors.get(), is(0));
+    assertThat(cache.getHitCount() + cache.getMissCount(), is(20000L));
+    assertTrue(cache.getMemoryUsage() <= cache.getMaxMemoryUsage());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidReadings() {
+    new WordTagCache(1000).put("word", new String[] {"lemma"});
+  }
+
+}
@@ -19,7 +19,9 @@
 
 package org.languagetool.tokenizers;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.StringTokenizer;
 
 import junit.framework.TestCase;
 import org.languagetool.tools.StringTools;
@@ -72,6 +74,43 @@ public class WordTokenizerTest extends TestCase {
     assertEquals("foo| |http://|?| |bar", tokenize("foo http://? bar"));
   }
 
+  public void testSpans() {
+    final String text = "A te\u00ADst, see http://ex.net/p?a=x#i.\u2009";
+    final TokenSpans spans = new TokenSpans();
+    wordTokenizer.tokenize(text, spans);
+    assertEquals(10, spans.size());
+    assertEquals("te\u00ADst", spans.getToken(text, 2));
+    assertEquals(2, spans.getStart(2));
+    assertEquals(7, spans.getEnd(2));
+    assertTrue(spans.hasSoftHyphen(2));
+    assertFalse(spans.hasSoftHyphen(0));
+    assertEquals(TokenSpans.WORD, spans.getType(2));
+    assertEquals(TokenSpans.PUNCTUATION, spans.getType(3));
+    assertEquals(TokenSpans.WHITESPACE, spans.getType(4));
+    assertEquals("http://ex.net/p?a=x#i", spans.getToken(text, 7));
+    assertEquals(TokenSpans.URL, spans.getType(7));
+    assertEquals(".", spans.getToken(text, 8));
+    assertEquals(TokenSpans.WHITESPACE, spans.getType(9));
+    // spans are appended:
+    wordTokenizer.tokenize("x", spans);
+    assertEquals(11, spans.size());
+    spans.clear();
+    assertEquals(0, spans.size());
+  }
+
+  public void testSameTokensAsStringTokenizer() {
+    final String[] texts = {"", " ", "This is\u00A0a test.", "foo http://ex.net/p?a=x#i, bar", "foo (http://ex.net/p?a=x#i) bar",
+        "http:/", "http://a", "foo http://? bar", "ftp://x.org/ http://y.org", "http://x.org/\u00e4", "\u0001\u0002 \u000B\u000B x\u200B"};
+    for (String text : texts) {
+      final List<String> expected = new ArrayList<>();
+      final StringTokenizer st = new StringTokenizer(text, wordTokenizer.getTokenizingCharacters(), true);
+      while (st.hasMoreElements()) {
+        expected.add(st.nextToken());
+      }
+      assertEquals(wordTokenizer.joinUrls(expected), wordTokenizer.tokenize(text));
+    }
+  }
+
   private String tokenize(String text) {
     final List<String> tokens = wordTokenizer.tokenize(text);
     return StringTools.listToString(tokens, "|");
@@ -32,6 +32,7 @@ import org.languagetool.rules.patterns.PatternRule;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.StringReader;
+import java.io.StringWriter;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.util.ArrayList;
@@ -222,6 +223,16 @@ public class StringToolsTest extends TestCase {
             "</matches>\n"));
   }
 
+  public void testRuleMatchesToXMLWithSuggestionAndNewlines() throws IOException {
+    final String text = "This is\nan test sentence.";
+    final RuleMatch match = new RuleMatch(new FakeRule(), 8, 10, "Did you mean <suggestion>a</suggestion>?\nReally?");
+    final StringWriter xml = new StringWriter();
+    StringTools.writeRuleMatchesAsXML(xml, Collections.singletonList(match), text, 5, StringTools.XmlPrintMode.CONTINUE_XML, null, null);
+    assertEquals("<error fromy=\"-1\" fromx=\"-2\" toy=\"-1\" tox=\"-2\" ruleId=\"FAKE_ID\" msg=\"Did you mean 'a'? Really?\" " +
+            "replacements=\"a\" context=\"...s is an test...\" contextoffset=\"8\" offset=\"8\" errorlength=\"2\" " +
+            "locqualityissuetype=\"misspelling\"/>\n", xml.toString());
+  }
+
   public void testRuleMatchesToXMLEscapeBug() throws IOException {
     final List<RuleMatch> matches = new ArrayList<>();
     final String text = "This is \"an test sentence. Here's another sentence with more text.";
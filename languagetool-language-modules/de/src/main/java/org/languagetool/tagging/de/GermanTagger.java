@@ -33,6 +33,7 @@ import org.languagetool.AnalyzedTokenReadings;
 import org.languagetool.JLanguageTool;
 import org.languagetool.tagging.ManualTagger;
 import org.languagetool.tagging.Tagger;
+import org.languagetool.tagging.WordTagCache;
 import org.languagetool.tokenizers.de.GermanCompoundTokenizer;
 import org.languagetool.tools.StringTools;
 
@@ -51,10 +52,30 @@ public class GermanTagger implements Tagger {
   private Dictionary dictionary;
   private ManualTagger manualTagger;
   private GermanCompoundTokenizer compoundTokenizer;
+  private volatile WordTagCache wordTagCache = WordTagCache.createDefault();
 
   public GermanTagger() {
   }
 
+  /**
+   * Use a cache for the readings of words, so that frequent words don't need to be looked up
+   * and unknown words don't need to be split into compound parts each time.
+   * The cache must not be shared with other taggers.
+   * @param wordTagCache the cache or {@code null} to not use a cache
+   * @since 2.5
+   */
+  public void setWordTagCache(WordTagCache wordTagCache) {
+    this.wordTagCache = wordTagCache;
+  }
+
+  /**
+   * @return the cache set with {@link #setWordTagCache(WordTagCache)}, or {@code null}
+   * @since 2.5
+   */
+  public WordTagCache getWordTagCache() {
+    return wordTagCache;
+  }
+
   protected void initialize() throws IOException {
     final URL url = JLanguageTool.getDataBroker().getFromResourceDirAsUrl(DICT_FILENAME);
     dictionary = Dictionary.read(url);
@@ -92,45 +113,26 @@ public class GermanTagger implements Tagger {
   public List<AnalyzedTokenReadings> tag(final List<String> sentenceTokens, final boolean ignoreCase) throws IOException {
     initializeIfRequired();
 
-    String[] taggerTokens;
     boolean firstWord = true;
     final List<AnalyzedTokenReadings> tokenReadings = new ArrayList<>();
     int pos = 0;
 
     final IStemmer morfologik = new DictionaryLookup(dictionary);
+    final WordTagCache cache = wordTagCache;
 
     for (String word: sentenceTokens) {
-      final List<AnalyzedGermanToken> l = new ArrayList<>();
-      taggerTokens = lexiconLookup(word, morfologik);
-      if (firstWord && taggerTokens == null && ignoreCase) { // e.g. "Das" -> "das" at start of sentence
-        taggerTokens = lexiconLookup(word.toLowerCase(), morfologik);
+      List<AnalyzedGermanToken> l = null;
+      if (firstWord && ignoreCase && lexiconLookup(word, morfologik) == null) { // e.g. "Das" -> "das" at start of sentence
+        final String[] taggerTokens = lexiconLookup(word.toLowerCase(), morfologik);
         firstWord = false;
-      }
-      if (taggerTokens != null) {
-        tagWord(taggerTokens, word, l);
-      } else {
-        // word not known, try to decompose it and use the last part for POS tagging:
-        if (!StringTools.isEmpty(word.trim())) {
-          final List<String> compoundParts = compoundTokenizer.tokenize(word);
-          if (compoundParts.size() <= 1) {
-            l.add(new AnalyzedGermanToken(word, null, null));
-          } else {
-            // last part governs a word's POS:
-            String lastPart = compoundParts.get(compoundParts.size()-1);
-            if (StringTools.startsWithUppercase(word)) {
-              lastPart = StringTools.uppercaseFirstChar(lastPart);
-            }
-            taggerTokens = lexiconLookup(lastPart, morfologik);
-            if (taggerTokens != null) {
-              tagWord(taggerTokens, word, l, compoundParts);
-            } else {
-              l.add(new AnalyzedGermanToken(word, null, null));
-            }
-          }
-        } else {
-          l.add(new AnalyzedGermanToken(word, null, null));
+        if (taggerTokens != null) {
+          l = new ArrayList<>();
+          tagWord(taggerTokens, word, l);
         }
       }
+      if (l == null) {
+        l = tagWord(word, morfologik, cache);
+      }
 
       tokenReadings.add(new AnalyzedTokenReadings(l.toArray(new AnalyzedGermanToken[l.size()]), pos));
       pos += word.length();
@@ -138,6 +140,53 @@ public class GermanTagger implements Tagger {
     return tokenReadings;
   }
 
+  private List<AnalyzedGermanToken> tagWord(String word, IStemmer morfologik, WordTagCache cache) {
+    final String[] cachedReadings = cache != null ? cache.get(word) : null;
+    final List<AnalyzedGermanToken> l = new ArrayList<>();
+    if (cachedReadings != null) {
+      for (int i = 0; i < cachedReadings.length; i += 2) {
+        l.add(new AnalyzedGermanToken(word, cachedReadings[i + 1], cachedReadings[i]));
+      }
+      return l;
+    }
+    String[] taggerTokens = lexiconLookup(word, morfologik);
+    if (taggerTokens != null) {
+      tagWord(taggerTokens, word, l);
+    } else {
+      // word not known, try to decompose it and use the last part for POS tagging:
+      if (!StringTools.isEmpty(word.trim())) {
+        final List<String> compoundParts = compoundTokenizer.tokenize(word);
+        if (compoundParts.size() <= 1) {
+          l.add(new AnalyzedGermanToken(word, null, null));
+        } else {
+          // last part governs a word's POS:
+          String lastPart = compoundParts.get(compoundParts.size()-1);
+          if (StringTools.startsWithUppercase(word)) {
+            lastPart = StringTools.uppercaseFirstChar(lastPart);
+          }
+          taggerTokens = lexiconLookup(lastPart, morfologik);
+          if (taggerTokens != null) {
+            tagWord(taggerTokens, word, l, compoundParts);
+          } else {
+            l.add(new AnalyzedGermanToken(word, null, null));
+          }
+        }
+      } else {
+        l.add(new AnalyzedGermanToken(word, null, null));
+      }
+    }
+    if (cache != null) {
+      // tokens are mutable, so the cache only keeps their lemmas and POS tags:
+      final String[] readings = new String[l.size() * 2];
+      for (int i = 0; i < l.size(); i++) {
+        readings[2 * i] = l.get(i).getLemma();
+        readings[2 * i + 1] = l.get(i).getPOSTag();
+      }
+      cache.put(word, readings);
+    }
+    return l;
+  }
+
   private void tagWord(String[] taggerTokens, String word, List<AnalyzedGermanToken> l) {
     tagWord(taggerTokens, word, l, null);
   }
@@ -30,11 +30,18 @@ import org.languagetool.language.SwissGerman;
 import org.languagetool.rules.de.GermanSpellerRule;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.ResourceBundle;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class HunspellRuleTest {
 
@@ -84,6 +91,49 @@ public class HunspellRuleTest {
     assertEquals(2, rule.match(langTool.getAnalyzedSentence("Der asdegfue orkt")).length);
   }
 
+  @Test
+  public void testConcurrentUseOfDictionary() throws Exception {
+    final int maxHandles = Hunspell.getMaxHandlesPerDictionary();
+    Hunspell.setMaxHandlesPerDictionary(3);
+    try {
+      final HunspellRule rule = new HunspellRule(TestTools.getMessages("German"), new GermanyGerman());
+      rule.init();
+      final Hunspell.Dictionary dictionary = rule.dictionary;
+      final List<String> words = Arrays.asList("Haus", "Hausx", "Übeltäter", "Übeltätr", "Waschmaschinentest");
+      final boolean[] expected = {false, true, false, true, false};
+      assertTrue(Arrays.equals(expected, dictionary.misspelled(words)));
+      final List<String> expectedSuggestions = dictionary.suggest("Übeltätr");
+      assertTrue(expectedSuggestions.contains("Übeltäter"));
+      final ExecutorService executor = Executors.newFixedThreadPool(6);
+      try {
+        final List<Future<Boolean>> futures = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+          futures.add(executor.submit(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+              for (int j = 0; j < 100; j++) {
+                if (!Arrays.equals(expected, dictionary.misspelled(words))) {
+                  return false;
+                }
+                if (dictionary.misspelled("Haus") || !dictionary.suggest("Übeltätr").equals(expectedSuggestions)) {
+                  return false;
+                }
+              }
+              return true;
+            }
+          }));
+        }
+        for (Future<Boolean> future : futures) {
+          assertTrue(future.get());
+        }
+      } finally {
+        executor.shutdown();
+      }
+    } finally {
+      Hunspell.setMaxHandlesPerDictionary(maxHandles);
+    }
+  }
+
   @Ignore("just for internal performance testing, thus ignored by default")
   @Test
   public void testPerformance() throws Exception {
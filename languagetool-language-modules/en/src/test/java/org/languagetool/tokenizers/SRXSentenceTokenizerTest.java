@@ -18,6 +18,8 @@
  */
 package org.languagetool.tokenizers;
 
+import java.util.Arrays;
+
 import junit.framework.TestCase;
 import org.languagetool.TestTools;
 import org.languagetool.language.English;
@@ -102,6 +104,51 @@ public class SRXSentenceTokenizerTest extends TestCase {
     testSplit("This is a sentence.\u0002 ", "And this is another one.");  // footnotes in LibOO/OOo look like this
   }
 
+  public void testSentenceEnds() {
+    final SRXSentenceTokenizer tokenizer = new SRXSentenceTokenizer(new English());
+    final String text = "This is e.g. Mr. Smith. Another sentence.";
+    assertEquals("[24, 41]", Arrays.toString(tokenizer.getSentenceEnds(text)));
+    assertEquals(0, tokenizer.getSentenceEnds("").length);
+  }
+
+  public void testIncrementalSegmenter() {
+    final SRXSentenceTokenizer tokenizer = new SRXSentenceTokenizer(new English());
+    final StringBuilder text = new StringBuilder("This is e.g. Mr. Smith. Another sentence. ");
+    final IncrementalSentenceSegmenter segmenter = tokenizer.createIncrementalSegmenter(text);
+    // the text after the sentence ends is too short to be sure:
+    assertEquals(0, segmenter.update());
+    final StringBuilder moreText = new StringBuilder();
+    while (moreText.length() < IncrementalSentenceSegmenter.MARGIN) {
+      moreText.append("And here comes more text. ");
+    }
+    text.append(moreText);
+    assertTrue(segmenter.update() >= 2);
+    assertEquals(24, segmenter.getSentenceEnd(0));
+    assertEquals(24, segmenter.getSentenceStart(1));
+    assertEquals(42, segmenter.getSentenceEnd(1));
+    segmenter.finish();
+    assertEquals(text.length(), segmenter.getSegmentedLength());
+    final int[] expected = tokenizer.getSentenceEnds(text);
+    assertEquals(expected.length, segmenter.getSentenceCount());
+    for (int i = 0; i < expected.length; i++) {
+      assertEquals(expected[i], segmenter.getSentenceEnd(i));
+    }
+    // re-segment after an edit:
+    segmenter.invalidate(30);
+    assertEquals(0, segmenter.getSentenceCount());
+    text.replace(24, 31, "Yet another");
+    segmenter.finish();
+    assertEquals(Arrays.toString(tokenizer.getSentenceEnds(text)), Arrays.toString(getEnds(segmenter)));
+  }
+
+  private int[] getEnds(IncrementalSentenceSegmenter segmenter) {
+    final int[] ends = new int[segmenter.getSentenceCount()];
+    for (int i = 0; i < ends.length; i++) {
+      ends[i] = segmenter.getSentenceEnd(i);
+    }
+    return ends;
+  }
+
   private void testSplit(String... sentences) {
     TestTools.testSplit(sentences, stokenizer);
   }
@@ -96,11 +96,7 @@ public final class MorfologikPolishSpellerRule extends MorfologikSpellerRule {
                 ruleMatches.add(ruleMatch);
                 return ruleMatches;
             }
-            List<String> suggestions = speller.getSuggestions(word);
-            suggestions.addAll(getAdditionalSuggestions(suggestions, word));
-            if (!suggestions.isEmpty()) {
-                ruleMatch.setSuggestedReplacements(orderSuggestions(suggestions,word));
-            }
+            setLazySuggestions(ruleMatch, word);
             ruleMatches.add(ruleMatch);
         }
         return ruleMatches;
@@ -40,6 +40,7 @@ import com.sun.star.lang.IllegalArgumentException;
 import org.languagetool.JLanguageTool;
 import org.languagetool.Language;
 import org.languagetool.MultiThreadedJLanguageTool;
+import org.languagetool.SentenceCache;
 import org.languagetool.gui.AboutDialog;
 import org.languagetool.gui.Configuration;
 import org.languagetool.rules.Rule;
@@ -71,7 +72,7 @@ public class Main extends WeakBase implements XJobExecutor,
     XLinguServiceEventBroadcaster {
 
   private Configuration config;
-  private JLanguageTool langTool;
+  private MultiThreadedJLanguageTool langTool;
   private Language docLanguage;
 
   private String docID;
@@ -97,6 +98,10 @@ public class Main extends WeakBase implements XJobExecutor,
   private int position;
   private List<RuleMatch> paragraphMatches;
 
+  // sentences are checked again and again while the user edits the document,
+  // so keep their analysis and matches:
+  private final SentenceCache sentenceCache = new SentenceCache(SENTENCE_CACHE_SIZE);
+
   // Service name required by the OOo API && our own name.
   private static final String[] SERVICE_NAMES = {
       "com.sun.star.linguistic2.Proofreader",
@@ -105,6 +110,8 @@ public class Main extends WeakBase implements XJobExecutor,
   // use a different name than the stand-alone version to avoid conflicts:
   private static final String CONFIG_FILE = ".languagetool-ooo.cfg";
 
+  private static final int SENTENCE_CACHE_SIZE = 5000;
+
   private static final ResourceBundle MESSAGES = JLanguageTool.getMessageBundle();
 
   // LibreOffice (since 4.2.0) special tag for locale with variant 
@@ -357,10 +364,15 @@ public class Main extends WeakBase implements XJobExecutor,
   private void initLanguageTool() {
     try {
       prepareConfig(docLanguage);
+      // all checks are synchronized, so the old instance isn't in use anymore:
+      if (langTool != null) {
+        langTool.shutdown();
+      }
       langTool = new MultiThreadedJLanguageTool(docLanguage,
           config.getMotherTongue());
       langTool.activateDefaultPatternRules();
       langTool.activateDefaultFalseFriendRules();
+      langTool.setSentenceCache(sentenceCache);
       for (Rule rule : langTool.getAllActiveRules()) {
         if (rule.isDictionaryBasedSpellingRule()) {
           langTool.disableRule(rule.getId());
@@ -0,0 +1,75 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import org.languagetool.Language;
+import org.languagetool.gui.Configuration;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The rule settings from the GUI's configuration file per language, as used by the
+ * internal server. The file is only parsed again when its modification time or size
+ * has changed, otherwise the settings read before are used.
+ * @since 2.5
+ */
+class GUIConfigCache {
+
+  private final File configFile;
+  private final ConcurrentMap<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+  GUIConfigCache(File configFile) {
+    this.configFile = configFile;
+  }
+
+  /**
+   * @return the settings for the language, or {@code null} if the configuration says
+   *   that the GUI settings should not be used
+   */
+  LanguageToolHttpHandler.GUIConfig get(Language lang) throws IOException {
+    // lastModified() and length() are 0 if the file doesn't exist:
+    final long lastModified = configFile.lastModified();
+    final long length = configFile.length();
+    final String key = lang.getShortNameWithCountryAndVariant();
+    final Snapshot snapshot = snapshots.get(key);
+    if (snapshot != null && snapshot.lastModified == lastModified && snapshot.length == length) {
+      return snapshot.guiConfig;
+    }
+    // if the file changes while we read it, the next call will find a newer time and read it again:
+    final Configuration config = new Configuration(configFile.getParentFile(), configFile.getName(), lang);
+    final LanguageToolHttpHandler.GUIConfig guiConfig = config.getUseGUIConfig() ? new LanguageToolHttpHandler.GUIConfig(config) : null;
+    snapshots.put(key, new Snapshot(lastModified, length, guiConfig));
+    return guiConfig;
+  }
+
+  private static class Snapshot {
+    private final long lastModified;
+    private final long length;
+    private final LanguageToolHttpHandler.GUIConfig guiConfig;
+    private Snapshot(long lastModified, long length, LanguageToolHttpHandler.GUIConfig guiConfig) {
+      this.lastModified = lastModified;
+      this.length = length;
+      this.guiConfig = guiConfig;
+    }
+  }
+
+}
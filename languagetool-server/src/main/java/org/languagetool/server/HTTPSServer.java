@@ -22,6 +22,7 @@ import com.sun.net.httpserver.HttpsConfigurator;
 import com.sun.net.httpserver.HttpsParameters;
 import com.sun.net.httpserver.HttpsServer;
 import org.languagetool.JLanguageTool;
+import org.languagetool.Profiler;
 import org.languagetool.gui.Tools;
 
 import javax.net.ssl.KeyManagerFactory;
@@ -60,6 +61,7 @@ public class HTTPSServer extends Server {
   public HTTPSServer(HTTPSServerConfig config, boolean runInternally, String host, Set<String> allowedIps) {
     this.port = config.getPort();
     this.host = host;
+    this.warmUpLanguages = config.getWarmUpLanguages();
     try {
       if (host == null) {
         server = HttpsServer.create(new InetSocketAddress(port), 0);
@@ -70,10 +72,14 @@ public class HTTPSServer extends Server {
       final HttpsConfigurator configurator = getConfigurator(sslContext);
       ((HttpsServer)server).setHttpsConfigurator(configurator);
       final RequestLimiter limiter = getRequestLimiterOrNull(config);
-      final LanguageToolHttpHandler httpHandler = new LanguageToolHttpHandler(config.isVerbose(), allowedIps, runInternally, limiter);
+      httpHandler = new LanguageToolHttpHandler(config.isVerbose(), allowedIps, runInternally, limiter, config.getPoolSize());
       httpHandler.setMaxTextLength(config.getMaxTextLength());
       httpHandler.setAllowOriginUrl(config.getAllowOriginUrl());
-      server.createContext("/", httpHandler);
+      if (config.isProfile()) {
+        httpHandler.setProfiler(new Profiler());
+      }
+      configureJvmWideSettings(config);
+      createContext(config);
       executorService = Executors.newFixedThreadPool(THREAD_POOL_SIZE);
       server.setExecutor(executorService);
     } catch (BindException e) {
@@ -91,7 +97,7 @@ public class HTTPSServer extends Server {
     final int requestLimit = config.getRequestLimit();
     final int requestLimitPeriodInSeconds = config.getRequestLimitPeriodInSeconds();
     if (requestLimit > 0 || requestLimitPeriodInSeconds > 0) {
-      return new RequestLimiter(requestLimit, requestLimitPeriodInSeconds);
+      return new RequestLimiter(requestLimit, config.getRequestCharacterLimit(), requestLimitPeriodInSeconds);
     }
     return null;
   }
@@ -133,15 +139,19 @@ public class HTTPSServer extends Server {
   }
 
   public static void main(String[] args) {
-    if (args.length > 7 || usageRequested(args)) {
+    if (args.length > 30 || usageRequested(args)) {
       System.out.println("Usage: " + HTTPSServer.class.getSimpleName()
-              + " --config propertyFile [--port|-p port] [--public]");
+              + " --config propertyFile [--port|-p port] [--public] [--pool-size N] [--warm-up LANGS] [--profile]"
+              + " [--queue-size N] [--long-request-threshold N] [--max-check-time MS]"
+              + " [--short-lane-threads N] [--long-lane-threads N] [--batch-threads N] [--max-batch-size N]"
+              + " [--max-batch-length N] [--hunspell-handles N]");
       System.out.println("  --config file  a Java property file with values for:");
       System.out.println("                 'keystore' - a Java keystore with an SSL certificate");
       System.out.println("                 'password' - the keystore's password");
       System.out.println("                 'maxTextLength' - maximum text length, longer texts will cause an error (optional)");
       System.out.println("                 'requestLimit' - maximum number of requests (optional)");
       System.out.println("                 'requestLimitPeriodInSeconds' - time period to which requestLimit applies (optional)");
+      System.out.println("                 'requestCharacterLimit' - maximum number of characters per requestLimitPeriodInSeconds (optional)");
       printCommonOptions();
       System.exit(1);
     }
@@ -20,6 +20,7 @@ package org.languagetool.server;
 
 import com.sun.net.httpserver.HttpServer;
 import org.languagetool.JLanguageTool;
+import org.languagetool.Profiler;
 import org.languagetool.gui.Tools;
 
 import java.net.InetSocketAddress;
@@ -92,15 +93,20 @@ public class HTTPServer extends Server {
   public HTTPServer(HTTPServerConfig config, boolean runInternally, String host, Set<String> allowedIps) {
     this.port = config.getPort();
     this.host = host;
+    this.warmUpLanguages = config.getWarmUpLanguages();
     try {
       if (host == null) {
         server = HttpServer.create(new InetSocketAddress(port), 0);
       } else {
         server = HttpServer.create(new InetSocketAddress(host, port), 0);
       }
-      final LanguageToolHttpHandler httpHandler = new LanguageToolHttpHandler(config.isVerbose(), allowedIps, runInternally, null);
+      httpHandler = new LanguageToolHttpHandler(config.isVerbose(), allowedIps, runInternally, null, config.getPoolSize());
       httpHandler.setAllowOriginUrl(config.getAllowOriginUrl());
-      server.createContext("/", httpHandler);
+      if (config.isProfile()) {
+        httpHandler.setProfiler(new Profiler());
+      }
+      configureJvmWideSettings(config);
+      createContext(config);
       executorService = Executors.newFixedThreadPool(THREAD_POOL_SIZE);
       server.setExecutor(executorService);
     } catch (Exception e) {
@@ -119,8 +125,11 @@ public class HTTPServer extends Server {
   }
 
   public static void main(String[] args) {
-    if (args.length > 3 || usageRequested(args)) {
-      System.out.println("Usage: " + HTTPServer.class.getSimpleName() + " [--port|-p port] [--public]");
+    if (args.length > 28 || usageRequested(args)) {
+      System.out.println("Usage: " + HTTPServer.class.getSimpleName() + " [--port|-p port] [--public] [--pool-size N] [--warm-up LANGS] [--profile]"
+              + " [--queue-size N] [--long-request-threshold N] [--max-check-time MS]"
+              + " [--short-lane-threads N] [--long-lane-threads N] [--batch-threads N] [--max-batch-size N]"
+              + " [--max-batch-length N] [--hunspell-handles N]");
       printCommonOptions();
       System.exit(1);
     }
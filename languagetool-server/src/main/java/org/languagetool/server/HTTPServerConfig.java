@@ -18,6 +18,11 @@
  */
 package org.languagetool.server;
 
+import org.languagetool.Language;
+
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * @since 2.0
  */
@@ -28,10 +33,30 @@ public class HTTPServerConfig {
   /** The default port on which the server is running (8081). */
   public static final int DEFAULT_PORT = 8081;
 
+  static final int DEFAULT_QUEUE_SIZE = 50;
+  static final int DEFAULT_LONG_REQUEST_THRESHOLD = 10000;
+  static final int DEFAULT_SHORT_LANE_THREADS = 8;
+  static final int DEFAULT_LONG_LANE_THREADS = 2;
+  static final int DEFAULT_BATCH_THREADS = 2;
+  static final int DEFAULT_MAX_BATCH_SIZE = 100;
+  static final long DEFAULT_MAX_BATCH_LENGTH = 500000;
+
   protected boolean verbose = false;
   protected boolean publicAccess = false;
   protected int port = DEFAULT_PORT;
   protected String allowOriginUrl = null;
+  protected int poolSize = Server.THREAD_POOL_SIZE;
+  protected List<Language> warmUpLanguages = new ArrayList<>();
+  protected boolean profile = false;
+  protected int queueSize = DEFAULT_QUEUE_SIZE;
+  protected int longRequestThreshold = DEFAULT_LONG_REQUEST_THRESHOLD;
+  protected long maxCheckTimeMillis = 0;
+  protected int shortLaneThreads = DEFAULT_SHORT_LANE_THREADS;
+  protected int longLaneThreads = DEFAULT_LONG_LANE_THREADS;
+  protected int batchThreads = DEFAULT_BATCH_THREADS;
+  protected int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+  protected long maxBatchLength = DEFAULT_MAX_BATCH_LENGTH;
+  protected int hunspellHandles = 0;
 
   public HTTPServerConfig() {
     this.port = DEFAULT_PORT;
@@ -69,6 +94,44 @@ public class HTTPServerConfig {
         case "--allow-origin":
           allowOriginUrl = args[++i];
           break;
+        case "--pool-size":
+          setPoolSize(Integer.parseInt(args[++i]));
+          break;
+        case "--warm-up":
+          for (String langCode : args[++i].split(",")) {
+            warmUpLanguages.add(Language.getLanguageForShortName(langCode.trim()));
+          }
+          break;
+        case "--profile":
+          profile = true;
+          break;
+        case "--queue-size":
+          setQueueSize(Integer.parseInt(args[++i]));
+          break;
+        case "--long-request-threshold":
+          setLongRequestThreshold(Integer.parseInt(args[++i]));
+          break;
+        case "--max-check-time":
+          setMaxCheckTimeMillis(Long.parseLong(args[++i]));
+          break;
+        case "--short-lane-threads":
+          setShortLaneThreads(Integer.parseInt(args[++i]));
+          break;
+        case "--long-lane-threads":
+          setLongLaneThreads(Integer.parseInt(args[++i]));
+          break;
+        case "--batch-threads":
+          setBatchThreads(Integer.parseInt(args[++i]));
+          break;
+        case "--max-batch-size":
+          setMaxBatchSize(Integer.parseInt(args[++i]));
+          break;
+        case "--max-batch-length":
+          setMaxBatchLength(Long.parseLong(args[++i]));
+          break;
+        case "--hunspell-handles":
+          setHunspellHandles(Integer.parseInt(args[++i]));
+          break;
       }
     }
   }
@@ -95,4 +158,229 @@ public class HTTPServerConfig {
     return allowOriginUrl;
   }
 
+  /**
+   * @param poolSize the maximum number of checker instances kept per language and rule configuration;
+   *                 more instances than worker threads won't be used
+   * @since 2.5
+   */
+  public void setPoolSize(int poolSize) {
+    if (poolSize <= 0) {
+      throw new IllegalArgumentException("Pool size must be > 0: " + poolSize);
+    }
+    this.poolSize = poolSize;
+  }
+
+  /**
+   * @since 2.5
+   */
+  public int getPoolSize() {
+    return poolSize;
+  }
+
+  /**
+   * @param warmUpLanguages languages for which a checker instance gets prepared when the server starts
+   * @since 2.5
+   */
+  public void setWarmUpLanguages(List<Language> warmUpLanguages) {
+    this.warmUpLanguages = new ArrayList<>(warmUpLanguages);
+  }
+
+  /**
+   * @since 2.5
+   */
+  public List<Language> getWarmUpLanguages() {
+    return warmUpLanguages;
+  }
+
+  /**
+   * @param profile whether to record the time spent per rule and per processing stage,
+   *                the statistics can then be requested at the {@code /Profile} path
+   * @since 2.5
+   */
+  public void setProfile(boolean profile) {
+    this.profile = profile;
+  }
+
+  /**
+   * @since 2.5
+   */
+  public boolean isProfile() {
+    return profile;
+  }
+
+  /**
+   * @param queueSize the maximum number of requests waiting to be checked, per lane (short and long texts);
+   *                  more requests are rejected with {@code 503 Service Unavailable}
+   * @since 2.5
+   */
+  public void setQueueSize(int queueSize) {
+    if (queueSize <= 0) {
+      throw new IllegalArgumentException("Queue size must be > 0: " + queueSize);
+    }
+    this.queueSize = queueSize;
+  }
+
+  /**
+   * @since 2.5
+   */
+  public int getQueueSize() {
+    return queueSize;
+  }
+
+  /**
+   * @param longRequestThreshold requests bigger than this many bytes are checked by the
+   *                             threads for long texts, so they don't delay short texts
+   * @since 2.5
+   */
+  public void setLongRequestThreshold(int longRequestThreshold) {
+    if (longRequestThreshold < 0) {
+      throw new IllegalArgumentException("Long request threshold must be >= 0: " + longRequestThreshold);
+    }
+    this.longRequestThreshold = longRequestThreshold;
+  }
+
+  /**
+   * @since 2.5
+   */
+  public int getLongRequestThreshold() {
+    return longRequestThreshold;
+  }
+
+  /**
+   * @param maxCheckTimeMillis requests that are not done after this many milliseconds, including
+   *                           the time waiting to be checked, are stopped with {@code 503 Service Unavailable};
+   *                           use 0 for no limit (the default)
+   * @since 2.5
+   */
+  public void setMaxCheckTimeMillis(long maxCheckTimeMillis) {
+    if (maxCheckTimeMillis < 0) {
+      throw new IllegalArgumentException("Maximum check time must be >= 0: " + maxCheckTimeMillis);
+    }
+    this.maxCheckTimeMillis = maxCheckTimeMillis;
+  }
+
+  /**
+   * @since 2.5
+   */
+  public long getMaxCheckTimeMillis() {
+    return maxCheckTimeMillis;
+  }
+
+  /**
+   * @param shortLaneThreads the number of threads that check requests up to the
+   *                         {@link #setLongRequestThreshold(int) long request threshold}
+   * @since 2.5
+   */
+  public void setShortLaneThreads(int shortLaneThreads) {
+    if (shortLaneThreads <= 0) {
+      throw new IllegalArgumentException("Number of short lane threads must be > 0: " + shortLaneThreads);
+    }
+    this.shortLaneThreads = shortLaneThreads;
+  }
+
+  /**
+   * @since 2.5
+   */
+  public int getShortLaneThreads() {
+    return shortLaneThreads;
+  }
+
+  /**
+   * @param longLaneThreads the number of threads that check requests bigger than the
+   *                        {@link #setLongRequestThreshold(int) long request threshold}
+   * @since 2.5
+   */
+  public void setLongLaneThreads(int longLaneThreads) {
+    if (longLaneThreads <= 0) {
+      throw new IllegalArgumentException("Number of long lane threads must be > 0: " + longLaneThreads);
+    }
+    this.longLaneThreads = longLaneThreads;
+  }
+
+  /**
+   * @since 2.5
+   */
+  public int getLongLaneThreads() {
+    return longLaneThreads;
+  }
+
+  /**
+   * @param batchThreads the number of threads that help the thread of a {@code /Batch} request to check
+   *                     its texts, if they are not busy with other batch requests; use 0 to check the
+   *                     texts only on the thread of the request
+   * @since 2.5
+   */
+  public void setBatchThreads(int batchThreads) {
+    if (batchThreads < 0) {
+      throw new IllegalArgumentException("Number of batch threads must be >= 0: " + batchThreads);
+    }
+    this.batchThreads = batchThreads;
+  }
+
+  /**
+   * @since 2.5
+   */
+  public int getBatchThreads() {
+    return batchThreads;
+  }
+
+  /**
+   * @param maxBatchSize the maximum number of texts of a {@code /Batch} request, requests with more
+   *                     texts are rejected with {@code 413 Request Entity Too Large}
+   * @since 2.5
+   */
+  public void setMaxBatchSize(int maxBatchSize) {
+    if (maxBatchSize <= 0) {
+      throw new IllegalArgumentException("Maximum batch size must be > 0: " + maxBatchSize);
+    }
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  /**
+   * @since 2.5
+   */
+  public int getMaxBatchSize() {
+    return maxBatchSize;
+  }
+
+  /**
+   * @param maxBatchLength the maximum number of characters of all texts of a {@code /Batch} request
+   *                       together, longer requests are rejected with {@code 413 Request Entity Too Large}
+   * @since 2.5
+   */
+  public void setMaxBatchLength(long maxBatchLength) {
+    if (maxBatchLength <= 0) {
+      throw new IllegalArgumentException("Maximum batch length must be > 0: " + maxBatchLength);
+    }
+    this.maxBatchLength = maxBatchLength;
+  }
+
+  /**
+   * @since 2.5
+   */
+  public long getMaxBatchLength() {
+    return maxBatchLength;
+  }
+
+  /**
+   * @param hunspellHandles the number of threads that can use the same Hunspell dictionary at the
+   *                        same time, each one needs the dictionary's memory; use 0 to not change the
+   *                        JVM-wide setting of {@link org.languagetool.rules.spelling.hunspell.Hunspell#setMaxHandlesPerDictionary(int)}
+   *                        (the default)
+   * @since 2.5
+   */
+  public void setHunspellHandles(int hunspellHandles) {
+    if (hunspellHandles < 0) {
+      throw new IllegalArgumentException("Number of Hunspell handles must be >= 0: " + hunspellHandles);
+    }
+    this.hunspellHandles = hunspellHandles;
+  }
+
+  /**
+   * @since 2.5
+   */
+  public int getHunspellHandles() {
+    return hunspellHandles;
+  }
+
 }
@@ -24,10 +24,19 @@ import java.net.URI;
 import java.net.URLDecoder;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
 
 import org.apache.tika.language.LanguageIdentifier;
+import org.languagetool.CheckCancelledCallback;
+import org.languagetool.CheckCancelledException;
 import org.languagetool.JLanguageTool;
 import org.languagetool.Language;
+import org.languagetool.Profiler;
 import org.languagetool.gui.Configuration;
 import org.languagetool.rules.RuleMatch;
 import org.languagetool.rules.bitext.BitextRule;
@@ -40,6 +49,7 @@ import com.sun.net.httpserver.HttpHandler;
 class LanguageToolHttpHandler implements HttpHandler {
 
   private static final String CONTENT_TYPE_VALUE = "text/xml; charset=UTF-8";
+  private static final String JSON_CONTENT_TYPE_VALUE = "application/json; charset=UTF-8";
   private static final String ENCODING = "utf-8";
   private static final int CONTEXT_SIZE = 40; // characters
   private static final int MIN_LENGTH_FOR_AUTO_DETECTION = 60;  // characters
@@ -48,9 +58,15 @@ class LanguageToolHttpHandler implements HttpHandler {
   private final boolean verbose;
   private final boolean internalServer;
   private final RequestLimiter requestLimiter;
+  private final LanguageToolPool languageToolPool;
+  private final GUIConfigCache guiConfigCache = new GUIConfigCache(Configuration.getDefaultConfigFile());
 
   private int maxTextLength = Integer.MAX_VALUE;
+  private int maxBatchSize = Integer.MAX_VALUE;
+  private long maxBatchLength = Long.MAX_VALUE;
   private String allowOriginUrl;
+  private Profiler profiler;
+  private Executor batchExecutor;
   
   private static int handleCount = 0;
 
@@ -58,12 +74,14 @@ class LanguageToolHttpHandler implements HttpHandler {
    * @param verbose print the input text in case of exceptions
    * @param allowedIps set of IPs that may connect or <tt>null</tt> to allow any IP
    * @param requestLimiter may be null
+   * @param poolSize the maximum number of {@link JLanguageTool} instances kept per language and rule configuration
    */
-  LanguageToolHttpHandler(boolean verbose, Set<String> allowedIps, boolean internal, RequestLimiter requestLimiter) {
+  LanguageToolHttpHandler(boolean verbose, Set<String> allowedIps, boolean internal, RequestLimiter requestLimiter, int poolSize) {
     this.verbose = verbose;
     this.allowedIps = allowedIps;
     this.internalServer = internal;
     this.requestLimiter = requestLimiter;
+    this.languageToolPool = new LanguageToolPool(poolSize);
   }
 
   void setMaxTextLength(int maxTextLength) {
@@ -79,8 +97,76 @@ class LanguageToolHttpHandler implements HttpHandler {
     this.allowOriginUrl = allowOriginUrl;
   }
 
+  /**
+   * Record the time spent per rule and stage for all requests, the statistics
+   * are returned for requests to the {@code /Profile} path. Must be set before
+   * the first request, as instances in the pool keep their profiler.
+   * @param profiler the profiler or {@code null} to not record anything
+   * @since 2.5
+   */
+  void setProfiler(Profiler profiler) {
+    this.profiler = profiler;
+  }
+
+  /**
+   * @param maxBatchSize the maximum number of texts of a {@code /Batch} request
+   * @since 2.5
+   */
+  void setMaxBatchSize(int maxBatchSize) {
+    this.maxBatchSize = maxBatchSize;
+  }
+
+  /**
+   * @param maxBatchLength the maximum number of characters of all texts of a {@code /Batch} request
+   * @since 2.5
+   */
+  void setMaxBatchLength(long maxBatchLength) {
+    this.maxBatchLength = maxBatchLength;
+  }
+
+  /**
+   * The executor whose threads help to check the texts of a {@code /Batch} request. If it
+   * rejects a task or is {@code null}, the thread that handles the request checks the texts itself.
+   * @since 2.5
+   */
+  void setBatchExecutor(Executor batchExecutor) {
+    this.batchExecutor = batchExecutor;
+  }
+
+  /**
+   * Create an instance for each of the given languages and put it into the pool,
+   * so the first requests for these languages don't need to wait for the rules being loaded.
+   * @param languages the languages to prepare, using the default rule configuration
+   */
+  void warmUp(List<Language> languages) throws Exception {
+    for (Language lang : languages) {
+      final long startTime = System.currentTimeMillis();
+      final QueryParams params = new QueryParams(new ArrayList<String>(), new ArrayList<String>(), false, false);
+      final PoolKey key = getPoolKey(lang, null, params);
+      final JLanguageTool lt = createLanguageToolInstance(lang, null, params, key.guiConfig);
+      lt.check("This is a warm-up text.");  // initializes lazily loaded resources like taggers and spellers
+      languageToolPool.add(key, lt);
+      print("Warm-up done for " + lang.getShortNameWithCountryAndVariant() + ": " + (System.currentTimeMillis() - startTime) + "ms");
+    }
+  }
+
+  LanguageToolPool getLanguageToolPool() {
+    return languageToolPool;
+  }
+
   @Override
   public void handle(HttpExchange httpExchange) throws IOException {
+    handle(httpExchange, Long.MAX_VALUE);
+  }
+
+  /**
+   * Like {@link #handle(HttpExchange)}, but stop with a {@code 503 Service Unavailable} response
+   * if the request cannot be done before the deadline.
+   * @param deadline the time in milliseconds (as returned by {@link System#currentTimeMillis()})
+   *                 by which the check must be done
+   * @since 2.5
+   */
+  void handle(HttpExchange httpExchange, long deadline) throws IOException {
     handleCount++;
     String text = null;
     try {
@@ -90,10 +176,14 @@ class LanguageToolHttpHandler implements HttpHandler {
       // not an error but may make the underlying TCP connection unusable for following exchanges.",
       // so we consume the request now, even before checking for request limits:
       final Map<String, String> parameters = getRequestQuery(httpExchange, requestedUri);
-      if (requestLimiter != null && !requestLimiter.isAccessOkay(remoteAddress)) {
-        final String errorMessage = "Error: Access from " + StringTools.escapeXML(remoteAddress) +
-                " denied - too many requests. Allowed maximum requests: " + requestLimiter.getRequestLimit() +
-                " requests per " + requestLimiter.getRequestLimitPeriodInSeconds() + " seconds";
+      final String textParam = parameters.get("text");
+      if (requestLimiter != null && !requestLimiter.isAccessOkay(remoteAddress, getTextLength(parameters))) {
+        String errorMessage = "Error: Access from " + StringTools.escapeXML(remoteAddress) +
+                " denied - too many requests. Allowed maximum requests: " + requestLimiter.getRequestLimit();
+        if (requestLimiter.getCharacterLimit() > 0) {
+          errorMessage += " requests or " + requestLimiter.getCharacterLimit() + " characters";
+        }
+        errorMessage += " per " + requestLimiter.getRequestLimitPeriodInSeconds() + " seconds";
         sendError(httpExchange, HttpURLConnection.HTTP_FORBIDDEN, errorMessage);
         print(errorMessage);
         return;
@@ -102,19 +192,35 @@ class LanguageToolHttpHandler implements HttpHandler {
         if (requestedUri.getRawPath().endsWith("/Languages")) {
           // request type: list known languages
           printListOfLanguages(httpExchange);
+        } else if (requestedUri.getRawPath().endsWith("/Profile")) {
+          // request type: time spent per rule and stage
+          printProfile(httpExchange);
+        } else if (requestedUri.getRawPath().endsWith("/Batch")) {
+          // request type: checking many texts at once
+          if (System.currentTimeMillis() > deadline) {
+            throw new CheckCancelledException("Request waited too long");
+          }
+          checkBatch(httpExchange, parameters, deadline);
         } else {
           // request type: text checking
-          text = parameters.get("text");
+          text = textParam;
           if (text == null) {
             throw new IllegalArgumentException("Missing 'text' parameter");
           }
-          checkText(text, httpExchange, parameters);
+          if (System.currentTimeMillis() > deadline) {
+            throw new CheckCancelledException("Request waited too long");
+          }
+          checkText(text, httpExchange, parameters, deadline);
         }
       } else {
         final String errorMessage = "Error: Access from " + StringTools.escapeXML(remoteAddress) + " denied";
         sendError(httpExchange, HttpURLConnection.HTTP_FORBIDDEN, errorMessage);
         throw new RuntimeException(errorMessage);
       }
+    } catch (CheckCancelledException e) {
+      final String response = "Error: Server overloaded, the check could not be done in time, please try again later";
+      sendError(httpExchange, HttpURLConnection.HTTP_UNAVAILABLE, response);
+      print(response + " (" + e.getMessage() + ", text length: " + (text != null ? text.length() : 0) + ")");
     } catch (Exception e) {
       if (verbose) {
         print("Exception was caused by this text: " + text);
@@ -128,7 +234,22 @@ class LanguageToolHttpHandler implements HttpHandler {
     }
   }
 
+  // the number of characters to be checked, summed up over the texts of batch requests:
+  private static long getTextLength(Map<String, String> parameters) {
+    final String text = parameters.get("text");
+    long length = text != null ? text.length() : 0;
+    for (int i = 0; parameters.containsKey("text." + i); i++) {
+      length += parameters.get("text." + i).length();
+    }
+    return length;
+  }
+
   private void sendError(HttpExchange httpExchange, int returnCode, String response) throws IOException {
+    if (httpExchange.getResponseCode() != -1) {
+      // the headers have been sent already, the client can only notice the error by the incomplete response:
+      print("Could not send error " + returnCode + ", the response has been started already");
+      return;
+    }
     httpExchange.sendResponseHeaders(returnCode, response.getBytes(ENCODING).length);
     httpExchange.getResponseBody().write(response.getBytes(ENCODING));
   }
@@ -150,6 +271,17 @@ class LanguageToolHttpHandler implements HttpHandler {
     httpExchange.getResponseBody().write(response.getBytes(ENCODING));
   }
 
+  private void printProfile(HttpExchange httpExchange) throws IOException {
+    if (profiler == null) {
+      sendError(httpExchange, HttpURLConnection.HTTP_NOT_FOUND, "Error: Profiling is not enabled, start the server with '--profile'");
+      return;
+    }
+    setCommonHeaders(httpExchange);
+    final String response = getProfileAsXML(profiler);
+    httpExchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, response.getBytes(ENCODING).length);
+    httpExchange.getResponseBody().write(response.getBytes(ENCODING));
+  }
+
   private void setCommonHeaders(HttpExchange httpExchange) {
     httpExchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE_VALUE);
     if (allowOriginUrl != null) {
@@ -178,11 +310,12 @@ class LanguageToolHttpHandler implements HttpHandler {
     return lang;
   }
 
-  private void checkText(String text, HttpExchange httpExchange, Map<String, String> parameters) throws Exception {
+  private void checkText(String text, HttpExchange httpExchange, Map<String, String> parameters, long deadline) throws Exception {
     final long timeStart = System.currentTimeMillis();
     if (text.length() > maxTextLength) {
       throw new IllegalArgumentException("Text is " + text.length() + " characters long, exceeding maximum length of " + maxTextLength);
     }
+    final boolean json = isJsonRequested(parameters);
     final String langParam = parameters.get("language");
     final String autodetectParam = parameters.get("autodetect");
     if (langParam == null && (autodetectParam == null || !autodetectParam.equals("1"))) {
@@ -203,36 +336,22 @@ class LanguageToolHttpHandler implements HttpHandler {
       motherTongue = Language.getLanguageForShortName(motherTongueParam);
     }
 
-    final String enabledParam = parameters.get("enabled");
-    final List<String> enabledRules = new ArrayList<>();
-    if (enabledParam != null) {
-      enabledRules.addAll(Arrays.asList(enabledParam.split(",")));
-    }
-    
-    boolean useEnabledOnly = false;
-    final String enabledOnlyParam = parameters.get("enabledOnly");
-    if (enabledOnlyParam != null) {
-      useEnabledOnly = enabledOnlyParam.equals("yes");
-    }
-    
-    final String disabledParam = parameters.get("disabled");
-    final List<String> disabledRules = new ArrayList<>();
-    if (disabledParam != null) {
-      disabledRules.addAll(Arrays.asList(disabledParam.split(",")));
-    }
+    final QueryParams params = getQueryParams(parameters);
+    final boolean noSuggestions = isNoSuggestionsRequested(parameters);
 
-    if (disabledRules.size() > 0 && useEnabledOnly) {
-      throw new IllegalArgumentException("You cannot specify disabled rules using enabledOnly=yes");
-    }
-    
-    final boolean useQuerySettings = enabledRules.size() > 0 || disabledRules.size() > 0;
-    final QueryParams params = new QueryParams(enabledRules, disabledRules, useEnabledOnly, useQuerySettings);
-    
     final List<RuleMatch> matches;
     final String sourceText = parameters.get("srctext");
     if (sourceText == null) {
-      final JLanguageTool lt = getLanguageToolInstance(lang, motherTongue, params);
-      matches = lt.check(text);
+      final PoolKey key = getPoolKey(lang, motherTongue, params);
+      final JLanguageTool lt = borrowLanguageToolInstance(key, deadline);
+      try {
+        lt.setCheckCancelledCallback(getDeadlineCallback(deadline));
+        matches = lt.check(text);
+        resolveSuggestions(matches, noSuggestions);
+      } finally {
+        lt.setCheckCancelledCallback(null);
+        languageToolPool.giveBack(key, lt);
+      }
     } else {
       if (motherTongueParam == null) {
         throw new IllegalArgumentException("Missing 'motherTongue' for bilingual checks");
@@ -240,33 +359,237 @@ class LanguageToolHttpHandler implements HttpHandler {
       print("Checking bilingual text, with source length " + sourceText.length() +
           " and target length " + text.length() + " (characters), source language " +
           motherTongue + " and target language " + langParam);
-      final JLanguageTool sourceLt = getLanguageToolInstance(motherTongue, null, params);
-      final JLanguageTool targetLt = getLanguageToolInstance(lang, null, params);
-      final List<BitextRule> bRules = Tools.getBitextRules(motherTongue, lang);
-      matches = Tools.checkBitext(sourceText, text, sourceLt, targetLt, bRules);
+      final PoolKey sourceKey = getPoolKey(motherTongue, null, params);
+      final PoolKey targetKey = getPoolKey(lang, null, params);
+      final JLanguageTool sourceLt = borrowLanguageToolInstance(sourceKey, deadline);
+      try {
+        final JLanguageTool targetLt = borrowLanguageToolInstance(targetKey, deadline);
+        try {
+          final List<BitextRule> bRules = Tools.getBitextRules(motherTongue, lang);
+          sourceLt.setCheckCancelledCallback(getDeadlineCallback(deadline));
+          targetLt.setCheckCancelledCallback(getDeadlineCallback(deadline));
+          matches = Tools.checkBitext(sourceText, text, sourceLt, targetLt, bRules);
+          resolveSuggestions(matches, noSuggestions);
+        } finally {
+          targetLt.setCheckCancelledCallback(null);
+          languageToolPool.giveBack(targetKey, targetLt);
+        }
+      } finally {
+        sourceLt.setCheckCancelledCallback(null);
+        languageToolPool.giveBack(sourceKey, sourceLt);
+      }
     }
     setCommonHeaders(httpExchange);
-    final String response = StringTools.ruleMatchesToXML(matches, text,
-            CONTEXT_SIZE, StringTools.XmlPrintMode.NORMAL_XML, lang, motherTongue);
+    if (json) {
+      httpExchange.getResponseHeaders().set("Content-Type", JSON_CONTENT_TYPE_VALUE);
+    }
     
     String messageSent = "sent";
     String languageMessage = lang.getShortNameWithCountryAndVariant();
+    if (motherTongue != null) {
+      languageMessage += " (mother tongue: " + motherTongue.getShortNameWithCountryAndVariant() + ")";
+    }
     final String referrer = httpExchange.getRequestHeaders().getFirst("Referer");
-    try {
-      httpExchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, response.getBytes(ENCODING).length);
-      httpExchange.getResponseBody().write(response.getBytes(ENCODING));
-
-      if (motherTongue != null) {
-        languageMessage += " (mother tongue: " + motherTongue.getShortNameWithCountryAndVariant() + ")";
+    try (Writer out = openResponseWriter(httpExchange)) {
+      if (json) {
+        new RuleMatchesAsJsonWriter(CONTEXT_SIZE).write(out, matches, text, lang);
+      } else {
+        StringTools.writeRuleMatchesAsXML(out, matches, text,
+                CONTEXT_SIZE, StringTools.XmlPrintMode.NORMAL_XML, lang, motherTongue);
       }
-
     } catch (IOException exception) {
       // the client is disconnected
       messageSent = "notSent: " + exception.getMessage();
+    } catch (RuntimeException e) {
+      // the headers have been sent already, so the error status cannot be sent anymore - the
+      // client notices the error as the document is incomplete:
+      e.printStackTrace();
+      messageSent = "aborted: " + e;
     }
     print("Check done: " + text.length() + " chars, " + languageMessage + ", " + referrer + ", "
             + "handlers:" + handleCount + ", " + matches.size() + " matches, " + (System.currentTimeMillis() - timeStart) + "ms"
-            + ", " + messageSent);
+            + ", " + messageSent + ", pool " + languageToolPool);
+  }
+
+  /**
+   * Check the texts {@code text.0}, {@code text.1}, ... of the request concurrently and write
+   * the results as JSON, each result as soon as it's available, so they are not in the order
+   * of the texts but have the id from the {@code id.N} parameter (the number {@code N} by default).
+   * Each text is checked in the language of its {@code language.N} parameter or,
+   * if that's missing, the language of the {@code language} parameter. The other parameters are the
+   * same as for a single text and apply to all texts. A text that cannot be checked gets an error
+   * in its result, but doesn't stop the other texts from being checked.
+   */
+  private void checkBatch(HttpExchange httpExchange, Map<String, String> parameters, long deadline) throws Exception {
+    final long timeStart = System.currentTimeMillis();
+    final List<BatchItem> items = new ArrayList<>();
+    for (int i = 0; parameters.containsKey("text." + i); i++) {
+      final String id = parameters.get("id." + i);
+      final String langCode = parameters.get("language." + i);
+      items.add(new BatchItem(id != null ? id : String.valueOf(i), parameters.get("text." + i),
+              langCode != null ? langCode : parameters.get("language")));
+    }
+    if (items.isEmpty()) {
+      throw new IllegalArgumentException("Missing 'text.0' parameter");
+    }
+    long length = 0;
+    for (BatchItem item : items) {
+      length += item.text.length();
+    }
+    if (items.size() > maxBatchSize || length > maxBatchLength) {
+      final String errorMessage = "Error: Batch of " + items.size() + " texts with " + length + " characters is too big, "
+              + "allowed are " + maxBatchSize + " texts and " + maxBatchLength + " characters";
+      sendError(httpExchange, HttpURLConnection.HTTP_ENTITY_TOO_LARGE, errorMessage);
+      print(errorMessage);
+      return;
+    }
+    final QueryParams params = getQueryParams(parameters);
+    final boolean autodetect = "1".equals(parameters.get("autodetect"));
+    final boolean noSuggestions = isNoSuggestionsRequested(parameters);
+    setCommonHeaders(httpExchange);
+    httpExchange.getResponseHeaders().set("Content-Type", JSON_CONTENT_TYPE_VALUE);
+    final RuleMatchesAsJsonWriter jsonWriter = new RuleMatchesAsJsonWriter(CONTEXT_SIZE);
+    String messageSent = "sent";
+    try (Writer out = openResponseWriter(httpExchange)) {
+      jsonWriter.writeBatchStart(out);
+      final BatchCheck batchCheck = new BatchCheck(items, params, autodetect, noSuggestions, deadline, jsonWriter, out);
+      batchCheck.run();
+      batchCheck.throwWriteException();
+      jsonWriter.writeBatchEnd(out);
+    } catch (IOException exception) {
+      // the client is disconnected
+      messageSent = "notSent: " + exception.getMessage();
+    } catch (RuntimeException e) {
+      // the headers have been sent already, so the error status cannot be sent anymore - the
+      // client notices the error as the JSON array is not closed:
+      e.printStackTrace();
+      messageSent = "aborted: " + e;
+    }
+    print("Batch check done: " + items.size() + " texts, " + length + " chars, handlers:" + handleCount + ", "
+            + (System.currentTimeMillis() - timeStart) + "ms, " + messageSent + ", pool " + languageToolPool);
+  }
+
+  private static boolean isNoSuggestionsRequested(Map<String, String> parameters) {
+    final String suggestionsParam = parameters.get("suggestions");
+    return suggestionsParam != null && suggestionsParam.equals("no");
+  }
+
+  // spelling suggestions are computed lazily by the rules of the JLanguageTool instance, so they
+  // need to be computed before the instance is given back to the pool - or be dropped, which saves
+  // the time to compute them:
+  private static void resolveSuggestions(List<RuleMatch> matches, boolean noSuggestions) {
+    for (RuleMatch match : matches) {
+      if (noSuggestions) {
+        match.setSuggestedReplacements(Collections.<String>emptyList());
+      } else {
+        match.getSuggestedReplacements();
+      }
+    }
+  }
+
+  private static QueryParams getQueryParams(Map<String, String> parameters) {
+    final List<String> enabledRules = getRuleIds(parameters.get("enabled"));
+    
+    boolean useEnabledOnly = false;
+    final String enabledOnlyParam = parameters.get("enabledOnly");
+    if (enabledOnlyParam != null) {
+      useEnabledOnly = enabledOnlyParam.equals("yes");
+    }
+    
+    final List<String> disabledRules = getRuleIds(parameters.get("disabled"));
+
+    if (disabledRules.size() > 0 && useEnabledOnly) {
+      throw new IllegalArgumentException("You cannot specify disabled rules using enabledOnly=yes");
+    }
+    
+    final boolean useQuerySettings = enabledRules.size() > 0 || disabledRules.size() > 0;
+    return new QueryParams(enabledRules, disabledRules, useEnabledOnly, useQuerySettings);
+  }
+
+  // sorted and without duplicates, so the same rule configuration always gets the same pool key:
+  private static List<String> getRuleIds(String param) {
+    if (param == null) {
+      return new ArrayList<>();
+    }
+    return new ArrayList<>(new TreeSet<>(Arrays.asList(param.split(","))));
+  }
+
+  private static CheckCancelledCallback getDeadlineCallback(final long deadline) {
+    if (deadline == Long.MAX_VALUE) {
+      return null;
+    }
+    return new CheckCancelledCallback() {
+      @Override
+      public boolean checkCancelled() {
+        return System.currentTimeMillis() > deadline;
+      }
+    };
+  }
+
+  private static boolean isJsonRequested(Map<String, String> parameters) {
+    final String format = parameters.get("format");
+    if (format == null || format.equals("xml")) {
+      return false;
+    } else if (format.equals("json")) {
+      return true;
+    }
+    throw new IllegalArgumentException("Unknown 'format' parameter: '" + format + "', use 'xml' or 'json'");
+  }
+
+  /**
+   * Send the response headers and get a writer for the response body. The response is sent
+   * with chunked transfer encoding as it's written, so its length doesn't need to be known
+   * in advance. It's compressed if the client accepts gzip. The writer must be closed to
+   * finish the response. Once this has been called, errors cannot be reported with an error status.
+   */
+  private Writer openResponseWriter(HttpExchange httpExchange) throws IOException {
+    final boolean gzip = acceptsGzip(httpExchange.getRequestHeaders().getFirst("Accept-Encoding"));
+    if (gzip) {
+      httpExchange.getResponseHeaders().set("Content-Encoding", "gzip");
+    }
+    httpExchange.sendResponseHeaders(HttpURLConnection.HTTP_OK, 0);  // 0 = chunked
+    OutputStream out = httpExchange.getResponseBody();
+    if (gzip) {
+      out = new GZIPOutputStream(out, 8192, true);  // flushing sends everything written so far
+    }
+    return new BufferedWriter(new OutputStreamWriter(out, ENCODING), 8192);
+  }
+
+  /**
+   * Whether the value of an {@code Accept-Encoding} header allows gzip, i.e. it lists {@code gzip}
+   * (or {@code x-gzip}) with a quality value greater than 0, or {@code *} with a quality value
+   * greater than 0 and gzip isn't listed.
+   */
+  static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    Boolean gzip = null;
+    Boolean wildcard = null;
+    for (String coding : acceptEncoding.split(",")) {
+      final String[] parts = coding.split(";");
+      final String name = parts[0].trim().toLowerCase(Locale.ENGLISH);
+      boolean accepted = true;
+      for (int i = 1; i < parts.length; i++) {
+        final String param = parts[i].trim();
+        if (param.startsWith("q=") || param.startsWith("Q=")) {
+          try {
+            accepted = Double.parseDouble(param.substring(2).trim()) > 0;
+          } catch (NumberFormatException e) {
+            accepted = false;
+          }
+        }
+      }
+      if (name.equals("gzip") || name.equals("x-gzip")) {
+        gzip = gzip == null ? accepted : gzip || accepted;
+      } else if (name.equals("*")) {
+        wildcard = accepted;
+      }
+    }
+    if (gzip != null) {
+      return gzip;
+    }
+    return wildcard != null && wildcard;
   }
 
   private Map<String, String> parseQuery(String query) throws UnsupportedEncodingException {
@@ -300,18 +623,48 @@ class LanguageToolHttpHandler implements HttpHandler {
   }
 
   /**
-   * Find or create a JLanguageTool instance for a specific language, mother tongue, and rule configuration.
+   * Get the key under which JLanguageTool instances for a specific language, mother tongue,
+   * and rule configuration are pooled.
    *
    * @param lang the language to be used.
    * @param motherTongue the user's mother tongue or {@code null}
    */
-  private JLanguageTool getLanguageToolInstance(Language lang, Language motherTongue, QueryParams params) throws Exception {
+  private PoolKey getPoolKey(Language lang, Language motherTongue, QueryParams params) throws IOException {
+    GUIConfig guiConfig = null;
+    if (!params.useQuerySettings && internalServer) {
+      guiConfig = guiConfigCache.get(lang);
+    }
+    return new PoolKey(lang, motherTongue, params, guiConfig);
+  }
+
+  /**
+   * Take a JLanguageTool instance for a specific language, mother tongue, and rule configuration
+   * from the pool, creating it if needed, or waiting until {@code deadline} for an instance that's
+   * in use. The instance must be given back to the pool after use.
+   */
+  private JLanguageTool borrowLanguageToolInstance(final PoolKey key, long deadline) throws Exception {
+    return languageToolPool.borrow(key, new Callable<JLanguageTool>() {
+      @Override
+      public JLanguageTool call() throws Exception {
+        return createLanguageToolInstance(key.lang, key.motherTongue, key.params, key.guiConfig);
+      }
+    }, deadline);
+  }
+
+  /**
+   * Create a JLanguageTool instance for a specific language, mother tongue, and rule configuration.
+   *
+   * @param lang the language to be used.
+   * @param motherTongue the user's mother tongue or {@code null}
+   * @param guiConfig the rule configuration from the GUI or {@code null}
+   */
+  private JLanguageTool createLanguageToolInstance(Language lang, Language motherTongue, QueryParams params, GUIConfig guiConfig) throws Exception {
     final JLanguageTool newLanguageTool = new JLanguageTool(lang, motherTongue);
     newLanguageTool.activateDefaultPatternRules();
     newLanguageTool.activateDefaultFalseFriendRules();
-    final Configuration config = new Configuration(lang);
-    if (!params.useQuerySettings && internalServer && config.getUseGUIConfig()) { // use the GUI config values
-      configureGUI(newLanguageTool, config);
+    newLanguageTool.setProfiler(profiler);
+    if (guiConfig != null) {
+      configureGUI(newLanguageTool, guiConfig);
     }
     if (params.useQuerySettings) {
       Tools.selectRules(newLanguageTool, params.disabledRules, params.enabledRules, params.useEnabledOnly);
@@ -319,22 +672,22 @@ class LanguageToolHttpHandler implements HttpHandler {
     return newLanguageTool;
   }
 
-  private void configureGUI(JLanguageTool langTool, Configuration config) {
+  private void configureGUI(JLanguageTool langTool, GUIConfig config) {
     print("Using options configured in the GUI");
     //TODO: add a parameter to config to set language
-    final Set<String> disabledRules = config.getDisabledRuleIds();
+    final Set<String> disabledRules = config.disabledRuleIds;
     if (disabledRules != null) {
       for (final String ruleId : disabledRules) {
         langTool.disableRule(ruleId);
       }
     }
-    final Set<String> disabledCategories = config.getDisabledCategoryNames();
+    final Set<String> disabledCategories = config.disabledCategoryNames;
     if (disabledCategories != null) {
       for (final String categoryName : disabledCategories) {
         langTool.disableCategory(categoryName);
       }
     }
-    final Set<String> enabledRules = config.getEnabledRuleIds();
+    final Set<String> enabledRules = config.enabledRuleIds;
     if (enabledRules != null) {
       for (String ruleName : enabledRules) {
         langTool.enableDefaultOffRule(ruleName);
@@ -371,7 +724,193 @@ class LanguageToolHttpHandler implements HttpHandler {
     return xmlBuffer.toString();
   }
 
-  private class QueryParams {
+  /**
+   * Construct an XML string with the statistics of the profiler, times are in milliseconds.
+   * The rules are sorted by the time spent in them, slowest rule first.
+   */
+  static String getProfileAsXML(Profiler profiler) {
+    final StringBuilder xmlBuffer = new StringBuilder("<?xml version='1.0' encoding='" + ENCODING + "'?>\n<profile>\n");
+    for (Map.Entry<Profiler.Stage, Profiler.Statistics> entry : profiler.getStageStatistics().entrySet()) {
+      xmlBuffer.append(String.format("\t<stage name=\"%s\" count=\"%d\" time=\"%d\" matches=\"%d\"/>\n", entry.getKey(),
+              entry.getValue().getCount(), entry.getValue().getNanos() / 1000000, entry.getValue().getMatchCount()));
+    }
+    final List<Map.Entry<String, Profiler.Statistics>> rules = new ArrayList<>(profiler.getRuleStatistics().entrySet());
+    Collections.sort(rules, new Comparator<Map.Entry<String, Profiler.Statistics>>() {
+      @Override
+      public int compare(Map.Entry<String, Profiler.Statistics> o1, Map.Entry<String, Profiler.Statistics> o2) {
+        return Long.compare(o2.getValue().getNanos(), o1.getValue().getNanos());
+      }
+    });
+    for (Map.Entry<String, Profiler.Statistics> entry : rules) {
+      xmlBuffer.append(String.format("\t<rule id=\"%s\" count=\"%d\" time=\"%d\" matches=\"%d\"/>\n", StringTools.escapeXML(entry.getKey()),
+              entry.getValue().getCount(), entry.getValue().getNanos() / 1000000, entry.getValue().getMatchCount()));
+    }
+    xmlBuffer.append("</profile>\n");
+    return xmlBuffer.toString();
+  }
+
+  private static class BatchItem {
+    final String id;
+    final String text;
+    final String langCode;
+
+    BatchItem(String id, String text, String langCode) {
+      this.id = id;
+      this.text = text;
+      this.langCode = langCode;
+    }
+  }
+
+  /**
+   * Checks the texts of a batch request. The thread that handles the request and the threads of
+   * the {@link #batchExecutor} that are free take the next unchecked text until all texts are done.
+   * As the thread of the request takes part, the check finishes even if no other thread helps.
+   */
+  private class BatchCheck implements Runnable {
+
+    private final List<BatchItem> items;
+    private final QueryParams params;
+    private final boolean autodetect;
+    private final boolean noSuggestions;
+    private final long deadline;
+    private final RuleMatchesAsJsonWriter jsonWriter;
+    private final Writer out;
+    private final AtomicInteger nextItem = new AtomicInteger();
+    private final CountDownLatch done;
+
+    private boolean firstResult = true;  // guarded by out
+    private IOException writeException;  // guarded by out
+    private volatile boolean clientGone;
+
+    BatchCheck(List<BatchItem> items, QueryParams params, boolean autodetect, boolean noSuggestions, long deadline,
+               RuleMatchesAsJsonWriter jsonWriter, Writer out) {
+      this.items = items;
+      this.params = params;
+      this.autodetect = autodetect;
+      this.noSuggestions = noSuggestions;
+      this.deadline = deadline;
+      this.jsonWriter = jsonWriter;
+      this.out = out;
+      this.done = new CountDownLatch(items.size());
+    }
+
+    /**
+     * Check all texts, with the help of other threads if possible, and wait until they are done.
+     */
+    @Override
+    public void run() {
+      // more threads than instances in the pool would only wait for an instance:
+      final int helpers = Math.min(items.size(), languageToolPool.getMaxInstancesPerKey()) - 1;
+      if (batchExecutor != null) {
+        try {
+          for (int i = 0; i < helpers; i++) {
+            batchExecutor.execute(new Runnable() {
+              @Override
+              public void run() {
+                checkItems();
+              }
+            });
+          }
+        } catch (RejectedExecutionException ignored) {
+          // the threads are busy, so this thread checks more texts itself
+        }
+      }
+      checkItems();
+      try {
+        done.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new CheckCancelledException("Interrupted while waiting for the texts of the batch");
+      }
+    }
+
+    void throwWriteException() throws IOException {
+      synchronized (out) {
+        if (writeException != null) {
+          throw writeException;
+        }
+      }
+    }
+
+    private void checkItems() {
+      int i;
+      while ((i = nextItem.getAndIncrement()) < items.size()) {
+        try {
+          if (clientGone) {
+            continue;  // no need to check texts whose results cannot be sent anymore
+          }
+          final BatchItem item = items.get(i);
+          final StringBuilder sb = new StringBuilder(200);
+          try {
+            check(item, sb);
+          } catch (CheckCancelledException e) {
+            sb.setLength(0);
+            jsonWriter.appendBatchError(sb, item.id, "Server overloaded, the check could not be done in time, please try again later");
+          } catch (Exception e) {
+            if (verbose) {
+              print("Exception was caused by this text: " + item.text);
+            }
+            e.printStackTrace();
+            sb.setLength(0);
+            jsonWriter.appendBatchError(sb, item.id, e.toString());
+          }
+          write(sb);
+        } finally {
+          done.countDown();
+        }
+      }
+    }
+
+    private void check(BatchItem item, StringBuilder sb) throws Exception {
+      if (item.text.length() > maxTextLength) {
+        throw new IllegalArgumentException("Text is " + item.text.length() + " characters long, exceeding maximum length of " + maxTextLength);
+      }
+      if (System.currentTimeMillis() > deadline) {
+        throw new CheckCancelledException("Request waited too long");
+      }
+      final Language lang;
+      if (autodetect) {
+        lang = detectLanguageOfString(item.text, item.langCode);
+      } else if (item.langCode == null) {
+        throw new IllegalArgumentException("Missing 'language' parameter");
+      } else {
+        lang = Language.getLanguageForShortName(item.langCode);
+      }
+      final PoolKey key = getPoolKey(lang, null, params);
+      final JLanguageTool lt = borrowLanguageToolInstance(key, deadline);
+      final List<RuleMatch> matches;
+      try {
+        lt.setCheckCancelledCallback(getDeadlineCallback(deadline));
+        matches = lt.check(item.text);
+        resolveSuggestions(matches, noSuggestions);
+      } finally {
+        lt.setCheckCancelledCallback(null);
+        languageToolPool.giveBack(key, lt);
+      }
+      jsonWriter.appendBatchResult(sb, item.id, matches, item.text, lang);
+    }
+
+    private void write(StringBuilder result) {
+      synchronized (out) {
+        if (writeException != null) {
+          return;
+        }
+        try {
+          if (!firstResult) {
+            out.write(',');
+          }
+          firstResult = false;
+          out.append(result);
+          out.flush();
+        } catch (IOException e) {
+          writeException = e;
+          clientGone = true;
+        }
+      }
+    }
+  }
+
+  private static class QueryParams {
     final List<String> enabledRules;
     final List<String> disabledRules;
     final boolean useEnabledOnly;
@@ -383,6 +922,90 @@ class LanguageToolHttpHandler implements HttpHandler {
       this.useEnabledOnly = useEnabledOnly;
       this.useQuerySettings = useQuerySettings;
     }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      final QueryParams other = (QueryParams) o;
+      return useEnabledOnly == other.useEnabledOnly && useQuerySettings == other.useQuerySettings
+              && enabledRules.equals(other.enabledRules) && disabledRules.equals(other.disabledRules);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(enabledRules, disabledRules, useEnabledOnly, useQuerySettings);
+    }
+  }
+
+  /**
+   * The rule settings from the GUI's {@link Configuration}, as used by the internal server. Immutable.
+   */
+  static class GUIConfig {
+    final Set<String> disabledRuleIds;
+    final Set<String> disabledCategoryNames;
+    final Set<String> enabledRuleIds;
+
+    GUIConfig(Configuration config) {
+      this.disabledRuleIds = copyOrNull(config.getDisabledRuleIds());
+      this.disabledCategoryNames = copyOrNull(config.getDisabledCategoryNames());
+      this.enabledRuleIds = copyOrNull(config.getEnabledRuleIds());
+    }
+
+    private static Set<String> copyOrNull(Set<String> set) {
+      return set != null ? Collections.unmodifiableSet(new HashSet<>(set)) : null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      final GUIConfig other = (GUIConfig) o;
+      return Objects.equals(disabledRuleIds, other.disabledRuleIds)
+              && Objects.equals(disabledCategoryNames, other.disabledCategoryNames)
+              && Objects.equals(enabledRuleIds, other.enabledRuleIds);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(disabledRuleIds, disabledCategoryNames, enabledRuleIds);
+    }
+  }
+
+  /**
+   * Everything that makes one pooled {@link JLanguageTool} instance different from another.
+   */
+  private static class PoolKey {
+    final Language lang;
+    final Language motherTongue;
+    final QueryParams params;
+    final GUIConfig guiConfig;
+
+    PoolKey(Language lang, Language motherTongue, QueryParams params, GUIConfig guiConfig) {
+      this.lang = lang;
+      this.motherTongue = motherTongue;
+      this.params = params;
+      this.guiConfig = guiConfig;
+    }
+
+    private static String getCode(Language lang) {
+      return lang != null ? lang.getShortNameWithCountryAndVariant() : null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      final PoolKey other = (PoolKey) o;
+      return Objects.equals(getCode(lang), getCode(other.lang))
+              && Objects.equals(getCode(motherTongue), getCode(other.motherTongue))
+              && params.equals(other.params) && Objects.equals(guiConfig, other.guiConfig);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(getCode(lang), getCode(motherTongue), params, guiConfig);
+    }
   }
 
 }
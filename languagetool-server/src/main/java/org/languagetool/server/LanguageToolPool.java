@@ -0,0 +1,291 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import org.languagetool.CheckCancelledException;
+import org.languagetool.JLanguageTool;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps initialized {@link JLanguageTool} instances so the expensive set-up (creating the
+ * Java rules, loading the XML rules) doesn't need to be done for every request. Instances
+ * are kept per key, i.e. per language, mother tongue, and rule configuration. As
+ * {@link JLanguageTool} is not thread-safe, an instance must be borrowed with
+ * {@link #borrow(Object, Callable)} and given back with {@link #giveBack(Object, JLanguageTool)}
+ * after use. Only the {@code maxKeys} most recently used keys are kept, so clients cannot
+ * fill the memory by sending many different rule configurations. Instances of an evicted key
+ * that are still borrowed keep counting for that key until they are given back, so there are
+ * never more than {@code maxInstancesPerKey} instances per key.
+ * @since 2.5
+ */
+class LanguageToolPool {
+
+  /** The number of keys kept by default. */
+  static final int DEFAULT_MAX_KEYS = 100;
+
+  // a waiting thread checks this often whether it can create an instance itself, e.g. because creating one failed:
+  private static final long RETRY_MILLIS = 100;
+
+  // guarded by itself, like retiredPools, borrowed and KeyPool.created:
+  private final Map<Object, KeyPool> pools;
+  // the pools of evicted keys that still have borrowed instances:
+  private final Map<Object, KeyPool> retiredPools = new HashMap<>();
+  // the pool that each borrowed instance belongs to:
+  private final Map<JLanguageTool, KeyPool> borrowed = new IdentityHashMap<>();
+  private final int maxInstancesPerKey;
+
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong waits = new AtomicLong();
+  private final AtomicLong waitMillis = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+
+  /**
+   * @param maxInstancesPerKey the maximum number of instances created per key - if more instances
+   *                           are requested at the same time, {@link #borrow(Object, Callable)} will block
+   */
+  LanguageToolPool(int maxInstancesPerKey) {
+    this(maxInstancesPerKey, DEFAULT_MAX_KEYS);
+  }
+
+  /**
+   * @param maxInstancesPerKey the maximum number of instances created per key - if more instances
+   *                           are requested at the same time, {@link #borrow(Object, Callable)} will block
+   * @param maxKeys the maximum number of keys for which instances are kept, the idle instances of the least
+   *                recently used key are dropped when a new key is added
+   */
+  LanguageToolPool(int maxInstancesPerKey, final int maxKeys) {
+    if (maxInstancesPerKey <= 0 || maxKeys <= 0) {
+      throw new IllegalArgumentException("maxInstancesPerKey and maxKeys must be > 0: " + maxInstancesPerKey + ", " + maxKeys);
+    }
+    this.maxInstancesPerKey = maxInstancesPerKey;
+    this.pools = new LinkedHashMap<Object, KeyPool>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Object, KeyPool> eldest) {
+        if (size() > maxKeys) {
+          retire(eldest.getKey(), eldest.getValue());
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  /**
+   * Like {@link #borrow(Object, Callable, long)}, without a deadline.
+   */
+  JLanguageTool borrow(Object key, Callable<JLanguageTool> factory) throws Exception {
+    return borrow(key, factory, Long.MAX_VALUE);
+  }
+
+  /**
+   * Get an idle instance for the given key. If there is none, create one with {@code factory},
+   * or wait for another thread to give back its instance if the maximum number of instances
+   * for this key has been reached.
+   * @param key an object with proper {@code equals()} and {@code hashCode()} that describes the instance configuration
+   * @param factory creates a new instance for the given key, only called on a pool miss
+   * @param deadline the time in milliseconds (as returned by {@link System#currentTimeMillis()}) until
+   *                 which to wait for an instance, {@code Long.MAX_VALUE} to wait as long as needed
+   * @throws CheckCancelledException if no instance became available before the deadline
+   */
+  JLanguageTool borrow(Object key, Callable<JLanguageTool> factory, long deadline) throws Exception {
+    long waitStartTime = 0;
+    while (true) {
+      final KeyPool pool;
+      boolean create = false;
+      synchronized (pools) {
+        // looked up on each try, as the key may have been evicted in the meantime:
+        pool = getPool(key);
+        final JLanguageTool idleInstance = pool.idle.poll();
+        if (idleInstance != null) {
+          borrowed.put(idleInstance, pool);
+          return gotInstance(idleInstance, waitStartTime);
+        }
+        if (pool.created < maxInstancesPerKey) {
+          pool.created++;
+          create = true;
+        }
+      }
+      if (create) {
+        misses.incrementAndGet();
+        return createInstance(key, pool, factory);
+      }
+      final long now = System.currentTimeMillis();
+      if (waitStartTime == 0) {
+        waits.incrementAndGet();
+        waitStartTime = now;
+      }
+      if (now >= deadline) {
+        waitMillis.addAndGet(now - waitStartTime);
+        throw new CheckCancelledException("Timed out waiting for a free LanguageTool instance");
+      }
+      final JLanguageTool instance = pool.idle.poll(Math.min(deadline - now, RETRY_MILLIS), TimeUnit.MILLISECONDS);
+      if (instance != null) {
+        synchronized (pools) {
+          borrowed.put(instance, pool);
+        }
+        return gotInstance(instance, waitStartTime);
+      }
+    }
+  }
+
+  // the instance has already been counted in the pool:
+  private JLanguageTool createInstance(Object key, KeyPool pool, Callable<JLanguageTool> factory) throws Exception {
+    final JLanguageTool instance;
+    try {
+      instance = factory.call();
+    } catch (Exception e) {
+      synchronized (pools) {
+        dropInstance(key, pool);
+      }
+      throw e;
+    }
+    synchronized (pools) {
+      borrowed.put(instance, pool);
+    }
+    return instance;
+  }
+
+  private JLanguageTool gotInstance(JLanguageTool instance, long waitStartTime) {
+    if (waitStartTime == 0) {
+      hits.incrementAndGet();
+    } else {
+      waitMillis.addAndGet(System.currentTimeMillis() - waitStartTime);
+    }
+    return instance;
+  }
+
+  /**
+   * Give back an instance that was taken with {@link #borrow(Object, Callable)}
+   * so it can be used by other requests. If its key has been evicted in the meantime,
+   * the instance is dropped.
+   */
+  void giveBack(Object key, JLanguageTool instance) {
+    synchronized (pools) {
+      final KeyPool pool = borrowed.remove(instance);
+      if (pool == null) {
+        throw new IllegalArgumentException("Instance has not been borrowed from this pool: " + instance);
+      }
+      if (pool.retired) {
+        dropInstance(key, pool);
+      } else {
+        pool.idle.offer(instance);
+      }
+    }
+  }
+
+  /**
+   * Add an instance to the pool without it having been borrowed, e.g. to warm up the pool
+   * at start-up. The instance is ignored if the pool for that key is already full.
+   */
+  void add(Object key, JLanguageTool instance) {
+    synchronized (pools) {
+      final KeyPool pool = getPool(key);
+      if (pool.created < maxInstancesPerKey) {
+        pool.created++;
+        pool.idle.offer(instance);
+      }
+    }
+  }
+
+  int getMaxInstancesPerKey() {
+    return maxInstancesPerKey;
+  }
+
+  /** Number of requests that got an idle instance. */
+  long getHits() {
+    return hits.get();
+  }
+
+  /** Number of requests for which a new instance had to be created. */
+  long getMisses() {
+    return misses.get();
+  }
+
+  /** Number of requests that had to wait for an instance used by another request. */
+  long getWaits() {
+    return waits.get();
+  }
+
+  /** Total time in milliseconds spent waiting for instances used by other requests. */
+  long getWaitMillis() {
+    return waitMillis.get();
+  }
+
+  /** Number of keys whose instances have been dropped because too many keys were used. */
+  long getEvictions() {
+    return evictions.get();
+  }
+
+  @Override
+  public String toString() {
+    return "hits:" + hits + ", misses:" + misses + ", waits:" + waits + " (" + waitMillis + "ms), evictions:" + evictions;
+  }
+
+  // called with the lock held:
+  private KeyPool getPool(Object key) {
+    KeyPool pool = pools.get(key);
+    if (pool == null) {
+      // an evicted key that is used again gets its old pool, so its borrowed instances still count:
+      pool = retiredPools.remove(key);
+      if (pool == null) {
+        pool = new KeyPool();
+      }
+      pool.retired = false;
+      pools.put(key, pool);
+    }
+    return pool;
+  }
+
+  // called with the lock held:
+  private void retire(Object key, KeyPool pool) {
+    evictions.incrementAndGet();
+    pool.retired = true;
+    while (pool.idle.poll() != null) {
+      pool.created--;
+    }
+    if (pool.created > 0) {
+      retiredPools.put(key, pool);
+    }
+  }
+
+  // called with the lock held:
+  private void dropInstance(Object key, KeyPool pool) {
+    pool.created--;
+    if (pool.retired && pool.created == 0) {
+      retiredPools.remove(key);
+    }
+  }
+
+  private static class KeyPool {
+    private final BlockingQueue<JLanguageTool> idle = new LinkedBlockingQueue<>();
+    private int created;
+    private boolean retired;
+  }
+
+}
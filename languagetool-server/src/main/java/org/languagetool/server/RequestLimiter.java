@@ -18,29 +18,77 @@
  */
 package org.languagetool.server;
 
-import java.util.Date;
 import java.util.Iterator;
-import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
- * Limit the maximum number of request per IP address for a given time range.
+ * Limit the maximum number of request per IP address for a given time range,
+ * and optionally the number of characters checked per IP address in that time range.
+ * Uses a token bucket per IP address: a bucket holds up to {@code requestLimit} tokens, each
+ * request takes one, and it fills up again at a rate of {@code requestLimit} tokens per
+ * {@code requestLimitPeriodInSeconds}. The cost per request does not depend on the
+ * number of requests or clients, and requests from different IP addresses don't
+ * block each other. Clients that have been idle for a full period are removed from time to time.
  */
 class RequestLimiter {
 
-  private static final int API_REQUEST_QUEUE_SIZE = 1000;
+  /**
+   * The source of the current time, so tests can advance the time instead of waiting.
+   */
+  interface Clock {
+    /** The current time in nanoseconds, as returned by {@link System#nanoTime()}. */
+    long nanoTime();
+  }
+
+  private static final Clock SYSTEM_CLOCK = new Clock() {
+    @Override
+    public long nanoTime() {
+      return System.nanoTime();
+    }
+  };
 
-  private final List<RequestEvent> requestEvents = new CopyOnWriteArrayList<>();
+  private final ConcurrentMap<String, AtomicReference<Bucket>> buckets = new ConcurrentHashMap<>();
+  private final AtomicLong nextEviction = new AtomicLong();
   private final int requestLimit;
   private final int requestLimitPeriodInSeconds;
+  private final long characterLimit;
+  private final long periodNanos;
+  private final Clock clock;
 
   /**
    * @param requestLimit the maximum number of request per <tt>requestLimitPeriodInSeconds</tt>
    * @param requestLimitPeriodInSeconds the time period over which requests are considered, in seconds
    */
   RequestLimiter(int requestLimit, int requestLimitPeriodInSeconds) {
+    this(requestLimit, 0, requestLimitPeriodInSeconds);
+  }
+
+  /**
+   * @param requestLimit the maximum number of request per <tt>requestLimitPeriodInSeconds</tt>
+   * @param characterLimit the maximum number of characters per <tt>requestLimitPeriodInSeconds</tt>, 0 for no limit
+   * @param requestLimitPeriodInSeconds the time period over which requests are considered, in seconds
+   * @since 2.5
+   */
+  RequestLimiter(int requestLimit, long characterLimit, int requestLimitPeriodInSeconds) {
+    this(requestLimit, characterLimit, requestLimitPeriodInSeconds, SYSTEM_CLOCK);
+  }
+
+  /**
+   * @param clock the source of the current time
+   * @since 2.5
+   */
+  RequestLimiter(int requestLimit, long characterLimit, int requestLimitPeriodInSeconds, Clock clock) {
+    this.clock = clock;
     this.requestLimit = requestLimit;
     this.requestLimitPeriodInSeconds = requestLimitPeriodInSeconds;
+    this.characterLimit = characterLimit;
+    this.periodNanos = TimeUnit.SECONDS.toNanos(requestLimitPeriodInSeconds);
+    this.nextEviction.set(clock.nanoTime() + periodNanos);
   }
 
   /**
@@ -50,6 +98,14 @@ class RequestLimiter {
     return requestLimit;
   }
 
+  /**
+   * The maximum number of characters per {@link #getRequestLimitPeriodInSeconds()}, 0 for no limit.
+   * @since 2.5
+   */
+  long getCharacterLimit() {
+    return characterLimit;
+  }
+
   /**
    * The time period over which requests are considered, in seconds.
    */
@@ -62,38 +118,87 @@ class RequestLimiter {
    * @return true if access is allowed because the request limit is not reached yet
    */
   boolean isAccessOkay(String ipAddress) {
-    while (requestEvents.size() > API_REQUEST_QUEUE_SIZE) {
-      requestEvents.remove(0);
+    return isAccessOkay(ipAddress, 0);
+  }
+
+  /**
+   * @param ipAddress the client's IP address
+   * @param characters the number of characters to be checked by this request
+   * @return true if access is allowed because neither the request limit nor the character limit is reached yet;
+   *         requests that are not allowed don't count
+   * @since 2.5
+   */
+  boolean isAccessOkay(String ipAddress, long characters) {
+    if (periodNanos <= 0) {
+      return true;  // nothing older than now is considered, so no limit can be reached
+    }
+    final long now = clock.nanoTime();
+    evictIdleClients(now);
+    AtomicReference<Bucket> bucketRef = buckets.get(ipAddress);
+    if (bucketRef == null) {
+      final AtomicReference<Bucket> newBucketRef = new AtomicReference<>(new Bucket(requestLimit, characterLimit, now));
+      bucketRef = buckets.putIfAbsent(ipAddress, newBucketRef);
+      if (bucketRef == null) {
+        bucketRef = newBucketRef;
+      }
+    }
+    while (true) {
+      final Bucket bucket = bucketRef.get();
+      final Bucket refilled = refill(bucket, now);
+      final boolean okay = refilled.requests >= 1 && (characterLimit <= 0 || refilled.characters >= characters);
+      final Bucket next = okay ? new Bucket(refilled.requests - 1, refilled.characters - characters, refilled.time) : refilled;
+      if (bucketRef.compareAndSet(bucket, next)) {
+        return okay;
+      }
     }
-    requestEvents.add(new RequestEvent(ipAddress, new Date()));
-    return !limitReached(ipAddress);
   }
-  
-  private boolean limitReached(String ipAddress) {
-    int requestsByIp = 0;
-    // all requests before this date are considered old:
-    Date thresholdDate = new Date(System.currentTimeMillis() - requestLimitPeriodInSeconds * 1000);
-    Iterator<RequestEvent> iterator = requestEvents.iterator();
+
+  /**
+   * The number of IP addresses for which requests are currently tracked.
+   */
+  int getClientCount() {
+    return buckets.size();
+  }
+
+  private Bucket refill(Bucket bucket, long now) {
+    final long elapsed = now - bucket.time;
+    if (elapsed <= 0) {
+      return bucket;
+    }
+    final double share = (double) elapsed / periodNanos;
+    final double requests = Math.min(requestLimit, bucket.requests + share * requestLimit);
+    final double characters = Math.min(characterLimit, bucket.characters + share * characterLimit);
+    return new Bucket(requests, characters, now);
+  }
+
+  // a client that has been idle for a whole period has a full bucket, so removing it doesn't change anything:
+  private void evictIdleClients(long now) {
+    final long evictionTime = nextEviction.get();
+    if (now - evictionTime < 0 || !nextEviction.compareAndSet(evictionTime, now + periodNanos)) {
+      return;
+    }
+    final Iterator<Map.Entry<String, AtomicReference<Bucket>>> iterator = buckets.entrySet().iterator();
     while (iterator.hasNext()) {
-      RequestEvent requestEvent = iterator.next();
-      if (requestEvent.ip.equals(ipAddress) && requestEvent.date.after(thresholdDate)) {
-        requestsByIp++;
-        if (requestsByIp > requestLimit) {
-          return true;
-        }
+      final Map.Entry<String, AtomicReference<Bucket>> entry = iterator.next();
+      if (now - entry.getValue().get().time >= periodNanos) {
+        // a request that takes a token concurrently may get lost, but the client has been idle anyway:
+        buckets.remove(entry.getKey(), entry.getValue());
       }
     }
-    return false;
   }
-  
-  class RequestEvent {
 
-    private final String ip;
-    private final Date date;
+  /**
+   * The tokens left for an IP address at a point in time, immutable.
+   */
+  private static class Bucket {
+    private final double requests;
+    private final double characters;
+    private final long time;
 
-    RequestEvent(String ip, Date date) {
-      this.ip = ip;
-      this.date = date;
+    Bucket(double requests, double characters, long time) {
+      this.requests = requests;
+      this.characters = characters;
+      this.time = time;
     }
   }
 
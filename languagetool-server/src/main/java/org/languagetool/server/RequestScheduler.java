@@ -0,0 +1,183 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admits requests to the {@link LanguageToolHttpHandler}. Runs on the thread that accepts
+ * the connections and never blocks it: each request is put into the queue of one of two
+ * lanes, small requests into the short lane, big ones into the long lane, so that
+ * checks of short texts don't need to wait for documents being checked. If the queue of
+ * the lane is full, the request is rejected at once with {@code 503 Service Unavailable}.
+ * Each request gets a deadline, requests that are still in the queue or still being
+ * checked when the deadline is over are stopped and get a {@code 503} response, too.
+ * @since 2.5
+ */
+class RequestScheduler implements HttpHandler {
+
+  private static final String ENCODING = "utf-8";
+
+  private final LanguageToolHttpHandler handler;
+  private final ThreadPoolExecutor shortLane;
+  private final ThreadPoolExecutor longLane;
+  private final ThreadPoolExecutor batchHelpers;
+  private final int longRequestThreshold;
+  private final long maxCheckTimeMillis;
+  private final AtomicLong rejected = new AtomicLong();
+
+  /**
+   * @param shortLaneThreads the number of threads that handle small requests
+   * @param longLaneThreads the number of threads that handle big requests
+   * @param batchThreads the number of threads that help the threads of the lanes to check the texts of batch requests, may be 0
+   * @param queueSize the maximum number of requests waiting per lane
+   * @param longRequestThreshold requests bigger than this (in bytes) go to the long lane
+   * @param maxCheckTimeMillis the maximum time from accepting a request to the end of its check, 0 for no limit
+   */
+  RequestScheduler(LanguageToolHttpHandler handler, int shortLaneThreads, int longLaneThreads, int batchThreads, int queueSize,
+                   int longRequestThreshold, long maxCheckTimeMillis) {
+    if (shortLaneThreads <= 0 || longLaneThreads <= 0 || queueSize <= 0) {
+      throw new IllegalArgumentException("Threads and queue size must be > 0: " + shortLaneThreads + ", " + longLaneThreads + ", " + queueSize);
+    }
+    if (batchThreads < 0) {
+      throw new IllegalArgumentException("Batch threads must be >= 0: " + batchThreads);
+    }
+    this.handler = handler;
+    this.shortLane = createLane("short", shortLaneThreads, new ArrayBlockingQueue<Runnable>(queueSize));
+    this.longLane = createLane("long", longLaneThreads, new ArrayBlockingQueue<Runnable>(queueSize));
+    // no queue: helping only makes sense if a thread is free now
+    this.batchHelpers = batchThreads > 0 ? createLane("batch", batchThreads, new SynchronousQueue<Runnable>()) : null;
+    this.longRequestThreshold = longRequestThreshold;
+    this.maxCheckTimeMillis = maxCheckTimeMillis;
+  }
+
+  private static ThreadPoolExecutor createLane(final String name, int threads, BlockingQueue<Runnable> queue) {
+    final AtomicInteger threadCount = new AtomicInteger();
+    return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS, queue,
+      new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+          return new Thread(runnable, "lt-server-" + name + "-" + threadCount.incrementAndGet());
+        }
+      }, new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  @Override
+  public void handle(final HttpExchange httpExchange) throws IOException {
+    final long deadline = maxCheckTimeMillis > 0 ? System.currentTimeMillis() + maxCheckTimeMillis : Long.MAX_VALUE;
+    final boolean admitted = submit(getRequestSize(httpExchange), new Runnable() {
+      @Override
+      public void run() {
+        try {
+          handler.handle(httpExchange, deadline);
+        } catch (Exception e) {
+          e.printStackTrace();
+          httpExchange.close();
+        }
+      }
+    });
+    if (!admitted) {
+      try {
+        final byte[] response = "Error: Server overloaded, please try again later".getBytes(ENCODING);
+        httpExchange.getResponseHeaders().set("Retry-After", "1");
+        httpExchange.sendResponseHeaders(HttpURLConnection.HTTP_UNAVAILABLE, response.length);
+        httpExchange.getResponseBody().write(response);
+      } finally {
+        httpExchange.close();
+      }
+    }
+  }
+
+  /**
+   * Run the task in the lane for the request size.
+   * @return {@code false} if the request has been rejected because the queue of the lane is full
+   */
+  boolean submit(long requestSize, Runnable task) {
+    final ThreadPoolExecutor lane = requestSize > longRequestThreshold ? longLane : shortLane;
+    try {
+      lane.execute(task);
+      return true;
+    } catch (RejectedExecutionException e) {
+      rejected.incrementAndGet();
+      return false;
+    }
+  }
+
+  // the size of the query, for requests without a known size we assume the worst:
+  private long getRequestSize(HttpExchange httpExchange) {
+    if ("post".equalsIgnoreCase(httpExchange.getRequestMethod())) {
+      final String contentLength = httpExchange.getRequestHeaders().getFirst("Content-Length");
+      try {
+        return contentLength != null ? Long.parseLong(contentLength.trim()) : Long.MAX_VALUE;
+      } catch (NumberFormatException e) {
+        return Long.MAX_VALUE;
+      }
+    }
+    final String query = httpExchange.getRequestURI().getRawQuery();
+    return query != null ? query.length() : 0;
+  }
+
+  /**
+   * The threads that help to check the texts of batch requests. They are separate from the lanes,
+   * so batch requests cannot take the threads of other requests. Tasks are rejected with a
+   * {@link RejectedExecutionException} if all threads are busy.
+   * @return the executor or {@code null} if there are no such threads
+   */
+  Executor getBatchExecutor() {
+    return batchHelpers;
+  }
+
+  /**
+   * The number of requests rejected because a queue was full.
+   */
+  long getRejected() {
+    return rejected.get();
+  }
+
+  /**
+   * Stop the threads, interrupting running requests.
+   */
+  void shutdown() {
+    shortLane.shutdownNow();
+    longLane.shutdownNow();
+    if (batchHelpers != null) {
+      batchHelpers.shutdownNow();
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "queued short:" + shortLane.getQueue().size() + ", long:" + longLane.getQueue().size() + ", rejected:" + rejected.get();
+  }
+
+}
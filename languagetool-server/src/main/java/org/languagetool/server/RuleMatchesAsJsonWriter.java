@@ -0,0 +1,265 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import org.languagetool.JLanguageTool;
+import org.languagetool.Language;
+import org.languagetool.rules.Category;
+import org.languagetool.rules.ITSIssueType;
+import org.languagetool.rules.Rule;
+import org.languagetool.rules.RuleMatch;
+import org.languagetool.rules.patterns.PatternRule;
+import org.languagetool.tools.ContextTools;
+import org.languagetool.tools.StringTools;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes rule matches in a compact JSON format, match by match, so the output
+ * for big texts doesn't need to be kept in memory completely. The format looks like this
+ * (without the line breaks):
+ * <pre>
+ * {"software":{"name":"LanguageTool","version":"2.5","buildDate":"..."},
+ *  "language":{"code":"en-US","name":"English (US)"},
+ *  "matches":[{"message":"...","shortMessage":"...","replacements":["..."],
+ *    "offset":8,"length":2,"fromY":0,"fromX":8,"toY":0,"toX":10,
+ *    "context":{"text":"...","offset":8,"length":2},
+ *    "rule":{"id":"...","subId":"1","description":"...","category":"...","issueType":"...","url":"..."}}]}
+ * </pre>
+ * Keys without a value (e.g. a rule without URL) are left out.
+ * @since 2.5
+ */
+class RuleMatchesAsJsonWriter {
+
+  private static final String START_MARKER = "__languagetool_start_marker";
+
+  private final int contextSize;
+
+  RuleMatchesAsJsonWriter(int contextSize) {
+    this.contextSize = contextSize;
+  }
+
+  /**
+   * @param out where to write the JSON to, will not be closed
+   * @param text the original text that was checked, used to get the context of the matches
+   * @param lang the language of the text (might be null)
+   */
+  void write(Writer out, List<RuleMatch> matches, String text, Language lang) throws IOException {
+    final StringBuilder sb = new StringBuilder(200);
+    sb.append('{');
+    appendSoftware(sb);
+    if (lang != null) {
+      sb.append(',');
+      appendLanguage(sb, lang);
+    }
+    sb.append(",\"matches\":[");
+    out.append(sb);
+    writeMatches(out, sb, matches, text);
+    out.write("]}");
+  }
+
+  /**
+   * Start the output of a batch check, see {@link #appendBatchResult(StringBuilder, String, List, String, Language)}.
+   * The format looks like this (without the line breaks):
+   * <pre>
+   * {"software":{...},
+   *  "results":[{"id":"1","language":{...},"matches":[...]},{"id":"2","error":"..."}]}
+   * </pre>
+   */
+  void writeBatchStart(Writer out) throws IOException {
+    final StringBuilder sb = new StringBuilder(100);
+    sb.append('{');
+    appendSoftware(sb);
+    sb.append(",\"results\":[");
+    out.append(sb);
+  }
+
+  /**
+   * Add the matches of one text of a batch check, without a leading comma.
+   * @param id the id of the text, as given by the client
+   */
+  void appendBatchResult(StringBuilder sb, String id, List<RuleMatch> matches, String text, Language lang) {
+    sb.append("{\"id\":");
+    appendString(sb, id);
+    sb.append(',');
+    appendLanguage(sb, lang);
+    sb.append(",\"matches\":[");
+    final ContextTools contextTools = createContextTools();
+    for (int i = 0; i < matches.size(); i++) {
+      if (i > 0) {
+        sb.append(',');
+      }
+      final RuleMatch match = matches.get(i);
+      appendMatch(sb, match, contextTools.getContext(match.getFromPos(), match.getToPos(), text));
+    }
+    sb.append("]}");
+  }
+
+  /**
+   * Add the error for one text of a batch check that could not be checked, without a leading comma.
+   * @param id the id of the text, as given by the client
+   */
+  void appendBatchError(StringBuilder sb, String id, String message) {
+    sb.append("{\"id\":");
+    appendString(sb, id);
+    sb.append(",\"error\":");
+    appendString(sb, message);
+    sb.append('}');
+  }
+
+  void writeBatchEnd(Writer out) throws IOException {
+    out.write("]}");
+  }
+
+  private void writeMatches(Writer out, StringBuilder sb, List<RuleMatch> matches, String text) throws IOException {
+    final ContextTools contextTools = createContextTools();
+    boolean first = true;
+    for (RuleMatch match : matches) {
+      sb.setLength(0);
+      if (!first) {
+        sb.append(',');
+      }
+      first = false;
+      appendMatch(sb, match, contextTools.getContext(match.getFromPos(), match.getToPos(), text));
+      out.append(sb);
+    }
+  }
+
+  private ContextTools createContextTools() {
+    final ContextTools contextTools = new ContextTools();
+    contextTools.setEscapeHtml(false);
+    contextTools.setContextSize(contextSize);
+    contextTools.setErrorMarkerStart(START_MARKER);
+    contextTools.setErrorMarkerEnd("");
+    return contextTools;
+  }
+
+  private void appendSoftware(StringBuilder sb) {
+    sb.append("\"software\":{\"name\":\"LanguageTool\",\"version\":");
+    appendString(sb, JLanguageTool.VERSION);
+    sb.append(",\"buildDate\":");
+    appendString(sb, JLanguageTool.BUILD_DATE);
+    sb.append('}');
+  }
+
+  private void appendLanguage(StringBuilder sb, Language lang) {
+    sb.append("\"language\":{\"code\":");
+    appendString(sb, lang.getShortNameWithCountryAndVariant());
+    sb.append(",\"name\":");
+    appendString(sb, lang.getName());
+    sb.append('}');
+  }
+
+  private void appendMatch(StringBuilder sb, RuleMatch match, String context) {
+    sb.append("{\"message\":");
+    appendString(sb, StringTools.removeSuggestionMarkup(match.getMessage()));
+    if (match.getShortMessage() != null && !match.getShortMessage().isEmpty()) {
+      sb.append(",\"shortMessage\":");
+      appendString(sb, match.getShortMessage());
+    }
+    sb.append(",\"replacements\":[");
+    final List<String> replacements = match.getSuggestedReplacements();
+    for (int i = 0; i < replacements.size(); i++) {
+      if (i > 0) {
+        sb.append(',');
+      }
+      appendString(sb, replacements.get(i));
+    }
+    sb.append("],\"offset\":").append(match.getFromPos())
+      .append(",\"length\":").append(match.getToPos() - match.getFromPos())
+      .append(",\"fromY\":").append(match.getLine())
+      .append(",\"fromX\":").append(match.getColumn() - 1)
+      .append(",\"toY\":").append(match.getEndLine())
+      .append(",\"toX\":").append(match.getEndColumn() - 1);
+    final int contextOffset = context.indexOf(START_MARKER);
+    sb.append(",\"context\":{\"text\":");
+    appendString(sb, contextOffset == -1 ? context : context.substring(0, contextOffset) + context.substring(contextOffset + START_MARKER.length()));
+    sb.append(",\"offset\":").append(contextOffset)
+      .append(",\"length\":").append(match.getToPos() - match.getFromPos())
+      .append('}');
+    appendRule(sb, match.getRule());
+    sb.append('}');
+  }
+
+  private void appendRule(StringBuilder sb, Rule rule) {
+    sb.append(",\"rule\":{\"id\":");
+    appendString(sb, rule.getId());
+    if (rule instanceof PatternRule && ((PatternRule) rule).getSubId() != null) {
+      sb.append(",\"subId\":");
+      appendString(sb, ((PatternRule) rule).getSubId());
+    }
+    sb.append(",\"description\":");
+    appendString(sb, rule.getDescription());
+    final Category category = rule.getCategory();
+    if (category != null) {
+      sb.append(",\"category\":");
+      appendString(sb, category.getName());
+    }
+    final ITSIssueType type = rule.getLocQualityIssueType();
+    if (type != null) {
+      sb.append(",\"issueType\":");
+      appendString(sb, type.toString());
+    }
+    if (rule.getUrl() != null) {
+      sb.append(",\"url\":");
+      appendString(sb, rule.getUrl().toString());
+    }
+    sb.append('}');
+  }
+
+  static void appendString(StringBuilder sb, String s) {
+    if (s == null) {
+      sb.append("null");
+      return;
+    }
+    sb.append('"');
+    final int n = s.length();
+    for (int i = 0; i < n; i++) {
+      final char c = s.charAt(i);
+      switch (c) {
+        case '"':
+          sb.append("\\\"");
+          break;
+        case '\\':
+          sb.append("\\\\");
+          break;
+        case '\n':
+          sb.append("\\n");
+          break;
+        case '\r':
+          sb.append("\\r");
+          break;
+        case '\t':
+          sb.append("\\t");
+          break;
+        default:
+          if (c < 0x20) {
+            sb.append(String.format("\\u%04x", (int) c));
+          } else {
+            sb.append(c);
+          }
+          break;
+      }
+    }
+    sb.append('"');
+  }
+
+}
@@ -20,9 +20,13 @@ package org.languagetool.server;
 
 import com.sun.net.httpserver.HttpServer;
 import org.languagetool.JLanguageTool;
+import org.languagetool.Language;
+import org.languagetool.rules.spelling.hunspell.Hunspell;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import static org.languagetool.server.HTTPServerConfig.DEFAULT_PORT;
@@ -46,6 +50,9 @@ abstract class Server {
   protected int port;
   protected String host;
   protected HttpServer server;
+  protected LanguageToolHttpHandler httpHandler;
+  protected RequestScheduler scheduler;
+  protected List<Language> warmUpLanguages = new ArrayList<>();
 
   private boolean isRunning;
 
@@ -56,6 +63,13 @@ abstract class Server {
     final String hostName = host != null ? host : "localhost";
     System.out.println("Starting LanguageTool " + JLanguageTool.VERSION +
             " (build date: " + JLanguageTool.BUILD_DATE + ") server on " + getProtocol() + "://" + hostName + ":" + port  + "...");
+    if (httpHandler != null && !warmUpLanguages.isEmpty()) {
+      try {
+        httpHandler.warmUp(warmUpLanguages);
+      } catch (Exception e) {
+        throw new RuntimeException("Could not warm up server for languages " + warmUpLanguages, e);
+      }
+    }
     server.start();
     isRunning = true;
     System.out.println("Server started");
@@ -71,6 +85,35 @@ abstract class Server {
       isRunning = false;
       System.out.println("Server stopped");
     }
+    if (scheduler != null) {
+      scheduler.shutdown();
+    }
+  }
+
+  /**
+   * Apply the settings of the configuration that are not specific to this server but
+   * affect the whole JVM. They are only changed if they are configured explicitly.
+   */
+  protected static void configureJvmWideSettings(HTTPServerConfig config) {
+    if (config.getHunspellHandles() > 0) {
+      // the instances of a language share the Hunspell dictionary:
+      Hunspell.setMaxHandlesPerDictionary(config.getHunspellHandles());
+    }
+  }
+
+  /**
+   * Let the {@link #httpHandler} handle all requests, admitted by a {@link RequestScheduler}.
+   * The threads of the server's executor only read the request headers and pass the
+   * request on to the scheduler, the checks run on the scheduler's threads. The texts
+   * of batch requests are checked by the thread of the request and the scheduler's batch threads.
+   */
+  protected void createContext(HTTPServerConfig config) {
+    scheduler = new RequestScheduler(httpHandler, config.getShortLaneThreads(), config.getLongLaneThreads(),
+            config.getBatchThreads(), config.getQueueSize(), config.getLongRequestThreshold(), config.getMaxCheckTimeMillis());
+    httpHandler.setBatchExecutor(scheduler.getBatchExecutor());
+    httpHandler.setMaxBatchSize(config.getMaxBatchSize());
+    httpHandler.setMaxBatchLength(config.getMaxBatchLength());
+    server.createContext("/", scheduler);
   }
 
   /**
@@ -92,6 +135,32 @@ abstract class Server {
     System.out.println("  --allow-origin ORIGIN  set the Access-Control-Allow-Origin header in the HTTP response,");
     System.out.println("                         used for direct (non-proxy) JavaScript-based access from browsers;");
     System.out.println("                         example: --allow-origin \"*\"");
+    System.out.println("  --pool-size N  maximum number of checker instances kept per language and rule configuration,");
+    System.out.println("                 defaults to " + THREAD_POOL_SIZE);
+    System.out.println("  --warm-up LANGS  comma-separated language codes (e.g. 'en-US,de-DE') for which a checker");
+    System.out.println("                   instance is prepared on start-up, so first requests don't need to wait");
+    System.out.println("  --profile      record the time spent per rule and per processing stage, the statistics");
+    System.out.println("                 can be requested at the /Profile path");
+    System.out.println("  --queue-size N  maximum number of requests waiting to be checked, per lane (short and long");
+    System.out.println("                  texts), more requests are rejected with '503 Service Unavailable';");
+    System.out.println("                  defaults to " + HTTPServerConfig.DEFAULT_QUEUE_SIZE);
+    System.out.println("  --long-request-threshold N  requests bigger than N bytes go to the lane for long texts,");
+    System.out.println("                              defaults to " + HTTPServerConfig.DEFAULT_LONG_REQUEST_THRESHOLD);
+    System.out.println("  --max-check-time MS  requests not done after this many milliseconds (including the time");
+    System.out.println("                       waiting in the queue) are stopped, defaults to 0 (no limit)");
+    System.out.println("  --short-lane-threads N  number of threads that check requests up to the long request");
+    System.out.println("                          threshold, defaults to " + HTTPServerConfig.DEFAULT_SHORT_LANE_THREADS);
+    System.out.println("  --long-lane-threads N  number of threads that check bigger requests, defaults to "
+            + HTTPServerConfig.DEFAULT_LONG_LANE_THREADS);
+    System.out.println("  --batch-threads N  number of threads that help to check the texts of /Batch requests,");
+    System.out.println("                     defaults to " + HTTPServerConfig.DEFAULT_BATCH_THREADS);
+    System.out.println("  --max-batch-size N  maximum number of texts per /Batch request, bigger requests are");
+    System.out.println("                      rejected with '413 Request Entity Too Large'; defaults to "
+            + HTTPServerConfig.DEFAULT_MAX_BATCH_SIZE);
+    System.out.println("  --max-batch-length N  maximum number of characters of all texts of a /Batch request,");
+    System.out.println("                        defaults to " + HTTPServerConfig.DEFAULT_MAX_BATCH_LENGTH);
+    System.out.println("  --hunspell-handles N  number of threads that can use a Hunspell dictionary at the same time,");
+    System.out.println("                        each one needs the memory of the dictionary; defaults to 1");
   }
 
 }
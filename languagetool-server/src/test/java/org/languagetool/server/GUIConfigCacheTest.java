@@ -0,0 +1,66 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import org.junit.Test;
+import org.languagetool.language.Demo;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.Assert.assertThat;
+
+public class GUIConfigCacheTest {
+
+  @Test
+  public void testReloadOnlyWhenChanged() throws Exception {
+    final File configFile = File.createTempFile("languagetool", ".properties");
+    try {
+      final Demo demo = new Demo();
+      write(configFile, "useGUIConfig=true\ndisabledRules.xx-XX=RULE1\n");
+      final GUIConfigCache cache = new GUIConfigCache(configFile);
+      final LanguageToolHttpHandler.GUIConfig config1 = cache.get(demo);
+      assertThat(config1.disabledRuleIds.contains("RULE1"), is(true));
+      assertThat(cache.get(demo), sameInstance(config1));
+
+      write(configFile, "useGUIConfig=true\ndisabledRules.xx-XX=RULE2\n");
+      configFile.setLastModified(configFile.lastModified() + 2000);
+      final LanguageToolHttpHandler.GUIConfig config2 = cache.get(demo);
+      assertThat(config2.disabledRuleIds.contains("RULE1"), is(false));
+      assertThat(config2.disabledRuleIds.contains("RULE2"), is(true));
+
+      write(configFile, "useGUIConfig=false\n");
+      assertThat(cache.get(demo), nullValue());
+    } finally {
+      configFile.delete();
+    }
+  }
+
+  private void write(File file, String content) throws IOException {
+    try (FileOutputStream out = new FileOutputStream(file)) {
+      out.write(content.getBytes(StandardCharsets.ISO_8859_1));
+    }
+  }
+
+}
@@ -48,4 +48,70 @@ public class HTTPServerConfigTest {
     assertThat(config4.isVerbose(), is(false));
   }
 
+  @Test
+  public void testPoolArgumentParsing() {
+    final HTTPServerConfig config1 = new HTTPServerConfig(new String[]{});
+    assertThat(config1.getPoolSize(), is(Server.THREAD_POOL_SIZE));
+    assertThat(config1.getWarmUpLanguages().size(), is(0));
+
+    final HTTPServerConfig config2 = new HTTPServerConfig("--pool-size 3 --warm-up xx".split(" "));
+    assertThat(config2.getPoolSize(), is(3));
+    assertThat(config2.getWarmUpLanguages().size(), is(1));
+    assertThat(config2.getWarmUpLanguages().get(0).getShortName(), is("xx"));
+  }
+
+  @Test
+  public void testProfileArgumentParsing() {
+    assertThat(new HTTPServerConfig(new String[]{}).isProfile(), is(false));
+    assertThat(new HTTPServerConfig("--port 80 --profile".split(" ")).isProfile(), is(true));
+  }
+
+  @Test
+  public void testSchedulerArgumentParsing() {
+    final HTTPServerConfig config1 = new HTTPServerConfig(new String[]{});
+    assertThat(config1.getQueueSize(), is(HTTPServerConfig.DEFAULT_QUEUE_SIZE));
+    assertThat(config1.getLongRequestThreshold(), is(HTTPServerConfig.DEFAULT_LONG_REQUEST_THRESHOLD));
+    assertThat(config1.getMaxCheckTimeMillis(), is(0L));
+
+    final HTTPServerConfig config2 = new HTTPServerConfig("--queue-size 5 --long-request-threshold 100 --max-check-time 2000".split(" "));
+    assertThat(config2.getQueueSize(), is(5));
+    assertThat(config2.getLongRequestThreshold(), is(100));
+    assertThat(config2.getMaxCheckTimeMillis(), is(2000L));
+  }
+
+  @Test
+  public void testLaneArgumentParsing() {
+    final HTTPServerConfig config1 = new HTTPServerConfig(new String[]{});
+    assertThat(config1.getShortLaneThreads(), is(HTTPServerConfig.DEFAULT_SHORT_LANE_THREADS));
+    assertThat(config1.getLongLaneThreads(), is(HTTPServerConfig.DEFAULT_LONG_LANE_THREADS));
+
+    final HTTPServerConfig config2 = new HTTPServerConfig("--short-lane-threads 12 --long-lane-threads 3".split(" "));
+    assertThat(config2.getShortLaneThreads(), is(12));
+    assertThat(config2.getLongLaneThreads(), is(3));
+  }
+
+  @Test
+  public void testBatchArgumentParsing() {
+    final HTTPServerConfig config1 = new HTTPServerConfig(new String[]{});
+    assertThat(config1.getBatchThreads(), is(HTTPServerConfig.DEFAULT_BATCH_THREADS));
+    assertThat(config1.getMaxBatchSize(), is(HTTPServerConfig.DEFAULT_MAX_BATCH_SIZE));
+    assertThat(config1.getMaxBatchLength(), is(HTTPServerConfig.DEFAULT_MAX_BATCH_LENGTH));
+
+    final HTTPServerConfig config2 = new HTTPServerConfig("--batch-threads 0 --max-batch-size 5 --max-batch-length 1000".split(" "));
+    assertThat(config2.getBatchThreads(), is(0));
+    assertThat(config2.getMaxBatchSize(), is(5));
+    assertThat(config2.getMaxBatchLength(), is(1000L));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidLaneThreads() {
+    new HTTPServerConfig("--long-lane-threads 0".split(" "));
+  }
+
+  @Test
+  public void testHunspellArgumentParsing() {
+    assertThat(new HTTPServerConfig(new String[]{}).getHunspellHandles(), is(0));
+    assertThat(new HTTPServerConfig("--hunspell-handles 4".split(" ")).getHunspellHandles(), is(4));
+  }
+
 }
@@ -0,0 +1,49 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LanguageToolHttpHandlerTest {
+
+  @Test
+  public void testAcceptsGzip() {
+    assertTrue(LanguageToolHttpHandler.acceptsGzip("gzip"));
+    assertTrue(LanguageToolHttpHandler.acceptsGzip("gzip, deflate"));
+    assertTrue(LanguageToolHttpHandler.acceptsGzip("deflate, GZIP;q=0.5"));
+    assertTrue(LanguageToolHttpHandler.acceptsGzip("x-gzip"));
+    assertTrue(LanguageToolHttpHandler.acceptsGzip("*"));
+    assertTrue(LanguageToolHttpHandler.acceptsGzip("deflate, *;q=0.1"));
+
+    assertFalse(LanguageToolHttpHandler.acceptsGzip(null));
+    assertFalse(LanguageToolHttpHandler.acceptsGzip(""));
+    assertFalse(LanguageToolHttpHandler.acceptsGzip("deflate"));
+    assertFalse(LanguageToolHttpHandler.acceptsGzip("identity"));
+    assertFalse(LanguageToolHttpHandler.acceptsGzip("gzip;q=0"));
+    assertFalse(LanguageToolHttpHandler.acceptsGzip("gzip; q=0.0, deflate"));
+    assertFalse(LanguageToolHttpHandler.acceptsGzip("*, gzip;q=0"));
+    assertFalse(LanguageToolHttpHandler.acceptsGzip("*;q=0"));
+    assertFalse(LanguageToolHttpHandler.acceptsGzip("gzip;q=abc"));
+    assertFalse(LanguageToolHttpHandler.acceptsGzip("gzipped"));
+  }
+
+}
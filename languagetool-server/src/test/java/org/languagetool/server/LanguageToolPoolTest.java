@@ -0,0 +1,176 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import org.junit.Test;
+import org.languagetool.CheckCancelledException;
+import org.languagetool.JLanguageTool;
+import org.languagetool.language.Demo;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNot.not;
+import static org.hamcrest.core.IsSame.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class LanguageToolPoolTest {
+
+  private final Callable<JLanguageTool> factory = new Callable<JLanguageTool>() {
+    @Override
+    public JLanguageTool call() throws Exception {
+      return new JLanguageTool(new Demo());
+    }
+  };
+
+  @Test
+  public void testBorrowAndGiveBack() throws Exception {
+    final LanguageToolPool pool = new LanguageToolPool(2);
+    final JLanguageTool lt1 = pool.borrow("key1", factory);
+    assertThat(pool.getMisses(), is(1L));
+    final JLanguageTool lt2 = pool.borrow("key1", factory);
+    assertThat(pool.getMisses(), is(2L));
+    assertThat(lt1, not(sameInstance(lt2)));
+    pool.giveBack("key1", lt1);
+    assertThat(pool.borrow("key1", factory), sameInstance(lt1));
+    assertThat(pool.getHits(), is(1L));
+    // a different key must not get the instance of another key:
+    final JLanguageTool otherKeyLt = pool.borrow("key2", factory);
+    assertThat(otherKeyLt, not(sameInstance(lt2)));
+    assertThat(pool.getMisses(), is(3L));
+    assertThat(pool.getWaits(), is(0L));
+  }
+
+  @Test
+  public void testWaitWhenExhausted() throws Exception {
+    final LanguageToolPool pool = new LanguageToolPool(1);
+    final JLanguageTool lt = pool.borrow("key", factory);
+    final Thread thread = new Thread() {
+      @Override
+      public void run() {
+        try {
+          Thread.sleep(100);
+        } catch (InterruptedException e) {
+          throw new RuntimeException(e);
+        }
+        pool.giveBack("key", lt);
+      }
+    };
+    thread.start();
+    assertThat(pool.borrow("key", factory), sameInstance(lt));
+    assertThat(pool.getMisses(), is(1L));
+    assertThat(pool.getWaits(), is(1L));
+    thread.join();
+  }
+
+  @Test
+  public void testWaitTimesOut() throws Exception {
+    final LanguageToolPool pool = new LanguageToolPool(1);
+    pool.borrow("key", factory);
+    try {
+      pool.borrow("key", factory, System.currentTimeMillis() + 50);
+      fail();
+    } catch (CheckCancelledException expected) {}
+    assertThat(pool.getWaits(), is(1L));
+  }
+
+  @Test
+  public void testCreateAfterFailedFactory() throws Exception {
+    final LanguageToolPool pool = new LanguageToolPool(1);
+    try {
+      pool.borrow("key", new Callable<JLanguageTool>() {
+        @Override
+        public JLanguageTool call() throws Exception {
+          throw new RuntimeException("test failure");
+        }
+      });
+      fail();
+    } catch (RuntimeException expected) {}
+    // the failed creation must not use up the only slot:
+    assertThat(pool.borrow("key", factory, System.currentTimeMillis() + 1000), is(not((JLanguageTool) null)));
+  }
+
+  @Test
+  public void testEviction() throws Exception {
+    final LanguageToolPool pool = new LanguageToolPool(1, 2);
+    final JLanguageTool lt1 = pool.borrow("key1", factory);
+    pool.giveBack("key1", lt1);
+    pool.giveBack("key2", pool.borrow("key2", factory));
+    assertThat(pool.borrow("key1", factory), sameInstance(lt1));  // makes key1 the most recently used key
+    pool.giveBack("key1", lt1);
+    pool.borrow("key3", factory);  // evicts key2
+    assertThat(pool.getEvictions(), is(1L));
+    assertThat(pool.borrow("key1", factory), sameInstance(lt1));
+    pool.borrow("key2", factory);
+    assertThat(pool.getMisses(), is(4L));
+  }
+
+  @Test
+  public void testEvictionWhileBorrowed() throws Exception {
+    final LanguageToolPool pool = new LanguageToolPool(1, 1);
+    final JLanguageTool lt1 = pool.borrow("key1", factory);
+    final ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      // waits without a deadline, as key1 has only one instance:
+      final Future<JLanguageTool> waiter = executor.submit(new Callable<JLanguageTool>() {
+        @Override
+        public JLanguageTool call() throws Exception {
+          return pool.borrow("key1", factory);
+        }
+      });
+      while (pool.getWaits() == 0) {
+        Thread.yield();
+      }
+      pool.giveBack("key2", pool.borrow("key2", factory));  // evicts key1
+      assertThat(pool.getEvictions(), is(1L));
+      // the borrowed instance still counts for key1, so no second one is created:
+      try {
+        pool.borrow("key1", factory, System.currentTimeMillis() + 50);
+        fail();
+      } catch (CheckCancelledException expected) {}
+      pool.giveBack("key1", lt1);
+      assertThat(waiter.get(5, TimeUnit.SECONDS), sameInstance(lt1));
+      assertThat(pool.getMisses(), is(2L));
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testAdd() throws Exception {
+    final LanguageToolPool pool = new LanguageToolPool(1);
+    final JLanguageTool lt = factory.call();
+    pool.add("key", lt);
+    pool.add("key", factory.call());  // ignored, pool is full
+    assertThat(pool.borrow("key", factory), sameInstance(lt));
+    assertThat(pool.getHits(), is(1L));
+    assertThat(pool.getMisses(), is(0L));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSize() {
+    new LanguageToolPool(0);
+  }
+
+}
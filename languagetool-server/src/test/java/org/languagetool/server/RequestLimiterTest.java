@@ -20,14 +20,20 @@ package org.languagetool.server;
 
 import org.junit.Test;
 
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 
 public class RequestLimiterTest {
-  
+
+  private final FakeClock clock = new FakeClock();
+
   @Test
   public void testIsAccessOkay() throws Exception {
-    final RequestLimiter limiter = new RequestLimiter(3, 2);
+    final RequestLimiter limiter = new RequestLimiter(3, 0, 2, clock);
     final String firstIp = "192.168.10.1";
     final String secondIp = "192.168.10.2";
     assertTrue(limiter.isAccessOkay(firstIp));
@@ -35,7 +41,7 @@ public class RequestLimiterTest {
     assertTrue(limiter.isAccessOkay(firstIp));
     assertFalse(limiter.isAccessOkay(firstIp));
     assertTrue(limiter.isAccessOkay(secondIp));
-    Thread.sleep(2500);
+    clock.advance(2500);
     assertTrue(limiter.isAccessOkay(firstIp));
     assertTrue(limiter.isAccessOkay(secondIp));
     assertTrue(limiter.isAccessOkay(secondIp));
@@ -43,4 +49,51 @@ public class RequestLimiterTest {
     assertFalse(limiter.isAccessOkay(secondIp));
   }
   
+  @Test
+  public void testCharacterLimit() throws Exception {
+    final RequestLimiter limiter = new RequestLimiter(10, 100, 60, clock);
+    final String ip = "192.168.10.1";
+    assertTrue(limiter.isAccessOkay(ip, 60));
+    assertFalse(limiter.isAccessOkay(ip, 60));  // denied requests don't count...
+    assertTrue(limiter.isAccessOkay(ip, 40));   // ...so this one still fits
+    assertFalse(limiter.isAccessOkay(ip, 1));
+    assertTrue(limiter.isAccessOkay("192.168.10.2", 100));
+  }
+
+  @Test
+  public void testIdleClientsAreRemoved() throws Exception {
+    final RequestLimiter limiter = new RequestLimiter(1, 0, 1, clock);
+    assertTrue(limiter.isAccessOkay("192.168.10.1"));
+    assertTrue(limiter.isAccessOkay("192.168.10.2"));
+    assertThat(limiter.getClientCount(), is(2));
+    clock.advance(1100);
+    assertTrue(limiter.isAccessOkay("192.168.10.3"));
+    assertThat(limiter.getClientCount(), is(1));
+  }
+
+  @Test
+  public void testPartialRefill() throws Exception {
+    final RequestLimiter limiter = new RequestLimiter(2, 0, 10, clock);
+    final String ip = "192.168.10.1";
+    assertTrue(limiter.isAccessOkay(ip));
+    assertTrue(limiter.isAccessOkay(ip));
+    assertFalse(limiter.isAccessOkay(ip));
+    clock.advance(4000);  // 0.8 requests
+    assertFalse(limiter.isAccessOkay(ip));
+    clock.advance(1500);  // 1.1 requests
+    assertTrue(limiter.isAccessOkay(ip));
+    assertFalse(limiter.isAccessOkay(ip));
+  }
+
+  private static class FakeClock implements RequestLimiter.Clock {
+    private long nanoTime = 1000;
+    @Override
+    public long nanoTime() {
+      return nanoTime;
+    }
+    void advance(long millis) {
+      nanoTime += TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+  }
+
 }
@@ -0,0 +1,106 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+public class RequestSchedulerTest {
+
+  @Test
+  public void testLanesAndRejection() throws Exception {
+    final RequestScheduler scheduler = new RequestScheduler(null, 1, 1, 1, 1, 100, 0);
+    try {
+      final CountDownLatch release = new CountDownLatch(1);
+      final CountDownLatch longStarted = new CountDownLatch(1);
+      // the long lane is busy with one request and has one more waiting, so it's full:
+      assertThat(scheduler.submit(1000, new BlockingTask(longStarted, release)), is(true));
+      assertThat(longStarted.await(5, TimeUnit.SECONDS), is(true));
+      assertThat(scheduler.submit(1000, new BlockingTask(new CountDownLatch(1), release)), is(true));
+      assertThat(scheduler.submit(1000, new BlockingTask(new CountDownLatch(1), release)), is(false));
+      assertThat(scheduler.getRejected(), is(1L));
+      // short requests are not affected by the long ones:
+      final CountDownLatch shortDone = new CountDownLatch(1);
+      assertThat(scheduler.submit(10, new Runnable() {
+        @Override
+        public void run() {
+          shortDone.countDown();
+        }
+      }), is(true));
+      assertThat(shortDone.await(5, TimeUnit.SECONDS), is(true));
+      release.countDown();
+    } finally {
+      scheduler.shutdown();
+    }
+  }
+
+  @Test
+  public void testBatchExecutor() throws Exception {
+    final RequestScheduler scheduler = new RequestScheduler(null, 1, 1, 1, 1, 100, 0);
+    try {
+      final CountDownLatch release = new CountDownLatch(1);
+      final CountDownLatch started = new CountDownLatch(1);
+      // the batch threads don't queue tasks, they only take them when they are free:
+      scheduler.getBatchExecutor().execute(new BlockingTask(started, release));
+      assertThat(started.await(5, TimeUnit.SECONDS), is(true));
+      try {
+        scheduler.getBatchExecutor().execute(new BlockingTask(new CountDownLatch(1), release));
+        fail();
+      } catch (RejectedExecutionException expected) {}
+      // the lanes are not affected:
+      assertThat(scheduler.submit(10, new BlockingTask(new CountDownLatch(1), release)), is(true));
+      release.countDown();
+    } finally {
+      scheduler.shutdown();
+    }
+    assertNull(new RequestScheduler(null, 1, 1, 0, 1, 100, 0).getBatchExecutor());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidQueueSize() {
+    new RequestScheduler(null, 1, 1, 1, 0, 100, 0);
+  }
+
+  private static class BlockingTask implements Runnable {
+    private final CountDownLatch started;
+    private final CountDownLatch release;
+    BlockingTask(CountDownLatch started, CountDownLatch release) {
+      this.started = started;
+      this.release = release;
+    }
+    @Override
+    public void run() {
+      started.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+}
@@ -0,0 +1,82 @@
+/* LanguageTool, a natural language style checker
+ * Copyright (C) 2014 Daniel Naber (http://www.danielnaber.de)
+ *
+ * This library is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 2.1 of the License, or (at your option) any later version.
+ *
+ * This library is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with this library; if not, write to the Free Software
+ * Foundation, Inc., 51 Franklin St, Fifth Floor, Boston, MA  02110-1301
+ * USA
+ */
+package org.languagetool.server;
+
+import org.junit.Test;
+import org.languagetool.JLanguageTool;
+import org.languagetool.Language;
+import org.languagetool.rules.Category;
+import org.languagetool.rules.RuleMatch;
+import org.languagetool.rules.patterns.Element;
+import org.languagetool.rules.patterns.PatternRule;
+
+import java.io.StringWriter;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+public class RuleMatchesAsJsonWriterTest {
+
+  @Test
+  public void testWrite() throws Exception {
+    final List<Element> elements = Collections.emptyList();
+    final PatternRule rule = new PatternRule("MY_ID", Language.DEMO, elements, "my \"description\"", "my message", "short message");
+    rule.setCategory(new Category("MyCategory"));
+    final RuleMatch match = new RuleMatch(rule, 8, 10, "Did you mean <suggestion>a</suggestion>?\nReally?");
+    match.setLine(1);
+    match.setEndLine(1);
+    match.setColumn(9);
+    match.setEndColumn(11);
+    final StringWriter out = new StringWriter();
+    new RuleMatchesAsJsonWriter(5).write(out, Collections.singletonList(match), "This is an test sentence.", Language.DEMO);
+    assertThat(out.toString(), is("{\"software\":{\"name\":\"LanguageTool\",\"version\":\"" + JLanguageTool.VERSION + "\"," +
+            "\"buildDate\":" + (JLanguageTool.BUILD_DATE == null ? "null" : "\"" + JLanguageTool.BUILD_DATE + "\"") + "}," +
+            "\"language\":{\"code\":\"" + Language.DEMO.getShortNameWithCountryAndVariant() + "\",\"name\":\"Testlanguage\"}," +
+            "\"matches\":[{\"message\":\"Did you mean 'a'?\\nReally?\",\"replacements\":[\"a\"]," +
+            "\"offset\":8,\"length\":2,\"fromY\":1,\"fromX\":8,\"toY\":1,\"toX\":10," +
+            "\"context\":{\"text\":\"...s is an test...\",\"offset\":8,\"length\":2}," +
+            "\"rule\":{\"id\":\"MY_ID\",\"description\":\"my \\\"description\\\"\",\"category\":\"MyCategory\",\"issueType\":\"uncategorized\"}}]}"));
+  }
+
+  @Test
+  public void testWriteNoMatches() throws Exception {
+    final StringWriter out = new StringWriter();
+    new RuleMatchesAsJsonWriter(5).write(out, Collections.<RuleMatch>emptyList(), "", null);
+    assertThat(out.toString().endsWith("},\"matches\":[]}"), is(true));
+  }
+
+  @Test
+  public void testWriteBatch() throws Exception {
+    final RuleMatchesAsJsonWriter writer = new RuleMatchesAsJsonWriter(5);
+    final StringWriter out = new StringWriter();
+    writer.writeBatchStart(out);
+    final StringBuilder sb = new StringBuilder();
+    writer.appendBatchResult(sb, "a\"1", Collections.<RuleMatch>emptyList(), "", Language.DEMO);
+    sb.append(',');
+    writer.appendBatchError(sb, "2", "Missing 'language' parameter");
+    out.append(sb);
+    writer.writeBatchEnd(out);
+    assertThat(out.toString().endsWith("},\"results\":[" +
+            "{\"id\":\"a\\\"1\",\"language\":{\"code\":\"" + Language.DEMO.getShortNameWithCountryAndVariant() + "\",\"name\":\"Testlanguage\"},\"matches\":[]}," +
+            "{\"id\":\"2\",\"error\":\"Missing 'language' parameter\"}]}"), is(true));
+  }
+
+}
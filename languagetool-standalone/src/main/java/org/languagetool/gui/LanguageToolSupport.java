@@ -86,6 +86,7 @@ import org.apache.tika.language.LanguageIdentifier;
 import org.languagetool.JLanguageTool;
 import org.languagetool.Language;
 import org.languagetool.MultiThreadedJLanguageTool;
+import org.languagetool.SentenceCache;
 import org.languagetool.rules.ITSIssueType;
 import org.languagetool.rules.IncorrectExample;
 import org.languagetool.rules.Rule;
@@ -109,14 +110,18 @@ class LanguageToolSupport {
   private static final int MAX_RULES_PER_MENU = 12;
   //maximum category menu entries, if more create a More submenu
   private static final int MAX_CATEGORIES_PER_MENU = 12;
+  //maximum number of sentences whose analysis and matches are kept between checks
+  private static final int SENTENCE_CACHE_SIZE = 5000;
   
   private final JFrame frame;
   private final JTextComponent textComponent;
   private final EventListenerList listenerList = new EventListenerList();
   private final ResourceBundle messages;
   private final Map<Language, ConfigurationDialog> configDialogs = new HashMap<>();
+  // the whole text is checked after each change, so only changed sentences should be analyzed again:
+  private final SentenceCache sentenceCache = new SentenceCache(SENTENCE_CACHE_SIZE);
 
-  private JLanguageTool languageTool;
+  private MultiThreadedJLanguageTool languageTool;
   // a red color highlight painter for marking spelling errors
   private HighlightPainter redPainter;
   // a blue color highlight painter for marking grammar errors
@@ -213,12 +218,14 @@ class LanguageToolSupport {
   }
 
   private void getCurrentLanguageTool() {
+    final MultiThreadedJLanguageTool previousLanguageTool = languageTool;
     try {
       config = new Configuration(new File(System.getProperty("user.home")), CONFIG_FILE, currentLanguage);
       final ConfigurationDialog configDialog = getCurrentConfigDialog();
       languageTool = new MultiThreadedJLanguageTool(currentLanguage, configDialog.getMotherTongue());
       languageTool.activateDefaultPatternRules();
       languageTool.activateDefaultFalseFriendRules();
+      languageTool.setSentenceCache(sentenceCache);
       final Set<String> disabledRules = configDialog.getDisabledRuleIds();
       if (disabledRules != null) {
         for (final String ruleId : disabledRules) {
@@ -241,6 +248,23 @@ class LanguageToolSupport {
     } catch (Exception e) {
       throw new RuntimeException(e);
     }
+    if (previousLanguageTool != null) {
+      shutdownLater(previousLanguageTool);
+    }
+  }
+
+  // checks run on the check thread, so a check that still uses the old instance is finished before this runs:
+  private void shutdownLater(final MultiThreadedJLanguageTool oldLanguageTool) {
+    if (checkExecutor == null) {
+      oldLanguageTool.shutdown();
+    } else {
+      checkExecutor.execute(new Runnable() {
+        @Override
+        public void run() {
+          oldLanguageTool.shutdown();
+        }
+      });
+    }
   }
 
   private void init() {
@@ -135,7 +135,7 @@ public class SentenceSourceChecker {
   private void run(File propFile, Set<String> disabledRules, String langCode, List<String> fileNames, String[] ruleIds, 
                    String[] additionalCategoryIds, int maxSentences, int maxErrors) throws IOException {
     final Language lang = Language.getLanguageForShortName(langCode);
-    final JLanguageTool languageTool = new MultiThreadedJLanguageTool(lang);
+    final MultiThreadedJLanguageTool languageTool = new MultiThreadedJLanguageTool(lang);
     languageTool.activateDefaultPatternRules();
     if (ruleIds != null) {
       enableOnlySpecifiedRules(ruleIds, languageTool);
@@ -178,6 +178,7 @@ public class SentenceSourceChecker {
           e.printStackTrace();
         }
       }
+      languageTool.shutdown();
     }
   }
 
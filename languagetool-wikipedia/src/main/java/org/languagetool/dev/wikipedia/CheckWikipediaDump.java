@@ -145,7 +145,7 @@ public class CheckWikipediaDump {
       throw new IOException("File doesn't exist or isn't a file: " + xmlFileName);
     }
     final Language lang = Language.getLanguageForShortName(langCode);
-    final JLanguageTool languageTool = new MultiThreadedJLanguageTool(lang);
+    final MultiThreadedJLanguageTool languageTool = new MultiThreadedJLanguageTool(lang);
     languageTool.activateDefaultPatternRules();
     if (ruleIds != null) {
       enableSpecifiedRules(ruleIds, languageTool);
@@ -179,6 +179,7 @@ public class CheckWikipediaDump {
         //System.out.printf(lang + ": %s total runtime\n", getRunTime(startTime));
         xmlHandler.close();
       }
+      languageTool.shutdown();
     }
   }
 
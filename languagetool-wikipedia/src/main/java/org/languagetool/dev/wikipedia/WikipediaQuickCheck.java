@@ -105,9 +105,14 @@ public class WikipediaQuickCheck {
   MarkupAwareWikipediaResult checkWikipediaMarkup(URL url, MediaWikiContent wikiContent, Language language) throws IOException {
     final SwebleWikipediaTextFilter filter = new SwebleWikipediaTextFilter();
     final PlainTextMapping mapping = filter.filter(wikiContent.getContent());
-    final JLanguageTool langTool = getLanguageTool(language);
+    final MultiThreadedJLanguageTool langTool = getLanguageTool(language);
     final List<AppliedRuleMatch> appliedMatches = new ArrayList<>();
-    final List<RuleMatch> matches = langTool.check(mapping.getPlainText());
+    final List<RuleMatch> matches;
+    try {
+      matches = langTool.check(mapping.getPlainText());
+    } finally {
+      langTool.shutdown();
+    }
     int internalErrors = 0;
     for (RuleMatch match : matches) {
       final SuggestionReplacer replacer = new SuggestionReplacer(mapping, wikiContent.getContent());
@@ -123,8 +128,13 @@ public class WikipediaQuickCheck {
   }
 
   public WikipediaQuickCheckResult checkPage(String plainText, Language lang) throws IOException {
-    final JLanguageTool langTool = getLanguageTool(lang);
-    final List<RuleMatch> ruleMatches = langTool.check(plainText);
+    final MultiThreadedJLanguageTool langTool = getLanguageTool(lang);
+    final List<RuleMatch> ruleMatches;
+    try {
+      ruleMatches = langTool.check(plainText);
+    } finally {
+      langTool.shutdown();
+    }
     return new WikipediaQuickCheckResult(plainText, ruleMatches, lang.getShortName());
   }
 
@@ -178,8 +188,8 @@ public class WikipediaQuickCheck {
     return new MediaWikiContent(handler.getRevisionContent(), handler.getTimestamp());
   }
 
-  private JLanguageTool getLanguageTool(Language lang) throws IOException {
-    final JLanguageTool langTool = new MultiThreadedJLanguageTool(lang);
+  private MultiThreadedJLanguageTool getLanguageTool(Language lang) throws IOException {
+    final MultiThreadedJLanguageTool langTool = new MultiThreadedJLanguageTool(lang);
     langTool.activateDefaultPatternRules();
     enableWikipediaRules(langTool);
     for (String disabledRuleId : disabledRuleIds) {